@@ -0,0 +1,63 @@
+package io.vertx.ext.web.client;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.web.client.LoadBalancingOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.web.client.LoadBalancingOptions} original class using Vert.x codegen.
+ */
+public class LoadBalancingOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, LoadBalancingOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "consecutiveFailures":
+          if (member.getValue() instanceof Number) {
+            obj.setConsecutiveFailures(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "ejectionTime":
+          if (member.getValue() instanceof Number) {
+            obj.setEjectionTime(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "latencyWeight":
+          if (member.getValue() instanceof Number) {
+            obj.setLatencyWeight(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "maxEjectionPercent":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxEjectionPercent(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxEjectionTime":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxEjectionTime(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(LoadBalancingOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(LoadBalancingOptions obj, java.util.Map<String, Object> json) {
+    json.put("consecutiveFailures", obj.getConsecutiveFailures());
+    json.put("ejectionTime", obj.getEjectionTime());
+    json.put("latencyWeight", obj.getLatencyWeight());
+    json.put("maxEjectionPercent", obj.getMaxEjectionPercent());
+    json.put("maxEjectionTime", obj.getMaxEjectionTime());
+  }
+}
@@ -0,0 +1,75 @@
+package io.vertx.ext.web.client;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.web.client.RetryOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.web.client.RetryOptions} original class using Vert.x codegen.
+ */
+public class RetryOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, RetryOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "backoffMultiplier":
+          if (member.getValue() instanceof Number) {
+            obj.setBackoffMultiplier(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "hedgingPercentile":
+          if (member.getValue() instanceof Number) {
+            obj.setHedgingPercentile(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "initialBackoff":
+          if (member.getValue() instanceof Number) {
+            obj.setInitialBackoff(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "jitter":
+          if (member.getValue() instanceof Number) {
+            obj.setJitter(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "maxAttempts":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxAttempts(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxBackoff":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxBackoff(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "retryNonIdempotent":
+          if (member.getValue() instanceof Boolean) {
+            obj.setRetryNonIdempotent((Boolean)member.getValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(RetryOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(RetryOptions obj, java.util.Map<String, Object> json) {
+    json.put("backoffMultiplier", obj.getBackoffMultiplier());
+    json.put("hedgingPercentile", obj.getHedgingPercentile());
+    json.put("initialBackoff", obj.getInitialBackoff());
+    json.put("jitter", obj.getJitter());
+    json.put("maxAttempts", obj.getMaxAttempts());
+    json.put("maxBackoff", obj.getMaxBackoff());
+    json.put("retryNonIdempotent", obj.isRetryNonIdempotent());
+  }
+}
@@ -20,11 +20,36 @@ public class WebClientOptionsConverter {
   public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, WebClientOptions obj) {
     for (java.util.Map.Entry<String, Object> member : json) {
       switch (member.getKey()) {
+        case "deadlineHeader":
+          if (member.getValue() instanceof String) {
+            obj.setDeadlineHeader((String)member.getValue());
+          }
+          break;
+        case "deadlinePropagation":
+          if (member.getValue() instanceof Boolean) {
+            obj.setDeadlinePropagation((Boolean)member.getValue());
+          }
+          break;
         case "followRedirects":
           if (member.getValue() instanceof Boolean) {
             obj.setFollowRedirects((Boolean)member.getValue());
           }
           break;
+        case "requestCompressionThreshold":
+          if (member.getValue() instanceof Number) {
+            obj.setRequestCompressionThreshold(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "requestContentEncoding":
+          if (member.getValue() instanceof String) {
+            obj.setRequestContentEncoding((String)member.getValue());
+          }
+          break;
+        case "retryOptions":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setRetryOptions(new io.vertx.ext.web.client.RetryOptions((io.vertx.core.json.JsonObject)member.getValue()));
+          }
+          break;
         case "templateExpandOptions":
           if (member.getValue() instanceof JsonObject) {
             obj.setTemplateExpandOptions(new io.vertx.uritemplate.ExpandOptions((io.vertx.core.json.JsonObject)member.getValue()));
@@ -49,7 +74,18 @@ public class WebClientOptionsConverter {
   }
 
   public static void toJson(WebClientOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getDeadlineHeader() != null) {
+      json.put("deadlineHeader", obj.getDeadlineHeader());
+    }
+    json.put("deadlinePropagation", obj.isDeadlinePropagation());
     json.put("followRedirects", obj.isFollowRedirects());
+    json.put("requestCompressionThreshold", obj.getRequestCompressionThreshold());
+    if (obj.getRequestContentEncoding() != null) {
+      json.put("requestContentEncoding", obj.getRequestContentEncoding());
+    }
+    if (obj.getRetryOptions() != null) {
+      json.put("retryOptions", obj.getRetryOptions().toJson());
+    }
     if (obj.getTemplateExpandOptions() != null) {
       json.put("templateExpandOptions", obj.getTemplateExpandOptions().toJson());
     }
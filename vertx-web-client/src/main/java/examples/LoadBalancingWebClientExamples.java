@@ -0,0 +1,46 @@
+package examples;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.client.LoadBalancingOptions;
+import io.vertx.ext.web.client.LoadBalancingWebClient;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.spi.LoadBalancingPolicy;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class LoadBalancingWebClientExamples {
+
+  public void create(Vertx vertx) {
+    List<SocketAddress> endpoints = Arrays.asList(
+      SocketAddress.inetSocketAddress(8080, "10.0.0.1"),
+      SocketAddress.inetSocketAddress(8080, "10.0.0.2"),
+      SocketAddress.inetSocketAddress(8080, "10.0.0.3"));
+
+    WebClient client = WebClient.create(vertx);
+    WebClient loadBalancingWebClient = LoadBalancingWebClient.create(client, endpoints);
+
+    // The Host header is myserver.mycompany.com
+    loadBalancingWebClient
+      .get(8080, "myserver.mycompany.com", "/some-uri")
+      .send()
+      .onSuccess(response -> System.out
+        .println("Received response with status code" + response.statusCode()))
+      .onFailure(err ->
+        System.out.println("Something went wrong " + err.getMessage()));
+  }
+
+  public void createWithOptions(Vertx vertx, List<SocketAddress> endpoints) {
+    LoadBalancingOptions options = new LoadBalancingOptions()
+      .setConsecutiveFailures(3)
+      .setEjectionTime(10_000);
+
+    WebClient client = WebClient.create(vertx);
+    WebClient loadBalancingWebClient = LoadBalancingWebClient.create(
+      client,
+      endpoints,
+      LoadBalancingPolicy.leastOutstandingRequests(),
+      options);
+  }
+}
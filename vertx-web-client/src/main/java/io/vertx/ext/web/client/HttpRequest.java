@@ -377,6 +377,40 @@ public interface HttpRequest<T> {
   @Fluent
   HttpRequest<T> multipartMixed(boolean allow);
 
+  /**
+   * Configure the content encoding used to compress the body of this request when it is sent as a buffer or as JSON,
+   * overriding {@link WebClientOptions#setRequestContentEncoding(String)}.
+   * <br/>
+   * Bodies smaller than {@link WebClientOptions#getRequestCompressionThreshold()} or already carrying a
+   * {@code content-encoding} header are sent as is.
+   *
+   * @param encoding {@code gzip}, {@code deflate} or {@code null} to disable compression
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  HttpRequest<T> contentEncoding(@Nullable String encoding);
+
+  /**
+   * Configure how this request is retried and hedged, overriding {@link WebClientOptions#setRetryOptions(RetryOptions)}.
+   *
+   * @param options the retry options or {@code null} to disable retries
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  HttpRequest<T> retry(@Nullable RetryOptions options);
+
+  /**
+   * Set the predicate deciding whether a response is retried: a response that does not satisfy the predicate is
+   * retried, as long as attempts remain, otherwise it is delivered as is.
+   * <br/>
+   * The default predicate retries responses with a {@code 5xx} status code.
+   *
+   * @param predicate the predicate
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  HttpRequest<T> retryPredicate(ResponsePredicate predicate);
+
   /**
    * Like {@link #send(Handler)} but with an HTTP request {@code body} stream.
    *
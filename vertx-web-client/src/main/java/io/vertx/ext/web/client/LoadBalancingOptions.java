@@ -0,0 +1,205 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring how a load balancing Web Client tracks its endpoints and ejects the failing ones.
+ * <p>
+ * An endpoint is ejected after {@link #getConsecutiveFailures()} consecutive failures (connection error, reset,
+ * {@code 5xx} response...) and is not selected until its ejection time elapses. The ejection time grows with the number
+ * of times the endpoint has been ejected, up to {@link #getMaxEjectionTime()}.
+ */
+@DataObject(generateConverter = true)
+public class LoadBalancingOptions {
+
+  /**
+   * The default number of consecutive failures ejecting an endpoint = 5.
+   */
+  public static final int DEFAULT_CONSECUTIVE_FAILURES = 5;
+
+  /**
+   * The default base ejection time in milliseconds = 30000.
+   */
+  public static final long DEFAULT_EJECTION_TIME = 30_000;
+
+  /**
+   * The default maximum ejection time in milliseconds = 300000.
+   */
+  public static final long DEFAULT_MAX_EJECTION_TIME = 300_000;
+
+  /**
+   * The default maximum percentage of endpoints that can be ejected at the same time = 50.
+   */
+  public static final int DEFAULT_MAX_EJECTION_PERCENT = 50;
+
+  /**
+   * The default weight of the latest response latency in the endpoint latency moving average = 0.3.
+   */
+  public static final double DEFAULT_LATENCY_WEIGHT = 0.3;
+
+  private int consecutiveFailures = DEFAULT_CONSECUTIVE_FAILURES;
+  private long ejectionTime = DEFAULT_EJECTION_TIME;
+  private long maxEjectionTime = DEFAULT_MAX_EJECTION_TIME;
+  private int maxEjectionPercent = DEFAULT_MAX_EJECTION_PERCENT;
+  private double latencyWeight = DEFAULT_LATENCY_WEIGHT;
+
+  public LoadBalancingOptions() {
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the options to copy
+   */
+  public LoadBalancingOptions(LoadBalancingOptions other) {
+    this.consecutiveFailures = other.consecutiveFailures;
+    this.ejectionTime = other.ejectionTime;
+    this.maxEjectionTime = other.maxEjectionTime;
+    this.maxEjectionPercent = other.maxEjectionPercent;
+    this.latencyWeight = other.latencyWeight;
+  }
+
+  /**
+   * Creates a new instance from JSON.
+   *
+   * @param json the JSON object
+   */
+  public LoadBalancingOptions(JsonObject json) {
+    LoadBalancingOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    LoadBalancingOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the number of consecutive failures ejecting an endpoint
+   */
+  public int getConsecutiveFailures() {
+    return consecutiveFailures;
+  }
+
+  /**
+   * Set the number of consecutive failures ejecting an endpoint, {@code 0} disables ejection. Defaults to {@code 5}.
+   *
+   * @param consecutiveFailures the number of failures
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LoadBalancingOptions setConsecutiveFailures(int consecutiveFailures) {
+    if (consecutiveFailures < 0) {
+      throw new IllegalArgumentException("consecutiveFailures must be >= 0");
+    }
+    this.consecutiveFailures = consecutiveFailures;
+    return this;
+  }
+
+  /**
+   * @return the base ejection time in milliseconds
+   */
+  public long getEjectionTime() {
+    return ejectionTime;
+  }
+
+  /**
+   * Set the base ejection time in milliseconds, an endpoint ejected for the {@code n}th time is ejected for
+   * {@code n * ejectionTime}. Defaults to {@code 30000}.
+   *
+   * @param ejectionTime the time in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LoadBalancingOptions setEjectionTime(long ejectionTime) {
+    if (ejectionTime < 1) {
+      throw new IllegalArgumentException("ejectionTime must be > 0");
+    }
+    this.ejectionTime = ejectionTime;
+    return this;
+  }
+
+  /**
+   * @return the maximum ejection time in milliseconds
+   */
+  public long getMaxEjectionTime() {
+    return maxEjectionTime;
+  }
+
+  /**
+   * Set the maximum ejection time in milliseconds. Defaults to {@code 300000}.
+   *
+   * @param maxEjectionTime the time in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LoadBalancingOptions setMaxEjectionTime(long maxEjectionTime) {
+    if (maxEjectionTime < 1) {
+      throw new IllegalArgumentException("maxEjectionTime must be > 0");
+    }
+    this.maxEjectionTime = maxEjectionTime;
+    return this;
+  }
+
+  /**
+   * @return the maximum percentage of endpoints that can be ejected at the same time
+   */
+  public int getMaxEjectionPercent() {
+    return maxEjectionPercent;
+  }
+
+  /**
+   * Set the maximum percentage of endpoints that can be ejected at the same time, so that a failure shared by all
+   * endpoints does not eject all of them. Defaults to {@code 50}.
+   *
+   * @param maxEjectionPercent the percentage, between {@code 0} and {@code 100}
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LoadBalancingOptions setMaxEjectionPercent(int maxEjectionPercent) {
+    if (maxEjectionPercent < 0 || maxEjectionPercent > 100) {
+      throw new IllegalArgumentException("maxEjectionPercent must be between 0 and 100");
+    }
+    this.maxEjectionPercent = maxEjectionPercent;
+    return this;
+  }
+
+  /**
+   * @return the weight of the latest response latency in the endpoint latency moving average
+   */
+  public double getLatencyWeight() {
+    return latencyWeight;
+  }
+
+  /**
+   * Set the weight of the latest response latency in the endpoint latency moving average, a higher weight reacts faster
+   * to latency changes. Defaults to {@code 0.3}.
+   *
+   * @param latencyWeight the weight, between {@code 0} (exclusive) and {@code 1}
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LoadBalancingOptions setLatencyWeight(double latencyWeight) {
+    if (latencyWeight <= 0 || latencyWeight > 1) {
+      throw new IllegalArgumentException("latencyWeight must be between 0 (exclusive) and 1");
+    }
+    this.latencyWeight = latencyWeight;
+    return this;
+  }
+}
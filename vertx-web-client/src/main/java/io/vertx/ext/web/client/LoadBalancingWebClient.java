@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client;
+
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.client.impl.LoadBalancingWebClientImpl;
+import io.vertx.ext.web.client.spi.LoadBalancingPolicy;
+
+import java.util.List;
+
+/**
+ * An asynchronous HTTP / HTTP/2 client balancing requests over a set of endpoints called {@code LoadBalancingWebClient}.
+ * <p>
+ * This client wraps a {@link WebClient}, each request attempt is sent to an endpoint chosen by a
+ * {@link LoadBalancingPolicy} among the endpoints that have not been ejected:
+ * <ul>
+ *   <li>the endpoint is used as the server address of the request, the request host and port still determine the
+ *   {@code Host} header</li>
+ *   <li>an endpoint failing several times in a row is ejected for a while, see {@link LoadBalancingOptions}</li>
+ *   <li>retried attempts are balanced again</li>
+ * </ul>
+ * <p>
+ * Requests created with an explicit server address and redirected requests are not balanced.
+ */
+@VertxGen
+public interface LoadBalancingWebClient {
+
+  /**
+   * Create a web client balancing requests over {@code endpoints} with the power of two choices policy.
+   *
+   * @param webClient the web client instance
+   * @param endpoints the endpoints
+   * @return the created web client
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  static WebClient create(WebClient webClient, List<SocketAddress> endpoints) {
+    return create(webClient, endpoints, new LoadBalancingOptions());
+  }
+
+  /**
+   * Create a web client balancing requests over {@code endpoints} with the power of two choices policy.
+   *
+   * @param webClient the web client instance
+   * @param endpoints the endpoints
+   * @param options   the load balancing options
+   * @return the created web client
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  static WebClient create(WebClient webClient, List<SocketAddress> endpoints, LoadBalancingOptions options) {
+    return create(webClient, endpoints, LoadBalancingPolicy.powerOfTwoChoices(), options);
+  }
+
+  /**
+   * Create a web client balancing requests over {@code endpoints}.
+   *
+   * @param webClient the web client instance
+   * @param endpoints the endpoints
+   * @param policy    the endpoint selection policy
+   * @param options   the load balancing options
+   * @return the created web client
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  static WebClient create(WebClient webClient, List<SocketAddress> endpoints, LoadBalancingPolicy policy, LoadBalancingOptions options) {
+    return LoadBalancingWebClientImpl.wrap(webClient, endpoints, policy, options);
+  }
+}
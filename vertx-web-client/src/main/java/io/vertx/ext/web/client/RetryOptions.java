@@ -0,0 +1,261 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring how the Web Client retries failed requests and hedges slow requests.
+ * <p>
+ * A request is retried when it fails (connection error, timeout...) or when its response does not satisfy the
+ * request retry predicate, see {@link HttpRequest#retryPredicate(io.vertx.ext.web.client.predicate.ResponsePredicate)}.
+ * Only requests with an idempotent method and a replayable body (no body, a buffer or JSON) are retried or hedged,
+ * unless {@link #setRetryNonIdempotent(boolean)} is set.
+ */
+@DataObject(generateConverter = true)
+public class RetryOptions {
+
+  /**
+   * The default maximum number of attempts, including the first one = 3.
+   */
+  public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+  /**
+   * The default delay in milliseconds before the first retry = 100.
+   */
+  public static final long DEFAULT_INITIAL_BACKOFF = 100;
+
+  /**
+   * The default maximum delay in milliseconds between two attempts = 5000.
+   */
+  public static final long DEFAULT_MAX_BACKOFF = 5000;
+
+  /**
+   * The default factor applied to the delay after each attempt = 2.
+   */
+  public static final double DEFAULT_BACKOFF_MULTIPLIER = 2;
+
+  /**
+   * The default fraction of the delay that is randomized = 0.5.
+   */
+  public static final double DEFAULT_JITTER = 0.5;
+
+  /**
+   * The default value of whether non idempotent requests are retried = false.
+   */
+  public static final boolean DEFAULT_RETRY_NON_IDEMPOTENT = false;
+
+  /**
+   * The default latency percentile after which a hedged request is sent = 0 (no hedging).
+   */
+  public static final double DEFAULT_HEDGING_PERCENTILE = 0;
+
+  private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+  private long initialBackoff = DEFAULT_INITIAL_BACKOFF;
+  private long maxBackoff = DEFAULT_MAX_BACKOFF;
+  private double backoffMultiplier = DEFAULT_BACKOFF_MULTIPLIER;
+  private double jitter = DEFAULT_JITTER;
+  private boolean retryNonIdempotent = DEFAULT_RETRY_NON_IDEMPOTENT;
+  private double hedgingPercentile = DEFAULT_HEDGING_PERCENTILE;
+
+  public RetryOptions() {
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the options to copy
+   */
+  public RetryOptions(RetryOptions other) {
+    this.maxAttempts = other.maxAttempts;
+    this.initialBackoff = other.initialBackoff;
+    this.maxBackoff = other.maxBackoff;
+    this.backoffMultiplier = other.backoffMultiplier;
+    this.jitter = other.jitter;
+    this.retryNonIdempotent = other.retryNonIdempotent;
+    this.hedgingPercentile = other.hedgingPercentile;
+  }
+
+  /**
+   * Creates a new instance from JSON.
+   *
+   * @param json the JSON object
+   */
+  public RetryOptions(JsonObject json) {
+    RetryOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    RetryOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the maximum number of attempts, including the first one
+   */
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Set the maximum number of attempts, including the first one. Defaults to {@code 3}.
+   *
+   * @param maxAttempts the maximum number of attempts
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RetryOptions setMaxAttempts(int maxAttempts) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("maxAttempts must be >= 1");
+    }
+    this.maxAttempts = maxAttempts;
+    return this;
+  }
+
+  /**
+   * @return the delay in milliseconds before the first retry
+   */
+  public long getInitialBackoff() {
+    return initialBackoff;
+  }
+
+  /**
+   * Set the delay in milliseconds before the first retry. Defaults to {@code 100}.
+   *
+   * @param initialBackoff the delay in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RetryOptions setInitialBackoff(long initialBackoff) {
+    if (initialBackoff < 0) {
+      throw new IllegalArgumentException("initialBackoff must be >= 0");
+    }
+    this.initialBackoff = initialBackoff;
+    return this;
+  }
+
+  /**
+   * @return the maximum delay in milliseconds between two attempts
+   */
+  public long getMaxBackoff() {
+    return maxBackoff;
+  }
+
+  /**
+   * Set the maximum delay in milliseconds between two attempts. Defaults to {@code 5000}.
+   *
+   * @param maxBackoff the delay in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RetryOptions setMaxBackoff(long maxBackoff) {
+    if (maxBackoff < 0) {
+      throw new IllegalArgumentException("maxBackoff must be >= 0");
+    }
+    this.maxBackoff = maxBackoff;
+    return this;
+  }
+
+  /**
+   * @return the factor applied to the delay after each attempt
+   */
+  public double getBackoffMultiplier() {
+    return backoffMultiplier;
+  }
+
+  /**
+   * Set the factor applied to the delay after each attempt. Defaults to {@code 2}.
+   *
+   * @param backoffMultiplier the factor
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RetryOptions setBackoffMultiplier(double backoffMultiplier) {
+    if (backoffMultiplier < 1) {
+      throw new IllegalArgumentException("backoffMultiplier must be >= 1");
+    }
+    this.backoffMultiplier = backoffMultiplier;
+    return this;
+  }
+
+  /**
+   * @return the fraction of the delay that is randomized
+   */
+  public double getJitter() {
+    return jitter;
+  }
+
+  /**
+   * Set the fraction of the delay that is randomized, between {@code 0} and {@code 1}. A delay {@code d} becomes a random
+   * value between {@code d * (1 - jitter)} and {@code d} so that clients failing together do not retry together.
+   * Defaults to {@code 0.5}.
+   *
+   * @param jitter the fraction
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RetryOptions setJitter(double jitter) {
+    if (jitter < 0 || jitter > 1) {
+      throw new IllegalArgumentException("jitter must be between 0 and 1");
+    }
+    this.jitter = jitter;
+    return this;
+  }
+
+  /**
+   * @return whether non idempotent requests are retried
+   */
+  public boolean isRetryNonIdempotent() {
+    return retryNonIdempotent;
+  }
+
+  /**
+   * Set whether requests with a non idempotent method ({@code POST}, {@code PATCH}...) are retried and hedged, which can
+   * lead to the request being processed several times by the server. Defaults to {@code false}.
+   *
+   * @param retryNonIdempotent true to retry non idempotent requests
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RetryOptions setRetryNonIdempotent(boolean retryNonIdempotent) {
+    this.retryNonIdempotent = retryNonIdempotent;
+    return this;
+  }
+
+  /**
+   * @return the latency percentile after which a hedged request is sent
+   */
+  public double getHedgingPercentile() {
+    return hedgingPercentile;
+  }
+
+  /**
+   * Set the latency percentile after which a hedged request is sent, e.g. {@code 95} sends a second identical request
+   * when the first one has not received a response after the 95th percentile of the latencies recently observed by the
+   * client; the first response wins and the other request is reset. Defaults to {@code 0}, no hedged request is sent.
+   *
+   * @param hedgingPercentile the percentile, between {@code 0} (exclusive) and {@code 100} (exclusive)
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RetryOptions setHedgingPercentile(double hedgingPercentile) {
+    if (hedgingPercentile < 0 || hedgingPercentile >= 100) {
+      throw new IllegalArgumentException("hedgingPercentile must be between 0 and 100");
+    }
+    this.hedgingPercentile = hedgingPercentile;
+    return this;
+  }
+}
@@ -54,10 +54,40 @@ public class WebClientOptions extends HttpClientOptions {
 
   public static final ExpandOptions DEFAULT_EXPAND_OPTIONS = null;
 
+  /**
+   * The default content encoding used to compress request bodies = null (no compression).
+   */
+  public static final String DEFAULT_REQUEST_CONTENT_ENCODING = null;
+
+  /**
+   * The default minimum size in bytes of a request body to be compressed = 1024.
+   */
+  public static final int DEFAULT_REQUEST_COMPRESSION_THRESHOLD = 1024;
+
+  /**
+   * The default retry options = null (requests are not retried).
+   */
+  public static final RetryOptions DEFAULT_RETRY_OPTIONS = null;
+
+  /**
+   * The default value of whether the deadline of the server request being handled is propagated = false.
+   */
+  public static final boolean DEFAULT_DEADLINE_PROPAGATION = false;
+
+  /**
+   * The default header forwarding the remaining time of the deadline = null (not forwarded).
+   */
+  public static final String DEFAULT_DEADLINE_HEADER = null;
+
   private boolean userAgentEnabled = DEFAULT_USER_AGENT_ENABLED;
   private String userAgent = DEFAULT_USER_AGENT;
   private boolean followRedirects = DEFAULT_FOLLOW_REDIRECTS;
   private ExpandOptions templateExpandOptions = DEFAULT_EXPAND_OPTIONS;
+  private String requestContentEncoding = DEFAULT_REQUEST_CONTENT_ENCODING;
+  private int requestCompressionThreshold = DEFAULT_REQUEST_COMPRESSION_THRESHOLD;
+  private RetryOptions retryOptions = DEFAULT_RETRY_OPTIONS;
+  private boolean deadlinePropagation = DEFAULT_DEADLINE_PROPAGATION;
+  private String deadlineHeader = DEFAULT_DEADLINE_HEADER;
 
   public WebClientOptions() {
   }
@@ -96,6 +126,11 @@ public class WebClientOptions extends HttpClientOptions {
     this.userAgent = other.userAgent;
     this.followRedirects = other.followRedirects;
     this.templateExpandOptions = other.templateExpandOptions != null ? new ExpandOptions(other.templateExpandOptions) : null;
+    this.requestContentEncoding = other.requestContentEncoding;
+    this.requestCompressionThreshold = other.requestCompressionThreshold;
+    this.retryOptions = other.retryOptions != null ? new RetryOptions(other.retryOptions) : null;
+    this.deadlinePropagation = other.deadlinePropagation;
+    this.deadlineHeader = other.deadlineHeader;
   }
 
   /**
@@ -172,6 +207,111 @@ public class WebClientOptions extends HttpClientOptions {
     return this;
   }
 
+  /**
+   * @return the content encoding used to compress request bodies, {@code null} when bodies are not compressed
+   */
+  public String getRequestContentEncoding() {
+    return requestContentEncoding;
+  }
+
+  /**
+   * Configure the content encoding used to compress request bodies sent as a buffer or as JSON. Only
+   * {@code gzip} and {@code deflate} are supported, the server must be able to decompress the body. Defaults to
+   * {@code null}, bodies are not compressed.
+   *
+   * @param requestContentEncoding the content encoding, {@code gzip}, {@code deflate} or {@code null}
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WebClientOptions setRequestContentEncoding(String requestContentEncoding) {
+    if (requestContentEncoding != null && !"gzip".equals(requestContentEncoding) && !"deflate".equals(requestContentEncoding)) {
+      throw new IllegalArgumentException("Unsupported request content encoding: " + requestContentEncoding);
+    }
+    this.requestContentEncoding = requestContentEncoding;
+    return this;
+  }
+
+  /**
+   * @return the minimum size in bytes of a request body to be compressed
+   */
+  public int getRequestCompressionThreshold() {
+    return requestCompressionThreshold;
+  }
+
+  /**
+   * Configure the minimum size in bytes of a request body to be compressed, smaller bodies are sent as is since
+   * compressing them does not pay off. Defaults to {@code 1024}.
+   *
+   * @param requestCompressionThreshold the threshold in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WebClientOptions setRequestCompressionThreshold(int requestCompressionThreshold) {
+    if (requestCompressionThreshold < 0) {
+      throw new IllegalArgumentException("requestCompressionThreshold must be >= 0");
+    }
+    this.requestCompressionThreshold = requestCompressionThreshold;
+    return this;
+  }
+
+  /**
+   * @return the retry options, {@code null} when requests are not retried
+   */
+  public RetryOptions getRetryOptions() {
+    return retryOptions;
+  }
+
+  /**
+   * Configure how requests are retried and hedged, this can be overridden per request with
+   * {@link HttpRequest#retry(RetryOptions)}. Defaults to {@code null}, requests are not retried.
+   *
+   * @param retryOptions the retry options
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WebClientOptions setRetryOptions(RetryOptions retryOptions) {
+    this.retryOptions = retryOptions;
+    return this;
+  }
+
+  /**
+   * @return true if requests use the deadline of the server request being handled, false otherwise
+   */
+  public boolean isDeadlinePropagation() {
+    return deadlinePropagation;
+  }
+
+  /**
+   * Configure whether requests sent while handling a server request with a deadline (set by the Vert.x Web
+   * {@code TimeoutHandler}) use the remaining time as their timeout and are cancelled when the server request ends.
+   * Defaults to {@code false}, requests outliving the server request on purpose (e.g. audit or fire and forget calls)
+   * must not be sent with a client propagating the deadline.
+   *
+   * @param deadlinePropagation true to propagate the deadline
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WebClientOptions setDeadlinePropagation(boolean deadlinePropagation) {
+    this.deadlinePropagation = deadlinePropagation;
+    return this;
+  }
+
+  /**
+   * @return the header forwarding the remaining time of the deadline, {@code null} when it is not forwarded
+   */
+  public String getDeadlineHeader() {
+    return deadlineHeader;
+  }
+
+  /**
+   * Configure the header forwarding the remaining time of a propagated deadline to the server, in milliseconds, so
+   * the server can stop working on the request when the client is not interested anymore. Defaults to {@code null},
+   * the remaining time is not forwarded.
+   *
+   * @param deadlineHeader the header name
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WebClientOptions setDeadlineHeader(String deadlineHeader) {
+    this.deadlineHeader = deadlineHeader;
+    return this;
+  }
+
   @Override
   public WebClientOptions setMaxRedirects(int maxRedirects) {
     return (WebClientOptions) super.setMaxRedirects(maxRedirects);
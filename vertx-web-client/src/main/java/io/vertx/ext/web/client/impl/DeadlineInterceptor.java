@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.impl.NoStackTraceThrowable;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.ext.web.common.impl.Deadline;
+
+/**
+ * An interceptor propagating the {@link Deadline} of the server request being handled: the request uses the remaining
+ * time as its timeout, optionally forwards it as a header, and is reset when the deadline is cancelled.
+ */
+public class DeadlineInterceptor implements Handler<HttpContext<?>> {
+
+  static final String DEADLINE = "deadline";
+  private static final String CANCEL_HANDLER = "deadline.cancel_handler";
+
+  private final boolean propagate;
+  private final String header;
+
+  public DeadlineInterceptor(WebClientOptions options) {
+    this.propagate = options.isDeadlinePropagation();
+    this.header = options.getDeadlineHeader();
+  }
+
+  @Override
+  public void handle(HttpContext<?> context) {
+    switch (context.phase()) {
+      case PREPARE_REQUEST:
+        handlePrepareRequest(context);
+        break;
+      case CREATE_REQUEST:
+        handleCreateRequest(context);
+        break;
+      case SEND_REQUEST:
+        handleSendRequest(context);
+        break;
+      case DISPATCH_RESPONSE:
+      case FAILURE:
+        removeCancelHandler(context);
+        context.next();
+        break;
+      default:
+        context.next();
+        break;
+    }
+  }
+
+  private void handlePrepareRequest(HttpContext<?> context) {
+    if (propagate && context.get(DEADLINE) == null) {
+      Deadline deadline = Deadline.current();
+      if (deadline != null) {
+        context.set(DEADLINE, deadline);
+      }
+    }
+    context.next();
+  }
+
+  private void handleCreateRequest(HttpContext<?> context) {
+    Deadline deadline = context.get(DEADLINE);
+    if (deadline != null) {
+      long remaining = deadline.remaining();
+      if (remaining == 0) {
+        context.fail(new NoStackTraceThrowable("The request deadline has expired"));
+        return;
+      }
+      RequestOptions options = context.requestOptions();
+      if (options.getTimeout() <= 0 || options.getTimeout() > remaining) {
+        options.setTimeout(remaining);
+      }
+      if (header != null) {
+        options.putHeader(header, Long.toString(remaining));
+      }
+    }
+    context.next();
+  }
+
+  private void handleSendRequest(HttpContext<?> context) {
+    Deadline deadline = context.get(DEADLINE);
+    if (deadline != null) {
+      // a retry sends the request again
+      removeCancelHandler(context);
+      HttpClientRequest request = context.clientRequest();
+      Handler<Void> cancelHandler = v -> request.reset(0);
+      if (!deadline.addCancelHandler(cancelHandler)) {
+        request.reset(0);
+        context.fail(new NoStackTraceThrowable("The request deadline has been cancelled"));
+        return;
+      }
+      context.set(CANCEL_HANDLER, cancelHandler);
+    }
+    context.next();
+  }
+
+  private static void removeCancelHandler(HttpContext<?> context) {
+    Handler<Void> cancelHandler = context.get(CANCEL_HANDLER);
+    if (cancelHandler != null) {
+      Deadline deadline = context.get(DEADLINE);
+      deadline.removeCancelHandler(cancelHandler);
+      context.set(CANCEL_HANDLER, null);
+    }
+  }
+}
@@ -15,6 +15,9 @@
  */
 package io.vertx.ext.web.client.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.multipart.HttpPostRequestEncoder;
 import io.vertx.core.*;
 import io.vertx.core.buffer.Buffer;
@@ -34,7 +37,10 @@ import io.vertx.ext.web.client.spi.CacheStore;
 import io.vertx.ext.web.codec.spi.BodyStream;
 import io.vertx.ext.web.multipart.MultipartForm;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
@@ -462,14 +468,28 @@ public class HttpContext<T> {
         if (body instanceof Buffer) {
           buffer = (Buffer) body;
         } else if (body instanceof JsonObject) {
-          buffer = Buffer.buffer(((JsonObject)body).encode());
+          // encode straight to a buffer, avoiding the intermediate string
+          buffer = ((JsonObject)body).toBuffer();
         } else {
-          buffer = Buffer.buffer(Json.encode(body));
+          buffer = Json.encodeToBuffer(body);
         }
-        requestOptions.putHeader(HttpHeaders.CONTENT_LENGTH, "" + buffer.length());
+        String contentEncoding = request.contentEncoding;
+        if (contentEncoding != null
+          && buffer.length() >= options.getRequestCompressionThreshold()
+          && !requestOptions.getHeaders().contains(HttpHeaders.CONTENT_ENCODING)) {
+          try {
+            buffer = compress(buffer, contentEncoding);
+          } catch (IOException e) {
+            fail(e);
+            return;
+          }
+          requestOptions.putHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+        final Buffer payload = buffer;
+        requestOptions.putHeader(HttpHeaders.CONTENT_LENGTH, "" + payload.length());
         requestPromise.future().onSuccess(request -> {
           clientRequest = null;
-          request.end(buffer);
+          request.end(payload);
         });
       }
     } else {
@@ -541,6 +561,16 @@ public class HttpContext<T> {
     });
   }
 
+  private static Buffer compress(Buffer buffer, String contentEncoding) throws IOException {
+    ByteBuf compressed = Unpooled.buffer(Math.max(64, buffer.length() / 2));
+    ByteBufOutputStream out = new ByteBufOutputStream(compressed);
+    try (DeflaterOutputStream deflater = "gzip".equals(contentEncoding) ? new GZIPOutputStream(out) : new DeflaterOutputStream(out)) {
+      ByteBuf bytes = buffer.getByteBuf();
+      bytes.getBytes(bytes.readerIndex(), deflater, bytes.readableBytes());
+    }
+    return Buffer.buffer(compressed);
+  }
+
   private void handleSendRequest() {
     clientRequest.response(ar -> {
       if (ar.succeeded()) {
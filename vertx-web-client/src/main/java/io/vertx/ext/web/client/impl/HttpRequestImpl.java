@@ -31,6 +31,7 @@ import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.RetryOptions;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.ext.web.client.predicate.ResponsePredicate;
 import io.vertx.ext.web.codec.BodyCodec;
@@ -68,6 +69,9 @@ public class HttpRequestImpl<T> implements HttpRequest<T> {
   boolean followRedirects;
   Boolean ssl;
   boolean multipartMixed = true;
+  String contentEncoding;
+  RetryOptions retryOptions;
+  ResponsePredicate retryPredicate;
   public List<ResponsePredicate> expectations;
 
   private HttpRequestImpl(WebClientBase client,
@@ -81,6 +85,8 @@ public class HttpRequestImpl<T> implements HttpRequest<T> {
     this.codec = codec;
     this.serverAddress = serverAddress;
     this.followRedirects = options.isFollowRedirects();
+    this.contentEncoding = options.getRequestContentEncoding();
+    this.retryOptions = options.getRetryOptions();
     this.proxyOptions = proxyOptions != null ? new ProxyOptions(proxyOptions) : null;
     if (options.isUserAgentEnabled()) {
       headers = HttpHeaders.set(HttpHeaders.USER_AGENT, options.getUserAgent());
@@ -136,6 +142,9 @@ public class HttpRequestImpl<T> implements HttpRequest<T> {
     this.followRedirects = other.followRedirects;
     this.ssl = other.ssl;
     this.multipartMixed = other.multipartMixed;
+    this.contentEncoding = other.contentEncoding;
+    this.retryOptions = other.retryOptions;
+    this.retryPredicate = other.retryPredicate;
     this.virtualHost = other.virtualHost;
     this.expectations = other.expectations != null ? new ArrayList<>(other.expectations) : null;
   }
@@ -394,6 +403,27 @@ public class HttpRequestImpl<T> implements HttpRequest<T> {
     return this;
   }
 
+  @Override
+  public HttpRequest<T> contentEncoding(String encoding) {
+    if (encoding != null && !"gzip".equals(encoding) && !"deflate".equals(encoding)) {
+      throw new IllegalArgumentException("Unsupported request content encoding: " + encoding);
+    }
+    contentEncoding = encoding;
+    return this;
+  }
+
+  @Override
+  public HttpRequest<T> retry(RetryOptions options) {
+    retryOptions = options;
+    return this;
+  }
+
+  @Override
+  public HttpRequest<T> retryPredicate(ResponsePredicate predicate) {
+    retryPredicate = Objects.requireNonNull(predicate);
+    return this;
+  }
+
   @Override
   public void sendStream(ReadStream<Buffer> body, Handler<AsyncResult<HttpResponse<T>>> handler) {
     send(null, body, handler);
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client.impl;
+
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.client.LoadBalancingOptions;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.impl.loadbalancing.LoadBalancer;
+import io.vertx.ext.web.client.impl.loadbalancing.LoadBalancingInterceptor;
+import io.vertx.ext.web.client.spi.LoadBalancingPolicy;
+
+import java.util.List;
+
+public interface LoadBalancingWebClientImpl {
+
+  static WebClient wrap(WebClient webClient, List<SocketAddress> endpoints, LoadBalancingPolicy policy, LoadBalancingOptions options) {
+    WebClientBase base = new WebClientBase((WebClientBase) webClient);
+    if (base.interceptors.stream().anyMatch(i -> i instanceof LoadBalancingInterceptor)) {
+      throw new IllegalStateException("Client is already load balanced");
+    }
+    // first interceptor, it must observe the failed attempts before they are retried
+    base.interceptors.add(0, new LoadBalancingInterceptor(new LoadBalancer(endpoints, policy, options)));
+    return base;
+  }
+}
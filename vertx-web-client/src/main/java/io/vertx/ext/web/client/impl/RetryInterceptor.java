@@ -0,0 +1,361 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.impl.NoStackTraceThrowable;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.RetryOptions;
+import io.vertx.ext.web.client.predicate.ResponsePredicate;
+import io.vertx.ext.web.client.predicate.ResponsePredicateResult;
+import io.vertx.ext.web.common.impl.Deadline;
+import io.vertx.ext.web.multipart.MultipartForm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An interceptor retrying failed requests with an exponential backoff and hedging slow requests, configured by the
+ * {@link RetryOptions} of the request.
+ * <p>
+ * A retry replays the request from the {@link ClientPhase#PREPARE_REQUEST} phase, a hedged request is a second
+ * {@link HttpContext} sharing the same request, whose response is dispatched to the original context when it wins.
+ */
+public class RetryInterceptor implements Handler<HttpContext<?>> {
+
+  private static final String RETRY_STATE = "retry.state";
+  private static final String HEDGED_REQUEST = "retry.hedged_request";
+  private static final ResponsePredicate DEFAULT_RETRY_PREDICATE = ResponsePredicate.status(100, 500);
+
+  private final Vertx vertx;
+  private final LatencyTracker latencies = new LatencyTracker();
+
+  public RetryInterceptor(Vertx vertx) {
+    this.vertx = vertx;
+  }
+
+  @Override
+  public void handle(HttpContext<?> context) {
+    switch (context.phase()) {
+      case PREPARE_REQUEST:
+        handlePrepareRequest(context);
+        break;
+      case SEND_REQUEST:
+        handleSendRequest(context);
+        break;
+      case RECEIVE_RESPONSE:
+        handleReceiveResponse(context);
+        break;
+      case DISPATCH_RESPONSE:
+        handleDispatchResponse(context);
+        break;
+      case FAILURE:
+        handleFailure(context);
+        break;
+      default:
+        context.next();
+        break;
+    }
+  }
+
+  private void handlePrepareRequest(HttpContext<?> context) {
+    RetryState state = context.get(RETRY_STATE);
+    if (state != null) {
+      // a retry
+      state.attempts++;
+      state.responded = false;
+    } else if (context.get(HEDGED_REQUEST) == null) {
+      HttpRequestImpl<?> request = (HttpRequestImpl<?>) context.request();
+      RetryOptions options = request.retryOptions;
+      if (options != null && isReplayable(context.body()) && (options.isRetryNonIdempotent() || isIdempotent(request.method))) {
+        ResponsePredicate predicate = request.retryPredicate != null ? request.retryPredicate : DEFAULT_RETRY_PREDICATE;
+        context.set(RETRY_STATE, new RetryState(options, predicate));
+      }
+    }
+    context.next();
+  }
+
+  private void handleSendRequest(HttpContext<?> context) {
+    RetryState state = context.get(RETRY_STATE);
+    if (state != null) {
+      state.clientRequest = context.clientRequest();
+      state.sentAt = System.nanoTime();
+      if (state.options.getHedgingPercentile() > 0) {
+        scheduleHedge(context, state);
+      }
+    } else {
+      RetryState primary = context.get(HEDGED_REQUEST);
+      if (primary != null) {
+        if (primary.hedge != context) {
+          // the original request completed before the hedged request could be sent
+          context.clientRequest().reset(0);
+          context.fail(new NoStackTraceThrowable("Hedged request cancelled"));
+          return;
+        }
+        primary.hedgeRequest = context.clientRequest();
+      }
+    }
+    context.next();
+  }
+
+  private void handleReceiveResponse(HttpContext<?> context) {
+    RetryState state = context.get(RETRY_STATE);
+    if (state == null) {
+      context.next();
+      return;
+    }
+    HttpClientResponse resp = context.clientResponse();
+    if (state.hedgeWon) {
+      // the hedged request response has already been dispatched, discard this one
+      resp.resume();
+      return;
+    }
+    state.responded = true;
+    latencies.record(System.nanoTime() - state.sentAt);
+    cancelHedge(state);
+    ResponsePredicateResult result;
+    try {
+      result = state.predicate.apply(responseCopy(resp, context));
+    } catch (Exception e) {
+      context.fail(e);
+      return;
+    }
+    if (!result.succeeded() && canRetry(context, state)) {
+      // drop the response content and try again
+      resp.resume();
+      scheduleRetry(context, state);
+      return;
+    }
+    context.next();
+  }
+
+  private void handleDispatchResponse(HttpContext<?> context) {
+    RetryState state = context.get(RETRY_STATE);
+    if (state != null && !state.hedgeWon) {
+      // the response might not come from the network (e.g. cache)
+      cancelHedge(state);
+    }
+    context.next();
+  }
+
+  private void handleFailure(HttpContext<?> context) {
+    RetryState state = context.get(RETRY_STATE);
+    if (state == null) {
+      context.next();
+      return;
+    }
+    if (state.hedgeWon) {
+      // the attempt reset after the hedged request won, its response has been dispatched already
+      return;
+    }
+    if (state.responded) {
+      // failures after receiving a response (expectations, decoding...) are not retried
+      context.next();
+      return;
+    }
+    if (state.hedge != null) {
+      // the outcome depends on the hedged request now
+      state.pendingFailure = true;
+      return;
+    }
+    retryOrFail(context, state);
+  }
+
+  private void retryOrFail(HttpContext<?> context, RetryState state) {
+    if (canRetry(context, state)) {
+      scheduleRetry(context, state);
+    } else {
+      context.next();
+    }
+  }
+
+  private static boolean canRetry(HttpContext<?> context, RetryState state) {
+    if (state.attempts >= state.options.getMaxAttempts()) {
+      return false;
+    }
+    // no point retrying once the server request the client works for has been answered
+    Deadline deadline = context.get(DeadlineInterceptor.DEADLINE);
+    return deadline == null || deadline.remaining() > 0;
+  }
+
+  private <T> void scheduleRetry(HttpContext<T> context, RetryState state) {
+    cancelHedge(state);
+    long delay = backoff(state.options, state.attempts);
+    vertx.setTimer(Math.max(1, delay), id -> context.prepareRequest(context.request(), context.contentType(), context.body()));
+  }
+
+  private <T> void scheduleHedge(HttpContext<T> context, RetryState state) {
+    long delay = latencies.percentile(state.options.getHedgingPercentile());
+    if (delay < 0) {
+      // not enough observed latencies yet
+      return;
+    }
+    final int attempt = state.attempts;
+    state.hedgeTimer = vertx.setTimer(Math.max(1, delay), id -> {
+      state.hedgeTimer = -1;
+      if (state.attempts == attempt && !state.responded && state.hedge == null) {
+        sendHedge(context, state);
+      }
+    });
+  }
+
+  private <T> void sendHedge(HttpContext<T> context, RetryState state) {
+    HttpRequestImpl<T> request = (HttpRequestImpl<T>) context.request();
+    HttpContext<T>[] hedge = new HttpContext[1];
+    hedge[0] = request.client.createContext(ar -> handleHedgeResult(context, hedge[0], state, ar));
+    hedge[0].set(HEDGED_REQUEST, state);
+    state.hedge = hedge[0];
+    hedge[0].prepareRequest(request, context.contentType(), context.body());
+  }
+
+  private <T> void handleHedgeResult(HttpContext<T> context, HttpContext<T> hedge, RetryState state, AsyncResult<HttpResponse<T>> ar) {
+    if (state.hedge != hedge) {
+      // cancelled, the original request completed first
+      return;
+    }
+    state.hedge = null;
+    state.hedgeRequest = null;
+    if (ar.succeeded()) {
+      state.hedgeWon = true;
+      if (state.clientRequest != null) {
+        state.clientRequest.reset(0);
+      }
+      context.dispatchResponse(ar.result());
+    } else if (state.pendingFailure) {
+      // both requests failed, resume the failure of the original request
+      state.pendingFailure = false;
+      retryOrFail(context, state);
+    }
+  }
+
+  private void cancelHedge(RetryState state) {
+    if (state.hedgeTimer != -1) {
+      vertx.cancelTimer(state.hedgeTimer);
+      state.hedgeTimer = -1;
+    }
+    if (state.hedge != null) {
+      state.hedge = null;
+      if (state.hedgeRequest != null) {
+        state.hedgeRequest.reset(0);
+        state.hedgeRequest = null;
+      }
+    }
+  }
+
+  private static long backoff(RetryOptions options, int attempts) {
+    double delay = options.getInitialBackoff() * Math.pow(options.getBackoffMultiplier(), attempts - 1);
+    delay = Math.min(delay, options.getMaxBackoff());
+    delay -= delay * options.getJitter() * ThreadLocalRandom.current().nextDouble();
+    return (long) delay;
+  }
+
+  private static boolean isReplayable(Object body) {
+    // streams are consumed by the first attempt
+    return !(body instanceof ReadStream) && !(body instanceof MultipartForm);
+  }
+
+  private static boolean isIdempotent(HttpMethod method) {
+    return method == HttpMethod.GET
+      || method == HttpMethod.HEAD
+      || method == HttpMethod.PUT
+      || method == HttpMethod.DELETE
+      || method == HttpMethod.OPTIONS
+      || method == HttpMethod.TRACE;
+  }
+
+  private static HttpResponseImpl<Void> responseCopy(HttpClientResponse resp, HttpContext<?> context) {
+    return new HttpResponseImpl<>(
+      resp.version(),
+      resp.statusCode(),
+      resp.statusMessage(),
+      MultiMap.caseInsensitiveMultiMap().addAll(resp.headers()),
+      null,
+      new ArrayList<>(resp.cookies()),
+      null,
+      context.getRedirectedLocations()
+    );
+  }
+
+  /**
+   * Per request retry state, only accessed from the request context.
+   */
+  private static class RetryState {
+
+    final RetryOptions options;
+    final ResponsePredicate predicate;
+    int attempts;
+    long sentAt;
+    // the current attempt received a response
+    boolean responded;
+    HttpClientRequest clientRequest;
+    long hedgeTimer = -1;
+    HttpContext<?> hedge;
+    HttpClientRequest hedgeRequest;
+    boolean hedgeWon;
+    boolean pendingFailure;
+
+    RetryState(RetryOptions options, ResponsePredicate predicate) {
+      this.options = options;
+      this.predicate = predicate;
+      this.attempts = 1;
+    }
+  }
+
+  /**
+   * Keeps the most recent response latencies of the client to compute the hedging delay.
+   */
+  static class LatencyTracker {
+
+    private static final int SIZE = 1024;
+    private static final int MIN_SAMPLES = 64;
+    private static final int REFRESH_INTERVAL = 64;
+
+    private final long[] samples = new long[SIZE];
+    private long count;
+    private long[] sorted;
+    private int dirty;
+
+    synchronized void record(long latency) {
+      samples[(int) (count++ % SIZE)] = latency;
+      dirty++;
+    }
+
+    /**
+     * @return the latency percentile in milliseconds, or {@code -1} when not enough latencies have been observed
+     */
+    synchronized long percentile(double percentile) {
+      if (count < MIN_SAMPLES) {
+        return -1;
+      }
+      if (sorted == null || dirty >= REFRESH_INTERVAL) {
+        sorted = Arrays.copyOf(samples, (int) Math.min(count, SIZE));
+        Arrays.sort(sorted);
+        dirty = 0;
+      }
+      int idx = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+      return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, Math.min(idx, sorted.length - 1))]);
+    }
+  }
+}
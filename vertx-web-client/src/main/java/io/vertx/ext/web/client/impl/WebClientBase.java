@@ -58,7 +58,9 @@ public class WebClientBase implements WebClientInternal {
     this.options = options;
     this.interceptors = new CopyOnWriteArrayList<>();
 
-    // Add base interceptor
+    // Add base interceptors, retries must see responses before expectations are checked
+    addInterceptor(new DeadlineInterceptor(options));
+    addInterceptor(new RetryInterceptor(((HttpClientInternal) client).vertx()));
     addInterceptor(new PredicateInterceptor());
   }
 
@@ -27,6 +27,7 @@ import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.impl.HttpContext;
 import io.vertx.ext.web.client.impl.HttpRequestImpl;
 import io.vertx.ext.web.client.spi.CacheStore;
+import io.vertx.ext.web.common.impl.cache.CacheControl;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
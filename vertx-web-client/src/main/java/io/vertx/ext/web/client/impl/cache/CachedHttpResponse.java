@@ -21,6 +21,8 @@ import io.vertx.core.http.HttpVersion;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.impl.HttpResponseImpl;
 import io.vertx.ext.web.client.spi.CacheStore;
+import io.vertx.ext.web.common.impl.cache.CacheControl;
+import io.vertx.ext.web.common.impl.cache.CacheControlDirective;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
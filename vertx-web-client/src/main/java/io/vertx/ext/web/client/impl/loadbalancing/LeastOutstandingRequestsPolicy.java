@@ -0,0 +1,42 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client.impl.loadbalancing;
+
+import io.vertx.ext.web.client.spi.LoadBalancingPolicy;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class LeastOutstandingRequestsPolicy implements LoadBalancingPolicy {
+
+  @Override
+  public Endpoint select(List<Endpoint> endpoints) {
+    int size = endpoints.size();
+    // start from a random endpoint so that ties do not always favor the first endpoints
+    int offset = ThreadLocalRandom.current().nextInt(size);
+    Endpoint selected = null;
+    int min = Integer.MAX_VALUE;
+    for (int i = 0; i < size; i++) {
+      Endpoint endpoint = endpoints.get((offset + i) % size);
+      int outstanding = endpoint.outstandingRequests();
+      if (outstanding < min) {
+        selected = endpoint;
+        min = outstanding;
+      }
+    }
+    return selected;
+  }
+}
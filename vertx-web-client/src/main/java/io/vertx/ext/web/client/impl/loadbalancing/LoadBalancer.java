@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client.impl.loadbalancing;
+
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.client.LoadBalancingOptions;
+import io.vertx.ext.web.client.spi.LoadBalancingPolicy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The endpoints of a load balancing client, their statistics and their ejection state.
+ * <p>
+ * Statistics are updated concurrently by the event loops of the client, ejections are synchronized on the balancer.
+ */
+public class LoadBalancer {
+
+  private final List<LoadBalancingPolicy.Endpoint> endpoints;
+  private final LoadBalancingPolicy policy;
+  private final LoadBalancingOptions options;
+  private final int maxEjected;
+  private volatile int ejected;
+
+  public LoadBalancer(List<SocketAddress> addresses, LoadBalancingPolicy policy, LoadBalancingOptions options) {
+    if (addresses.isEmpty()) {
+      throw new IllegalArgumentException("At least one endpoint is required");
+    }
+    List<LoadBalancingPolicy.Endpoint> list = new ArrayList<>(addresses.size());
+    for (SocketAddress address : addresses) {
+      list.add(new EndpointImpl(address));
+    }
+    this.endpoints = Collections.unmodifiableList(list);
+    this.policy = policy;
+    this.options = new LoadBalancingOptions(options);
+    this.maxEjected = addresses.size() * options.getMaxEjectionPercent() / 100;
+  }
+
+  /**
+   * Select an endpoint for a new request, the caller must then report the outcome with {@link #succeeded},
+   * {@link #failed} or {@link #completed}.
+   */
+  EndpointImpl select() {
+    List<LoadBalancingPolicy.Endpoint> available = endpoints;
+    if (ejected > 0) {
+      available = availableEndpoints();
+    }
+    EndpointImpl endpoint = (EndpointImpl) policy.select(available);
+    endpoint.outstanding.incrementAndGet();
+    return endpoint;
+  }
+
+  private List<LoadBalancingPolicy.Endpoint> availableEndpoints() {
+    long now = System.nanoTime();
+    List<LoadBalancingPolicy.Endpoint> available = new ArrayList<>(endpoints.size());
+    for (LoadBalancingPolicy.Endpoint e : endpoints) {
+      EndpointImpl endpoint = (EndpointImpl) e;
+      if (endpoint.ejected && now - endpoint.ejectedUntil >= 0) {
+        restore(endpoint);
+      }
+      if (!endpoint.ejected) {
+        available.add(endpoint);
+      }
+    }
+    // never happens as at most maxEjectionPercent endpoints are ejected, unless it is 100
+    return available.isEmpty() ? endpoints : available;
+  }
+
+  void succeeded(EndpointImpl endpoint, long latency) {
+    endpoint.outstanding.decrementAndGet();
+    double avg = endpoint.latency;
+    // races between event loops can lose a sample, which does not matter for an average
+    endpoint.latency = avg == 0 ? latency : avg + options.getLatencyWeight() * (latency - avg);
+    endpoint.failures.set(0);
+    if (endpoint.ejections > 0 && !endpoint.ejected) {
+      // healthy again after its last ejection
+      endpoint.ejections = 0;
+    }
+  }
+
+  void failed(EndpointImpl endpoint) {
+    endpoint.outstanding.decrementAndGet();
+    int threshold = options.getConsecutiveFailures();
+    if (threshold > 0 && endpoint.failures.incrementAndGet() >= threshold) {
+      eject(endpoint);
+    }
+  }
+
+  void completed(EndpointImpl endpoint) {
+    endpoint.outstanding.decrementAndGet();
+  }
+
+  private synchronized void eject(EndpointImpl endpoint) {
+    if (endpoint.ejected || ejected >= maxEjected) {
+      return;
+    }
+    endpoint.ejections++;
+    long time = Math.min(options.getEjectionTime() * endpoint.ejections, options.getMaxEjectionTime());
+    endpoint.ejectedUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(time);
+    endpoint.ejected = true;
+    endpoint.failures.set(0);
+    ejected++;
+  }
+
+  private synchronized void restore(EndpointImpl endpoint) {
+    if (endpoint.ejected) {
+      endpoint.ejected = false;
+      ejected--;
+    }
+  }
+
+  /**
+   * @return the endpoints
+   */
+  public List<LoadBalancingPolicy.Endpoint> endpoints() {
+    return endpoints;
+  }
+
+  static class EndpointImpl implements LoadBalancingPolicy.Endpoint {
+
+    final SocketAddress address;
+    final AtomicInteger outstanding = new AtomicInteger();
+    final AtomicInteger failures = new AtomicInteger();
+    volatile double latency;
+    volatile boolean ejected;
+    volatile long ejectedUntil;
+    volatile int ejections;
+
+    EndpointImpl(SocketAddress address) {
+      this.address = address;
+    }
+
+    @Override
+    public SocketAddress address() {
+      return address;
+    }
+
+    @Override
+    public int outstandingRequests() {
+      return outstanding.get();
+    }
+
+    @Override
+    public double latency() {
+      return latency;
+    }
+
+    @Override
+    public String toString() {
+      return address.toString();
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client.impl.loadbalancing;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.ext.web.client.impl.HttpContext;
+
+/**
+ * An interceptor sending each request attempt to an endpoint selected by a {@link LoadBalancer}.
+ * <p>
+ * The endpoint becomes the server address of the request, the request host and port are unchanged and still determine
+ * the {@code Host} header. Requests with an explicit server address and redirected requests are not balanced.
+ * <p>
+ * This interceptor must run before the retry interceptor in order to observe the outcome of every attempt.
+ */
+public class LoadBalancingInterceptor implements Handler<HttpContext<?>> {
+
+  private static final String ATTEMPT = "loadbalancing.attempt";
+
+  private final LoadBalancer balancer;
+
+  public LoadBalancingInterceptor(LoadBalancer balancer) {
+    this.balancer = balancer;
+  }
+
+  @Override
+  public void handle(HttpContext<?> context) {
+    switch (context.phase()) {
+      case CREATE_REQUEST:
+        handleCreateRequest(context);
+        break;
+      case FOLLOW_REDIRECT:
+        // the endpoint answered, the redirection target is not balanced
+        succeeded(context);
+        context.next();
+        break;
+      case RECEIVE_RESPONSE:
+        if (context.clientResponse().statusCode() >= 500) {
+          failed(context);
+        } else {
+          succeeded(context);
+        }
+        context.next();
+        break;
+      case DISPATCH_RESPONSE:
+        // the response did not come from the endpoint (e.g. cache, hedged request)
+        completed(context);
+        context.next();
+        break;
+      case FAILURE:
+        failed(context);
+        context.next();
+        break;
+      default:
+        context.next();
+        break;
+    }
+  }
+
+  private void handleCreateRequest(HttpContext<?> context) {
+    // a previous attempt abandoned without outcome
+    completed(context);
+    RequestOptions options = context.requestOptions();
+    if (context.redirects() == 0 && options.getServer() == null) {
+      Attempt attempt = new Attempt(balancer.select());
+      context.set(ATTEMPT, attempt);
+      options.setServer(attempt.endpoint.address);
+    }
+    context.next();
+  }
+
+  private void succeeded(HttpContext<?> context) {
+    Attempt attempt = remove(context);
+    if (attempt != null) {
+      balancer.succeeded(attempt.endpoint, System.nanoTime() - attempt.startTime);
+    }
+  }
+
+  private void failed(HttpContext<?> context) {
+    Attempt attempt = remove(context);
+    if (attempt != null) {
+      balancer.failed(attempt.endpoint);
+    }
+  }
+
+  private void completed(HttpContext<?> context) {
+    Attempt attempt = remove(context);
+    if (attempt != null) {
+      balancer.completed(attempt.endpoint);
+    }
+  }
+
+  private static Attempt remove(HttpContext<?> context) {
+    Attempt attempt = context.get(ATTEMPT);
+    if (attempt != null) {
+      context.set(ATTEMPT, null);
+    }
+    return attempt;
+  }
+
+  private static class Attempt {
+
+    final LoadBalancer.EndpointImpl endpoint;
+    final long startTime;
+
+    Attempt(LoadBalancer.EndpointImpl endpoint) {
+      this.endpoint = endpoint;
+      this.startTime = System.nanoTime();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client.impl.loadbalancing;
+
+import io.vertx.ext.web.client.spi.LoadBalancingPolicy;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class PowerOfTwoChoicesPolicy implements LoadBalancingPolicy {
+
+  @Override
+  public Endpoint select(List<Endpoint> endpoints) {
+    int size = endpoints.size();
+    if (size == 1) {
+      return endpoints.get(0);
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(size);
+    int second = random.nextInt(size - 1);
+    if (second >= first) {
+      second++;
+    }
+    Endpoint a = endpoints.get(first);
+    Endpoint b = endpoints.get(second);
+    return cost(a) <= cost(b) ? a : b;
+  }
+
+  /**
+   * The expected latency of a new request: the latency average weighted by the requests queued before it. Endpoints
+   * without observed latency cost nothing so that they are probed.
+   */
+  private static double cost(Endpoint endpoint) {
+    return endpoint.latency() * (endpoint.outstandingRequests() + 1);
+  }
+}
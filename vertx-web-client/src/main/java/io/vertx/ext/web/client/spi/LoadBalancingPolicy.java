@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client.spi;
+
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.client.impl.loadbalancing.LeastOutstandingRequestsPolicy;
+import io.vertx.ext.web.client.impl.loadbalancing.PowerOfTwoChoicesPolicy;
+import io.vertx.ext.web.client.impl.loadbalancing.RoundRobinPolicy;
+
+import java.util.List;
+
+/**
+ * A policy selecting the endpoint a load balancing web client sends a request to.
+ * <p>
+ * A policy is shared by all the requests of the client and can be called concurrently from several event loops.
+ */
+public interface LoadBalancingPolicy {
+
+  /**
+   * @return a policy selecting the endpoints in turn
+   */
+  static LoadBalancingPolicy roundRobin() {
+    return new RoundRobinPolicy();
+  }
+
+  /**
+   * @return a policy selecting the endpoint with the least in-flight requests
+   */
+  static LoadBalancingPolicy leastOutstandingRequests() {
+    return new LeastOutstandingRequestsPolicy();
+  }
+
+  /**
+   * @return a policy picking two random endpoints and selecting the one with the lowest expected latency, computed from
+   * the moving average of its response latencies and its in-flight requests
+   */
+  static LoadBalancingPolicy powerOfTwoChoices() {
+    return new PowerOfTwoChoicesPolicy();
+  }
+
+  /**
+   * Select an endpoint.
+   *
+   * @param endpoints the available endpoints, never empty
+   * @return the selected endpoint, one of {@code endpoints}
+   */
+  Endpoint select(List<Endpoint> endpoints);
+
+  /**
+   * The live view of an endpoint maintained by the client.
+   */
+  interface Endpoint {
+
+    /**
+     * @return the endpoint address
+     */
+    SocketAddress address();
+
+    /**
+     * @return the number of requests sent to this endpoint that have not completed yet
+     */
+    int outstandingRequests();
+
+    /**
+     * @return the exponentially weighted moving average of the endpoint response latency in nanoseconds, {@code 0} when
+     * no response has been received yet
+     */
+    double latency();
+  }
+}
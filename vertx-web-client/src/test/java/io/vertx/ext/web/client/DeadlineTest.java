@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client;
+package io.vertx.ext.web.client;
+
+import io.vertx.core.Handler;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.ext.web.common.impl.Deadline;
+import org.junit.Test;
+
+public class DeadlineTest extends WebClientTestBase {
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    webClient = WebClient.wrap(client, new WebClientOptions().setDeadlinePropagation(true));
+  }
+
+  private void runWithDeadline(Deadline deadline, Handler<Void> action) {
+    ContextInternal context = ((ContextInternal) vertx.getOrCreateContext()).duplicate();
+    context.runOnContext(v -> {
+      deadline.install(context);
+      action.handle(null);
+    });
+  }
+
+  @Test
+  public void testDeadlineTimeout() throws Exception {
+    server.requestHandler(req -> {
+      // Don't end it
+    });
+    startServer();
+    long now = System.currentTimeMillis();
+    runWithDeadline(new Deadline(200), v -> webClient.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/")
+      .timeout(10_000)
+      .send(onFailure(err -> {
+        assertTrue(System.currentTimeMillis() - now < 10_000);
+        testComplete();
+      })));
+    await();
+  }
+
+  @Test
+  public void testDeadlineHeader() throws Exception {
+    server.requestHandler(req -> {
+      long remaining = Long.parseLong(req.getHeader("x-deadline"));
+      assertTrue(remaining > 0);
+      assertTrue(remaining <= 5000);
+      req.response().end();
+    });
+    startServer();
+    webClient = WebClient.wrap(client, new WebClientOptions().setDeadlinePropagation(true).setDeadlineHeader("x-deadline"));
+    runWithDeadline(new Deadline(5000), v -> webClient.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/")
+      .send(onSuccess(resp -> {
+        assertEquals(200, resp.statusCode());
+        testComplete();
+      })));
+    await();
+  }
+
+  @Test
+  public void testDeadlineCancel() throws Exception {
+    Deadline deadline = new Deadline(10_000);
+    server.requestHandler(req -> deadline.cancel());
+    startServer();
+    long now = System.currentTimeMillis();
+    runWithDeadline(deadline, v -> webClient.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/")
+      .send(onFailure(err -> {
+        assertTrue(System.currentTimeMillis() - now < 10_000);
+        testComplete();
+      })));
+    await();
+  }
+
+  @Test
+  public void testDeadlineExpired() throws Exception {
+    server.requestHandler(req -> fail());
+    startServer();
+    Deadline deadline = new Deadline(10_000);
+    deadline.cancel();
+    runWithDeadline(deadline, v -> webClient.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/")
+      .send(onFailure(err -> testComplete())));
+    await();
+  }
+
+  @Test
+  public void testDeadlinePropagationDisabledByDefault() throws Exception {
+    server.requestHandler(req -> req.response().end());
+    startServer();
+    webClient = WebClient.wrap(client);
+    Deadline deadline = new Deadline(10_000);
+    deadline.cancel();
+    runWithDeadline(deadline, v -> webClient.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/")
+      .send(onSuccess(resp -> {
+        assertEquals(200, resp.statusCode());
+        testComplete();
+      })));
+    await();
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client;
+
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.client.spi.LoadBalancingPolicy;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class LoadBalancingWebClientTest extends WebClientTestBase {
+
+  private static final int OTHER_PORT = DEFAULT_HTTP_PORT + 1;
+
+  private HttpServer other;
+
+  private List<SocketAddress> endpoints() {
+    return Arrays.asList(
+      SocketAddress.inetSocketAddress(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST),
+      SocketAddress.inetSocketAddress(OTHER_PORT, DEFAULT_HTTP_HOST));
+  }
+
+  private void startServers(AtomicInteger first, AtomicInteger second, boolean secondFails) throws Exception {
+    server.requestHandler(req -> {
+      first.incrementAndGet();
+      req.response().end("first");
+    });
+    startServer();
+    other = vertx.createHttpServer(createBaseServerOptions().setPort(OTHER_PORT));
+    other.requestHandler(req -> {
+      second.incrementAndGet();
+      req.response().setStatusCode(secondFails ? 500 : 200).end("second");
+    });
+    startServer(other);
+  }
+
+  @Test
+  public void testRoundRobin() throws Exception {
+    AtomicInteger first = new AtomicInteger();
+    AtomicInteger second = new AtomicInteger();
+    startServers(first, second, false);
+    WebClient lb = LoadBalancingWebClient.create(webClient, endpoints(), LoadBalancingPolicy.roundRobin(), new LoadBalancingOptions());
+    int num = 10;
+    waitFor(num);
+    sendSequentially(lb, num, resp -> {
+      assertEquals(200, resp.statusCode());
+      complete();
+    });
+    await();
+    assertEquals(5, first.get());
+    assertEquals(5, second.get());
+  }
+
+  @Test
+  public void testHostHeaderIsPreserved() throws Exception {
+    AtomicInteger first = new AtomicInteger();
+    other = vertx.createHttpServer(createBaseServerOptions().setPort(OTHER_PORT));
+    other.requestHandler(req -> {
+      first.incrementAndGet();
+      assertEquals("backend.example.com:1234", req.host());
+      req.response().end();
+    });
+    startServer(other);
+    WebClient lb = LoadBalancingWebClient.create(webClient,
+      Arrays.asList(SocketAddress.inetSocketAddress(OTHER_PORT, DEFAULT_HTTP_HOST)));
+    lb.get(1234, "backend.example.com", "/").send(onSuccess(resp -> {
+      assertEquals(200, resp.statusCode());
+      assertEquals(1, first.get());
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testOutlierEjection() throws Exception {
+    AtomicInteger first = new AtomicInteger();
+    AtomicInteger second = new AtomicInteger();
+    startServers(first, second, true);
+    WebClient lb = LoadBalancingWebClient.create(webClient, endpoints(), LoadBalancingPolicy.roundRobin(),
+      new LoadBalancingOptions().setConsecutiveFailures(2));
+    int num = 20;
+    waitFor(num);
+    sendSequentially(lb, num, resp -> complete());
+    await();
+    // the failing endpoint is ejected after its second failure
+    assertEquals(2, second.get());
+    assertEquals(18, first.get());
+  }
+
+  @Test
+  public void testLeastOutstandingRequests() throws Exception {
+    AtomicInteger first = new AtomicInteger();
+    AtomicInteger second = new AtomicInteger();
+    server.requestHandler(req -> {
+      // never answers
+      first.incrementAndGet();
+    });
+    startServer();
+    other = vertx.createHttpServer(createBaseServerOptions().setPort(OTHER_PORT));
+    other.requestHandler(req -> {
+      second.incrementAndGet();
+      req.response().end();
+    });
+    startServer(other);
+    WebClient lb = LoadBalancingWebClient.create(webClient, endpoints(), LoadBalancingPolicy.leastOutstandingRequests(), new LoadBalancingOptions());
+    int num = 10;
+    for (int i = 0; i < num; i++) {
+      // do not wait for the responses, requests stuck on the first endpoint stay outstanding
+      vertx.setTimer(10 * (i + 1), id -> lb.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/").send(ar -> {}));
+    }
+    assertWaitUntil(() -> first.get() + second.get() == num);
+    // at most one request is stuck on the unresponsive endpoint
+    assertTrue(first.get() <= 1);
+  }
+
+  @Test
+  public void testPowerOfTwoChoicesFavorsFastEndpoint() throws Exception {
+    AtomicInteger first = new AtomicInteger();
+    AtomicInteger second = new AtomicInteger();
+    server.requestHandler(req -> {
+      first.incrementAndGet();
+      vertx.setTimer(50, id -> req.response().end());
+    });
+    startServer();
+    other = vertx.createHttpServer(createBaseServerOptions().setPort(OTHER_PORT));
+    other.requestHandler(req -> {
+      second.incrementAndGet();
+      req.response().end();
+    });
+    startServer(other);
+    WebClient lb = LoadBalancingWebClient.create(webClient, endpoints());
+    int num = 40;
+    waitFor(num);
+    sendSequentially(lb, num, resp -> complete());
+    await();
+    assertTrue("Expected the fast endpoint to serve most requests: " + first.get() + "/" + second.get(), second.get() > first.get() * 2);
+  }
+
+  @Test
+  public void testRequiresEndpoints() {
+    try {
+      LoadBalancingWebClient.create(webClient, Collections.emptyList());
+      fail();
+    } catch (IllegalArgumentException ignore) {
+      // expected
+    }
+  }
+
+  private void sendSequentially(WebClient lb, int remaining, Consumer<HttpResponse<?>> checker) {
+    if (remaining == 0) {
+      return;
+    }
+    lb.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/").send(onSuccess(resp -> {
+      checker.accept(resp);
+      sendSequentially(lb, remaining - 1, checker);
+    }));
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.client.predicate.ResponsePredicate;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RetryTest extends WebClientTestBase {
+
+  private static RetryOptions retryOptions(int maxAttempts) {
+    return new RetryOptions().setMaxAttempts(maxAttempts).setInitialBackoff(10).setJitter(0);
+  }
+
+  @Test
+  public void testRetryServerError() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    server.requestHandler(req -> {
+      if (count.incrementAndGet() < 3) {
+        req.response().setStatusCode(503).end("unavailable");
+      } else {
+        req.response().end("ok");
+      }
+    });
+    startServer();
+    webClient = WebClient.wrap(client, new WebClientOptions().setRetryOptions(retryOptions(3)));
+    webClient.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/").send(onSuccess(resp -> {
+      assertEquals(200, resp.statusCode());
+      assertEquals("ok", resp.bodyAsString());
+      assertEquals(3, count.get());
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testRetryExhausted() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    server.requestHandler(req -> {
+      count.incrementAndGet();
+      req.response().setStatusCode(503).end("unavailable");
+    });
+    startServer();
+    webClient.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/")
+      .retry(retryOptions(2))
+      .send(onSuccess(resp -> {
+        assertEquals(503, resp.statusCode());
+        assertEquals("unavailable", resp.bodyAsString());
+        assertEquals(2, count.get());
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testRetryConnectionFailure() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    server.requestHandler(req -> {
+      if (count.incrementAndGet() == 1) {
+        req.connection().close();
+      } else {
+        req.response().end("ok");
+      }
+    });
+    startServer();
+    webClient.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/")
+      .retry(retryOptions(3))
+      .send(onSuccess(resp -> {
+        assertEquals(200, resp.statusCode());
+        assertEquals(2, count.get());
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testRetryPredicate() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    server.requestHandler(req -> {
+      if (count.incrementAndGet() == 1) {
+        req.response().setStatusCode(429).end();
+      } else {
+        req.response().end("ok");
+      }
+    });
+    startServer();
+    webClient.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/")
+      .retry(retryOptions(3))
+      .retryPredicate(ResponsePredicate.SC_SUCCESS)
+      .send(onSuccess(resp -> {
+        assertEquals(200, resp.statusCode());
+        assertEquals(2, count.get());
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testNoRetryNonIdempotent() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    server.requestHandler(req -> {
+      count.incrementAndGet();
+      req.response().setStatusCode(503).end();
+    });
+    startServer();
+    webClient.post(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/")
+      .retry(retryOptions(3))
+      .sendBuffer(Buffer.buffer("data"), onSuccess(resp -> {
+        assertEquals(503, resp.statusCode());
+        assertEquals(1, count.get());
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testRetryNonIdempotentReplaysBody() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    server.requestHandler(req -> req.body(onSuccess(body -> {
+      assertEquals("data", body.toString());
+      if (count.incrementAndGet() == 1) {
+        req.response().setStatusCode(503).end();
+      } else {
+        req.response().end();
+      }
+    })));
+    startServer();
+    webClient.post(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/")
+      .retry(retryOptions(3).setRetryNonIdempotent(true))
+      .sendBuffer(Buffer.buffer("data"), onSuccess(resp -> {
+        assertEquals(200, resp.statusCode());
+        assertEquals(2, count.get());
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testHedgedRequest() throws Exception {
+    AtomicInteger slowCount = new AtomicInteger();
+    server.requestHandler(req -> {
+      if (req.path().equals("/slow") && slowCount.incrementAndGet() == 1) {
+        // the first attempt never completes in time
+        vertx.setTimer(10_000, id -> req.response().end("primary"));
+      } else {
+        req.response().end("hedged");
+      }
+    });
+    startServer();
+    webClient = WebClient.wrap(client, new WebClientOptions()
+      .setRetryOptions(retryOptions(1).setHedgingPercentile(90)));
+    // observe enough latencies to compute the hedging delay
+    int warmup = 100;
+    CountDownLatch latch = new CountDownLatch(warmup);
+    for (int i = 0; i < warmup; i++) {
+      webClient.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/warmup").send(onSuccess(resp -> latch.countDown()));
+    }
+    awaitLatch(latch);
+    long now = System.currentTimeMillis();
+    webClient.request(HttpMethod.GET, DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/slow").send(onSuccess(resp -> {
+      assertEquals("hedged", resp.bodyAsString());
+      assertEquals(2, slowCount.get());
+      assertTrue(System.currentTimeMillis() - now < 10_000);
+      testComplete();
+    }));
+    await();
+  }
+}
@@ -32,8 +32,12 @@ public class WebClientOptionsTest {
     JsonObject json = new JsonObject()
       .put("defaultPort", 4848)
       .put("userAgentEnabled", false)
-      .put("maxPoolSize", 50);
+      .put("maxPoolSize", 50)
+      .put("requestContentEncoding", "gzip")
+      .put("requestCompressionThreshold", 2048);
     WebClientOptions options = new WebClientOptions(json);
+    assertEquals("gzip", options.getRequestContentEncoding());
+    assertEquals(2048, options.getRequestCompressionThreshold());
     assertEquals(4848, options.getDefaultPort());
     assertFalse(options.isUserAgentEnabled());
     assertEquals("Vert.x-WebClient/" + VersionCommand.getVersion(), options.getUserAgent());
@@ -32,8 +32,11 @@ import io.vertx.test.tls.Cert;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.ConnectException;
 import java.net.MalformedURLException;
 import java.net.URLDecoder;
@@ -50,6 +53,8 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import static org.hamcrest.CoreMatchers.*;
 
@@ -300,6 +305,55 @@ public class WebClientTest extends WebClientTestBase {
     });
   }
 
+  @Test
+  public void testSendGzipCompressedBody() throws Exception {
+    testSendCompressedBody("gzip", 4096, true);
+  }
+
+  @Test
+  public void testSendDeflateCompressedBody() throws Exception {
+    testSendCompressedBody("deflate", 4096, true);
+  }
+
+  @Test
+  public void testSendBodyBelowCompressionThreshold() throws Exception {
+    testSendCompressedBody("gzip", 512, false);
+  }
+
+  private void testSendCompressedBody(String encoding, int size, boolean expectCompressed) throws Exception {
+    webClient = WebClient.wrap(client, new WebClientOptions().setRequestContentEncoding(encoding));
+    JsonObject body = new JsonObject().put("data", TestUtils.randomAlphaString(size));
+    waitFor(2);
+    server.requestHandler(req -> req.bodyHandler(buff -> {
+      Buffer received = buff;
+      if (expectCompressed) {
+        assertEquals(encoding, req.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(String.valueOf(buff.length()), req.getHeader(HttpHeaders.CONTENT_LENGTH));
+        received = Buffer.buffer();
+        try (InputStream in = "gzip".equals(encoding)
+          ? new GZIPInputStream(new ByteArrayInputStream(buff.getBytes()))
+          : new InflaterInputStream(new ByteArrayInputStream(buff.getBytes()))) {
+          byte[] chunk = new byte[1024];
+          int len;
+          while ((len = in.read(chunk)) != -1) {
+            received.appendBytes(chunk, 0, len);
+          }
+        } catch (IOException e) {
+          fail(e);
+        }
+      } else {
+        assertNull(req.getHeader(HttpHeaders.CONTENT_ENCODING));
+      }
+      assertEquals(body, received.toJsonObject());
+      complete();
+      req.response().end();
+    }));
+    startServer();
+    webClient.post(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/somepath")
+      .sendJsonObject(body, onSuccess(resp -> complete()));
+    await();
+  }
+
   @Test
   public void testConnectError() throws Exception {
     HttpRequest<Buffer> get = webClient.get(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, "/somepath");
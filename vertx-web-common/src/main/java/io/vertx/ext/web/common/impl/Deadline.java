@@ -0,0 +1,137 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.common.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The absolute deadline of a server request, shared between the modules through the local data of the request
+ * {@link Context} so downstream calls made on behalf of the request can use the remaining budget and be cancelled
+ * once the request is answered.
+ */
+public final class Deadline {
+
+  private static final Object LOCAL_KEY = new Object();
+
+  private final long expiresAt;
+  private List<Handler<Void>> cancelHandlers;
+  private boolean cancelled;
+
+  /**
+   * @param timeout the time budget, in ms
+   */
+  public Deadline(long timeout) {
+    this.expiresAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+  }
+
+  /**
+   * @return the deadline installed on the current context, or {@code null}
+   */
+  public static Deadline current() {
+    Context context = Vertx.currentContext();
+    if (context instanceof ContextInternal) {
+      return (Deadline) ((ContextInternal) context).localContextData().get(LOCAL_KEY);
+    }
+    return null;
+  }
+
+  /**
+   * Install this deadline on the given context, unless a sooner deadline is already installed.
+   *
+   * @param context the request context
+   */
+  public void install(Context context) {
+    if (context instanceof ContextInternal) {
+      ((ContextInternal) context).localContextData().merge(LOCAL_KEY, this, (prev, next) ->
+        ((Deadline) prev).expiresAt - ((Deadline) next).expiresAt <= 0 ? prev : next);
+    }
+  }
+
+  /**
+   * Remove this deadline from the given context.
+   *
+   * @param context the request context
+   */
+  public void uninstall(Context context) {
+    if (context instanceof ContextInternal) {
+      ((ContextInternal) context).localContextData().remove(LOCAL_KEY, this);
+    }
+  }
+
+  /**
+   * @return the remaining time in ms, {@code 0} when the deadline has expired or has been cancelled
+   */
+  public long remaining() {
+    if (isCancelled()) {
+      return 0;
+    }
+    return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAt - System.nanoTime()));
+  }
+
+  public synchronized boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Add a handler called when the deadline is cancelled.
+   *
+   * @param handler the handler
+   * @return {@code false} when the deadline has already been cancelled, the handler is not added
+   */
+  public synchronized boolean addCancelHandler(Handler<Void> handler) {
+    if (cancelled) {
+      return false;
+    }
+    if (cancelHandlers == null) {
+      cancelHandlers = new ArrayList<>(2);
+    }
+    cancelHandlers.add(handler);
+    return true;
+  }
+
+  public synchronized void removeCancelHandler(Handler<Void> handler) {
+    if (cancelHandlers != null) {
+      cancelHandlers.remove(handler);
+    }
+  }
+
+  /**
+   * Cancel the deadline: the work still pending on behalf of the request is abandoned.
+   */
+  public void cancel() {
+    List<Handler<Void>> handlers;
+    synchronized (this) {
+      if (cancelled) {
+        return;
+      }
+      cancelled = true;
+      handlers = cancelHandlers;
+      cancelHandlers = null;
+    }
+    if (handlers != null) {
+      for (Handler<Void> handler : handlers) {
+        handler.handle(null);
+      }
+    }
+  }
+}
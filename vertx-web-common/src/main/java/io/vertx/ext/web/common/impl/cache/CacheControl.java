@@ -13,7 +13,7 @@
  *
  *  You may elect to redistribute this code under either of these licenses.
  */
-package io.vertx.ext.web.client.impl.cache;
+package io.vertx.ext.web.common.impl.cache;
 
 import io.netty.handler.codec.DateFormatter;
 import io.vertx.core.MultiMap;
@@ -21,6 +21,7 @@ import io.vertx.core.http.HttpHeaders;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -28,7 +29,8 @@ import java.util.Optional;
 import java.util.Set;
 
 /**
- * Parse HTTP headers to determine if and how to cache a response.
+ * Parse HTTP headers to determine if and how to cache a response. The parsing is shared by the client
+ * {@code CachingWebClient} and the server {@code ResponseCacheHandler}.
  *
  * @author <a href="mailto:craigday3@gmail.com">Craig Day</a>
  */
@@ -42,7 +44,7 @@ public class CacheControl {
   private final String vary;
   private final long maxAge;
 
-  static CacheControl parse(MultiMap headers) {
+  public static CacheControl parse(MultiMap headers) {
     return new CacheControl(headers);
   }
 
@@ -52,14 +54,13 @@ public class CacheControl {
     this.etag = headers.get(HttpHeaders.ETAG);
     this.vary = headers.get(HttpHeaders.VARY);
 
-    if (headers.contains(HttpHeaders.DATE)) {
-      this.date = DateFormatter.parseHttpDate(headers.get(HttpHeaders.DATE)).toInstant();
-    } else {
-      this.date = Instant.now();
-    }
+    Instant date = parseHttpDate(headers.get(HttpHeaders.DATE));
+    this.date = date != null ? date : Instant.now();
 
     if (headers.contains(HttpHeaders.EXPIRES)) {
-      this.expires = DateFormatter.parseHttpDate(headers.get(HttpHeaders.EXPIRES)).toInstant();
+      Instant expires = parseHttpDate(headers.get(HttpHeaders.EXPIRES));
+      // an invalid date means already expired
+      this.expires = expires != null ? expires : this.date;
     } else {
       this.expires = null;
     }
@@ -108,6 +109,16 @@ public class CacheControl {
     }
   }
 
+  /**
+   * @return whether the freshness lifetime is set by a {@code max-age} or {@code s-maxage} directive or an
+   * {@code Expires} header, rather than left to the cache
+   */
+  public boolean hasExplicitExpiration() {
+    return expires != null
+      || timeDirectives.containsKey(CacheControlDirective.MAX_AGE)
+      || timeDirectives.containsKey(CacheControlDirective.SHARED_MAX_AGE);
+  }
+
   public boolean isCacheable() {
     if (directives.contains(CacheControlDirective.NO_STORE)) {
       return false;
@@ -157,6 +168,14 @@ public class CacheControl {
     }
   }
 
+  private static Instant parseHttpDate(String value) {
+    if (value == null) {
+      return null;
+    }
+    Date date = DateFormatter.parseHttpDate(value);
+    return date != null ? date.toInstant() : null;
+  }
+
   private void parseAllCacheControl(MultiMap headers) {
     headers.getAll(HttpHeaders.CACHE_CONTROL).forEach(value -> {
       for (String headerDirectives : value.split(",")) {
@@ -13,7 +13,7 @@
  *
  *  You may elect to redistribute this code under either of these licenses.
  */
-package io.vertx.ext.web.client.impl.cache;
+package io.vertx.ext.web.common.impl.cache;
 
 import java.util.Arrays;
 import java.util.Map;
@@ -46,4 +46,20 @@ public interface CookieSessionStore extends SessionStore {
   static CookieSessionStore create(Vertx vertx, String secret) {
     return new CookieSessionStoreImpl(vertx, secret);
   }
+
+  /**
+   * Creates a CookieSessionStore.
+   *
+   * When {@code compact} is {@code true}, the session is encoded with a typed binary encoding instead of JSON and
+   * deflated when it makes the payload smaller, sessions issued by a store using the other encoding remain readable.
+   * The binary encoding supports the same value types as the clustered session store.
+   *
+   * @param vertx a vert.x instance
+   * @param secret a secret to feed the HMAC algorithm
+   * @param compact whether to use the compact binary encoding
+   * @return the store
+   */
+  static CookieSessionStore create(Vertx vertx, String secret, boolean compact) {
+    return new CookieSessionStoreImpl(vertx, secret, compact);
+  }
 }
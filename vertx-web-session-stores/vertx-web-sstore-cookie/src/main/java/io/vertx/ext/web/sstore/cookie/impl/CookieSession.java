@@ -18,10 +18,13 @@ package io.vertx.ext.web.sstore.cookie.impl;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.VertxContextPRNG;
-import io.vertx.ext.web.sstore.AbstractSession;
+import io.vertx.ext.web.impl.Hmac;
+import io.vertx.ext.web.sstore.impl.SharedDataSessionImpl;
 
-import javax.crypto.Mac;
-import java.nio.charset.StandardCharsets;
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import static io.vertx.ext.auth.impl.Codec.base64UrlDecode;
 import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
@@ -29,39 +32,101 @@ import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
 /**
  * @author <a href="mailto:plopes@redhat.com">Paulo Lopes</a>
  */
-public class CookieSession extends AbstractSession {
+public class CookieSession extends SharedDataSessionImpl {
 
-  private final Mac mac;
+  // the first byte of a compact payload, a JSON payload starts with '{'
+  private static final byte FORMAT_BINARY = 1;
+  private static final byte FORMAT_DEFLATE = 2;
+
+  private final Hmac mac;
+  private final boolean compact;
   // track the original version
   private int oldVersion = 0;
   // track the original crc
   private int oldCrc = 0;
 
-  public CookieSession(Mac mac, VertxContextPRNG prng, long timeout, int length) {
+  public CookieSession(Hmac mac, boolean compact, VertxContextPRNG prng, long timeout, int length) {
     super(prng, timeout, length);
     this.mac = mac;
+    this.compact = compact;
   }
 
-  public CookieSession(Mac mac, VertxContextPRNG prng) {
+  public CookieSession(Hmac mac, boolean compact, VertxContextPRNG prng) {
     super(prng);
     this.mac = mac;
+    this.compact = compact;
   }
 
   @Override
   public String value() {
 
-    Buffer payload = new JsonObject()
+    String b64 = base64UrlEncode(compact ? compactPayload() : jsonPayload());
+    String signature = mac.sign(b64);
+
+    return b64 + "." + signature;
+  }
+
+  private byte[] jsonPayload() {
+    return new JsonObject()
       .put("id", id())
       .put("timeout", timeout())
       .put("lastAccessed", lastAccessed())
       .put("version", version())
-      .put("data", data())
-      .toBuffer();
+      .put("data", currentData())
+      .toBuffer()
+      .getBytes();
+  }
 
-    String b64 = base64UrlEncode(payload.getBytes());
-    String signature = base64UrlEncode(mac.doFinal(b64.getBytes(StandardCharsets.US_ASCII)));
+  /**
+   * Encode the session with the typed binary encoding of {@link SharedDataSessionImpl}, deflated when it makes the
+   * payload smaller.
+   */
+  private byte[] compactPayload() {
+    Buffer buffer = Buffer.buffer().appendByte(FORMAT_BINARY);
+    writeToBuffer(buffer);
+    byte[] binary = buffer.getBytes();
+
+    Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+    try {
+      deflater.setInput(binary, 1, binary.length - 1);
+      deflater.finish();
+      // only worth it when smaller
+      byte[] deflated = new byte[binary.length];
+      deflated[0] = FORMAT_DEFLATE;
+      int len = 1;
+      while (!deflater.finished() && len < deflated.length) {
+        len += deflater.deflate(deflated, len, deflated.length - len);
+      }
+      if (deflater.finished() && len < deflated.length) {
+        byte[] result = new byte[len];
+        System.arraycopy(deflated, 0, result, 0, len);
+        return result;
+      }
+      return binary;
+    } finally {
+      deflater.end();
+    }
+  }
 
-    return b64 + "." + signature;
+  private static Buffer inflate(byte[] payload) {
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(payload, 1, payload.length - 1);
+      ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length * 4);
+      byte[] chunk = new byte[1024];
+      while (!inflater.finished()) {
+        int len = inflater.inflate(chunk);
+        if (len == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IllegalStateException("Truncated session payload");
+        }
+        out.write(chunk, 0, len);
+      }
+      return Buffer.buffer(out.toByteArray());
+    } catch (DataFormatException e) {
+      throw new IllegalStateException(e);
+    } finally {
+      inflater.end();
+    }
   }
 
   @Override
@@ -81,27 +146,26 @@ public class CookieSession extends AbstractSession {
       throw new NullPointerException();
     }
 
-    String[] tokens = payload.split("\\.");
-    if (tokens.length != 2) {
+    int dot = payload.indexOf('.');
+    if (dot == -1 || payload.indexOf('.', dot + 1) != -1) {
       // no signature present, force a regeneration
       // by claiming this session as invalid
       return null;
     }
 
-    String signature = base64UrlEncode(mac.doFinal(tokens[0].getBytes(StandardCharsets.US_ASCII)));
-
-    if(!signature.equals(tokens[1])) {
+    if (!mac.verify(payload, 0, dot, dot + 1, payload.length())) {
       throw new RuntimeException("Session data was Tampered!");
     }
 
-    // reconstruct the session
-    JsonObject decoded = new JsonObject(Buffer.buffer(base64UrlDecode(tokens[0])));
+    // reconstruct the session, whatever the encoding of the store that issued it
+    byte[] bytes = base64UrlDecode(payload.substring(0, dot));
 
-    setId(decoded.getString("id"));
-    setTimeout(decoded.getLong("timeout"));
-    setLastAccessed(decoded.getLong("lastAccessed"));
-    setVersion(decoded.getInteger("version"));
-    setData(decoded.getJsonObject("data"));
+    if (bytes.length > 0 && (bytes[0] == FORMAT_BINARY || bytes[0] == FORMAT_DEFLATE)) {
+      Buffer binary = bytes[0] == FORMAT_BINARY ? Buffer.buffer(bytes).slice(1, bytes.length) : inflate(bytes);
+      readFromBuffer(0, binary);
+    } else {
+      readJson(new JsonObject(Buffer.buffer(bytes)));
+    }
 
     // defaults
     oldVersion = version();
@@ -110,6 +174,14 @@ public class CookieSession extends AbstractSession {
     return this;
   }
 
+  private void readJson(JsonObject decoded) {
+    setId(decoded.getString("id"));
+    setTimeout(decoded.getLong("timeout"));
+    setLastAccessed(decoded.getLong("lastAccessed"));
+    setVersion(decoded.getInteger("version"));
+    setData(decoded.getJsonObject("data"));
+  }
+
   int oldVersion() {
     return oldVersion;
   }
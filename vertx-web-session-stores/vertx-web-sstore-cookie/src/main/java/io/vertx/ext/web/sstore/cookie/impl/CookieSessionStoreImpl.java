@@ -22,29 +22,30 @@ import io.vertx.core.impl.ContextInternal;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.VertxContextPRNG;
 import io.vertx.ext.web.Session;
+import io.vertx.ext.web.impl.Hmac;
 import io.vertx.ext.web.sstore.SessionStore;
 import io.vertx.ext.web.sstore.cookie.CookieSessionStore;
-
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import io.vertx.ext.web.sstore.impl.CookieValueSessionStore;
 
 /**
  * @author <a href="mailto:plopes@redhat.com">Paulo Lopes</a>
  */
-public class CookieSessionStoreImpl implements CookieSessionStore {
+public class CookieSessionStoreImpl implements CookieSessionStore, CookieValueSessionStore {
 
   public CookieSessionStoreImpl() {
     // required for the service loader
   }
 
   public CookieSessionStoreImpl(Vertx vertx, String secret) {
-    init(vertx, new JsonObject().put("secret", secret));
+    this(vertx, secret, false);
+  }
+
+  public CookieSessionStoreImpl(Vertx vertx, String secret, boolean compact) {
+    init(vertx, new JsonObject().put("secret", secret).put("compact", compact));
   }
 
-  private Mac mac;
+  private Hmac mac;
+  private boolean compact;
   private VertxContextPRNG random;
   private ContextInternal ctx;
 
@@ -53,13 +54,9 @@ public class CookieSessionStoreImpl implements CookieSessionStore {
     // initialize a secure random
     this.random = VertxContextPRNG.current(vertx);
     this.ctx = (ContextInternal) vertx.getOrCreateContext();
-
-    try {
-      mac = Mac.getInstance("HmacSHA256");
-      mac.init(new SecretKeySpec(options.getString("secret").getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-    } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-      throw new RuntimeException(e);
-    }
+    // the key is shared, each thread signs and verifies with its own mac
+    mac = new Hmac("HmacSHA256", options.getString("secret"));
+    compact = options.getBoolean("compact", false);
 
     return this;
   }
@@ -71,18 +68,18 @@ public class CookieSessionStoreImpl implements CookieSessionStore {
 
   @Override
   public Session createSession(long timeout) {
-    return new CookieSession(mac, random, timeout, DEFAULT_SESSIONID_LENGTH);
+    return new CookieSession(mac, compact, random, timeout, DEFAULT_SESSIONID_LENGTH);
   }
 
   @Override
   public Session createSession(long timeout, int length) {
-    return new CookieSession(mac, random, timeout, length);
+    return new CookieSession(mac, compact, random, timeout, length);
   }
 
   @Override
   public Future<@Nullable Session> get(String cookieValue) {
     try {
-      Session session = new CookieSession(mac, random).setValue(cookieValue);
+      Session session = new CookieSession(mac, compact, random).setValue(cookieValue);
 
       if (session == null) {
         return ctx.succeededFuture();
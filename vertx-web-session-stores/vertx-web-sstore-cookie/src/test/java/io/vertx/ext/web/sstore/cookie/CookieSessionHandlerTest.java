@@ -20,10 +20,13 @@ import io.vertx.core.http.HttpMethod;
 import io.vertx.ext.web.Session;
 import io.vertx.ext.web.handler.SessionHandler;
 import io.vertx.ext.web.handler.SessionHandlerTestBase;
+import io.vertx.ext.web.sstore.SessionStore;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 /**
  * @author <a href="mailto:plopes@redhat.com">Paulo Lopes</a>
@@ -65,6 +68,60 @@ public class CookieSessionHandlerTest extends SessionHandlerTestBase {
     await();
   }
 
+  @Test
+  public void testCompactSession() {
+    SessionStore compactStore = CookieSessionStore.create(vertx, "KeyboardCat!", true);
+    Session session = compactStore.createSession(30_000);
+    for (int i = 0; i < 20; i++) {
+      session.put("key" + i, "some value that repeats itself " + i);
+    }
+    Session jsonSession = store.createSession(30_000);
+    jsonSession.data().putAll(session.data());
+    String cookieValue = session.value();
+    assertTrue(cookieValue.length() < jsonSession.value().length() / 2);
+
+    // sessions issued with either encoding can be read by both stores
+    store.get(cookieValue, onSuccess(decoded -> {
+      assertEquals(session.id(), decoded.id());
+      assertEquals("some value that repeats itself 7", decoded.get("key7"));
+      compactStore.get(jsonSession.value(), onSuccess(decoded2 -> {
+        assertEquals(jsonSession.id(), decoded2.id());
+        assertEquals("some value that repeats itself 7", decoded2.get("key7"));
+        testComplete();
+      }));
+    }));
+
+    await();
+  }
+
+  @Test
+  public void testChunkedSessionCookie() throws Exception {
+    StringBuilder large = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      large.append(Integer.toHexString(i * 7919));
+    }
+    router.route().handler(SessionHandler.create(store));
+    router.route("/0").handler(rc -> {
+      rc.session().put("large", large.toString());
+      rc.response().end();
+    });
+    router.route("/1").handler(rc -> {
+      assertEquals(large.toString(), rc.session().get("large"));
+      rc.response().end();
+    });
+
+    AtomicReference<String> cookies = new AtomicReference<>();
+    testRequest(HttpMethod.GET, "/0", null, resp -> {
+      List<String> setCookies = resp.headers().getAll("set-cookie");
+      assertTrue(setCookies.size() > 1);
+      cookies.set(setCookies.stream()
+        .map(setCookie -> setCookie.substring(0, setCookie.indexOf(';')))
+        .collect(Collectors.joining("; ")));
+    }, 200, "OK", null);
+
+    testRequest(HttpMethod.GET, "/1", req -> req.putHeader("cookie", cookies.get()), 200, "OK", null);
+  }
+
   /**
    * This test overrides the original as at the end there is no way to guarantee that the session cannot be
    * reused as Cookies do not preserve state across clients
@@ -23,14 +23,18 @@ import io.vertx.core.impl.ContextInternal;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.VertxContextPRNG;
 import io.vertx.ext.web.Session;
-import io.vertx.ext.web.sstore.AbstractSession;
 import io.vertx.ext.web.sstore.SessionStore;
 import io.vertx.ext.web.sstore.impl.SharedDataSessionImpl;
 import io.vertx.ext.web.sstore.redis.RedisSessionStore;
 import io.vertx.redis.client.Redis;
 import io.vertx.redis.client.RedisOptions;
 import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static io.vertx.redis.client.Command.*;
@@ -40,6 +44,13 @@ import static io.vertx.redis.client.Request.cmd;
  * @author <a href="https://github.com/llfbandit">Rémy Noël</a>
  */
 public class RedisSessionStoreImpl implements RedisSessionStore {
+
+  // session hash fields
+  private static final String TIMEOUT = "timeout";
+  private static final String LAST_ACCESSED = "lastAccessed";
+  private static final String VERSION = "version";
+  private static final String DATA_PREFIX = "data:";
+
   private Redis redis;
   private VertxContextPRNG random;
   private long retryTimeout;
@@ -82,12 +93,31 @@ public class RedisSessionStoreImpl implements RedisSessionStore {
 
   @Override
   public Future<@Nullable Session> get(String id) {
+    return redis.send(cmd(HGETALL).arg(id))
+      .compose(response -> {
+        if (response != null && response.size() > 0) {
+          SharedDataSessionImpl session = readSession(id, response);
+          // postpone expiration time, this cannot be done in a single frame with HGETALL cmd
+          return redis
+            .send(cmd(PEXPIRE).arg(id).arg(session.timeout()))
+            .map(session);
+        } else {
+          return ctx.succeededFuture();
+        }
+      }, err -> {
+        if (isLegacySession(err)) {
+          return getLegacySession(id);
+        }
+        return ctx.failedFuture(err);
+      });
+  }
+
+  private Future<@Nullable Session> getLegacySession(String id) {
     return redis.send(cmd(GET).arg(id))
       .compose(response -> {
         if (response != null) {
           SharedDataSessionImpl session = new SharedDataSessionImpl(random);
           session.readFromBuffer(0, response.toBuffer());
-          // postpone expiration time, this cannot be done in a single frame with GET cmd
           return redis
             .send(cmd(PEXPIRE).arg(id).arg(session.timeout()))
             .map(session);
@@ -105,38 +135,120 @@ public class RedisSessionStoreImpl implements RedisSessionStore {
 
   @Override
   public Future<Void> put(Session session) {
-    return redis.send(cmd(GET).arg(session.id()))
+    SharedDataSessionImpl newSession = (SharedDataSessionImpl) session;
+    return redis.send(cmd(HGET).arg(session.id()).arg(VERSION))
       .compose(response -> {
-      AbstractSession newSession = (AbstractSession) session;
-      if (response != null) {
-        // Old session exists, we need to validate versions
-        SharedDataSessionImpl oldSession = new SharedDataSessionImpl(random);
-        oldSession.readFromBuffer(0, response.toBuffer());
-
-        if (oldSession.version() != newSession.version()) {
-          return Future.failedFuture("Session version mismatch");
+        if (response != null) {
+          // Old session exists, we need to validate versions
+          if (response.toInteger() != newSession.version()) {
+            return Future.failedFuture("Session version mismatch");
+          }
         }
-      }
 
-      newSession.incrementVersion();
-      return writeSession(newSession);
-    });
+        newSession.incrementVersion();
+        return writeSession(newSession, response != null);
+      }, err -> {
+        if (isLegacySession(err)) {
+          return putLegacySession(newSession);
+        }
+        return ctx.failedFuture(err);
+      });
   }
 
-  private Future<Void> writeSession(Session session) {
-    Buffer buffer = Buffer.buffer();
-    SharedDataSessionImpl sessionImpl = (SharedDataSessionImpl) session;
-    sessionImpl.writeToBuffer(buffer);
+  private Future<Void> putLegacySession(SharedDataSessionImpl newSession) {
+    return redis.send(cmd(GET).arg(newSession.id()))
+      .compose(response -> {
+        if (response != null) {
+          SharedDataSessionImpl oldSession = new SharedDataSessionImpl(random);
+          oldSession.readFromBuffer(0, response.toBuffer());
 
-    // submit with all session data & expiration TO in ms
-    Request rq = cmd(SET)
-      .arg(session.id()).arg(buffer)
-      .arg("PX").arg(session.timeout());
+          if (oldSession.version() != newSession.version()) {
+            return Future.failedFuture("Session version mismatch");
+          }
+        }
 
-    return redis.send(rq)
+        newSession.incrementVersion();
+        // rewritten as a hash
+        return writeSession(newSession, false);
+      });
+  }
+
+  /**
+   * Sessions are stored as hashes with a field per session data entry, so that a session already stored is updated
+   * with the entries changed since it was loaded instead of being written again.
+   */
+  private Future<Void> writeSession(SharedDataSessionImpl session, boolean stored) {
+    final String id = session.id();
+    final List<Request> batch = new ArrayList<>();
+    batch.add(cmd(MULTI));
+
+    final Request hset = cmd(HSET).arg(id)
+      .arg(TIMEOUT).arg(session.timeout())
+      .arg(LAST_ACCESSED).arg(session.lastAccessed())
+      .arg(VERSION).arg(session.version());
+
+    if (stored && session.changedKeys() != null) {
+      final List<String> removed = new ArrayList<>();
+      session.writeChangedEntries(
+        (key, value) -> hset.arg(DATA_PREFIX + key).arg(value),
+        key -> removed.add(DATA_PREFIX + key));
+      batch.add(hset);
+      if (!removed.isEmpty()) {
+        final Request hdel = cmd(HDEL).arg(id);
+        for (String field : removed) {
+          hdel.arg(field);
+        }
+        batch.add(hdel);
+      }
+    } else {
+      // replace the whole session
+      batch.add(cmd(DEL).arg(id));
+      session.writeEntries((key, value) -> hset.arg(DATA_PREFIX + key).arg(value));
+      batch.add(hset);
+    }
+
+    // expiration TO in ms
+    batch.add(cmd(PEXPIRE).arg(id).arg(session.timeout()));
+    batch.add(cmd(EXEC));
+
+    return redis.batch(batch)
       .mapEmpty();
   }
 
+  private SharedDataSessionImpl readSession(String id, Response response) {
+    long timeout = 0;
+    long lastAccessed = 0;
+    int version = 0;
+    final Map<String, Buffer> entries = new HashMap<>();
+    for (String field : response.getKeys()) {
+      final Response value = response.get(field);
+      switch (field) {
+        case TIMEOUT:
+          timeout = value.toLong();
+          break;
+        case LAST_ACCESSED:
+          lastAccessed = value.toLong();
+          break;
+        case VERSION:
+          version = value.toInteger();
+          break;
+        default:
+          if (field.startsWith(DATA_PREFIX)) {
+            entries.put(field.substring(DATA_PREFIX.length()), value.toBuffer());
+          }
+          break;
+      }
+    }
+    return new SharedDataSessionImpl(random).readEntries(id, timeout, lastAccessed, version, entries);
+  }
+
+  /**
+   * Sessions stored by previous versions of this store are serialized in a single string value.
+   */
+  private static boolean isLegacySession(Throwable err) {
+    return err.getMessage() != null && err.getMessage().startsWith("WRONGTYPE");
+  }
+
   @Override
   public Future<Void> clear() {
     return redis.send(cmd(FLUSHDB))
@@ -10,6 +10,7 @@ import org.junit.*;
 
 import io.vertx.core.CompositeFuture;
 import io.vertx.ext.web.Session;
+import io.vertx.ext.web.sstore.AbstractSession;
 import io.vertx.ext.web.sstore.SessionStore;
 import org.junit.runner.RunWith;
 import org.testcontainers.containers.GenericContainer;
@@ -140,6 +141,34 @@ public class RedisSessionStoreTest {
       });
   }
 
+  @Test(timeout = 10_000)
+  public void testPutChangedEntries(TestContext should) {
+    final Async test = should.async();
+
+    Session session = store.createSession(30_000);
+    session.put("kept", "value");
+    session.put("updated", 1);
+    session.put("removed", true);
+    String value = session.value();
+
+    store.put(session)
+      .compose(aVoid -> store.get(value))
+      .compose(stored -> {
+        should.assertEquals(1, ((AbstractSession) stored).version());
+        stored.put("updated", 2);
+        stored.remove("removed");
+        return store.put(stored);
+      })
+      .compose(aVoid -> store.get(value))
+      .onComplete(should.asyncAssertSuccess(stored -> {
+        should.assertEquals(2, ((AbstractSession) stored).version());
+        should.assertEquals("value", stored.get("kept"));
+        should.assertEquals(2, stored.<Integer>get("updated"));
+        should.assertNull(stored.get("removed"));
+        test.complete();
+      }));
+  }
+
   @Test(timeout = 10_000)
   public void testFloodConnection(TestContext should) {
     final Async test = should.async();
@@ -0,0 +1,51 @@
+package io.vertx.ext.web;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.web.BlockingHandlerOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.web.BlockingHandlerOptions} original class using Vert.x codegen.
+ */
+public class BlockingHandlerOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, BlockingHandlerOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "maxConcurrency":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxConcurrency(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "ordered":
+          if (member.getValue() instanceof Boolean) {
+            obj.setOrdered((Boolean)member.getValue());
+          }
+          break;
+        case "virtualThreads":
+          if (member.getValue() instanceof Boolean) {
+            obj.setVirtualThreads((Boolean)member.getValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(BlockingHandlerOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(BlockingHandlerOptions obj, java.util.Map<String, Object> json) {
+    json.put("maxConcurrency", obj.getMaxConcurrency());
+    json.put("ordered", obj.isOrdered());
+    json.put("virtualThreads", obj.isVirtualThreads());
+  }
+}
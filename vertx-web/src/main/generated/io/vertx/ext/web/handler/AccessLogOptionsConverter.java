@@ -0,0 +1,69 @@
+package io.vertx.ext.web.handler;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.web.handler.AccessLogOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.web.handler.AccessLogOptions} original class using Vert.x codegen.
+ */
+public class AccessLogOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, AccessLogOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "overflowPolicy":
+          if (member.getValue() instanceof String) {
+            obj.setOverflowPolicy(io.vertx.ext.web.handler.AccessLogOverflowPolicy.valueOf((String)member.getValue()));
+          }
+          break;
+        case "path":
+          if (member.getValue() instanceof String) {
+            obj.setPath((String)member.getValue());
+          }
+          break;
+        case "pattern":
+          if (member.getValue() instanceof String) {
+            obj.setPattern((String)member.getValue());
+          }
+          break;
+        case "queueSize":
+          if (member.getValue() instanceof Number) {
+            obj.setQueueSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "sampleRate":
+          if (member.getValue() instanceof Number) {
+            obj.setSampleRate(((Number)member.getValue()).intValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(AccessLogOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(AccessLogOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getOverflowPolicy() != null) {
+      json.put("overflowPolicy", obj.getOverflowPolicy().name());
+    }
+    if (obj.getPath() != null) {
+      json.put("path", obj.getPath());
+    }
+    if (obj.getPattern() != null) {
+      json.put("pattern", obj.getPattern());
+    }
+    json.put("queueSize", obj.getQueueSize());
+    json.put("sampleRate", obj.getSampleRate());
+  }
+}
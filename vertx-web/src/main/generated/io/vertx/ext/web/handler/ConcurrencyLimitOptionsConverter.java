@@ -0,0 +1,93 @@
+package io.vertx.ext.web.handler;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.web.handler.ConcurrencyLimitOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.web.handler.ConcurrencyLimitOptions} original class using Vert.x codegen.
+ */
+public class ConcurrencyLimitOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ConcurrencyLimitOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "backoffRatio":
+          if (member.getValue() instanceof Number) {
+            obj.setBackoffRatio(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "initialLimit":
+          if (member.getValue() instanceof Number) {
+            obj.setInitialLimit(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxEventLoopLag":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxEventLoopLag(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxLimit":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxLimit(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "minLimit":
+          if (member.getValue() instanceof Number) {
+            obj.setMinLimit(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "priorities":
+          if (member.getValue() instanceof Number) {
+            obj.setPriorities(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "retryAfter":
+          if (member.getValue() instanceof Number) {
+            obj.setRetryAfter(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "rttTolerance":
+          if (member.getValue() instanceof Number) {
+            obj.setRttTolerance(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "smoothing":
+          if (member.getValue() instanceof Number) {
+            obj.setSmoothing(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "windowSize":
+          if (member.getValue() instanceof Number) {
+            obj.setWindowSize(((Number)member.getValue()).intValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(ConcurrencyLimitOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(ConcurrencyLimitOptions obj, java.util.Map<String, Object> json) {
+    json.put("backoffRatio", obj.getBackoffRatio());
+    json.put("initialLimit", obj.getInitialLimit());
+    json.put("maxEventLoopLag", obj.getMaxEventLoopLag());
+    json.put("maxLimit", obj.getMaxLimit());
+    json.put("minLimit", obj.getMinLimit());
+    json.put("priorities", obj.getPriorities());
+    json.put("retryAfter", obj.getRetryAfter());
+    json.put("rttTolerance", obj.getRttTolerance());
+    json.put("smoothing", obj.getSmoothing());
+    json.put("windowSize", obj.getWindowSize());
+  }
+}
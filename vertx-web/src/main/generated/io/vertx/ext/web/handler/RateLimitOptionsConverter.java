@@ -0,0 +1,93 @@
+package io.vertx.ext.web.handler;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.web.handler.RateLimitOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.web.handler.RateLimitOptions} original class using Vert.x codegen.
+ */
+public class RateLimitOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, RateLimitOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "clusterSlots":
+          if (member.getValue() instanceof Number) {
+            obj.setClusterSlots(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "clustered":
+          if (member.getValue() instanceof Boolean) {
+            obj.setClustered((Boolean)member.getValue());
+          }
+          break;
+        case "keyName":
+          if (member.getValue() instanceof String) {
+            obj.setKeyName((String)member.getValue());
+          }
+          break;
+        case "keySource":
+          if (member.getValue() instanceof String) {
+            obj.setKeySource(io.vertx.ext.web.handler.RateLimitKeySource.valueOf((String)member.getValue()));
+          }
+          break;
+        case "limit":
+          if (member.getValue() instanceof Number) {
+            obj.setLimit(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxKeys":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxKeys(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "name":
+          if (member.getValue() instanceof String) {
+            obj.setName((String)member.getValue());
+          }
+          break;
+        case "period":
+          if (member.getValue() instanceof Number) {
+            obj.setPeriod(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "syncInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setSyncInterval(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(RateLimitOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(RateLimitOptions obj, java.util.Map<String, Object> json) {
+    json.put("clusterSlots", obj.getClusterSlots());
+    json.put("clustered", obj.isClustered());
+    if (obj.getKeyName() != null) {
+      json.put("keyName", obj.getKeyName());
+    }
+    if (obj.getKeySource() != null) {
+      json.put("keySource", obj.getKeySource().name());
+    }
+    json.put("limit", obj.getLimit());
+    json.put("maxKeys", obj.getMaxKeys());
+    if (obj.getName() != null) {
+      json.put("name", obj.getName());
+    }
+    json.put("period", obj.getPeriod());
+    json.put("syncInterval", obj.getSyncInterval());
+  }
+}
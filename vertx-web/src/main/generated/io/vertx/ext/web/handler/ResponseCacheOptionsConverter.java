@@ -0,0 +1,57 @@
+package io.vertx.ext.web.handler;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.web.handler.ResponseCacheOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.web.handler.ResponseCacheOptions} original class using Vert.x codegen.
+ */
+public class ResponseCacheOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ResponseCacheOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "maxBodySize":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxBodySize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxCoalescingWait":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxCoalescingWait(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "maxEntries":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxEntries(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxSize(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(ResponseCacheOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(ResponseCacheOptions obj, java.util.Map<String, Object> json) {
+    json.put("maxBodySize", obj.getMaxBodySize());
+    json.put("maxCoalescingWait", obj.getMaxCoalescingWait());
+    json.put("maxEntries", obj.getMaxEntries());
+    json.put("maxSize", obj.getMaxSize());
+  }
+}
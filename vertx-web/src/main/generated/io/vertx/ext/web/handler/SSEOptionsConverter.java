@@ -0,0 +1,45 @@
+package io.vertx.ext.web.handler;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.web.handler.SSEOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.web.handler.SSEOptions} original class using Vert.x codegen.
+ */
+public class SSEOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, SSEOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "replaySize":
+          if (member.getValue() instanceof Number) {
+            obj.setReplaySize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "retry":
+          if (member.getValue() instanceof Number) {
+            obj.setRetry(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(SSEOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(SSEOptions obj, java.util.Map<String, Object> json) {
+    json.put("replaySize", obj.getReplaySize());
+    json.put("retry", obj.getRetry());
+  }
+}
@@ -20,6 +20,11 @@ public class SockJSBridgeOptionsConverter {
   public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, SockJSBridgeOptions obj) {
     for (java.util.Map.Entry<String, Object> member : json) {
       switch (member.getKey()) {
+        case "cborFraming":
+          if (member.getValue() instanceof Boolean) {
+            obj.setCborFraming((Boolean)member.getValue());
+          }
+          break;
         case "maxAddressLength":
           if (member.getValue() instanceof Number) {
             obj.setMaxAddressLength(((Number)member.getValue()).intValue());
@@ -49,6 +54,7 @@ public class SockJSBridgeOptionsConverter {
   }
 
   public static void toJson(SockJSBridgeOptions obj, java.util.Map<String, Object> json) {
+    json.put("cborFraming", obj.isCborFraming());
     json.put("maxAddressLength", obj.getMaxAddressLength());
     json.put("maxHandlersPerSocket", obj.getMaxHandlersPerSocket());
     json.put("pingTimeout", obj.getPingTimeout());
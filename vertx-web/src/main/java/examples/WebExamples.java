@@ -10,6 +10,7 @@ import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.http.*;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.auth.JWTOptions;
 import io.vertx.ext.auth.KeyStoreOptions;
 import io.vertx.ext.auth.User;
@@ -1971,4 +1972,152 @@ public class WebExamples {
         ctx.end(value);
       });
   }
+
+  public void example88(Router router) {
+    router
+      .route()
+      .handler(LoggerHandler.create(LoggerFormat.DEFAULT, new AccessLogOptions()
+        .setPattern(AccessLogOptions.COMBINED)
+        .setPath("access.log")
+        .setOverflowPolicy(AccessLogOverflowPolicy.DROP)));
+  }
+
+  public void example89(Router router) {
+    RouterMetrics metrics = RouterMetrics.create();
+    router.instrumentation(metrics);
+
+    router
+      .get("/metrics")
+      .handler(RouterMetricsHandler.create(metrics));
+  }
+
+  public void example90(Router router) {
+    router
+      .route("/api/*")
+      .handler(ConcurrencyLimitHandler
+        .create(new ConcurrencyLimitOptions()
+          .setPriorities(2)
+          .setMaxEventLoopLag(100))
+        // batch requests are shed first
+        .priorityClassifier(ctx -> ctx.request().path().startsWith("/api/batch") ? 1 : 0));
+  }
+
+  public void example91(Vertx vertx, Router router) {
+    router
+      .route("/api/*")
+      .handler(RateLimitHandler.create(vertx, new RateLimitOptions()
+        // 100 requests per minute and API key
+        .setLimit(100)
+        .setPeriod(60_000)
+        .setKeySource(RateLimitKeySource.HEADER)
+        .setKeyName("X-API-Key")));
+  }
+
+  public void example92(Vertx vertx, Router router) {
+    Router v1 = Router.router(vertx);
+    Router tenants = Router.router(vertx);
+
+    tenants.get("/:tenant/orders").handler(ctx -> {
+      // the mount point is still /api/v1/tenants/
+      ctx.response().end(ctx.pathParam("tenant"));
+    });
+
+    v1.route("/tenants/*").subRouter(tenants);
+    router.route("/api/v1/*").subRouter(v1);
+
+    // route through the sub routers without a routing context per level
+    router.flattenSubRouters(true);
+  }
+
+  public void example93(Router router) {
+    router
+      .route("/reports/*")
+      .blockingHandler(ctx -> {
+        // a JDBC query blocking the virtual thread
+        String report = generateReport(ctx.pathParam("*"));
+        ctx.response().end(report);
+      }, new BlockingHandlerOptions()
+        .setVirtualThreads(true)
+        .setMaxConcurrency(50));
+  }
+
+  public void example94(Router router) {
+    router.route("/products/*")
+      .handler(ResponseCacheHandler.create(new ResponseCacheOptions()
+        .setMaxEntries(10_000)
+        .setMaxBodySize(64 * 1024)));
+
+    router.get("/products/:id").handler(ctx -> {
+      // the product page can be cached for 5 minutes
+      ctx.response()
+        .putHeader("Cache-Control", "public, max-age=300")
+        .end(renderProduct(ctx.pathParam("id")));
+    });
+  }
+
+  public void example95(Router router) {
+    router.route("/api/*").handler(ETagHandler.create());
+
+    router.get("/api/status").handler(ctx -> {
+      // clients polling with If-None-Match get a 304 until the status changes
+      ctx.json(currentStatus());
+    });
+  }
+
+  public void example96(Vertx vertx, Router router) {
+    SSEHandler sse = SSEHandler.create(new SSEOptions().setReplaySize(256));
+
+    router.get("/live").handler(sse.connectHandler(connection -> {
+      // a welcome event for this client only
+      connection.send("welcome", "hello", null);
+      connection.subscribe("prices");
+    }));
+
+    // every second, broadcast to all the subscribed clients
+    vertx.setPeriodic(1000, id -> sse.broadcast("prices", "tick", currentPrices().encode()));
+  }
+
+  public void example97(Router router) {
+    router.post("/upload")
+      .handler(BodyHandler.create()
+        .setBodyLimit(1024L * 1024 * 1024)
+        // each upload is piped to a storage stream instead of a local file
+        .setUploadSink(upload -> openStorageStream(upload.fileName(), upload.contentType())));
+
+    router.post("/upload").handler(ctx -> ctx.end("Uploaded " + ctx.fileUploads().size() + " file(s)"));
+  }
+
+  public void example98(Vertx vertx, Router router, TemplateEngine engine) {
+    AssetManifest.create(vertx, "webroot").onSuccess(manifest -> {
+      // serves /static/css/site.4f3a9c1b2d7e8f60.css forever cacheable
+      router.route("/static/*").handler(StaticHandler.create("webroot").setAssetManifest(manifest));
+
+      router.get("/dynamic").handler(ctx -> {
+        // templates link to the hashed paths, e.g. /static/{{assets.[css/site.css]}}
+        ctx.put("assets", manifest.toJson());
+        ctx.next();
+      });
+      router.get("/dynamic").handler(TemplateHandler.create(engine));
+    });
+  }
+
+  private String generateReport(String name) {
+    throw new UnsupportedOperationException();
+  }
+
+  private String renderProduct(String id) {
+    throw new UnsupportedOperationException();
+  }
+
+  private JsonObject currentStatus() {
+    throw new UnsupportedOperationException();
+  }
+
+  private JsonObject currentPrices() {
+    throw new UnsupportedOperationException();
+  }
+
+  private Future<WriteStream<Buffer>> openStorageStream(String name, String contentType) {
+    throw new UnsupportedOperationException();
+  }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of a blocking route handler, see {@link Route#blockingHandler(io.vertx.core.Handler, BlockingHandlerOptions)}.
+ */
+@DataObject(generateConverter = true)
+public class BlockingHandlerOptions {
+
+  /**
+   * The default ordering of the handler executions = true.
+   */
+  public static final boolean DEFAULT_ORDERED = true;
+
+  /**
+   * The default use of virtual threads = false.
+   */
+  public static final boolean DEFAULT_VIRTUAL_THREADS = false;
+
+  /**
+   * The default maximum number of concurrent executions on virtual threads = 0 (no limit).
+   */
+  public static final int DEFAULT_MAX_CONCURRENCY = 0;
+
+  private boolean ordered = DEFAULT_ORDERED;
+  private boolean virtualThreads = DEFAULT_VIRTUAL_THREADS;
+  private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+  public BlockingHandlerOptions() {
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the options to copy
+   */
+  public BlockingHandlerOptions(BlockingHandlerOptions other) {
+    this.ordered = other.ordered;
+    this.virtualThreads = other.virtualThreads;
+    this.maxConcurrency = other.maxConcurrency;
+  }
+
+  /**
+   * Creates a new instance from JSON.
+   *
+   * @param json the JSON object
+   */
+  public BlockingHandlerOptions(JsonObject json) {
+    this();
+    BlockingHandlerOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    BlockingHandlerOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return whether the handler executions of a context are ordered
+   */
+  public boolean isOrdered() {
+    return ordered;
+  }
+
+  /**
+   * Set whether the executions of the handler for the same Vert.x context are run in sequence, in the order they
+   * were called, on the worker pool. This does not apply to virtual threads. Defaults to {@code true}.
+   *
+   * @param ordered true to run the handler in sequence
+   * @return a reference to this, so the API can be used fluently
+   */
+  public BlockingHandlerOptions setOrdered(boolean ordered) {
+    this.ordered = ordered;
+    return this;
+  }
+
+  /**
+   * @return whether the handler runs on virtual threads
+   */
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * Set whether the handler runs on a new virtual thread for each request instead of a worker thread, when the JVM
+   * supports virtual threads, otherwise the worker pool is used. Handlers running on virtual threads are not ordered,
+   * {@link io.vertx.ext.web.RoutingContext#next()} and {@link io.vertx.ext.web.RoutingContext#fail(Throwable)} resume
+   * the routing on the event loop of the request. Defaults to {@code false}.
+   *
+   * @param virtualThreads true to run the handler on virtual threads
+   * @return a reference to this, so the API can be used fluently
+   */
+  public BlockingHandlerOptions setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of concurrent executions of the handler on virtual threads
+   */
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Set the maximum number of executions of the handler running concurrently on virtual threads, e.g. the size of
+   * the database connection pool the handler uses. The other executions wait for their turn on their virtual thread.
+   * Defaults to {@code 0}, no limit.
+   *
+   * @param maxConcurrency the maximum number of executions
+   * @return a reference to this, so the API can be used fluently
+   */
+  public BlockingHandlerOptions setMaxConcurrency(int maxConcurrency) {
+    if (maxConcurrency < 0) {
+      throw new IllegalArgumentException("maxConcurrency must be >= 0");
+    }
+    this.maxConcurrency = maxConcurrency;
+    return this;
+  }
+}
@@ -33,7 +33,8 @@ public interface FileUpload {
   String name();
 
   /**
-   * @return the actual temporary file name on the server where the file was uploaded to.
+   * @return the actual temporary file name on the server where the file was uploaded to, {@code null} when the upload
+   * was streamed to the sink set with {@link io.vertx.ext.web.handler.BodyHandler#setUploadSink}.
    */
   String uploadedFileName();
 
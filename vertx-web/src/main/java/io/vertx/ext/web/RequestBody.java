@@ -2,7 +2,9 @@ package io.vertx.ext.web;
 
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
@@ -86,9 +88,29 @@ public interface RequestBody {
   /**
    * @return Get the entire HTTP request body as a {@link Buffer}. The context must have first been routed to a
    * {@link io.vertx.ext.web.handler.BodyHandler} for this to be populated.
+   * <br/>
+   * When the body has been spilled to disk (see {@link #fileName()}) it is not loaded in memory: this method and the
+   * methods decoding the body ({@link #asString()}, {@link #asJsonObject()}, {@link #asJsonArray()},
+   * {@link #asPojo(Class)}...) throw an {@link IllegalStateException}. Read such bodies with {@link #openFile()}, or
+   * load them asynchronously with {@code vertx.fileSystem().readFile(body.fileName())}.
    */
   @Nullable Buffer buffer();
 
+  /**
+   * @return the name of the temporary file holding the body when the
+   * {@link io.vertx.ext.web.handler.BodyHandler#setBodySpilloverThreshold(long)} was exceeded, or {@code null} when
+   * the body is kept in memory.
+   */
+  @Nullable String fileName();
+
+  /**
+   * Open the temporary file holding a body spilled to disk for reading. The file is deleted once the response has
+   * been sent, so it must be consumed before that.
+   *
+   * @return a future completed with the opened file, failed when the body was not spilled to disk.
+   */
+  Future<AsyncFile> openFile();
+
   /**
    * @return Get the entire HTTP request body as a POJO. The context must have first been routed to a
    * {@link io.vertx.ext.web.handler.BodyHandler} for this to be populated.
@@ -117,7 +139,8 @@ public interface RequestBody {
 
   /**
    * Returns the total length of the body buffer. This is the length in bytes. When there is no buffer the length is
-   * {@code -1}.
+   * {@code -1}. For a body spilled to disk this is the length of the file, an {@link IllegalStateException} is thrown
+   * when the file is larger than {@link Integer#MAX_VALUE} bytes, see {@link #fileName()}.
    *
    * @return length in bytes.
    */
@@ -179,6 +179,18 @@ public interface Route {
   @Fluent
   Route blockingHandler(Handler<RoutingContext> requestHandler, boolean ordered);
 
+  /**
+   * Specify a blocking request handler for the route, like {@link #blockingHandler(Handler, boolean)}, configured by the
+   * options, e.g. to run the handler on virtual threads with a maximum concurrency, so that blocking handlers are not
+   * bound to the size of the worker pool.
+   *
+   * @param requestHandler the blocking request handler
+   * @param options        the options
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  Route blockingHandler(Handler<RoutingContext> requestHandler, BlockingHandlerOptions options);
+
   /**
    * Append a failure handler to the route failure handlers list. The router routes failures to failurehandlers depending on whether the various
    * criteria such as method, path, etc match. When method, path, etc are the same for different routes, You should add multiple
@@ -17,6 +17,7 @@
 package io.vertx.ext.web;
 
 import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
@@ -417,4 +418,35 @@ public interface Router extends Handler<HttpServerRequest> {
    */
   @Fluent
   Router allowForward(AllowForwardHeaders allowForwardHeaders);
+
+  /**
+   * Set the instrumentation notified of the routing of the requests, e.g. {@link RouterMetrics}. Sub routers are
+   * instrumented separately, unless they are flattened in this router, see {@link #flattenSubRouters(boolean)}.
+   * Defaults to {@code null}, the routing is not measured.
+   *
+   * @param instrumentation the instrumentation or {@code null}
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  Router instrumentation(RoutingInstrumentation instrumentation);
+
+  /**
+   * Set whether the routes of the sub routers mounted on this router, and of their own sub routers, are flattened in a
+   * single routing table when this router handles a request.
+   * <p>
+   * By default each sub router a request is routed to creates its own routing context and matches the request against
+   * all its routes. Flattened, the request is routed through the nested sub routers with a single routing context in one
+   * pass over the table, the mount point and the current router are the same as with nested contexts. The table is
+   * rebuilt when this router or one of its sub routers is modified. The routing of the flattened sub routers is reported
+   * to the instrumentation of this router.
+   * <p>
+   * This only applies when this router is the request handler, it has no effect on a router mounted as a sub router.
+   * Defaults to {@code false}.
+   *
+   * @param flatten true to flatten the sub routers
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  Router flattenSubRouters(boolean flatten);
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.impl.RouterMetricsImpl;
+
+/**
+ * A {@link RoutingInstrumentation} recording per route latency histograms, handler step timings, the number of
+ * routes evaluated before a match and the match failures of a router.
+ * <p>
+ * Latencies are recorded in microseconds and reported with a relative error below 7%. Routes are identified by their
+ * name, which defaults to their path or regex.
+ */
+public interface RouterMetrics extends RoutingInstrumentation {
+
+  /**
+   * Create new router metrics.
+   *
+   * @return the metrics
+   */
+  static RouterMetrics create() {
+    return new RouterMetricsImpl();
+  }
+
+  /**
+   * Take a snapshot of the metrics, e.g.
+   * <pre>
+   * {
+   *   "routes": {
+   *     "/users/:id": {
+   *       "latency": { "count": 12, "mean": 420, "max": 1900, "p50": 383, "p90": 735, "p99": 1919, "p999": 1919 },
+   *       "evaluated": { "mean": 3.0, "max": 3 },
+   *       "steps": [ { "count": 12, ... }, { "count": 12, ... } ],
+   *       "failureSteps": [ ]
+   *     }
+   *   },
+   *   "matchFailures": { "404": 3, "405": 0, "406": 0, "415": 0 }
+   * }
+   * </pre>
+   *
+   * @return the snapshot
+   */
+  JsonObject snapshot();
+
+  /**
+   * Reset all the metrics.
+   */
+  void reset();
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web;
+
+/**
+ * An SPI notified of the routing of the requests handled by a {@link Router}, see
+ * {@link Router#instrumentation(RoutingInstrumentation)}.
+ * <p>
+ * The callbacks are invoked on the routing thread, usually the event loop, and must not block. A router without
+ * instrumentation does not measure anything.
+ */
+public interface RoutingInstrumentation {
+
+  /**
+   * A route matched the request.
+   *
+   * @param context the routing context
+   * @param route the matched route
+   * @param evaluated the number of routes evaluated to find this match, including the matched route
+   */
+  default void routeMatched(RoutingContext context, Route route, int evaluated) {
+  }
+
+  /**
+   * A handler of the chain completed its step, that is it called {@link RoutingContext#next()},
+   * {@link RoutingContext#fail(Throwable)} or the response ended.
+   *
+   * @param context the routing context
+   * @param route the route of the handler
+   * @param index the index of the handler in the route
+   * @param failure whether the handler is a failure handler
+   * @param durationNanos the duration of the step in nanoseconds
+   */
+  default void stepCompleted(RoutingContext context, Route route, int index, boolean failure, long durationNanos) {
+  }
+
+  /**
+   * No route matched the request, the router responds with the status code.
+   *
+   * @param context the routing context
+   * @param statusCode {@code 404}, {@code 405}, {@code 406} or {@code 415}
+   */
+  default void matchFailed(RoutingContext context, int statusCode) {
+  }
+
+  /**
+   * The response of a request ended or the connection was closed.
+   *
+   * @param context the routing context
+   * @param route the last route that handled the request or {@code null} when no route matched
+   * @param durationNanos the time elapsed since the router received the request, in nanoseconds
+   */
+  default void requestCompleted(RoutingContext context, Route route, long durationNanos) {
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of the asynchronous access log of a {@link LoggerHandler}.
+ * <p>
+ * Lines are rendered on the request thread into preallocated buffers of a bounded queue, a background thread drains
+ * the queue to the file or to the Vert.x logger, so that a slow log output does not stall the event loops.
+ * <p>
+ * The pattern uses the Apache {@code mod_log_config} directives:
+ * <ul>
+ *   <li>{@code %h}: the remote host</li>
+ *   <li>{@code %l}, {@code %u}: always {@code -}</li>
+ *   <li>{@code %t}: the time the request was received, e.g. {@code [10/Oct/2000:13:55:36 +0000]}</li>
+ *   <li>{@code %r}: the request line</li>
+ *   <li>{@code %s}, {@code %>s}: the status</li>
+ *   <li>{@code %b}: the response size, {@code -} when empty, {@code %B}: the response size</li>
+ *   <li>{@code %D}: the duration in microseconds, {@code %T}: the duration in seconds, {@code %{ms}T}: the duration in
+ *   milliseconds</li>
+ *   <li>{@code %m}: the method, {@code %U}: the path, {@code %q}: the query string, {@code %H}: the protocol</li>
+ *   <li>{@code %{Name}i}: a request header, {@code %{Name}o}: a response header</li>
+ *   <li>{@code %%}: a percent sign</li>
+ * </ul>
+ */
+@DataObject(generateConverter = true)
+public class AccessLogOptions {
+
+  /**
+   * The Apache common log format.
+   */
+  public static final String COMMON = "%h %l %u %t \"%r\" %>s %b";
+
+  /**
+   * The Apache combined log format.
+   */
+  public static final String COMBINED = COMMON + " \"%{Referer}i\" \"%{User-agent}i\"";
+
+  /**
+   * The default queue size = 8192.
+   */
+  public static final int DEFAULT_QUEUE_SIZE = 8192;
+
+  /**
+   * The default overflow policy = {@link AccessLogOverflowPolicy#DROP}.
+   */
+  public static final AccessLogOverflowPolicy DEFAULT_OVERFLOW_POLICY = AccessLogOverflowPolicy.DROP;
+
+  /**
+   * The default sample rate = 10.
+   */
+  public static final int DEFAULT_SAMPLE_RATE = 10;
+
+  private String pattern;
+  private String path;
+  private int queueSize = DEFAULT_QUEUE_SIZE;
+  private AccessLogOverflowPolicy overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+  private int sampleRate = DEFAULT_SAMPLE_RATE;
+
+  public AccessLogOptions() {
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the options to copy
+   */
+  public AccessLogOptions(AccessLogOptions other) {
+    this.pattern = other.pattern;
+    this.path = other.path;
+    this.queueSize = other.queueSize;
+    this.overflowPolicy = other.overflowPolicy;
+    this.sampleRate = other.sampleRate;
+  }
+
+  /**
+   * Creates a new instance from JSON.
+   *
+   * @param json the JSON object
+   */
+  public AccessLogOptions(JsonObject json) {
+    this();
+    AccessLogOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    AccessLogOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the pattern of the lines
+   */
+  public String getPattern() {
+    return pattern;
+  }
+
+  /**
+   * Set the pattern of the lines, e.g. {@link #COMBINED}. Defaults to {@code null}, the format of the handler is used.
+   *
+   * @param pattern the pattern
+   * @return a reference to this, so the API can be used fluently
+   */
+  public AccessLogOptions setPattern(String pattern) {
+    this.pattern = pattern;
+    return this;
+  }
+
+  /**
+   * @return the path of the file the lines are appended to
+   */
+  public String getPath() {
+    return path;
+  }
+
+  /**
+   * Set the path of the file the lines are appended to. Defaults to {@code null}, the lines are logged to the Vert.x
+   * logger, from the background thread.
+   *
+   * @param path the file path
+   * @return a reference to this, so the API can be used fluently
+   */
+  public AccessLogOptions setPath(String path) {
+    this.path = path;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of lines waiting to be written
+   */
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  /**
+   * Set the maximum number of lines waiting to be written, rounded up to a power of two. Defaults to {@code 8192}.
+   *
+   * @param queueSize the queue size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public AccessLogOptions setQueueSize(int queueSize) {
+    if (queueSize < 2 || queueSize > 1 << 24) {
+      throw new IllegalArgumentException("queueSize must be between 2 and 2^24");
+    }
+    this.queueSize = queueSize;
+    return this;
+  }
+
+  /**
+   * @return what happens to a line when the queue is full
+   */
+  public AccessLogOverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  /**
+   * Set what happens to a line when the queue is full. Defaults to {@link AccessLogOverflowPolicy#DROP}.
+   *
+   * @param overflowPolicy the policy
+   * @return a reference to this, so the API can be used fluently
+   */
+  public AccessLogOptions setOverflowPolicy(AccessLogOverflowPolicy overflowPolicy) {
+    if (overflowPolicy == null) {
+      throw new IllegalArgumentException("overflowPolicy must not be null");
+    }
+    this.overflowPolicy = overflowPolicy;
+    return this;
+  }
+
+  /**
+   * @return the sampling rate of the {@link AccessLogOverflowPolicy#SAMPLE} policy
+   */
+  public int getSampleRate() {
+    return sampleRate;
+  }
+
+  /**
+   * Set how many lines one line is kept out of when the queue is half full with the
+   * {@link AccessLogOverflowPolicy#SAMPLE} policy. Defaults to {@code 10}.
+   *
+   * @param sampleRate the rate
+   * @return a reference to this, so the API can be used fluently
+   */
+  public AccessLogOptions setSampleRate(int sampleRate) {
+    if (sampleRate < 1) {
+      throw new IllegalArgumentException("sampleRate must be >= 1");
+    }
+    this.sampleRate = sampleRate;
+    return this;
+  }
+}
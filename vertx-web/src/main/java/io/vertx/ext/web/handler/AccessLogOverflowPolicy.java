@@ -0,0 +1,43 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * What an asynchronous {@link LoggerHandler} does with a line when its queue is full.
+ */
+@VertxGen
+public enum AccessLogOverflowPolicy {
+
+  /**
+   * The line is dropped, the number of dropped lines is logged periodically.
+   */
+  DROP,
+
+  /**
+   * The request thread waits until the line can be queued, this slows down the server to the pace of the log output.
+   * An event loop is never parked: it writes the queued lines itself, the line is dropped when the oldest queued line
+   * is still being rendered by another thread.
+   */
+  BLOCK,
+
+  /**
+   * Once the queue is half full, only one line out of {@link AccessLogOptions#getSampleRate()} is queued, the others
+   * are dropped, when the queue is full the line is dropped.
+   */
+  SAMPLE
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.handler.impl.AssetManifestImpl;
+
+/**
+ * The mapping of the files of a web root to content hashed paths, e.g. {@code css/site.css} to
+ * {@code css/site.4f3a9c1b2d7e8f60.css}.
+ * <p>
+ * A {@link StaticHandler} configured with a manifest serves the hashed paths as immutable resources that are cached
+ * forever by browsers, templates render the hashed paths by looking up the logical paths in the manifest.
+ */
+@VertxGen
+public interface AssetManifest {
+
+  /**
+   * Create a manifest hashing the files of the web root with a few parallel tasks of the worker pool. Hidden files are
+   * ignored. The web root is resolved like the static handler does: a directory of the file system, or else of the
+   * classpath (e.g. in a jar, then extracted to the Vert.x file cache). The future fails when the web root is not a
+   * directory.
+   *
+   * @param vertx  the vertx instance
+   * @param webRoot  the web root of the static handler
+   * @return a future completed with the manifest
+   */
+  static Future<AssetManifest> create(Vertx vertx, String webRoot) {
+    return AssetManifestImpl.create(vertx, webRoot);
+  }
+
+  /**
+   * Resolve the hashed path of a file.
+   *
+   * @param path  the path of the file relative to the web root, with or without a leading {@code /}
+   * @return the hashed path, with a leading {@code /} when the path has one, or {@code null} when the file is unknown
+   */
+  @Nullable String resolve(String path);
+
+  /**
+   * @return the mapping of the paths relative to the web root to the hashed paths, for template engines
+   */
+  JsonObject toJson();
+}
@@ -18,10 +18,16 @@ package io.vertx.ext.web.handler;
 
 import io.vertx.codegen.annotations.Fluent;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.ext.web.FileUpload;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.impl.BodyHandlerImpl;
 
+import java.util.function.Function;
+
 /**
  * A handler which gathers the entire request body and sets it on the {@link RoutingContext}.
  * <p>
@@ -57,6 +63,16 @@ public interface BodyHandler extends Handler<RoutingContext> {
    */
   boolean DEFAULT_PREALLOCATE_BODY_BUFFER = false;
 
+  /**
+   * Default threshold in bytes after which a request body is spilled to disk = {@code -1} means never
+   */
+  long DEFAULT_BODY_SPILLOVER_THRESHOLD = -1;
+
+  /**
+   * Default value of whether to aggregate the body in a composite pooled buffer
+   */
+  boolean DEFAULT_COMPOSITE_BODY_BUFFER = false;
+
   /**
    * Create a body handler with defaults
    *
@@ -142,4 +158,45 @@ public interface BodyHandler extends Handler<RoutingContext> {
   @Fluent
   BodyHandler setPreallocateBodyBuffer(boolean isPreallocateBodyBuffer);
 
+  /**
+   * Set the size in bytes after which a (non multipart) request body is no longer kept in memory but streamed to a
+   * temporary file in the uploads directory, {@code -1} means the body is always kept in memory.
+   * <p>
+   * The temporary file is always removed once the response has been sent. The content can be read with
+   * {@link io.vertx.ext.web.RequestBody#openFile()} or, at the cost of loading it in memory, with
+   * {@link io.vertx.ext.web.RequestBody#buffer()}.
+   *
+   * @param bodySpilloverThreshold  the threshold in bytes
+   * @return reference to this for fluency
+   */
+  @Fluent
+  BodyHandler setBodySpilloverThreshold(long bodySpilloverThreshold);
+
+  /**
+   * Aggregate the received chunks of the body in a composite buffer allocated from the pooled allocator instead of
+   * copying them into a single growing buffer. This avoids the repeated copies and resizes of large bodies: the chunks
+   * are copied once into a buffer of the exact size when the body is complete, and the pooled buffer is released right
+   * away, so the body buffer has no particular lifetime. When enabled {@link #setPreallocateBodyBuffer(boolean)} has
+   * no effect.
+   *
+   * @param compositeBodyBuffer {@code true} to aggregate the body in a composite buffer
+   * @return reference to this for fluency
+   */
+  @Fluent
+  BodyHandler setCompositeBodyBuffer(boolean compositeBodyBuffer);
+
+  /**
+   * Stream the file uploads to the sinks created by the given factory instead of the uploads directory, e.g. to an
+   * object storage, so large uploads never touch the local disk.
+   * <p>
+   * The factory is called for each upload as soon as its headers are received, the content is piped with back
+   * pressure to the returned write stream which is ended with the upload. The request proceeds once every sink has
+   * been ended. The {@link FileUpload#uploadedFileName()} of such uploads is {@code null}, when the request fails the
+   * uploads are cancelled but the sinks are not ended.
+   *
+   * @param uploadSink  the sink factory, {@code null} to store the uploads in the uploads directory
+   * @return reference to this for fluency
+   */
+  @Fluent
+  BodyHandler setUploadSink(Function<FileUpload, Future<WriteStream<Buffer>>> uploadSink);
 }
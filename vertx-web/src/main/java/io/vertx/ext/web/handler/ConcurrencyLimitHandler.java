@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.impl.ConcurrencyLimitHandlerImpl;
+
+import java.util.function.Function;
+
+/**
+ * A handler limiting the number of requests processed concurrently, rejecting the excess requests with a {@code 503}
+ * status and a {@code Retry-After} header before they consume resources.
+ * <p>
+ * The limit adapts to the latency observed by the handler, see {@link ConcurrencyLimitOptions}, so that requests do not
+ * queue in the server when it is overloaded and the latency stays bounded. The handler should be mounted before any
+ * handler doing work, one handler per route or group of routes with a similar cost.
+ */
+@VertxGen
+public interface ConcurrencyLimitHandler extends PlatformHandler {
+
+  /**
+   * Create a handler with the default options.
+   *
+   * @return the handler
+   */
+  static ConcurrencyLimitHandler create() {
+    return create(new ConcurrencyLimitOptions());
+  }
+
+  /**
+   * Create a handler.
+   *
+   * @param options the options
+   * @return the handler
+   */
+  static ConcurrencyLimitHandler create(ConcurrencyLimitOptions options) {
+    return new ConcurrencyLimitHandlerImpl(options);
+  }
+
+  /**
+   * Set the function returning the priority class of a request, between {@code 0} (highest priority) and
+   * {@link ConcurrencyLimitOptions#getPriorities()} (exclusive). Lower priority requests are rejected first.
+   *
+   * @param classifier the classifier function
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  ConcurrencyLimitHandler priorityClassifier(Function<RoutingContext, Integer> classifier);
+
+  /**
+   * @return the current concurrency limit
+   */
+  int limit();
+
+  /**
+   * @return the number of requests being processed
+   */
+  int inflight();
+}
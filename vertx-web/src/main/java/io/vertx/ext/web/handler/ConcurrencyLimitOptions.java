@@ -0,0 +1,350 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of a {@link ConcurrencyLimitHandler}.
+ * <p>
+ * The limit adapts to the observed latency: while the recent latency stays close to the long term latency the limit
+ * grows, when it exceeds the long term latency by more than the tolerance, queuing is happening and the limit shrinks
+ * proportionally. An overload signal multiplies the limit by the backoff ratio.
+ */
+@DataObject(generateConverter = true)
+public class ConcurrencyLimitOptions {
+
+  /**
+   * The default initial limit = 20.
+   */
+  public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+  /**
+   * The default minimum limit = 1.
+   */
+  public static final int DEFAULT_MIN_LIMIT = 1;
+
+  /**
+   * The default maximum limit = 1000.
+   */
+  public static final int DEFAULT_MAX_LIMIT = 1000;
+
+  /**
+   * The default latency tolerance = 1.5.
+   */
+  public static final double DEFAULT_RTT_TOLERANCE = 1.5;
+
+  /**
+   * The default smoothing = 0.2.
+   */
+  public static final double DEFAULT_SMOOTHING = 0.2;
+
+  /**
+   * The default backoff ratio = 0.9.
+   */
+  public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+  /**
+   * The default number of samples per limit update = 20.
+   */
+  public static final int DEFAULT_WINDOW_SIZE = 20;
+
+  /**
+   * The default number of priority classes = 1.
+   */
+  public static final int DEFAULT_PRIORITIES = 1;
+
+  /**
+   * The default maximum event loop lag = 0 (not monitored).
+   */
+  public static final long DEFAULT_MAX_EVENT_LOOP_LAG = 0;
+
+  /**
+   * The default retry after delay in seconds = 1.
+   */
+  public static final long DEFAULT_RETRY_AFTER = 1;
+
+  private int initialLimit = DEFAULT_INITIAL_LIMIT;
+  private int minLimit = DEFAULT_MIN_LIMIT;
+  private int maxLimit = DEFAULT_MAX_LIMIT;
+  private double rttTolerance = DEFAULT_RTT_TOLERANCE;
+  private double smoothing = DEFAULT_SMOOTHING;
+  private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+  private int windowSize = DEFAULT_WINDOW_SIZE;
+  private int priorities = DEFAULT_PRIORITIES;
+  private long maxEventLoopLag = DEFAULT_MAX_EVENT_LOOP_LAG;
+  private long retryAfter = DEFAULT_RETRY_AFTER;
+
+  public ConcurrencyLimitOptions() {
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the options to copy
+   */
+  public ConcurrencyLimitOptions(ConcurrencyLimitOptions other) {
+    this.initialLimit = other.initialLimit;
+    this.minLimit = other.minLimit;
+    this.maxLimit = other.maxLimit;
+    this.rttTolerance = other.rttTolerance;
+    this.smoothing = other.smoothing;
+    this.backoffRatio = other.backoffRatio;
+    this.windowSize = other.windowSize;
+    this.priorities = other.priorities;
+    this.maxEventLoopLag = other.maxEventLoopLag;
+    this.retryAfter = other.retryAfter;
+  }
+
+  /**
+   * Creates a new instance from JSON.
+   *
+   * @param json the JSON object
+   */
+  public ConcurrencyLimitOptions(JsonObject json) {
+    this();
+    ConcurrencyLimitOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ConcurrencyLimitOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the initial concurrency limit
+   */
+  public int getInitialLimit() {
+    return initialLimit;
+  }
+
+  /**
+   * Set the concurrency limit before any latency has been observed. Defaults to {@code 20}.
+   *
+   * @param initialLimit the initial limit
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setInitialLimit(int initialLimit) {
+    if (initialLimit < 1) {
+      throw new IllegalArgumentException("initialLimit must be >= 1");
+    }
+    this.initialLimit = initialLimit;
+    return this;
+  }
+
+  /**
+   * @return the minimum concurrency limit
+   */
+  public int getMinLimit() {
+    return minLimit;
+  }
+
+  /**
+   * Set the minimum concurrency limit. Defaults to {@code 1}.
+   *
+   * @param minLimit the minimum limit
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setMinLimit(int minLimit) {
+    if (minLimit < 1) {
+      throw new IllegalArgumentException("minLimit must be >= 1");
+    }
+    this.minLimit = minLimit;
+    return this;
+  }
+
+  /**
+   * @return the maximum concurrency limit
+   */
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  /**
+   * Set the maximum concurrency limit. Defaults to {@code 1000}.
+   *
+   * @param maxLimit the maximum limit
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setMaxLimit(int maxLimit) {
+    if (maxLimit < 1) {
+      throw new IllegalArgumentException("maxLimit must be >= 1");
+    }
+    this.maxLimit = maxLimit;
+    return this;
+  }
+
+  /**
+   * @return the latency tolerance
+   */
+  public double getRttTolerance() {
+    return rttTolerance;
+  }
+
+  /**
+   * Set how much the recent latency may exceed the long term latency before the limit is reduced, e.g. {@code 2}
+   * tolerates a doubled latency. Defaults to {@code 1.5}.
+   *
+   * @param rttTolerance the tolerance
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setRttTolerance(double rttTolerance) {
+    if (rttTolerance < 1) {
+      throw new IllegalArgumentException("rttTolerance must be >= 1");
+    }
+    this.rttTolerance = rttTolerance;
+    return this;
+  }
+
+  /**
+   * @return the smoothing factor of the limit updates
+   */
+  public double getSmoothing() {
+    return smoothing;
+  }
+
+  /**
+   * Set the smoothing factor of the limit updates, between {@code 0} (exclusive), the limit never changes, and
+   * {@code 1}, the limit is replaced by each new estimate. Defaults to {@code 0.2}.
+   *
+   * @param smoothing the smoothing factor
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setSmoothing(double smoothing) {
+    if (smoothing <= 0 || smoothing > 1) {
+      throw new IllegalArgumentException("smoothing must be between 0 and 1");
+    }
+    this.smoothing = smoothing;
+    return this;
+  }
+
+  /**
+   * @return the factor applied to the limit on overload
+   */
+  public double getBackoffRatio() {
+    return backoffRatio;
+  }
+
+  /**
+   * Set the factor applied to the limit when an overload is detected: a request timed out ({@code 503} or
+   * {@code 504}) or the event loop lags. Defaults to {@code 0.9}.
+   *
+   * @param backoffRatio the ratio
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setBackoffRatio(double backoffRatio) {
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+    }
+    this.backoffRatio = backoffRatio;
+    return this;
+  }
+
+  /**
+   * @return the number of latency samples per limit update
+   */
+  public int getWindowSize() {
+    return windowSize;
+  }
+
+  /**
+   * Set the number of latency samples aggregated before the limit is updated. Defaults to {@code 20}.
+   *
+   * @param windowSize the number of samples
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setWindowSize(int windowSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("windowSize must be >= 1");
+    }
+    this.windowSize = windowSize;
+    return this;
+  }
+
+  /**
+   * @return the number of priority classes
+   */
+  public int getPriorities() {
+    return priorities;
+  }
+
+  /**
+   * Set the number of priority classes, see {@link ConcurrencyLimitHandler#priorityClassifier(java.util.function.Function)}.
+   * The requests of the class {@code p} (0 being the highest priority) are admitted while the in-flight requests stay
+   * below {@code limit * (priorities - p) / priorities}, so that low priority requests are shed first. Defaults to {@code 1}.
+   *
+   * @param priorities the number of classes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setPriorities(int priorities) {
+    if (priorities < 1) {
+      throw new IllegalArgumentException("priorities must be >= 1");
+    }
+    this.priorities = priorities;
+    return this;
+  }
+
+  /**
+   * @return the maximum event loop lag in milliseconds
+   */
+  public long getMaxEventLoopLag() {
+    return maxEventLoopLag;
+  }
+
+  /**
+   * Set the maximum lag in milliseconds of the event loop handling a request: above it the request is rejected and
+   * the limit reduced. Defaults to {@code 0}, the event loops are not monitored.
+   *
+   * @param maxEventLoopLag the lag in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setMaxEventLoopLag(long maxEventLoopLag) {
+    if (maxEventLoopLag < 0) {
+      throw new IllegalArgumentException("maxEventLoopLag must be >= 0");
+    }
+    this.maxEventLoopLag = maxEventLoopLag;
+    return this;
+  }
+
+  /**
+   * @return the delay in seconds of the {@code Retry-After} header of rejected requests
+   */
+  public long getRetryAfter() {
+    return retryAfter;
+  }
+
+  /**
+   * Set the delay in seconds of the {@code Retry-After} header of rejected requests. Defaults to {@code 1}, {@code 0} does
+   * not set the header.
+   *
+   * @param retryAfter the delay in seconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ConcurrencyLimitOptions setRetryAfter(long retryAfter) {
+    if (retryAfter < 0) {
+      throw new IllegalArgumentException("retryAfter must be >= 0");
+    }
+    this.retryAfter = retryAfter;
+    return this;
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.ext.web.handler.impl.ETagHandlerImpl;
+
+/**
+ * A handler computing the {@code ETag} of the {@code GET} responses of the next handlers from a hash of their body, and
+ * replying {@code 304 Not Modified} without the body when the {@code If-None-Match} header of the request matches it.
+ * <p>
+ * The body is buffered until the response ends to compute the hash before sending the headers. The responses are sent
+ * unchanged when they are not {@code 200} responses, already have an {@code ETag}, are chunked or event streams, are
+ * sent from a file, or when the body exceeds the maximum buffer size.
+ */
+@VertxGen
+public interface ETagHandler extends PlatformHandler {
+
+  /**
+   * The default maximum size of a buffered body = 256 KiB.
+   */
+  int DEFAULT_MAX_BUFFER_SIZE = 256 * 1024;
+
+  /**
+   * Create a handler generating strong ETags.
+   *
+   * @return the handler
+   */
+  static ETagHandler create() {
+    return create(false, DEFAULT_MAX_BUFFER_SIZE);
+  }
+
+  /**
+   * Create a handler.
+   *
+   * @param weak true to generate weak ETags, e.g. when a compression of the responses alters the body
+   * @param maxBufferSize the maximum size in bytes of a buffered body, larger responses are sent without an ETag
+   * @return the handler
+   */
+  static ETagHandler create(boolean weak, int maxBufferSize) {
+    return new ETagHandlerImpl(weak, maxBufferSize);
+  }
+}
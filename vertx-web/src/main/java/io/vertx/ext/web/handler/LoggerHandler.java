@@ -64,6 +64,18 @@ public interface LoggerHandler extends PlatformHandler {
     return new LoggerHandlerImpl(immediate, format);
   }
 
+  /**
+   * Create a handler with the specified format logging asynchronously: the lines are queued by the request threads and
+   * written to the file or the Vert.x logger by a background thread.
+   *
+   * @param format  the format, the pattern of the options takes precedence when set
+   * @param options  the asynchronous access log options
+   * @return the handler
+   */
+  static LoggerHandler create(LoggerFormat format, AccessLogOptions options) {
+    return new LoggerHandlerImpl(false, format, options);
+  }
+
   /**
    * Set the custom formatter to be used by the handler.
    *
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.impl.RateLimitHandlerImpl;
+
+import java.util.function.Function;
+
+/**
+ * A handler limiting the rate of the requests of each client, see {@link RateLimitOptions}.
+ * <p>
+ * The handler adds the {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset} headers to
+ * the responses, and rejects the requests exceeding the allowance of the client with a {@code 429} status and a
+ * {@code Retry-After} header.
+ */
+@VertxGen
+public interface RateLimitHandler extends Handler<RoutingContext> {
+
+  /**
+   * Create a handler with the default options.
+   *
+   * @param vertx the vertx instance
+   * @return the handler
+   */
+  static RateLimitHandler create(Vertx vertx) {
+    return create(vertx, new RateLimitOptions());
+  }
+
+  /**
+   * Create a handler.
+   *
+   * @param vertx the vertx instance
+   * @param options the options
+   * @return the handler
+   */
+  static RateLimitHandler create(Vertx vertx, RateLimitOptions options) {
+    return new RateLimitHandlerImpl(vertx, options);
+  }
+
+  /**
+   * Set a function identifying the client of a request, overriding the key source of the options. When the function
+   * returns {@code null} the client address is used.
+   *
+   * @param extractor the key extractor
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  RateLimitHandler keyExtractor(Function<RoutingContext, String> extractor);
+}
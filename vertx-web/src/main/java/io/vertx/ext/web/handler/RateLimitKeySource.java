@@ -0,0 +1,49 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * What identifies the client a {@link RateLimitHandler} limits.
+ */
+@VertxGen
+public enum RateLimitKeySource {
+
+  /**
+   * The client address, taking the forwarded headers into account when the router allows them, see
+   * {@link io.vertx.ext.web.Router#allowForward(io.vertx.ext.web.AllowForwardHeaders)}.
+   */
+  CLIENT_ADDRESS,
+
+  /**
+   * The authenticated user, the handler must be mounted after the authentication handler. Requests without user are
+   * limited by client address.
+   */
+  USER,
+
+  /**
+   * A request header, e.g. the API key header of an {@link APIKeyHandler}, see {@link RateLimitOptions#setKeyName(String)}.
+   * Requests without the header are limited by client address.
+   */
+  HEADER,
+
+  /**
+   * A query parameter, see {@link RateLimitOptions#setKeyName(String)}. Requests without the parameter are limited by
+   * client address.
+   */
+  PARAMETER
+}
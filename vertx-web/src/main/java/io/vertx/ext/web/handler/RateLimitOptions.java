@@ -0,0 +1,313 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of a {@link RateLimitHandler}.
+ * <p>
+ * Each client has an allowance of {@code limit} requests replenished continuously over {@code period} milliseconds
+ * (a token bucket), requests exceeding the allowance are rejected with a {@code 429} status.
+ */
+@DataObject(generateConverter = true)
+public class RateLimitOptions {
+
+  /**
+   * The default number of requests per period = 100.
+   */
+  public static final int DEFAULT_LIMIT = 100;
+
+  /**
+   * The default period in milliseconds = 60000.
+   */
+  public static final long DEFAULT_PERIOD = 60000;
+
+  /**
+   * The default key source = {@link RateLimitKeySource#CLIENT_ADDRESS}.
+   */
+  public static final RateLimitKeySource DEFAULT_KEY_SOURCE = RateLimitKeySource.CLIENT_ADDRESS;
+
+  /**
+   * The default maximum number of tracked clients = 100000.
+   */
+  public static final int DEFAULT_MAX_KEYS = 100000;
+
+  /**
+   * The default clustered mode = false.
+   */
+  public static final boolean DEFAULT_CLUSTERED = false;
+
+  /**
+   * The default number of cluster wide counters = 16384.
+   */
+  public static final int DEFAULT_CLUSTER_SLOTS = 16384;
+
+  /**
+   * The default interval in milliseconds between two cluster synchronizations = 100.
+   */
+  public static final long DEFAULT_SYNC_INTERVAL = 100;
+
+  /**
+   * The default name of the cluster wide counters = {@code vertx-web.rate-limit}.
+   */
+  public static final String DEFAULT_NAME = "vertx-web.rate-limit";
+
+  private int limit = DEFAULT_LIMIT;
+  private long period = DEFAULT_PERIOD;
+  private RateLimitKeySource keySource = DEFAULT_KEY_SOURCE;
+  private String keyName;
+  private int maxKeys = DEFAULT_MAX_KEYS;
+  private boolean clustered = DEFAULT_CLUSTERED;
+  private int clusterSlots = DEFAULT_CLUSTER_SLOTS;
+  private long syncInterval = DEFAULT_SYNC_INTERVAL;
+  private String name = DEFAULT_NAME;
+
+  public RateLimitOptions() {
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the options to copy
+   */
+  public RateLimitOptions(RateLimitOptions other) {
+    this.limit = other.limit;
+    this.period = other.period;
+    this.keySource = other.keySource;
+    this.keyName = other.keyName;
+    this.maxKeys = other.maxKeys;
+    this.clustered = other.clustered;
+    this.clusterSlots = other.clusterSlots;
+    this.syncInterval = other.syncInterval;
+    this.name = other.name;
+  }
+
+  /**
+   * Creates a new instance from JSON.
+   *
+   * @param json the JSON object
+   */
+  public RateLimitOptions(JsonObject json) {
+    this();
+    RateLimitOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    RateLimitOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the number of requests allowed per period
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Set the number of requests a client may send per period, which is also the size of the burst a client may send
+   * after being idle. Defaults to {@code 100}.
+   *
+   * @param limit the number of requests
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RateLimitOptions setLimit(int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("limit must be >= 1");
+    }
+    this.limit = limit;
+    return this;
+  }
+
+  /**
+   * @return the period in milliseconds
+   */
+  public long getPeriod() {
+    return period;
+  }
+
+  /**
+   * Set the period in milliseconds over which the limit applies, the allowance of a client is replenished continuously
+   * at a rate of {@code limit / period}. Defaults to {@code 60000}.
+   *
+   * @param period the period in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RateLimitOptions setPeriod(long period) {
+    if (period < 1) {
+      throw new IllegalArgumentException("period must be >= 1");
+    }
+    this.period = period;
+    return this;
+  }
+
+  /**
+   * @return what identifies a client
+   */
+  public RateLimitKeySource getKeySource() {
+    return keySource;
+  }
+
+  /**
+   * Set what identifies a client. Defaults to {@link RateLimitKeySource#CLIENT_ADDRESS}.
+   *
+   * @param keySource the key source
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RateLimitOptions setKeySource(RateLimitKeySource keySource) {
+    if (keySource == null) {
+      throw new IllegalArgumentException("keySource cannot be null");
+    }
+    this.keySource = keySource;
+    return this;
+  }
+
+  /**
+   * @return the name of the header or parameter identifying a client
+   */
+  public String getKeyName() {
+    return keyName;
+  }
+
+  /**
+   * Set the name of the header or query parameter identifying a client, for the {@link RateLimitKeySource#HEADER} and
+   * {@link RateLimitKeySource#PARAMETER} key sources.
+   *
+   * @param keyName the header or parameter name
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RateLimitOptions setKeyName(String keyName) {
+    this.keyName = keyName;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of clients tracked
+   */
+  public int getMaxKeys() {
+    return maxKeys;
+  }
+
+  /**
+   * Set the maximum number of clients tracked in memory. Clients whose allowance is full are evicted first, when all the
+   * clients are active some are forgotten, and get a full allowance back. Defaults to {@code 100000}.
+   *
+   * @param maxKeys the number of clients
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RateLimitOptions setMaxKeys(int maxKeys) {
+    if (maxKeys < 1) {
+      throw new IllegalArgumentException("maxKeys must be >= 1");
+    }
+    this.maxKeys = maxKeys;
+    return this;
+  }
+
+  /**
+   * @return whether the requests are counted across the cluster
+   */
+  public boolean isClustered() {
+    return clustered;
+  }
+
+  /**
+   * Set whether the requests are counted across the cluster. Each node still limits the clients locally, and
+   * periodically adds its counts to cluster wide counters of the current period (see
+   * {@link io.vertx.core.shareddata.SharedData#getCounter(String)}), rejecting the clients whose cluster wide count
+   * reached the limit. The cluster wide counts are approximate: they are synchronized in batches and the clients are
+   * hashed into a fixed number of counters. Defaults to {@code false}.
+   *
+   * @param clustered true to count the requests across the cluster
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RateLimitOptions setClustered(boolean clustered) {
+    this.clustered = clustered;
+    return this;
+  }
+
+  /**
+   * @return the number of cluster wide counters
+   */
+  public int getClusterSlots() {
+    return clusterSlots;
+  }
+
+  /**
+   * Set the number of cluster wide counters the clients are hashed into, rounded to a power of two. More counters
+   * mean fewer clients sharing a count, fewer counters bound the memory used in the cluster. Defaults to {@code 16384}.
+   *
+   * @param clusterSlots the number of counters
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RateLimitOptions setClusterSlots(int clusterSlots) {
+    if (clusterSlots < 1 || clusterSlots > 1 << 24) {
+      throw new IllegalArgumentException("clusterSlots must be between 1 and 2^24");
+    }
+    this.clusterSlots = clusterSlots;
+    return this;
+  }
+
+  /**
+   * @return the interval in milliseconds between two cluster synchronizations
+   */
+  public long getSyncInterval() {
+    return syncInterval;
+  }
+
+  /**
+   * Set the interval in milliseconds between two synchronizations of the counts with the cluster. Defaults to {@code 100}.
+   *
+   * @param syncInterval the interval in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RateLimitOptions setSyncInterval(long syncInterval) {
+    if (syncInterval < 1) {
+      throw new IllegalArgumentException("syncInterval must be >= 1");
+    }
+    this.syncInterval = syncInterval;
+    return this;
+  }
+
+  /**
+   * @return the name prefix of the cluster wide counters
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Set the name prefix of the cluster wide counters, handlers with different limits must use different names.
+   * Defaults to {@code vertx-web.rate-limit}.
+   *
+   * @param name the name
+   * @return a reference to this, so the API can be used fluently
+   */
+  public RateLimitOptions setName(String name) {
+    if (name == null) {
+      throw new IllegalArgumentException("name cannot be null");
+    }
+    this.name = name;
+    return this;
+  }
+}
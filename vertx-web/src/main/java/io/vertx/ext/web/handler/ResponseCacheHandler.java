@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.ext.web.handler.impl.ResponseCacheHandlerImpl;
+
+/**
+ * A handler caching the responses of the next handlers, acting as a shared HTTP cache in front of them.
+ * <p>
+ * The {@code GET} responses are stored when the next handlers allow it with a {@code Cache-Control} {@code max-age} or
+ * {@code s-maxage} directive or an {@code Expires} header. The responses marked {@code private}, {@code no-store} or
+ * {@code no-cache}, setting cookies or sent from a file are not stored. The responses varying on request headers are
+ * stored per variant of the {@code Vary} headers.
+ * <p>
+ * A fresh stored response is sent with an {@code Age} header without calling the next handlers. Concurrent requests
+ * missing the same response wait for the first one to complete, so the next handlers produce it once.
+ * <p>
+ * Requests carrying credentials or a {@code no-store} directive bypass the cache, requests with a {@code no-cache}
+ * directive are not served from the cache but their response is stored.
+ */
+@VertxGen
+public interface ResponseCacheHandler extends PlatformHandler {
+
+  /**
+   * Create a handler storing the responses in memory with the default options.
+   *
+   * @return the handler
+   */
+  static ResponseCacheHandler create() {
+    return create(new ResponseCacheOptions());
+  }
+
+  /**
+   * Create a handler storing the responses in memory.
+   *
+   * @param options the options
+   * @return the handler
+   */
+  static ResponseCacheHandler create(ResponseCacheOptions options) {
+    return create(ResponseCacheStore.localStore(options.getMaxEntries(), options.getMaxSize()), options);
+  }
+
+  /**
+   * Create a handler storing the responses in the given store.
+   *
+   * @param store the store
+   * @param options the options
+   * @return the handler
+   */
+  static ResponseCacheHandler create(ResponseCacheStore store, ResponseCacheOptions options) {
+    return new ResponseCacheHandlerImpl(store, options);
+  }
+}
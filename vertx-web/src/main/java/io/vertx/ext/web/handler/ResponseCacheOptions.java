@@ -0,0 +1,174 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of the {@link ResponseCacheHandler}.
+ */
+@DataObject(generateConverter = true)
+public class ResponseCacheOptions {
+
+  /**
+   * The default maximum number of responses in the local store = 1000.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+  /**
+   * The default maximum size of the responses in the local store = 32 MiB.
+   */
+  public static final long DEFAULT_MAX_SIZE = 32 * 1024 * 1024;
+
+  /**
+   * The default maximum size of a cached response body = 1 MiB.
+   */
+  public static final int DEFAULT_MAX_BODY_SIZE = 1024 * 1024;
+
+  /**
+   * The default maximum time a miss waits for the same response being produced by another request = 5000 ms.
+   */
+  public static final long DEFAULT_MAX_COALESCING_WAIT = 5000;
+
+  private int maxEntries = DEFAULT_MAX_ENTRIES;
+  private long maxSize = DEFAULT_MAX_SIZE;
+  private int maxBodySize = DEFAULT_MAX_BODY_SIZE;
+  private long maxCoalescingWait = DEFAULT_MAX_COALESCING_WAIT;
+
+  public ResponseCacheOptions() {
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the options to copy
+   */
+  public ResponseCacheOptions(ResponseCacheOptions other) {
+    this.maxEntries = other.maxEntries;
+    this.maxSize = other.maxSize;
+    this.maxBodySize = other.maxBodySize;
+    this.maxCoalescingWait = other.maxCoalescingWait;
+  }
+
+  /**
+   * Creates a new instance from JSON.
+   *
+   * @param json the JSON object
+   */
+  public ResponseCacheOptions(JsonObject json) {
+    this();
+    ResponseCacheOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ResponseCacheOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the maximum number of responses kept by the local store
+   */
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * Set the maximum number of responses kept by the local store, the least recently used responses are evicted first.
+   * This does not apply to a store given to the handler. Defaults to {@code 1000}.
+   *
+   * @param maxEntries the maximum number of responses
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ResponseCacheOptions setMaxEntries(int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be >= 1");
+    }
+    this.maxEntries = maxEntries;
+    return this;
+  }
+
+  /**
+   * @return the maximum size in bytes of the responses kept by the local store
+   */
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Set the maximum size in bytes of the responses kept by the local store, the least recently used responses are
+   * evicted first. This does not apply to a store given to the handler. Defaults to 32 MiB.
+   *
+   * @param maxSize the maximum size in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ResponseCacheOptions setMaxSize(long maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be >= 1");
+    }
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  /**
+   * @return the maximum size in bytes of a cached response body
+   */
+  public int getMaxBodySize() {
+    return maxBodySize;
+  }
+
+  /**
+   * Set the maximum size in bytes of a response body to cache, larger responses are not cached. Defaults to 1 MiB.
+   *
+   * @param maxBodySize the maximum size in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ResponseCacheOptions setMaxBodySize(int maxBodySize) {
+    if (maxBodySize < 0) {
+      throw new IllegalArgumentException("maxBodySize must be >= 0");
+    }
+    this.maxBodySize = maxBodySize;
+    return this;
+  }
+
+  /**
+   * @return the maximum time in milliseconds a miss waits for the same response being produced by another request
+   */
+  public long getMaxCoalescingWait() {
+    return maxCoalescingWait;
+  }
+
+  /**
+   * Set the maximum time in milliseconds a miss waits for the same response being produced by another request, the
+   * miss then produces the response itself. {@code 0} disables the coalescing of the misses. Defaults to {@code 5000}.
+   *
+   * @param maxCoalescingWait the maximum time in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ResponseCacheOptions setMaxCoalescingWait(long maxCoalescingWait) {
+    if (maxCoalescingWait < 0) {
+      throw new IllegalArgumentException("maxCoalescingWait must be >= 0");
+    }
+    this.maxCoalescingWait = maxCoalescingWait;
+    return this;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.handler.impl.LocalResponseCacheStore;
+
+/**
+ * The store of the responses cached by a {@link ResponseCacheHandler}.
+ * <p>
+ * The responses are stored as opaque buffers, so a store can be backed by any key value storage, local or shared
+ * with other nodes.
+ */
+@VertxGen
+public interface ResponseCacheStore {
+
+  /**
+   * Create a store keeping the responses in memory, evicting the least recently used responses when one of the
+   * bounds is exceeded.
+   *
+   * @param maxEntries the maximum number of responses
+   * @param maxSize the maximum size in bytes of the responses
+   * @return the store
+   */
+  static ResponseCacheStore localStore(int maxEntries, long maxSize) {
+    return new LocalResponseCacheStore(maxEntries, maxSize);
+  }
+
+  /**
+   * Get a response.
+   *
+   * @param key the key of the response
+   * @return a future completed with the response, or {@code null} when there is no response for the key
+   */
+  Future<@Nullable Buffer> get(String key);
+
+  /**
+   * Store a response, replacing the previous one with the same key.
+   *
+   * @param key the key of the response
+   * @param response the response
+   * @param ttl the time in milliseconds the response is fresh, the store can discard it after this time
+   * @return a future completed once the response is stored
+   */
+  Future<Void> put(String key, Buffer response, long ttl);
+
+  /**
+   * Delete a response.
+   *
+   * @param key the key of the response
+   * @return a future completed once the response is deleted
+   */
+  Future<Void> delete(String key);
+
+  /**
+   * Delete all the responses.
+   *
+   * @return a future completed once the responses are deleted
+   */
+  Future<Void> clear();
+}
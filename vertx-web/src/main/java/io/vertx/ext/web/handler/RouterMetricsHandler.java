@@ -0,0 +1,42 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RouterMetrics;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.impl.RouterMetricsHandlerImpl;
+
+/**
+ * A handler responding with a JSON snapshot of {@link RouterMetrics}, to expose the routing metrics of a router
+ * to a monitoring system.
+ */
+@VertxGen
+public interface RouterMetricsHandler extends Handler<RoutingContext> {
+
+  /**
+   * Create a handler
+   *
+   * @param metrics the metrics to expose
+   * @return the handler
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  static RouterMetricsHandler create(RouterMetrics metrics) {
+    return new RouterMetricsHandlerImpl(metrics);
+  }
+}
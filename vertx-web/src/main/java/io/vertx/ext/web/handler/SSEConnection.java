@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.CacheReturn;
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * A Server-Sent Events connection opened by a {@link SSEHandler}.
+ * <p>
+ * The events sent to the connection follow the write queue of the response: check {@link #writeQueueFull()} and
+ * wait for the {@link #drainHandler(Handler)} before sending more. The events broadcast to the subscribed channels are
+ * not queued when the client does not keep up, the connection catches up from the replay buffer of the channel once
+ * drained, or is closed when the missed events are no longer in the buffer.
+ */
+@VertxGen
+public interface SSEConnection {
+
+  /**
+   * @return the routing context of the request that opened the connection
+   */
+  @CacheReturn
+  RoutingContext routingContext();
+
+  /**
+   * @return the {@code Last-Event-ID} header sent by a reconnecting client, or {@code null}
+   */
+  @Nullable String lastEventId();
+
+  /**
+   * Send an unnamed event.
+   *
+   * @param data the event data
+   * @return a future completed when the event is written
+   */
+  Future<Void> send(String data);
+
+  /**
+   * Send an event.
+   *
+   * @param event the event name, or {@code null} for an unnamed event
+   * @param data the event data
+   * @param id the event id, or {@code null}
+   * @return a future completed when the event is written
+   */
+  Future<Void> send(@Nullable String event, String data, @Nullable String id);
+
+  /**
+   * @return whether the write queue of the response is full
+   */
+  boolean writeQueueFull();
+
+  /**
+   * Set a handler called when the write queue of the response is drained.
+   *
+   * @param handler the handler
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  SSEConnection drainHandler(@Nullable Handler<Void> handler);
+
+  /**
+   * Subscribe to the events broadcast to a channel. When the client sent a {@code Last-Event-ID} header, the events of
+   * the channel following this id are replayed first.
+   *
+   * @param channel the channel
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  SSEConnection subscribe(String channel);
+
+  /**
+   * Unsubscribe from the events broadcast to a channel.
+   *
+   * @param channel the channel
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  SSEConnection unsubscribe(String channel);
+
+  /**
+   * Set a handler called when the connection is closed, by the client or by {@link #close()}.
+   *
+   * @param handler the handler
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  SSEConnection closeHandler(@Nullable Handler<Void> handler);
+
+  /**
+   * Close the connection, ending the response.
+   */
+  void close();
+}
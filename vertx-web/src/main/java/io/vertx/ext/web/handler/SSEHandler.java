@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.impl.SSEHandlerImpl;
+
+/**
+ * A handler streaming Server-Sent Events to the clients, the {@code text/event-stream} responses consumed by the
+ * browsers {@code EventSource}.
+ * <p>
+ * Each request opens a {@link SSEConnection}, the events can be sent to a connection or broadcast to the connections
+ * subscribed to a channel. A broadcast event is encoded once and the same buffer is written to all the subscribers.
+ * The channels keep the recent events to replay them to the clients reconnecting with a {@code Last-Event-ID} header,
+ * and to the connections that fell behind because the client does not read fast enough.
+ */
+@VertxGen
+public interface SSEHandler extends Handler<RoutingContext> {
+
+  /**
+   * Create a handler with the default options.
+   *
+   * @return the handler
+   */
+  static SSEHandler create() {
+    return create(new SSEOptions());
+  }
+
+  /**
+   * Create a handler.
+   *
+   * @param options the options
+   * @return the handler
+   */
+  static SSEHandler create(SSEOptions options) {
+    return new SSEHandlerImpl(options);
+  }
+
+  /**
+   * Set the handler called with each new connection, on the event loop of the connection.
+   *
+   * @param handler the handler
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  SSEHandler connectHandler(Handler<SSEConnection> handler);
+
+  /**
+   * Broadcast an unnamed event to the connections subscribed to a channel.
+   *
+   * @param channel the channel
+   * @param data the event data
+   */
+  void broadcast(String channel, String data);
+
+  /**
+   * Broadcast an event to the connections subscribed to a channel. The event is given an id by the handler, so the
+   * clients can resume the stream from it.
+   *
+   * @param channel the channel
+   * @param event the event name, or {@code null} for an unnamed event
+   * @param data the event data
+   */
+  void broadcast(String channel, @Nullable String event, String data);
+}
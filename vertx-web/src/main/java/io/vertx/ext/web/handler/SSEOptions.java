@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of the {@link SSEHandler}.
+ */
+@DataObject(generateConverter = true)
+public class SSEOptions {
+
+  /**
+   * The default number of events kept by a channel for replay = 128.
+   */
+  public static final int DEFAULT_REPLAY_SIZE = 128;
+
+  /**
+   * The default reconnection time sent to the clients = 0 (not sent).
+   */
+  public static final long DEFAULT_RETRY = 0;
+
+  private int replaySize = DEFAULT_REPLAY_SIZE;
+  private long retry = DEFAULT_RETRY;
+
+  public SSEOptions() {
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the options to copy
+   */
+  public SSEOptions(SSEOptions other) {
+    this.replaySize = other.replaySize;
+    this.retry = other.retry;
+  }
+
+  /**
+   * Creates a new instance from JSON.
+   *
+   * @param json the JSON object
+   */
+  public SSEOptions(JsonObject json) {
+    this();
+    SSEOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    SSEOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the number of recent events kept by each channel
+   */
+  public int getReplaySize() {
+    return replaySize;
+  }
+
+  /**
+   * Set the number of recent events kept by each broadcast channel, to replay the events missed by a client
+   * reconnecting with a {@code Last-Event-ID} header or by a connection falling behind. Defaults to {@code 128}.
+   *
+   * @param replaySize the number of events
+   * @return a reference to this, so the API can be used fluently
+   */
+  public SSEOptions setReplaySize(int replaySize) {
+    if (replaySize < 0) {
+      throw new IllegalArgumentException("replaySize must be >= 0");
+    }
+    this.replaySize = replaySize;
+    return this;
+  }
+
+  /**
+   * @return the reconnection time in milliseconds sent to the clients
+   */
+  public long getRetry() {
+    return retry;
+  }
+
+  /**
+   * Set the reconnection time in milliseconds sent to the clients when they connect, the time a client waits before
+   * reconnecting after losing the connection. Defaults to {@code 0}, the time is not sent.
+   *
+   * @param retry the reconnection time in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public SSEOptions setRetry(long retry) {
+    if (retry < 0) {
+      throw new IllegalArgumentException("retry must be >= 0");
+    }
+    this.retry = retry;
+    return this;
+  }
+}
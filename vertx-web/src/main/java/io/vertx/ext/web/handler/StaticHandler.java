@@ -22,6 +22,7 @@ import java.util.Set;
 import io.vertx.codegen.annotations.Fluent;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Http2PushMapping;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.common.WebEnvironment;
@@ -100,6 +101,11 @@ public interface StaticHandler extends Handler<RoutingContext> {
    */
   long DEFAULT_MAX_AVG_SERVE_TIME_NS = 1000000; // 1ms
 
+  /**
+   * Default max number of concurrent async filesystem accesses per event loop
+   */
+  int DEFAULT_MAX_ASYNC_FS_CONCURRENCY = 16;
+
   /**
    * Default of whether Range request handling support should be used
    */
@@ -292,7 +298,9 @@ public interface StaticHandler extends Handler<RoutingContext> {
   StaticHandler setEnableFSTuning(boolean enableFSTuning);
 
   /**
-   * Set the max serve time in ns, above which serves are considered slow
+   * Set the max serve time in ns, above which serves are considered slow. The tuning is performed per event loop with
+   * decaying averages: an event loop switches to async filesystem access when the average blocking access time exceeds
+   * this value, and back to blocking access when the average async access time falls well below it.
    *
    * @param maxAvgServeTimeNanoSeconds max serve time, in ns
    * @return a reference to this, so the API can be used fluently
@@ -300,6 +308,31 @@ public interface StaticHandler extends Handler<RoutingContext> {
   @Fluent
   StaticHandler setMaxAvgServeTimeNs(long maxAvgServeTimeNanoSeconds);
 
+  /**
+   * Set the max number of concurrent async filesystem accesses per event loop, further accesses are queued so a slow
+   * filesystem does not exhaust the worker pool
+   *
+   * @param maxAsyncFSConcurrency the max number of concurrent async accesses
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setMaxAsyncFSConcurrency(int maxAsyncFSConcurrency);
+
+  /**
+   * Get the filesystem access metrics of the async/sync tuning, e.g.
+   * <pre>
+   * {
+   *   "blockingCalls": 1520, "asyncCalls": 310, "queuedCalls": 12,
+   *   "eventLoops": [
+   *     { "name": "vert.x-eventloop-thread-0", "async": true, "blockingAvgNs": 1850000, "asyncAvgNs": 1210000, "inflight": 3, "queued": 0 }
+   *   ]
+   * }
+   * </pre>
+   *
+   * @return the metrics
+   */
+  JsonObject fsMetrics();
+
   /**
    * Set the directory template to be used when directory listing
    *
@@ -337,4 +370,17 @@ public interface StaticHandler extends Handler<RoutingContext> {
    */
   @Fluent
   StaticHandler setDefaultContentEncoding(String contentEncoding);
+
+  /**
+   * Serve the hashed paths of the manifest, e.g. {@code /css/site.4f3a9c1b2d7e8f60.css} for {@code css/site.css}. The
+   * content of a hashed path never changes so it is sent with a far future {@code immutable} cache control header, and
+   * conditional requests are answered with {@code 304} without accessing the file system. The manifest must be created
+   * for the web root of this handler, the hashed paths are served from the files the manifest hashed.
+   *
+   * @param assetManifest the asset manifest
+   * @return a reference to this, so the API can be used fluently
+   * @throws IllegalArgumentException when the manifest was created for another web root
+   */
+  @Fluent
+  StaticHandler setAssetManifest(AssetManifest assetManifest);
 }
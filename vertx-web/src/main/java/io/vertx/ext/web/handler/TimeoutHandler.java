@@ -22,6 +22,10 @@ import io.vertx.ext.web.handler.impl.TimeoutHandlerImpl;
 /**
  * Handler that will timeout requests if the response has not been written after a certain time.
  * Timeout requests will be ended with an HTTP status code `503`.
+ * <p>
+ * The handler records the absolute deadline of the request, {@code WebClient} requests made with deadline propagation
+ * enabled (it is opt-in) while handling the request use the remaining time as their timeout and are cancelled once the
+ * request ends.
  *
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
@@ -38,6 +42,11 @@ public interface TimeoutHandler extends PlatformHandler {
    */
   int DEFAULT_ERRORCODE = 503;
 
+  /**
+   * The routing context data key of the request deadline
+   */
+  String DEADLINE_KEY = "io.vertx.ext.web.deadline";
+
   /**
    * Create a handler
    *
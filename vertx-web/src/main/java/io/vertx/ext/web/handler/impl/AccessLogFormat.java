@@ -0,0 +1,346 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.LoggerFormat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A precompiled access log format, rendering lines into {@link AccessLogLine} buffers without intermediate strings.
+ */
+final class AccessLogFormat {
+
+  /**
+   * The data of a request captured when it is received.
+   */
+  static final class Entry {
+
+    final RoutingContext context;
+    final long timestamp;
+    final long startNanos;
+    final String remoteClient;
+    final HttpVersion version;
+    final HttpMethod method;
+    final String uri;
+    final boolean immediate;
+
+    Entry(RoutingContext context, long timestamp, long startNanos, String remoteClient, HttpVersion version, HttpMethod method, String uri, boolean immediate) {
+      this.context = context;
+      this.timestamp = timestamp;
+      this.startNanos = startNanos;
+      this.remoteClient = remoteClient;
+      this.version = version;
+      this.method = method;
+      this.uri = uri;
+      this.immediate = immediate;
+    }
+
+    long contentLength() {
+      HttpServerRequest request = context.request();
+      if (immediate) {
+        String value = request.headers().get("content-length");
+        if (value != null) {
+          try {
+            return Long.parseLong(value);
+          } catch (NumberFormatException e) {
+            // ignore it and continue
+          }
+        }
+        return 0;
+      }
+      return request.response().bytesWritten();
+    }
+
+    String versionFormatted() {
+      switch (version) {
+        case HTTP_1_0:
+          return "HTTP/1.0";
+        case HTTP_1_1:
+          return "HTTP/1.1";
+        case HTTP_2:
+          return "HTTP/2.0";
+        default:
+          return "-";
+      }
+    }
+  }
+
+  @FunctionalInterface
+  interface Token {
+    void render(Entry entry, AccessLogLine line);
+  }
+
+  private static final CachedDate RFC_1123_DATE = new CachedDate(DateTimeFormatter.RFC_1123_DATE_TIME);
+  private static final CachedDate CLF_DATE = new CachedDate(DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.US));
+
+  private static final Token REMOTE_CLIENT = (entry, line) -> line.append(entry.remoteClient);
+  private static final Token METHOD = (entry, line) -> line.append(entry.method.toString());
+  private static final Token URI = (entry, line) -> line.append(entry.uri);
+  private static final Token VERSION = (entry, line) -> line.append(entry.versionFormatted());
+  private static final Token STATUS = (entry, line) -> line.append(entry.context.response().getStatusCode());
+  private static final Token CONTENT_LENGTH = (entry, line) -> line.append(entry.contentLength());
+  private static final Token DURATION_MS = (entry, line) -> line.append(System.currentTimeMillis() - entry.timestamp);
+  private static final Token REFERRER = (entry, line) -> {
+    // as per RFC1945 the header is referer but it is not mandatory some implementations use referrer
+    String referrer = entry.context.request().headers().get("referrer");
+    if (referrer == null) {
+      referrer = entry.context.request().headers().get("referer");
+    }
+    line.append(referrer == null ? "-" : referrer);
+  };
+
+  private final Token[] tokens;
+
+  private AccessLogFormat(List<Token> tokens) {
+    this.tokens = tokens.toArray(new Token[0]);
+  }
+
+  void render(Entry entry, AccessLogLine line) {
+    for (Token token : tokens) {
+      token.render(entry, line);
+    }
+  }
+
+  /**
+   * Compile one of the built-in formats, {@link LoggerFormat#CUSTOM} is not supported.
+   */
+  static AccessLogFormat of(LoggerFormat format) {
+    List<Token> tokens = new ArrayList<>();
+    switch (format) {
+      case DEFAULT:
+        tokens.add(REMOTE_CLIENT);
+        tokens.add(literal(" - - ["));
+        tokens.add((entry, line) -> line.append(RFC_1123_DATE.format(entry.timestamp)));
+        tokens.add(literal("] \""));
+        tokens.add(METHOD);
+        tokens.add(literal(" "));
+        tokens.add(URI);
+        tokens.add(literal(" "));
+        tokens.add(VERSION);
+        tokens.add(literal("\" "));
+        tokens.add(STATUS);
+        tokens.add(literal(" "));
+        tokens.add(CONTENT_LENGTH);
+        tokens.add(literal(" \""));
+        tokens.add(REFERRER);
+        tokens.add(literal("\" \""));
+        tokens.add(requestHeader("user-agent"));
+        tokens.add(literal("\""));
+        break;
+      case SHORT:
+        tokens.add(REMOTE_CLIENT);
+        tokens.add(literal(" - "));
+        tokens.add(METHOD);
+        tokens.add(literal(" "));
+        tokens.add(URI);
+        tokens.add(literal(" "));
+        tokens.add(VERSION);
+        tokens.add(literal(" "));
+        tokens.add(STATUS);
+        tokens.add(literal(" "));
+        tokens.add(CONTENT_LENGTH);
+        tokens.add(literal(" - "));
+        tokens.add(DURATION_MS);
+        tokens.add(literal(" ms"));
+        break;
+      case TINY:
+        tokens.add(METHOD);
+        tokens.add(literal(" "));
+        tokens.add(URI);
+        tokens.add(literal(" "));
+        tokens.add(STATUS);
+        tokens.add(literal(" "));
+        tokens.add(CONTENT_LENGTH);
+        tokens.add(literal(" - "));
+        tokens.add(DURATION_MS);
+        tokens.add(literal(" ms"));
+        break;
+      default:
+        throw new IllegalArgumentException("Cannot compile format: " + format);
+    }
+    return new AccessLogFormat(tokens);
+  }
+
+  /**
+   * Compile an Apache {@code mod_log_config} like pattern, see {@link io.vertx.ext.web.handler.AccessLogOptions}.
+   */
+  static AccessLogFormat compile(String pattern) {
+    List<Token> tokens = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int i = 0;
+    while (i < pattern.length()) {
+      char c = pattern.charAt(i++);
+      if (c != '%') {
+        literal.append(c);
+        continue;
+      }
+      if (i == pattern.length()) {
+        throw new IllegalArgumentException("Incomplete directive at the end of: " + pattern);
+      }
+      String argument = null;
+      c = pattern.charAt(i++);
+      if (c == '{') {
+        int end = pattern.indexOf('}', i);
+        if (end == -1 || end + 1 == pattern.length()) {
+          throw new IllegalArgumentException("Incomplete directive in: " + pattern);
+        }
+        argument = pattern.substring(i, end);
+        i = end + 1;
+        c = pattern.charAt(i++);
+      } else if (c == '>' && i < pattern.length()) {
+        // the final status, the only one there is
+        c = pattern.charAt(i++);
+      }
+      if (c == '%') {
+        literal.append('%');
+        continue;
+      }
+      if (literal.length() > 0) {
+        tokens.add(literal(literal.toString()));
+        literal.setLength(0);
+      }
+      tokens.add(directive(c, argument, pattern));
+    }
+    if (literal.length() > 0) {
+      tokens.add(literal(literal.toString()));
+    }
+    return new AccessLogFormat(tokens);
+  }
+
+  private static Token directive(char c, String argument, String pattern) {
+    switch (c) {
+      case 'h':
+        return (entry, line) -> line.append(entry.remoteClient == null ? "-" : entry.remoteClient);
+      case 'l':
+      case 'u':
+        return literal("-");
+      case 't':
+        return (entry, line) -> line.append('[').append(CLF_DATE.format(entry.timestamp)).append(']');
+      case 'r':
+        return (entry, line) -> line
+          .append(entry.method.toString()).append(' ')
+          .append(entry.uri).append(' ')
+          .append(entry.versionFormatted());
+      case 's':
+        return STATUS;
+      case 'b':
+        return (entry, line) -> {
+          long length = entry.contentLength();
+          if (length == 0) {
+            line.append('-');
+          } else {
+            line.append(length);
+          }
+        };
+      case 'B':
+        return CONTENT_LENGTH;
+      case 'D':
+        return (entry, line) -> line.append(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - entry.startNanos));
+      case 'T':
+        if ("ms".equals(argument)) {
+          return (entry, line) -> line.append(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entry.startNanos));
+        }
+        return (entry, line) -> line.append(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - entry.startNanos));
+      case 'm':
+        return METHOD;
+      case 'U':
+        return (entry, line) -> line.append(entry.context.request().path());
+      case 'q':
+        return (entry, line) -> {
+          String query = entry.context.request().query();
+          if (query != null) {
+            line.append('?').append(query);
+          }
+        };
+      case 'H':
+        return VERSION;
+      case 'i':
+        if (argument == null) {
+          throw new IllegalArgumentException("%i requires a header name in: " + pattern);
+        }
+        return requestHeader(argument);
+      case 'o':
+        if (argument == null) {
+          throw new IllegalArgumentException("%o requires a header name in: " + pattern);
+        }
+        return (entry, line) -> {
+          String value = entry.context.response().headers().get(argument);
+          line.append(value == null ? "-" : value);
+        };
+      default:
+        throw new IllegalArgumentException("Unsupported directive %" + c + " in: " + pattern);
+    }
+  }
+
+  private static Token requestHeader(String name) {
+    return (entry, line) -> {
+      String value = entry.context.request().headers().get(name);
+      line.append(value == null ? "-" : value);
+    };
+  }
+
+  private static Token literal(String s) {
+    final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    return (entry, line) -> line.append(bytes);
+  }
+
+  /**
+   * A date formatter caching the formatted date of the current second.
+   */
+  static final class CachedDate {
+
+    private final DateTimeFormatter formatter;
+    private volatile Formatted current = new Formatted(Long.MIN_VALUE, null);
+
+    CachedDate(DateTimeFormatter formatter) {
+      this.formatter = formatter;
+    }
+
+    byte[] format(long timestamp) {
+      final long second = Math.floorDiv(timestamp, 1000);
+      Formatted formatted = current;
+      if (formatted.second != second) {
+        // racing threads format the same value
+        formatted = new Formatted(second, formatter.format(Instant.ofEpochSecond(second).atZone(ZoneOffset.UTC))
+          .getBytes(StandardCharsets.US_ASCII));
+        current = formatted;
+      }
+      return formatted.value;
+    }
+
+    private static final class Formatted {
+      final long second;
+      final byte[] value;
+
+      Formatted(long second, byte[] value) {
+        this.second = second;
+        this.value = value;
+      }
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reusable buffer an access log line is rendered into, as UTF-8.
+ */
+final class AccessLogLine {
+
+  private static final byte[] DIGITS = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+  // the queue slot sequence, see AsyncAccessLog
+  volatile long sequence;
+
+  private byte[] bytes = new byte[256];
+  private int length;
+  int status;
+
+  AccessLogLine() {
+  }
+
+  AccessLogLine(long sequence) {
+    this.sequence = sequence;
+  }
+
+  void reset() {
+    length = 0;
+    status = 0;
+  }
+
+  byte[] bytes() {
+    return bytes;
+  }
+
+  int length() {
+    return length;
+  }
+
+  AccessLogLine append(byte[] b) {
+    ensureCapacity(b.length);
+    System.arraycopy(b, 0, bytes, length, b.length);
+    length += b.length;
+    return this;
+  }
+
+  AccessLogLine append(char c) {
+    if (c < 0x80) {
+      ensureCapacity(1);
+      bytes[length++] = (byte) c;
+      return this;
+    }
+    return append(String.valueOf(c));
+  }
+
+  AccessLogLine append(String s) {
+    if (s == null) {
+      return append("null");
+    }
+    final int len = s.length();
+    ensureCapacity(len);
+    for (int i = 0; i < len; i++) {
+      final char c = s.charAt(i);
+      if (c >= 0x80) {
+        // slow path, the rest of the string is not ASCII
+        return appendUtf8(s.substring(i));
+      }
+      bytes[length++] = (byte) c;
+    }
+    return this;
+  }
+
+  AccessLogLine append(long value) {
+    if (value < 0) {
+      if (value == Long.MIN_VALUE) {
+        return append(Long.toString(value));
+      }
+      append('-');
+      value = -value;
+    }
+    // at most 19 digits
+    ensureCapacity(19);
+    int start = length;
+    do {
+      bytes[length++] = DIGITS[(int) (value % 10)];
+      value /= 10;
+    } while (value > 0);
+    // reverse the digits
+    for (int i = start, j = length - 1; i < j; i++, j--) {
+      byte tmp = bytes[i];
+      bytes[i] = bytes[j];
+      bytes[j] = tmp;
+    }
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+
+  private AccessLogLine appendUtf8(String s) {
+    return append(s.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void ensureCapacity(int extra) {
+    if (length + extra > bytes.length) {
+      byte[] grown = new byte[Math.max(bytes.length * 2, length + extra)];
+      System.arraycopy(bytes, 0, grown, 0, length);
+      bytes = grown;
+    }
+  }
+}
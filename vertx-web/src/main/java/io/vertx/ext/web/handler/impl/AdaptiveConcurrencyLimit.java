@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.ext.web.handler.ConcurrencyLimitOptions;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit adapting to the latency gradient, in the spirit of the Netflix {@code Gradient2Limit}.
+ * <p>
+ * The latencies of the requests are aggregated in windows, at the end of a window the average latency is compared with
+ * a long term average: the limit is scaled by the ratio of both (at most halved) plus a small queue allowance, and
+ * smoothed. An overload signal multiplies the limit by the backoff ratio.
+ * <p>
+ * Admission is lock-free, the limit updates are synchronized but only performed once per window.
+ */
+final class AdaptiveConcurrencyLimit {
+
+  // the long term average moves slowly, about 1/20 per window
+  private static final double LONG_RTT_WEIGHT = 0.05;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double rttTolerance;
+  private final double smoothing;
+  private final double backoffRatio;
+  private final int windowSize;
+
+  private final AtomicInteger inflight = new AtomicInteger();
+  private volatile int limit;
+
+  // guarded by this
+  private double estimatedLimit;
+  private double longRtt;
+  private long windowRttSum;
+  private int windowRttCount;
+  private int windowSamples;
+  private int windowMaxInflight;
+  private boolean windowDropped;
+
+  AdaptiveConcurrencyLimit(ConcurrencyLimitOptions options) {
+    this.minLimit = options.getMinLimit();
+    this.maxLimit = Math.max(options.getMinLimit(), options.getMaxLimit());
+    this.rttTolerance = options.getRttTolerance();
+    this.smoothing = options.getSmoothing();
+    this.backoffRatio = options.getBackoffRatio();
+    this.windowSize = options.getWindowSize();
+    this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, options.getInitialLimit()));
+    this.limit = (int) estimatedLimit;
+  }
+
+  int limit() {
+    return limit;
+  }
+
+  int inflight() {
+    return inflight.get();
+  }
+
+  /**
+   * Try to admit a request.
+   *
+   * @param share the share of the limit the request may use, between {@code 0} and {@code 1}
+   * @return whether the request is admitted, it must then be {@link #release(long, boolean) released}
+   */
+  boolean tryAcquire(double share) {
+    final int max = Math.max(1, (int) (limit * share));
+    int current;
+    do {
+      current = inflight.get();
+      if (current >= max) {
+        return false;
+      }
+    } while (!inflight.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * Release an admitted request.
+   *
+   * @param rttNanos the latency of the request
+   * @param dropped whether the request timed out
+   */
+  void release(long rttNanos, boolean dropped) {
+    sample(rttNanos, inflight.getAndDecrement(), dropped);
+  }
+
+  /**
+   * Release an admitted request that did not complete, e.g. the connection was closed, its latency is meaningless.
+   */
+  void cancel() {
+    inflight.decrementAndGet();
+  }
+
+  /**
+   * Multiply the limit by the backoff ratio.
+   */
+  synchronized void backoff() {
+    setEstimatedLimit(estimatedLimit * backoffRatio);
+  }
+
+  private synchronized void sample(long rttNanos, int inflight, boolean dropped) {
+    if (dropped) {
+      windowDropped = true;
+    } else {
+      windowRttSum += rttNanos;
+      windowRttCount++;
+    }
+    if (inflight > windowMaxInflight) {
+      windowMaxInflight = inflight;
+    }
+    if (++windowSamples >= windowSize) {
+      update();
+    }
+  }
+
+  private void update() {
+    if (windowDropped) {
+      setEstimatedLimit(estimatedLimit * backoffRatio);
+    } else if (windowRttCount > 0) {
+      final double shortRtt = Math.max(1, (double) windowRttSum / windowRttCount);
+      if (longRtt == 0) {
+        longRtt = shortRtt;
+      } else {
+        longRtt = longRtt * (1 - LONG_RTT_WEIGHT) + shortRtt * LONG_RTT_WEIGHT;
+      }
+      // do not grow the limit when the traffic does not use it
+      if (windowMaxInflight * 2 >= estimatedLimit) {
+        final double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        final double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        setEstimatedLimit(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+      }
+      // the latency dropped well below the long term average (e.g. after a recovery), forget faster
+      if (longRtt > 2 * shortRtt) {
+        longRtt = longRtt * 0.9;
+      }
+    }
+    windowRttSum = 0;
+    windowRttCount = 0;
+    windowSamples = 0;
+    windowMaxInflight = 0;
+    windowDropped = false;
+  }
+
+  private void setEstimatedLimit(double value) {
+    estimatedLimit = Math.max(minLimit, Math.min(maxLimit, value));
+    limit = (int) estimatedLimit;
+  }
+}
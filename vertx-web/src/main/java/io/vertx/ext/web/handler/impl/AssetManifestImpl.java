@@ -0,0 +1,224 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.file.FileProps;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.handler.AssetManifest;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AssetManifestImpl implements AssetManifest {
+
+  // 64 bits of the SHA-256 digest
+  private static final int HASH_LENGTH = 16;
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+  private static final int CHUNK_SIZE = 8192;
+  // the number of worker tasks hashing the files, the other blocking tasks of the application are not starved
+  private static final int HASH_PARALLELISM = 4;
+
+  public static Future<AssetManifest> create(Vertx vertx, String webRoot) {
+    FileSystem fs = vertx.fileSystem();
+    return vertx
+      .<File>executeBlocking(p -> {
+        // resolved like the static handler does, a web root found on the classpath (e.g. in a jar) is extracted to the
+        // file cache
+        File root = ((VertxInternal) vertx).resolveFile(webRoot);
+        if (!root.isDirectory()) {
+          p.fail(new IllegalArgumentException("The web root " + webRoot + " is not a directory of the file system or of the classpath"));
+          return;
+        }
+        p.complete(root);
+      }, false)
+      .compose(root -> vertx
+        .<List<String>>executeBlocking(p -> {
+          List<String> files = new ArrayList<>();
+          list(root, "", files);
+          p.complete(files);
+        }, false)
+        .compose(files -> {
+          // unordered, a few tasks hash the files in parallel, each takes the next file not hashed yet
+          AtomicInteger next = new AtomicInteger();
+          int tasks = Math.min(files.size(), HASH_PARALLELISM);
+          @SuppressWarnings("rawtypes")
+          List<Future> futures = new ArrayList<>(tasks);
+          for (int i = 0; i < tasks; i++) {
+            futures.add(vertx.<List<Asset>>executeBlocking(p -> {
+              List<Asset> assets = new ArrayList<>();
+              int index;
+              while ((index = next.getAndIncrement()) < files.size()) {
+                assets.add(hash(fs, root, files.get(index)));
+              }
+              p.complete(assets);
+            }, false));
+          }
+          return CompositeFuture.all(futures);
+        })
+        .map(cf -> {
+          List<Asset> assets = new ArrayList<>();
+          for (int i = 0; i < cf.size(); i++) {
+            assets.addAll(cf.<List<Asset>>resultAt(i));
+          }
+          return new AssetManifestImpl(webRoot, root, assets);
+        }));
+  }
+
+  private static void list(File dir, String prefix, List<String> files) {
+    File[] children = dir.listFiles();
+    if (children == null) {
+      throw new VertxException("Cannot list the directory " + dir);
+    }
+    for (File child : children) {
+      String name = child.getName();
+      if (name.isEmpty() || name.charAt(0) == '.') {
+        continue;
+      }
+      String path = prefix + name;
+      if (child.isDirectory()) {
+        list(child, path + "/", files);
+      } else {
+        files.add(path);
+      }
+    }
+  }
+
+  private static Asset hash(FileSystem fs, File root, String path) {
+    File file = new File(root, path);
+    FileProps props = fs.propsBlocking(file.getAbsolutePath());
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    // the files are streamed through the digest, large assets are not loaded in memory
+    byte[] chunk = new byte[CHUNK_SIZE];
+    try (InputStream in = new FileInputStream(file)) {
+      int len;
+      while ((len = in.read(chunk)) != -1) {
+        digest.update(chunk, 0, len);
+      }
+    } catch (IOException e) {
+      throw new VertxException(e);
+    }
+    byte[] bytes = digest.digest();
+    char[] hash = new char[HASH_LENGTH];
+    for (int i = 0; i < HASH_LENGTH; i += 2) {
+      int b = bytes[i / 2] & 0xff;
+      hash[i] = HEX[b >>> 4];
+      hash[i + 1] = HEX[b & 0x0f];
+    }
+    return new Asset(path, new String(hash), props);
+  }
+
+  private static String hashedPath(String path, String hash) {
+    int slash = path.lastIndexOf('/');
+    int dot = path.lastIndexOf('.');
+    if (dot > slash + 1) {
+      // keep the extension, the content type is guessed from it
+      return path.substring(0, dot) + "." + hash + path.substring(dot);
+    }
+    return path + "." + hash;
+  }
+
+  private final String webRoot;
+  private final File root;
+  private final Map<String, Asset> byPath = new HashMap<>();
+  private final Map<String, Asset> byHashedPath = new HashMap<>();
+
+  private AssetManifestImpl(String webRoot, File root, List<Asset> assets) {
+    this.webRoot = webRoot;
+    this.root = root;
+    for (Asset asset : assets) {
+      byPath.put(asset.path, asset);
+      byHashedPath.put(asset.hashedPath, asset);
+    }
+  }
+
+  @Override
+  public String resolve(String path) {
+    boolean absolute = path.length() > 0 && path.charAt(0) == '/';
+    Asset asset = byPath.get(absolute ? path.substring(1) : path);
+    if (asset == null) {
+      return null;
+    }
+    return absolute ? "/" + asset.hashedPath : asset.hashedPath;
+  }
+
+  @Override
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    for (Asset asset : byPath.values()) {
+      json.put(asset.path, asset.hashedPath);
+    }
+    return json;
+  }
+
+  /**
+   * @return the web root the manifest was created for
+   */
+  String webRoot() {
+    return webRoot;
+  }
+
+  /**
+   * @param asset  an asset of this manifest
+   * @return the path of the file that was hashed, in the resolved web root
+   */
+  String file(Asset asset) {
+    return new File(root, asset.path).getAbsolutePath();
+  }
+
+  /**
+   * @param hashedPath  the hashed path relative to the web root, without a leading {@code /}
+   * @return the asset or {@code null}
+   */
+  Asset lookup(String hashedPath) {
+    return byHashedPath.get(hashedPath);
+  }
+
+  static final class Asset {
+
+    final String path;
+    final String hashedPath;
+    final String etag;
+    // the file is immutable, the properties read when hashing remain valid
+    final FileProps props;
+
+    Asset(String path, String hash, FileProps props) {
+      this.path = path;
+      this.hashedPath = hashedPath(path, hash);
+      this.etag = "\"" + hash + "\"";
+      this.props = props;
+    }
+  }
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.Closeable;
+import io.vertx.core.Context;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.ext.web.handler.AccessLogOptions;
+import io.vertx.ext.web.handler.AccessLogOverflowPolicy;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An access log queue, request threads render lines into the preallocated slots of a bounded multi producer / single
+ * consumer ring and a background thread shared by the logs of a Vert.x instance drains the slots to the output.
+ * <p>
+ * Each slot carries a sequence number: a slot at position {@code p} is free when its sequence is {@code p}, ready to
+ * be consumed when it is {@code p + 1} and recycled for position {@code p + size} once written.
+ * <p>
+ * A log is {@link #start(Vertx) started} along with a Vert.x instance and closed with it: the remaining lines are
+ * written and the output is closed. The writer thread of a Vert.x instance parks while all its rings are empty, is
+ * unparked by the next published line and terminates once the last log of the instance is closed.
+ */
+final class AsyncAccessLog implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncAccessLog.class);
+
+  private static final int BATCH_SIZE = 256;
+  private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+  private static final long DROP_REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+  // how long close waits for the lines claimed before the log was closed
+  private static final long CLOSE_TIMEOUT = TimeUnit.SECONDS.toNanos(1);
+
+  /**
+   * Where the lines end up, only called under the lock of the log.
+   */
+  interface Output {
+
+    void write(AccessLogLine line) throws IOException;
+
+    default void flush() throws IOException {
+    }
+
+    default void close() throws IOException {
+    }
+  }
+
+  private final AccessLogLine[] ring;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  // only written by the writer thread
+  private volatile long head;
+  private final Output output;
+  private final AccessLogOverflowPolicy policy;
+  private final int sampleRate;
+  private final LongAdder dropped = new LongAdder();
+  private long reportedDropped;
+  private long lastDropReport;
+  private boolean dirty;
+  private final AtomicBoolean started = new AtomicBoolean();
+  private volatile Writer writer;
+  private volatile boolean closed;
+  private boolean outputClosed;
+
+  AsyncAccessLog(AccessLogOptions options, Output output) {
+    int size = Integer.highestOneBit(options.getQueueSize() - 1) << 1;
+    this.ring = new AccessLogLine[size];
+    for (int i = 0; i < size; i++) {
+      ring[i] = new AccessLogLine(i);
+    }
+    this.mask = size - 1;
+    this.output = output;
+    this.policy = options.getOverflowPolicy();
+    this.sampleRate = options.getSampleRate();
+  }
+
+  /**
+   * Create an output appending the lines to a file.
+   */
+  static Output fileOutput(String path) {
+    final OutputStream out;
+    try {
+      out = new BufferedOutputStream(new FileOutputStream(path, true), 64 * 1024);
+    } catch (IOException e) {
+      throw new VertxException(e);
+    }
+    return new Output() {
+      @Override
+      public void write(AccessLogLine line) throws IOException {
+        out.write(line.bytes(), 0, line.length());
+        out.write('\n');
+      }
+
+      @Override
+      public void flush() throws IOException {
+        out.flush();
+      }
+
+      @Override
+      public void close() throws IOException {
+        out.close();
+      }
+    };
+  }
+
+  /**
+   * Start writing the lines of this log until the given Vert.x instance is closed, subsequent calls do nothing.
+   */
+  void start(Vertx vertx) {
+    if (!started.get() && started.compareAndSet(false, true)) {
+      writer = Writer.register(vertx, this);
+      ((VertxInternal) vertx).addCloseHook(this);
+    }
+  }
+
+  /**
+   * Stop accepting lines, write the remaining ones and close the output.
+   */
+  @Override
+  public void close(Promise<Void> completion) {
+    closed = true;
+    synchronized (this) {
+      // the producers which claimed a slot before the log was closed are about to publish it
+      final long deadline = System.nanoTime() + CLOSE_TIMEOUT;
+      while (true) {
+        drain(ring.length);
+        if (head == tail.get() || System.nanoTime() - deadline >= 0) {
+          break;
+        }
+        LockSupport.parkNanos(BLOCK_PARK_NANOS);
+      }
+      flush();
+      outputClosed = true;
+      try {
+        output.close();
+      } catch (IOException | RuntimeException e) {
+        LOG.error("Failed to close access log", e);
+      }
+    }
+    final Writer writer = this.writer;
+    if (writer != null) {
+      writer.unregister(this);
+    }
+    completion.complete();
+  }
+
+  /**
+   * Claim a free slot to render a line into, the slot must then be {@link #publish(AccessLogLine) published}.
+   *
+   * @return the slot or {@code null} when the line is dropped
+   */
+  AccessLogLine claim() {
+    if (closed) {
+      return null;
+    }
+    if (policy == AccessLogOverflowPolicy.SAMPLE && tail.get() - head > (mask >> 1)) {
+      // more than half full, keep 1 line out of sampleRate
+      if (ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+        dropped.increment();
+        return null;
+      }
+    }
+    while (true) {
+      final long pos = tail.get();
+      final AccessLogLine line = ring[(int) (pos & mask)];
+      final long dif = line.sequence - pos;
+      if (dif == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          return line;
+        }
+      } else if (dif < 0) {
+        // full
+        if (policy != AccessLogOverflowPolicy.BLOCK || closed) {
+          dropped.increment();
+          return null;
+        }
+        if (Context.isOnEventLoopThread()) {
+          // never park an event loop, write the queued lines from the calling thread instead
+          if (drain(BATCH_SIZE) == 0 && tail.get() - head >= ring.length) {
+            // the oldest slot is still being rendered by another thread
+            dropped.increment();
+            return null;
+          }
+        } else {
+          LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+      }
+      // else another producer claimed the slot, retry
+    }
+  }
+
+  /**
+   * Hand over a claimed slot to the writer thread.
+   */
+  void publish(AccessLogLine line) {
+    // the slot sequence is still its position
+    final long published = line.sequence + 1;
+    line.sequence = published;
+    if (closed) {
+      publishedAfterClose(line, published);
+      return;
+    }
+    final Writer writer = this.writer;
+    if (writer != null) {
+      writer.wakeUp();
+    }
+  }
+
+  /**
+   * A line claimed before the log was closed: close waits for it, unless it is published after the output was closed.
+   */
+  private synchronized void publishedAfterClose(AccessLogLine line, long published) {
+    if (outputClosed && line.sequence == published) {
+      dropped.increment();
+    }
+  }
+
+  /**
+   * @return the number of lines dropped since the creation of the log
+   */
+  long dropped() {
+    return dropped.sum();
+  }
+
+  /**
+   * Write up to {@code max} lines, called from the writer thread, on close or by an event loop blocked by a full
+   * queue.
+   *
+   * @return the number of lines written
+   */
+  private synchronized int drain(int max) {
+    if (outputClosed) {
+      return 0;
+    }
+    long pos = head;
+    int count = 0;
+    while (count < max) {
+      final AccessLogLine line = ring[(int) (pos & mask)];
+      if (line.sequence != pos + 1) {
+        break;
+      }
+      try {
+        output.write(line);
+      } catch (IOException | RuntimeException e) {
+        LOG.error("Failed to write access log line", e);
+      }
+      line.reset();
+      line.sequence = pos + ring.length;
+      head = ++pos;
+      count++;
+    }
+    if (count > 0) {
+      dirty = true;
+    }
+    return count;
+  }
+
+  private synchronized void flush() {
+    if (dirty && !outputClosed) {
+      dirty = false;
+      try {
+        output.flush();
+      } catch (IOException | RuntimeException e) {
+        LOG.error("Failed to flush access log", e);
+      }
+    }
+    reportDropped();
+  }
+
+  private void reportDropped() {
+    final long total = dropped.sum();
+    if (total != reportedDropped) {
+      final long now = System.nanoTime();
+      if (lastDropReport == 0 || now - lastDropReport >= DROP_REPORT_INTERVAL) {
+        LOG.warn("Access log queue full, " + (total - reportedDropped) + " lines dropped");
+        reportedDropped = total;
+        lastDropReport = now;
+      }
+    }
+  }
+
+  private boolean isEmpty() {
+    final long pos = head;
+    return ring[(int) (pos & mask)].sequence != pos + 1;
+  }
+
+  /**
+   * The background thread of the logs of a Vert.x instance.
+   */
+  private static final class Writer implements Runnable {
+
+    private static final Map<Vertx, Writer> WRITERS = new HashMap<>();
+
+    private final Vertx vertx;
+    private final List<AsyncAccessLog> logs = new CopyOnWriteArrayList<>();
+    private final Thread thread;
+    // whether the writer is about to park or parked, producers must then unpark it
+    private volatile boolean sleeping;
+
+    private Writer(Vertx vertx) {
+      this.vertx = vertx;
+      this.thread = new Thread(this, "vertx-web-access-log");
+    }
+
+    static Writer register(Vertx vertx, AsyncAccessLog log) {
+      synchronized (WRITERS) {
+        Writer writer = WRITERS.get(vertx);
+        if (writer == null) {
+          writer = new Writer(vertx);
+          WRITERS.put(vertx, writer);
+          writer.thread.start();
+        }
+        writer.logs.add(log);
+        return writer;
+      }
+    }
+
+    void unregister(AsyncAccessLog log) {
+      logs.remove(log);
+      // let the writer terminate when it was the last log
+      LockSupport.unpark(thread);
+    }
+
+    void wakeUp() {
+      if (sleeping) {
+        LockSupport.unpark(thread);
+      }
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        boolean idle = true;
+        for (AsyncAccessLog log : logs) {
+          if (log.drain(BATCH_SIZE) > 0) {
+            idle = false;
+          }
+        }
+        if (idle) {
+          for (AsyncAccessLog log : logs) {
+            log.flush();
+          }
+          // announce the park before checking the rings again, so that a line published meanwhile unparks the writer
+          sleeping = true;
+          if (allEmpty()) {
+            synchronized (WRITERS) {
+              if (logs.isEmpty()) {
+                // a log registered from now on starts a new writer
+                WRITERS.remove(vertx, this);
+                return;
+              }
+            }
+            LockSupport.park();
+          }
+          sleeping = false;
+        }
+      }
+    }
+
+    private boolean allEmpty() {
+      for (AsyncAccessLog log : logs) {
+        if (!log.isEmpty()) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
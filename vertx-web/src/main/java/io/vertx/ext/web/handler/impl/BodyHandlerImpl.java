@@ -17,23 +17,34 @@
 package io.vertx.ext.web.handler.impl;
 
 import java.io.File;
+import java.nio.file.NoSuchFileException;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
 import io.vertx.core.file.FileSystem;
+import io.vertx.core.file.OpenOptions;
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerFileUpload;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.http.HttpVersion;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.core.streams.Pipe;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.web.FileUpload;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
@@ -53,6 +64,11 @@ public class BodyHandlerImpl implements BodyHandler {
   private boolean mergeFormAttributes = DEFAULT_MERGE_FORM_ATTRIBUTES;
   private boolean deleteUploadedFilesOnEnd = DEFAULT_DELETE_UPLOADED_FILES_ON_END;
   private boolean isPreallocateBodyBuffer = DEFAULT_PREALLOCATE_BODY_BUFFER;
+  private long bodySpilloverThreshold = DEFAULT_BODY_SPILLOVER_THRESHOLD;
+  private boolean compositeBodyBuffer = DEFAULT_COMPOSITE_BODY_BUFFER;
+  private Function<FileUpload, Future<WriteStream<Buffer>>> uploadSink;
+  // the uploads directory is created asynchronously, until it succeeds once
+  private volatile boolean uploadsDirCreated;
   private static final int DEFAULT_INITIAL_BODY_BUFFER_SIZE = 1024; //bytes
 
 
@@ -152,6 +168,7 @@ public class BodyHandlerImpl implements BodyHandler {
   @Override
   public BodyHandler setUploadsDirectory(String uploadsDirectory) {
     this.uploadsDir = uploadsDirectory;
+    this.uploadsDirCreated = false;
     return this;
   }
 
@@ -173,6 +190,63 @@ public class BodyHandlerImpl implements BodyHandler {
     return this;
   }
 
+  @Override
+  public BodyHandler setBodySpilloverThreshold(long bodySpilloverThreshold) {
+    this.bodySpilloverThreshold = bodySpilloverThreshold;
+    return this;
+  }
+
+  @Override
+  public BodyHandler setCompositeBodyBuffer(boolean compositeBodyBuffer) {
+    this.compositeBodyBuffer = compositeBodyBuffer;
+    return this;
+  }
+
+  @Override
+  public BodyHandler setUploadSink(Function<FileUpload, Future<WriteStream<Buffer>>> uploadSink) {
+    this.uploadSink = uploadSink;
+    return this;
+  }
+
+  /**
+   * @return a future completed once the uploads directory exists
+   */
+  private Future<Void> uploadsDir(FileSystem fileSystem) {
+    if (uploadsDirCreated) {
+      return Future.succeededFuture();
+    }
+    // racing requests may both create the directory, mkdirs is fine with an existing directory
+    return fileSystem.mkdirs(uploadsDir).onSuccess(v -> uploadsDirCreated = true);
+  }
+
+  /**
+   * Forget that the uploads directory was created when a file could not be created in it, the directory was removed
+   * meanwhile.
+   *
+   * @return whether the failure is a missing uploads directory
+   */
+  private boolean uploadsDirMissing(Throwable failure) {
+    for (Throwable t = failure; t != null; t = t.getCause()) {
+      if (t instanceof NoSuchFileException) {
+        uploadsDirCreated = false;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Generate a random file name using a thread local generator: temporary file names do not need the guarantees of
+   * {@link UUID#randomUUID()} which contends on a shared {@code SecureRandom}.
+   */
+  private static String randomFileName() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    // version 4 variant 2 layout, like a random UUID
+    long msb = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+    long lsb = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+    return new UUID(msb, lsb).toString();
+  }
+
   private long parseContentLengthHeader(HttpServerRequest request) {
     String contentLength = request.getHeader(HttpHeaders.CONTENT_LENGTH);
     if (contentLength == null || contentLength.isEmpty()) {
@@ -188,10 +262,14 @@ public class BodyHandlerImpl implements BodyHandler {
 
   private class BHandler implements Handler<Buffer> {
     private static final int MAX_PREALLOCATED_BODY_BUFFER_BYTES = 65535;
+    // never consolidate (copy) the components while aggregating, the body is copied once when it is complete
+    private static final int MAX_COMPOSITE_COMPONENTS = Integer.MAX_VALUE;
 
     final RoutingContext context;
     final long contentLength;
     Buffer body;
+    // the pooled buffer backing the body when aggregating in a composite buffer
+    CompositeByteBuf composite;
     boolean failed;
     final AtomicInteger uploadCount = new AtomicInteger();
     final AtomicBoolean cleanup = new AtomicBoolean(false);
@@ -199,6 +277,10 @@ public class BodyHandlerImpl implements BodyHandler {
     long uploadSize = 0L;
     final boolean isMultipart;
     final boolean isUrlEncoded;
+    // state of a body spilled to disk
+    String spillFileName;
+    AsyncFile spillFile;
+    Future<Void> spillFileClosed;
 
     public BHandler(RoutingContext context, long contentLength) {
       this.context = context;
@@ -224,9 +306,8 @@ public class BodyHandlerImpl implements BodyHandler {
 
       if (isMultipart || isUrlEncoded) {
         context.request().setExpectMultipart(true);
-        if (handleFileUploads) {
-          makeUploadDir(context.vertx().fileSystem());
-        }
+        final Function<FileUpload, Future<WriteStream<Buffer>>> sink = uploadSink;
+        final Future<Void> dirCreated = handleFileUploads && sink == null ? uploadsDir(context.vertx().fileSystem()) : null;
         context.request().uploadHandler(upload -> {
           if (bodyLimit != -1 && upload.isSizeAvailable()) {
             // we can try to abort even before the upload starts
@@ -234,31 +315,44 @@ public class BodyHandlerImpl implements BodyHandler {
             if (size > bodyLimit) {
               failed = true;
               cancelAndCleanupFileUploads();
+              releaseComposite();
               context.fail(413);
               return;
             }
           }
           if (handleFileUploads) {
-            // we actually upload to a file with a generated filename
             uploadCount.incrementAndGet();
-            String uploadedFileName = new File(uploadsDir, UUID.randomUUID().toString()).getPath();
-            FileUploadImpl fileUpload = new FileUploadImpl(uploadedFileName, upload);
-            fileUploads.add(fileUpload);
-            Future<Void> fut = upload.streamToFileSystem(uploadedFileName);
-            fut.onComplete(ar -> {
-              if (fut.succeeded()) {
-                uploadEnded();
+            if (sink != null) {
+              streamToSink(sink, upload, fileUploads);
+            } else {
+              // we actually upload to a file with a generated filename
+              String uploadedFileName = new File(uploadsDir, randomFileName()).getPath();
+              fileUploads.add(new FileUploadImpl(uploadedFileName, upload));
+              if (dirCreated.succeeded()) {
+                streamToFileSystem(upload, uploadedFileName);
               } else {
-                cancelAndCleanupFileUploads();
-                context.fail(ar.cause());
+                // the upload buffers its content until the directory is created
+                upload.pause();
+                dirCreated.onComplete(ar -> {
+                  if (cleanup.get()) {
+                    // the request failed meanwhile
+                    upload.resume();
+                  } else if (ar.succeeded()) {
+                    streamToFileSystem(upload, uploadedFileName);
+                  } else {
+                    uploadFailed(ar.cause());
+                  }
+                });
               }
-            });
+            }
           }
         });
       }
 
       context.request().exceptionHandler(t -> {
         cancelAndCleanupFileUploads();
+        cleanupSpillFile();
+        releaseComposite();
         if (t instanceof DecoderException) {
           // bad request
           context.fail(400, t.getCause());
@@ -269,6 +363,12 @@ public class BodyHandlerImpl implements BodyHandler {
     }
 
     private void initBodyBuffer() {
+      if (compositeBodyBuffer) {
+        composite = PooledByteBufAllocator.DEFAULT.compositeBuffer(MAX_COMPOSITE_COMPONENTS);
+        this.body = Buffer.buffer(composite);
+        return;
+      }
+
       int initialBodyBufferSize;
       if (contentLength < 0) {
         initialBodyBufferSize = DEFAULT_INITIAL_BODY_BUFFER_SIZE;
@@ -285,10 +385,55 @@ public class BodyHandlerImpl implements BodyHandler {
       this.body = Buffer.buffer(initialBodyBufferSize);
     }
 
-    private void makeUploadDir(FileSystem fileSystem) {
-      if (!fileSystem.existsBlocking(uploadsDir)) {
-        fileSystem.mkdirsBlocking(uploadsDir);
+    private void streamToFileSystem(HttpServerFileUpload upload, String uploadedFileName) {
+      upload.streamToFileSystem(uploadedFileName).onComplete(ar -> {
+        if (ar.succeeded()) {
+          uploadEnded();
+        } else {
+          // the upload cannot be streamed twice, the next request creates the directory again
+          uploadsDirMissing(ar.cause());
+          uploadFailed(ar.cause());
+        }
+      });
+    }
+
+    private void streamToSink(Function<FileUpload, Future<WriteStream<Buffer>>> sink, HttpServerFileUpload upload, List<FileUpload> fileUploads) {
+      // the pipe pauses the upload until the sink is available
+      Pipe<Buffer> pipe = upload.pipe();
+      FileUploadImpl fileUpload = new FileUploadImpl(upload, pipe);
+      fileUploads.add(fileUpload);
+      Future<WriteStream<Buffer>> fut;
+      try {
+        fut = sink.apply(fileUpload);
+      } catch (RuntimeException e) {
+        fut = Future.failedFuture(e);
+      }
+      fut
+        .compose(stream -> {
+          if (cleanup.get()) {
+            // the request failed while the sink was being created
+            return Future.succeededFuture();
+          }
+          return pipe.to(stream);
+        })
+        .onComplete(ar -> {
+          if (ar.succeeded()) {
+            uploadEnded();
+          } else {
+            pipe.close();
+            uploadFailed(ar.cause());
+          }
+        });
+    }
+
+    private void uploadFailed(Throwable cause) {
+      if (failed) {
+        return;
       }
+      failed = true;
+      cancelAndCleanupFileUploads();
+      releaseComposite();
+      context.fail(cause);
     }
 
     @Override
@@ -300,20 +445,113 @@ public class BodyHandlerImpl implements BodyHandler {
       if (bodyLimit != -1 && uploadSize > bodyLimit) {
         failed = true;
         cancelAndCleanupFileUploads();
+        cleanupSpillFile();
+        releaseComposite();
         context.fail(413);
       } else {
         // multipart requests will not end up in the request body
         // url encoded should also not, however jQuery by default
         // post in urlencoded even if the payload is something else
         if (!isMultipart /* && !isUrlEncoded */) {
+          if (spillFile != null) {
+            writeToSpillFile(buff);
+            return;
+          }
           if (body == null) {
             initBodyBuffer();
           }
-          body.appendBuffer(buff);
+          if (composite != null) {
+            // the chunk is a safe copy owned by this request, reference it rather than copying it
+            composite.addComponent(true, buff.getByteBuf());
+          } else {
+            body.appendBuffer(buff);
+          }
+          if (bodySpilloverThreshold != -1 && spillFileName == null && body.length() > bodySpilloverThreshold) {
+            spill();
+          }
         }
       }
     }
 
+    private Future<AsyncFile> openSpillFile(FileSystem fileSystem) {
+      return fileSystem.open(spillFileName, new OpenOptions().setCreateNew(true).setRead(false).setWrite(true));
+    }
+
+    private void spill() {
+      // the spill file counts as an upload, the request only proceeds once it is fully written and closed
+      uploadCount.incrementAndGet();
+      spillFileName = new File(uploadsDir, randomFileName()).getPath();
+      // stop reading while the file is being opened, data still received is kept in memory
+      context.request().pause();
+      FileSystem fileSystem = context.vertx().fileSystem();
+      uploadsDir(fileSystem)
+        .compose(v -> openSpillFile(fileSystem))
+        .recover(err -> {
+          if (uploadsDirMissing(err)) {
+            // the directory was removed since it was created, create it again once
+            return uploadsDir(fileSystem).compose(v -> openSpillFile(fileSystem));
+          }
+          return Future.failedFuture(err);
+        })
+        .onComplete(open -> {
+          if (open.failed()) {
+            failed = true;
+            releaseComposite();
+            context.fail(open.cause());
+            return;
+          }
+          spillFile = open.result();
+          if (failed) {
+            // the request failed while the file was being opened
+            cleanupSpillFile();
+            releaseComposite();
+            return;
+          }
+          spillFile.exceptionHandler(t -> {
+            failed = true;
+            cleanupSpillFile();
+            context.fail(t);
+          });
+          final Buffer pending = body;
+          final CompositeByteBuf pendingComposite = composite;
+          // release the in memory body
+          body = null;
+          composite = null;
+          Future<Void> written = writeToSpillFile(pending);
+          if (pendingComposite != null) {
+            // the pooled buffer can only be released once written
+            written.onComplete(v -> pendingComposite.release());
+          }
+          if (ended) {
+            closeSpillFile();
+          } else if (!spillFile.writeQueueFull()) {
+            context.request().resume();
+          }
+        });
+    }
+
+    private Future<Void> writeToSpillFile(Buffer buff) {
+      Future<Void> fut = spillFile.write(buff);
+      if (spillFile.writeQueueFull()) {
+        context.request().pause();
+        spillFile.drainHandler(v -> context.request().resume());
+      }
+      return fut;
+    }
+
+    private void closeSpillFile() {
+      spillFileClosed = spillFile.end();
+      spillFileClosed.onComplete(ar -> {
+        if (ar.succeeded()) {
+          uploadEnded();
+        } else {
+          failed = true;
+          cleanupSpillFile();
+          context.fail(ar.cause());
+        }
+      });
+    }
+
     void uploadEnded() {
       int count = uploadCount.decrementAndGet();
       // only if parsing is done and count is 0 then all files have been processed
@@ -327,6 +565,11 @@ public class BodyHandlerImpl implements BodyHandler {
       // only be possible from this moment onwards
       ended = true;
 
+      // the body is being spilled, once the file is closed the upload count drops and processing continues
+      if (spillFile != null) {
+        closeSpillFile();
+      }
+
       // only if parsing is done and count is 0 then all files have been processed
       if (uploadCount.get() == 0) {
         doEnd();
@@ -337,6 +580,8 @@ public class BodyHandlerImpl implements BodyHandler {
 
       if (failed) {
         cancelAndCleanupFileUploads();
+        cleanupSpillFile();
+        releaseComposite();
         return;
       }
 
@@ -348,13 +593,60 @@ public class BodyHandlerImpl implements BodyHandler {
       if (mergeFormAttributes && req.isExpectMultipart()) {
         req.params().addAll(req.formAttributes());
       }
-      ((RoutingContextInternal) context).setBody(body);
+      if (spillFileName != null) {
+        // the spilled body is a temporary file, it is always removed at the end of the request
+        context.addBodyEndHandler(x -> cleanupSpillFile());
+        ((RoutingContextInternal) context).setBodyFile(spillFileName, uploadSize);
+      } else {
+        if (composite != null) {
+          // copy the chunks once into a buffer of the exact size and release the pooled buffer right away, so the body
+          // can be kept or written to the response without caring about the lifetime of a pooled buffer
+          final Buffer copy = Buffer.buffer(Unpooled.copiedBuffer(composite));
+          releaseComposite();
+          body = copy;
+        }
+        ((RoutingContextInternal) context).setBody(body);
+      }
       // release body as it may take lots of memory
       body = null;
 
       context.next();
     }
 
+    /**
+     * Release the pooled body buffer, if any.
+     */
+    private void releaseComposite() {
+      if (composite != null) {
+        composite.release();
+        composite = null;
+        body = null;
+      }
+    }
+
+    /**
+     * Delete the file the body was spilled to, if any.
+     */
+    private void cleanupSpillFile() {
+      if (spillFile == null) {
+        // either no spill happened or the file is still being opened, the open callback will clean up
+        return;
+      }
+      final String fileName = spillFileName;
+      spillFileName = null;
+      if (fileName == null) {
+        return;
+      }
+      if (spillFileClosed == null) {
+        spillFileClosed = spillFile.close();
+      }
+      spillFileClosed.onComplete(close -> context.vertx().fileSystem().delete(fileName, deleteResult -> {
+        if (deleteResult.failed()) {
+          LOG.warn("Delete of spilled body file failed: " + fileName, deleteResult.cause());
+        }
+      }));
+    }
+
     /**
      * Cancel all unfinished file upload in progress and delete all uploaded files.
      */
@@ -362,7 +654,7 @@ public class BodyHandlerImpl implements BodyHandler {
       if (cleanup.compareAndSet(false, true) && handleFileUploads) {
         for (FileUpload fileUpload : context.fileUploads()) {
           FileSystem fileSystem = context.vertx().fileSystem();
-          if (!fileUpload.cancel()) {
+          if (!fileUpload.cancel() && fileUpload.uploadedFileName() != null) {
             String uploadedFileName = fileUpload.uploadedFileName();
             fileSystem.delete(uploadedFileName, deleteResult -> {
               if (deleteResult.failed()) {
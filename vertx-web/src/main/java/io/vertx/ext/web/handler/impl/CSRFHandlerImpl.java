@@ -26,14 +26,11 @@ import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.Session;
 import io.vertx.ext.web.handler.CSRFHandler;
 import io.vertx.ext.web.handler.SessionHandler;
+import io.vertx.ext.web.impl.Hmac;
 import io.vertx.ext.web.impl.Origin;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
 
@@ -45,7 +42,7 @@ public class CSRFHandlerImpl implements CSRFHandler {
   private static final Logger LOG = LoggerFactory.getLogger(CSRFHandlerImpl.class);
 
   private final VertxContextPRNG random;
-  private final Mac mac;
+  private final Hmac mac;
 
   private boolean nagHttps;
   private String cookieName = DEFAULT_COOKIE_NAME;
@@ -58,16 +55,11 @@ public class CSRFHandlerImpl implements CSRFHandler {
   private boolean cookieSecure;
 
   public CSRFHandlerImpl(final Vertx vertx, final String secret) {
-    try {
-      if (secret.length() <= 8) {
-        LOG.warn("CSRF secret is very short (<= 8 bytes)");
-      }
-      random = VertxContextPRNG.current(vertx);
-      mac = Mac.getInstance("HmacSHA256");
-      mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-    } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-      throw new RuntimeException(e);
+    if (secret.length() <= 8) {
+      LOG.warn("CSRF secret is very short (<= 8 bytes)");
     }
+    random = VertxContextPRNG.current(vertx);
+    mac = new Hmac("HmacSHA256", secret);
   }
 
   @Override
@@ -123,7 +115,7 @@ public class CSRFHandlerImpl implements CSRFHandler {
     random.nextBytes(salt);
 
     String saltPlusToken = base64UrlEncode(salt) + "." + System.currentTimeMillis();
-    String signature = base64UrlEncode(mac.doFinal(saltPlusToken.getBytes(StandardCharsets.US_ASCII)));
+    String signature = mac.sign(saltPlusToken);
 
     final String token = saltPlusToken + "." + signature;
     // a new token was generated add it to the cookie
@@ -175,18 +167,41 @@ public class CSRFHandlerImpl implements CSRFHandler {
     return s == null || s.trim().isEmpty();
   }
 
-  private static long parseLong(String s) {
-    if (isBlank(s)) {
+  /**
+   * Parse the timestamp of a {@code salt.timestamp.signature} token.
+   *
+   * @param token the token
+   * @return the timestamp or {@code -1} when the token is not well formed
+   */
+  private static long parseTimestamp(String token) {
+    final int start = token.indexOf('.');
+    if (start == -1) {
       return -1;
     }
+    final int end = token.indexOf('.', start + 1);
+    if (end == -1) {
+      return -1;
+    }
+    return parseLong(token, start + 1, end);
+  }
 
-    try {
-      return Long.parseLong(s);
-    } catch (NumberFormatException e) {
-      LOG.trace("Invalid Token format", e);
-      // fallback as the token is expired
+  private static long parseLong(String s, int start, int end) {
+    // at most 18 digits, which cannot overflow
+    if (start == end || end - start > 18) {
+      LOG.trace("Invalid Token format");
       return -1;
     }
+    long value = 0;
+    for (int i = start; i < end; i++) {
+      final int digit = s.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        LOG.trace("Invalid Token format");
+        // fallback as the token is expired
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
   }
 
   private boolean isValidRequest(RoutingContext ctx) {
@@ -252,21 +267,15 @@ public class CSRFHandlerImpl implements CSRFHandler {
       }
     }
 
-    String[] tokens = header.split("\\.");
-    if (tokens.length != 3) {
+    // the token is salt.timestamp.signature
+    final int dot1 = header.indexOf('.');
+    final int dot2 = dot1 == -1 ? -1 : header.indexOf('.', dot1 + 1);
+    if (dot2 == -1 || header.indexOf('.', dot2 + 1) != -1) {
       ctx.fail(403);
       return false;
     }
 
-    byte[] saltPlusToken = (tokens[0] + "." + tokens[1]).getBytes(StandardCharsets.US_ASCII);
-
-    synchronized (mac) {
-      saltPlusToken = mac.doFinal(saltPlusToken);
-    }
-
-    final byte[] signature = base64UrlEncode(saltPlusToken).getBytes(StandardCharsets.US_ASCII);
-
-    if (!MessageDigest.isEqual(signature, tokens[2].getBytes(StandardCharsets.US_ASCII))) {
+    if (!mac.verify(header, 0, dot2, dot2 + 1, header.length())) {
       ctx.fail(403, new IllegalArgumentException("Token signature does not match"));
       return false;
     }
@@ -276,7 +285,7 @@ public class CSRFHandlerImpl implements CSRFHandler {
       session.remove(headerName);
     }
 
-    final long ts = parseLong(tokens[1]);
+    final long ts = parseLong(header, dot1 + 1, dot2);
 
     if (ts == -1) {
       ctx.fail(403);
@@ -329,8 +338,7 @@ public class CSRFHandlerImpl implements CSRFHandler {
           if (sessionToken == null) {
             token = generateAndStoreToken(ctx);
           } else {
-            String[] parts = sessionToken.split("\\.");
-            final long ts = parseLong(parts[1]);
+            final long ts = parseTimestamp(sessionToken);
 
             if (ts == -1) {
               // fallback as the token is expired
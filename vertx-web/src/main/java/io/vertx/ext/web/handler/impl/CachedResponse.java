@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A response stored by the {@link ResponseCacheHandlerImpl}, or the names of the request headers the stored responses
+ * of an URI vary on. The responses are encoded in a buffer as:
+ * <ul>
+ *   <li>the type, {@code 0} for a response and {@code 1} for the vary header names</li>
+ *   <li>for the vary header names, the number of names followed by the names</li>
+ *   <li>for a response, the store time and the freshness lifetime in milliseconds, the status code, the status message,
+ *   the number of headers followed by the header names and values, and the body</li>
+ * </ul>
+ */
+final class CachedResponse {
+
+  private static final byte RESPONSE = 0;
+  private static final byte VARY = 1;
+
+  final List<String> vary;
+  final long storedAt;
+  final long maxAge;
+  final int statusCode;
+  final String statusMessage;
+  final MultiMap headers;
+  final Buffer body;
+
+  private CachedResponse(List<String> vary, long storedAt, long maxAge, int statusCode, String statusMessage, MultiMap headers, Buffer body) {
+    this.vary = vary;
+    this.storedAt = storedAt;
+    this.maxAge = maxAge;
+    this.statusCode = statusCode;
+    this.statusMessage = statusMessage;
+    this.headers = headers;
+    this.body = body;
+  }
+
+  /**
+   * @return whether this holds the vary header names rather than a response
+   */
+  boolean isVary() {
+    return vary != null;
+  }
+
+  boolean isFresh(long now) {
+    return now - storedAt < maxAge;
+  }
+
+  /**
+   * @return the age of the response in seconds
+   */
+  long age(long now) {
+    return Math.max(0, now - storedAt) / 1000;
+  }
+
+  static Buffer encodeVary(List<String> names) {
+    Buffer buffer = Buffer.buffer();
+    buffer.appendByte(VARY);
+    buffer.appendInt(names.size());
+    for (String name : names) {
+      appendString(buffer, name);
+    }
+    return buffer;
+  }
+
+  static Buffer encodeResponse(long storedAt, long maxAge, int statusCode, String statusMessage, Iterable<Map.Entry<String, String>> headers, Buffer body) {
+    Buffer buffer = Buffer.buffer(64 + body.length());
+    buffer.appendByte(RESPONSE);
+    buffer.appendLong(storedAt);
+    buffer.appendLong(maxAge);
+    buffer.appendInt(statusCode);
+    appendString(buffer, statusMessage);
+    // reserve the header count
+    int countPos = buffer.length();
+    buffer.appendInt(0);
+    int count = 0;
+    for (Map.Entry<String, String> header : headers) {
+      appendString(buffer, header.getKey());
+      appendString(buffer, header.getValue());
+      count++;
+    }
+    buffer.setInt(countPos, count);
+    buffer.appendBuffer(body);
+    return buffer;
+  }
+
+  static CachedResponse decode(Buffer buffer) {
+    int[] pos = { 1 };
+    if (buffer.getByte(0) == VARY) {
+      int count = readInt(buffer, pos);
+      List<String> names = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        names.add(readString(buffer, pos));
+      }
+      return new CachedResponse(Collections.unmodifiableList(names), 0, 0, 0, null, null, null);
+    }
+    long storedAt = buffer.getLong(pos[0]);
+    long maxAge = buffer.getLong(pos[0] + 8);
+    pos[0] += 16;
+    int statusCode = readInt(buffer, pos);
+    String statusMessage = readString(buffer, pos);
+    int count = readInt(buffer, pos);
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    for (int i = 0; i < count; i++) {
+      headers.add(readString(buffer, pos), readString(buffer, pos));
+    }
+    // the body is a view of the stored buffer
+    Buffer body = buffer.slice(pos[0], buffer.length());
+    return new CachedResponse(null, storedAt, maxAge, statusCode, statusMessage, headers, body);
+  }
+
+  private static void appendString(Buffer buffer, String s) {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    buffer.appendInt(bytes.length);
+    buffer.appendBytes(bytes);
+  }
+
+  private static int readInt(Buffer buffer, int[] pos) {
+    int value = buffer.getInt(pos[0]);
+    pos[0] += 4;
+    return value;
+  }
+
+  private static String readString(Buffer buffer, int[] pos) {
+    int length = readInt(buffer, pos);
+    String s = buffer.getString(pos[0], pos[0] + length, "UTF-8");
+    pos[0] += length;
+    return s;
+  }
+}
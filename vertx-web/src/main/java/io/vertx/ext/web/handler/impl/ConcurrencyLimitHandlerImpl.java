@@ -0,0 +1,167 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.ConcurrencyLimitHandler;
+import io.vertx.ext.web.handler.ConcurrencyLimitOptions;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class ConcurrencyLimitHandlerImpl implements ConcurrencyLimitHandler {
+
+  private static final long PROBE_INTERVAL = TimeUnit.MILLISECONDS.toNanos(50);
+  private static final long PROBE_IDLE_TIMEOUT = TimeUnit.SECONDS.toNanos(10);
+
+  private final AdaptiveConcurrencyLimit limit;
+  private final int priorities;
+  private final long maxEventLoopLag;
+  private final String retryAfter;
+  // the event loop lag probes, only when the lag is monitored
+  private final ConcurrentMap<EventLoop, LagProbe> probes = new ConcurrentHashMap<>();
+
+  private Function<RoutingContext, Integer> classifier;
+
+  public ConcurrencyLimitHandlerImpl(ConcurrencyLimitOptions options) {
+    this.limit = new AdaptiveConcurrencyLimit(options);
+    this.priorities = options.getPriorities();
+    this.maxEventLoopLag = TimeUnit.MILLISECONDS.toNanos(options.getMaxEventLoopLag());
+    this.retryAfter = options.getRetryAfter() > 0 ? Long.toString(options.getRetryAfter()) : null;
+  }
+
+  @Override
+  public ConcurrencyLimitHandler priorityClassifier(Function<RoutingContext, Integer> classifier) {
+    this.classifier = classifier;
+    return this;
+  }
+
+  @Override
+  public int limit() {
+    return limit.limit();
+  }
+
+  @Override
+  public int inflight() {
+    return limit.inflight();
+  }
+
+  @Override
+  public void handle(RoutingContext ctx) {
+    if (maxEventLoopLag > 0 && eventLoopLagging()) {
+      reject(ctx);
+      return;
+    }
+
+    if (!limit.tryAcquire(share(ctx))) {
+      reject(ctx);
+      return;
+    }
+
+    final long start = System.nanoTime();
+    ctx.addEndHandler(ar -> {
+      if (ar.succeeded()) {
+        final int status = ctx.response().getStatusCode();
+        // a timeout is a sign of overload
+        limit.release(System.nanoTime() - start, status == 503 || status == 504);
+      } else {
+        limit.cancel();
+      }
+    });
+
+    ctx.next();
+  }
+
+  private double share(RoutingContext ctx) {
+    if (classifier == null || priorities == 1) {
+      return 1.0;
+    }
+    final Integer priority = classifier.apply(ctx);
+    if (priority == null) {
+      return 1.0;
+    }
+    final int p = Math.max(0, Math.min(priorities - 1, priority));
+    return (double) (priorities - p) / priorities;
+  }
+
+  private void reject(RoutingContext ctx) {
+    if (retryAfter != null) {
+      ctx.response().putHeader(HttpHeaderNames.RETRY_AFTER, retryAfter);
+    }
+    ctx.fail(503);
+  }
+
+  private boolean eventLoopLagging() {
+    final Context context = Vertx.currentContext();
+    if (context == null) {
+      return false;
+    }
+    final EventLoop eventLoop = ((ContextInternal) context).nettyEventLoop();
+    LagProbe probe = probes.get(eventLoop);
+    if (probe == null) {
+      probe = new LagProbe(eventLoop);
+      LagProbe previous = probes.putIfAbsent(eventLoop, probe);
+      if (previous == null) {
+        probe.schedule(System.nanoTime());
+      } else {
+        probe = previous;
+      }
+    }
+    probe.lastUsed = System.nanoTime();
+    return probe.lag > maxEventLoopLag;
+  }
+
+  /**
+   * Measures the delay of a task scheduled on an event loop, the probe stops when the handler does not use it.
+   */
+  private final class LagProbe implements Runnable {
+
+    private final EventLoop eventLoop;
+    private long expected;
+    volatile long lag;
+    volatile long lastUsed;
+
+    LagProbe(EventLoop eventLoop) {
+      this.eventLoop = eventLoop;
+    }
+
+    void schedule(long now) {
+      expected = now + PROBE_INTERVAL;
+      eventLoop.schedule(this, PROBE_INTERVAL, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void run() {
+      final long now = System.nanoTime();
+      lag = Math.max(0, now - expected);
+      if (lag > maxEventLoopLag) {
+        limit.backoff();
+      }
+      if (now - lastUsed > PROBE_IDLE_TIMEOUT) {
+        probes.remove(eventLoop, this);
+        return;
+      }
+      schedule(now);
+    }
+  }
+}
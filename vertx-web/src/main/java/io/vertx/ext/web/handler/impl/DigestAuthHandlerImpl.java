@@ -205,7 +205,7 @@ public class DigestAuthHandlerImpl extends HTTPAuthorizationHandler<HtdigestAuth
       // validate the opaque value
       final Session session = context.session();
       if (session != null) {
-        String opaque = (String) session.data().get("opaque");
+        String opaque = session.get("opaque");
         if (opaque != null && !opaque.equals(authInfo.getOpaque())) {
           handler.handle(Future.failedFuture(UNAUTHORIZED));
           return;
@@ -238,7 +238,7 @@ public class DigestAuthHandlerImpl extends HTTPAuthorizationHandler<HtdigestAuth
     String opaque = null;
     final Session session = context.session();
     if (session != null) {
-      opaque = (String) session.data().get("opaque");
+      opaque = session.get("opaque");
     }
 
     if (opaque == null) {
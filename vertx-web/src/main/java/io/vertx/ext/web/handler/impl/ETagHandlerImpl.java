@@ -0,0 +1,204 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.ETagHandler;
+import io.vertx.ext.web.impl.HttpServerResponseWrapper;
+import io.vertx.ext.web.impl.RoutingContextInternal;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+public class ETagHandlerImpl implements ETagHandler {
+
+  // a message digest is not thread safe, the body can be written from a worker thread
+  private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  });
+
+  private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+  private final boolean weak;
+  private final int maxBufferSize;
+
+  public ETagHandlerImpl(boolean weak, int maxBufferSize) {
+    if (maxBufferSize < 0) {
+      throw new IllegalArgumentException("maxBufferSize must be >= 0");
+    }
+    this.weak = weak;
+    this.maxBufferSize = maxBufferSize;
+  }
+
+  @Override
+  public void handle(RoutingContext ctx) {
+    if (ctx.request().method() == HttpMethod.GET) {
+      ((RoutingContextInternal) ctx).setResponse(new ETagResponse(ctx, ctx.response()));
+    }
+    ctx.next();
+  }
+
+  private String etag(List<Buffer> chunks) {
+    final MessageDigest md = MD5.get();
+    for (Buffer chunk : chunks) {
+      md.update(chunk.getByteBuf().nioBuffer());
+    }
+    final String hash = BASE64.encodeToString(md.digest());
+    return weak ? "W/\"" + hash + "\"" : "\"" + hash + "\"";
+  }
+
+  /**
+   * Buffers the body until the response ends, unless the response is not eligible to an ETag.
+   */
+  private class ETagResponse extends HttpServerResponseWrapper {
+
+    private final RoutingContext ctx;
+    private List<Buffer> chunks;
+    private int size;
+    // whether the response is sent as written by the next handlers
+    private boolean passThrough;
+
+    ETagResponse(RoutingContext ctx, HttpServerResponse delegate) {
+      super(delegate);
+      this.ctx = ctx;
+    }
+
+    /**
+     * @return whether the chunk is buffered rather than written
+     */
+    private boolean buffer(Buffer chunk) {
+      if (passThrough) {
+        return false;
+      }
+      if (chunks == null) {
+        // first chunk, decide whether the response gets an ETag
+        if (!eligible()) {
+          passThrough = true;
+          return false;
+        }
+        chunks = new ArrayList<>(1);
+      }
+      if (size + chunk.length() > maxBufferSize) {
+        // too large, stream the body without an ETag
+        passThrough = true;
+        for (Buffer buffered : chunks) {
+          delegate.write(buffered);
+        }
+        chunks = null;
+        return false;
+      }
+      if (chunk.length() > 0 || chunks.isEmpty()) {
+        chunks.add(chunk);
+        size += chunk.length();
+      }
+      return true;
+    }
+
+    private boolean eligible() {
+      if (delegate.getStatusCode() != 200 || delegate.isChunked() || delegate.headers().contains(HttpHeaders.ETAG)) {
+        return false;
+      }
+      final String contentType = delegate.headers().get(HttpHeaders.CONTENT_TYPE);
+      return contentType == null || !contentType.startsWith("text/event-stream");
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+      if (buffer(data)) {
+        return Future.succeededFuture();
+      }
+      return delegate.write(data);
+    }
+
+    @Override
+    public void write(Buffer data, Handler<AsyncResult<Void>> handler) {
+      if (buffer(data)) {
+        if (handler != null) {
+          handler.handle(Future.succeededFuture());
+        }
+      } else {
+        delegate.write(data, handler);
+      }
+    }
+
+    @Override
+    public Future<Void> end() {
+      return end(Buffer.buffer());
+    }
+
+    @Override
+    public void end(Handler<AsyncResult<Void>> handler) {
+      end(Buffer.buffer(), handler);
+    }
+
+    @Override
+    public Future<Void> end(Buffer chunk) {
+      if (!buffer(chunk)) {
+        return delegate.end(chunk);
+      }
+      return complete();
+    }
+
+    @Override
+    public void end(Buffer chunk, Handler<AsyncResult<Void>> handler) {
+      Future<Void> fut = end(chunk);
+      if (handler != null) {
+        fut.onComplete(handler);
+      }
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      // nothing is written while buffering
+      return chunks == null && delegate.writeQueueFull();
+    }
+
+    private Future<Void> complete() {
+      final List<Buffer> body = chunks;
+      chunks = null;
+      passThrough = true;
+      delegate.putHeader(HttpHeaders.ETAG, etag(body));
+      if (ctx.isFresh()) {
+        delegate.headers().remove(HttpHeaders.CONTENT_LENGTH);
+        delegate.setStatusCode(304);
+        return delegate.end();
+      }
+      if (body.size() == 1) {
+        return delegate.end(body.get(0));
+      }
+      // the response is not chunked, send the aggregated body with its length
+      final Buffer aggregated = Buffer.buffer(size);
+      for (Buffer chunk : body) {
+        aggregated.appendBuffer(chunk);
+      }
+      return delegate.end(aggregated);
+    }
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static io.vertx.ext.web.handler.StaticHandler.*;
+
+/**
+ * Auto tuning of synchronous vs asynchronous file system access of the {@link StaticHandlerImpl}.
+ * <p>
+ * Each event loop keeps decaying averages of the blocking and asynchronous access times: an event loop switches to
+ * asynchronous access when its blocking average exceeds the max average serve time, and back to blocking access once
+ * the asynchronous average, which is measured without blocking, shows that the file system has recovered. The
+ * asynchronous accesses of an event loop are bounded, the extra accesses are queued.
+ * <p>
+ * The state of an event loop is only modified by the event loop, other threads (e.g. workers) always use blocking
+ * access.
+ */
+final class FSTune {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FSTune.class);
+
+  // the weight of a new sample in the averages, older samples decay by 1/16 per access
+  private static final double WEIGHT = 1.0 / 16;
+  // the number of samples before the averages are trusted
+  private static final int MIN_SAMPLES = 16;
+
+  private final ThreadLocal<LoopState> loops = ThreadLocal.withInitial(this::newLoopState);
+  private final List<LoopState> states = new CopyOnWriteArrayList<>();
+
+  private final LongAdder blockingCalls = new LongAdder();
+  private final LongAdder asyncCalls = new LongAdder();
+  private final LongAdder queuedCalls = new LongAdder();
+
+  private volatile boolean enabled = DEFAULT_ENABLE_FS_TUNING;
+  private volatile boolean alwaysAsyncFS = DEFAULT_ALWAYS_ASYNC_FS;
+  private volatile long maxAvgServeTimeNanoSeconds = DEFAULT_MAX_AVG_SERVE_TIME_NS;
+  private volatile int maxAsyncConcurrency = DEFAULT_MAX_ASYNC_FS_CONCURRENCY;
+
+  private LoopState newLoopState() {
+    LoopState state = new LoopState(Thread.currentThread().getName());
+    states.add(state);
+    return state;
+  }
+
+  void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+    if (!enabled) {
+      reset();
+    }
+  }
+
+  void setAlwaysAsyncFS(boolean alwaysAsyncFS) {
+    this.alwaysAsyncFS = alwaysAsyncFS;
+  }
+
+  void setMaxAvgServeTimeNanoSeconds(long maxAvgServeTimeNanoSeconds) {
+    this.maxAvgServeTimeNanoSeconds = maxAvgServeTimeNanoSeconds;
+  }
+
+  void setMaxAsyncConcurrency(int maxAsyncConcurrency) {
+    if (maxAsyncConcurrency < 1) {
+      throw new IllegalArgumentException("maxAsyncConcurrency must be >= 1");
+    }
+    this.maxAsyncConcurrency = maxAsyncConcurrency;
+  }
+
+  /**
+   * Perform a file system access, with the blocking or the asynchronous variant.
+   *
+   * @param blocking  the blocking access, wrapping failures in runtime exceptions like the Vert.x file system
+   * @param async  the asynchronous access
+   * @param handler  the result handler
+   */
+  <T> void access(Supplier<T> blocking, Supplier<Future<T>> async, Handler<AsyncResult<T>> handler) {
+    if (!Context.isOnEventLoopThread()) {
+      // blocking a worker is fine
+      blockingCalls.increment();
+      handler.handle(runBlocking(blocking));
+      return;
+    }
+    if (!enabled) {
+      if (alwaysAsyncFS) {
+        asyncCalls.increment();
+        async.get().onComplete(handler);
+      } else {
+        blockingCalls.increment();
+        handler.handle(runBlocking(blocking));
+      }
+      return;
+    }
+    LoopState state = loops.get();
+    if (alwaysAsyncFS || state.async) {
+      asyncCalls.increment();
+      if (state.inflight < maxAsyncConcurrency) {
+        state.inflight++;
+        runAsync(state, async, handler);
+      } else {
+        queuedCalls.increment();
+        // the file system binds the access to the current context, start it on the caller's context and not on the
+        // context of the access that frees the slot
+        ContextInternal context = (ContextInternal) Vertx.currentContext();
+        state.pending.add(() -> context.runOnContext(v -> runAsync(state, async, handler)));
+      }
+    } else {
+      blockingCalls.increment();
+      long start = System.nanoTime();
+      AsyncResult<T> result = runBlocking(blocking);
+      if (state.recordBlocking(System.nanoTime() - start, maxAvgServeTimeNanoSeconds) && LOG.isInfoEnabled()) {
+        LOG.info("Switching to async file system access in static file server on " + state.name
+          + " as fs access is slow! (Average access time of " + (long) state.blockingAvg + " ns)");
+      }
+      handler.handle(result);
+    }
+  }
+
+  /**
+   * Run an asynchronous access, the caller has already taken its slot in {@code state.inflight}.
+   */
+  private <T> void runAsync(LoopState state, Supplier<Future<T>> async, Handler<AsyncResult<T>> handler) {
+    long start = System.nanoTime();
+    Future<T> fut;
+    try {
+      fut = async.get();
+    } catch (RuntimeException e) {
+      fut = Future.failedFuture(e);
+    }
+    fut.onComplete(ar -> {
+      if (state.recordAsync(System.nanoTime() - start, maxAvgServeTimeNanoSeconds) && LOG.isInfoEnabled()) {
+        LOG.info("Switching back to blocking file system access in static file server on " + state.name
+          + " as fs access recovered (Average access time of " + (long) state.asyncAvg + " ns)");
+      }
+      Runnable next = state.pending.poll();
+      if (next != null) {
+        // hand the slot over to the queued access, so it is not taken by a new access until it is dispatched
+        next.run();
+      } else {
+        state.inflight--;
+      }
+      handler.handle(ar);
+    });
+  }
+
+  private static <T> AsyncResult<T> runBlocking(Supplier<T> blocking) {
+    try {
+      return Future.succeededFuture(blocking.get());
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e.getCause() != null ? e.getCause() : e);
+    }
+  }
+
+  /**
+   * Forget the averages, the event loops restart with blocking access.
+   */
+  void reset() {
+    for (LoopState state : states) {
+      // not synchronized with the event loop, at worst a few samples of the previous period are kept
+      state.reset();
+    }
+  }
+
+  JsonObject metrics() {
+    JsonArray loops = new JsonArray();
+    for (LoopState state : states) {
+      loops.add(new JsonObject()
+        .put("name", state.name)
+        .put("async", state.async)
+        .put("blockingAvgNs", (long) state.blockingAvg)
+        .put("asyncAvgNs", (long) state.asyncAvg)
+        .put("inflight", state.inflight)
+        .put("queued", state.pending.size()));
+    }
+    return new JsonObject()
+      .put("blockingCalls", blockingCalls.sum())
+      .put("asyncCalls", asyncCalls.sum())
+      .put("queuedCalls", queuedCalls.sum())
+      .put("eventLoops", loops);
+  }
+
+  /**
+   * The tuning state of an event loop, the fields are volatile for the metrics only.
+   */
+  static final class LoopState {
+
+    final String name;
+    final ArrayDeque<Runnable> pending = new ArrayDeque<>();
+    volatile boolean async;
+    volatile double blockingAvg;
+    volatile double asyncAvg;
+    volatile int inflight;
+    private int blockingSamples;
+    private int asyncSamples;
+
+    LoopState(String name) {
+      this.name = name;
+    }
+
+    /**
+     * @return {@code true} when the event loop switched to asynchronous access
+     */
+    boolean recordBlocking(long duration, long maxAvg) {
+      blockingAvg = blockingSamples++ == 0 ? duration : blockingAvg + (duration - blockingAvg) * WEIGHT;
+      if (!async && blockingSamples >= MIN_SAMPLES && blockingAvg > maxAvg) {
+        async = true;
+        asyncAvg = blockingAvg;
+        asyncSamples = 0;
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * @return {@code true} when the event loop switched back to blocking access
+     */
+    boolean recordAsync(long duration, long maxAvg) {
+      asyncAvg = asyncSamples++ == 0 ? duration : asyncAvg + (duration - asyncAvg) * WEIGHT;
+      // the asynchronous access time includes the worker hand-off, only switch back well below the limit
+      if (async && asyncSamples >= MIN_SAMPLES && asyncAvg < maxAvg / 2.0) {
+        async = false;
+        blockingAvg = asyncAvg;
+        blockingSamples = 0;
+        return true;
+      }
+      return false;
+    }
+
+    void reset() {
+      async = false;
+      blockingAvg = 0;
+      asyncAvg = 0;
+      blockingSamples = 0;
+      asyncSamples = 0;
+    }
+  }
+}
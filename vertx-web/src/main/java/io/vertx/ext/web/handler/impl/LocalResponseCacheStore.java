@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.handler.ResponseCacheStore;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link ResponseCacheStore} keeping the responses in an access ordered map bounded by the number and the size of the
+ * responses, shared by the event loops.
+ */
+public class LocalResponseCacheStore implements ResponseCacheStore {
+
+  private final int maxEntries;
+  private final long maxSize;
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+
+  public LocalResponseCacheStore(int maxEntries, long maxSize) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be >= 1");
+    }
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be >= 1");
+    }
+    this.maxEntries = maxEntries;
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  public Future<Buffer> get(String key) {
+    return Future.succeededFuture(get(key, System.currentTimeMillis()));
+  }
+
+  @Override
+  public Future<Void> put(String key, Buffer response, long ttl) {
+    put(key, response, System.currentTimeMillis() + ttl);
+    return Future.succeededFuture();
+  }
+
+  @Override
+  public synchronized Future<Void> delete(String key) {
+    remove(key);
+    return Future.succeededFuture();
+  }
+
+  @Override
+  public synchronized Future<Void> clear() {
+    entries.clear();
+    size = 0;
+    return Future.succeededFuture();
+  }
+
+  synchronized Buffer get(String key, long now) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.expiresAt < now) {
+      remove(key);
+      return null;
+    }
+    return entry.response;
+  }
+
+  synchronized void put(String key, Buffer response, long expiresAt) {
+    if (response.length() > maxSize) {
+      remove(key);
+      return;
+    }
+    Entry previous = entries.put(key, new Entry(response, expiresAt));
+    if (previous != null) {
+      size -= previous.response.length();
+    }
+    size += response.length();
+    // evict the least recently used responses
+    Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+    while (entries.size() > maxEntries || size > maxSize) {
+      Entry eldest = it.next().getValue();
+      it.remove();
+      size -= eldest.response.length();
+    }
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private void remove(String key) {
+    Entry entry = entries.remove(key);
+    if (entry != null) {
+      size -= entry.response.length();
+    }
+  }
+
+  private static class Entry {
+
+    final Buffer response;
+    final long expiresAt;
+
+    Entry(Buffer response, long expiresAt) {
+      this.response = response;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -16,18 +16,17 @@
 
 package io.vertx.ext.web.handler.impl;
 
-import io.vertx.core.MultiMap;
-import io.vertx.core.http.HttpMethod;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServerRequest;
-import io.vertx.core.http.HttpVersion;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.AccessLogOptions;
 import io.vertx.ext.web.handler.LoggerFormat;
 import io.vertx.ext.web.handler.LoggerFormatter;
 import io.vertx.ext.web.handler.LoggerHandler;
-import io.vertx.ext.web.impl.Utils;
 
 import java.util.function.Function;
 
@@ -43,12 +42,18 @@ import java.util.function.Function;
  * equal to 500 the fatal severity is used, for status greater or equal to 400 the error severity is used, for status
  * greater or equal to 300 warn is used and for status above 100 info is used.
  *
+ * The built-in formats and patterns are compiled once and rendered into reusable buffers. In asynchronous mode the
+ * lines are queued and written by a background thread, see {@link AsyncAccessLog}, until the Vert.x instance the
+ * handler is created or first used with is closed.
+ *
  * @author <a href="http://pmlopes@gmail.com">Paulo Lopes</a>
  */
 public class LoggerHandlerImpl implements LoggerHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(LoggerHandlerImpl.class);
 
+  private static final ThreadLocal<AccessLogLine> LINE = ThreadLocal.withInitial(AccessLogLine::new);
+
   /** log before request or after
    */
   private final boolean immediate;
@@ -57,12 +62,44 @@ public class LoggerHandlerImpl implements LoggerHandler {
    */
   private final LoggerFormat format;
 
+  /** the compiled format, null for a CUSTOM format without pattern
+   */
+  private final AccessLogFormat compiled;
+
+  /** the queue of the asynchronous mode, null when lines are logged from the request thread
+   */
+  private final AsyncAccessLog async;
+
   private Function<HttpServerRequest, String> customFormatter;
   private LoggerFormatter logFormatter;
 
   public LoggerHandlerImpl(boolean immediate, LoggerFormat format) {
+    this(immediate, format, null);
+  }
+
+  public LoggerHandlerImpl(boolean immediate, LoggerFormat format, AccessLogOptions options) {
     this.immediate = immediate;
     this.format = format;
+    String pattern = options == null ? null : options.getPattern();
+    if (pattern != null) {
+      compiled = AccessLogFormat.compile(pattern);
+    } else if (format != LoggerFormat.CUSTOM) {
+      compiled = AccessLogFormat.of(format);
+    } else {
+      compiled = null;
+    }
+    if (options != null) {
+      AsyncAccessLog.Output output = options.getPath() != null ?
+        AsyncAccessLog.fileOutput(options.getPath()) :
+        line -> doLog(line.status, line.toString());
+      async = new AsyncAccessLog(options, output);
+      Context context = Vertx.currentContext();
+      if (context != null) {
+        async.start(context.owner());
+      }
+    } else {
+      async = null;
+    }
   }
 
   public LoggerHandlerImpl(LoggerFormat format) {
@@ -76,89 +113,58 @@ public class LoggerHandlerImpl implements LoggerHandler {
     return inetSocketAddress.host();
   }
 
-  private void log(RoutingContext context, long timestamp, String remoteClient, HttpVersion version, HttpMethod method, String uri) {
-    HttpServerRequest request = context.request();
-    long contentLength = 0;
-    if (immediate) {
-      Object obj = request.headers().get("content-length");
-      if (obj != null) {
-        try {
-          contentLength = Long.parseLong(obj.toString());
-        } catch (NumberFormatException e) {
-          // ignore it and continue
-        }
+  private void log(AccessLogFormat.Entry entry) {
+    final RoutingContext context = entry.context;
+    final int status = context.request().response().getStatusCode();
+
+    if (compiled == null && async == null) {
+      doLog(status, customMessage(context, entry.timestamp));
+      return;
+    }
+
+    final AccessLogLine line;
+    if (async != null) {
+      line = async.claim();
+      if (line == null) {
+        // dropped
+        return;
       }
     } else {
-      contentLength  = request.response().bytesWritten();
+      line = LINE.get();
+      line.reset();
+    }
+
+    try {
+      if (compiled != null) {
+        compiled.render(entry, line);
+      } else {
+        line.append(customMessage(context, entry.timestamp));
+      }
+    } finally {
+      if (async != null) {
+        // a claimed slot must always be published
+        line.status = status;
+        async.publish(line);
+      }
     }
-    String versionFormatted = "-";
-    switch (version){
-      case HTTP_1_0:
-        versionFormatted = "HTTP/1.0";
-        break;
-      case HTTP_1_1:
-        versionFormatted = "HTTP/1.1";
-        break;
-      case HTTP_2:
-        versionFormatted = "HTTP/2.0";
-        break;
+
+    if (async == null) {
+      doLog(status, line.toString());
     }
+  }
 
-    final MultiMap headers = request.headers();
-    int status = request.response().getStatusCode();
-    String message = null;
-
-    switch (format) {
-      case DEFAULT:
-        // as per RFC1945 the header is referer but it is not mandatory some implementations use referrer
-        String referrer = headers.contains("referrer") ? headers.get("referrer") : headers.get("referer");
-        String userAgent = request.headers().get("user-agent");
-        referrer = referrer == null ? "-" : referrer;
-        userAgent = userAgent == null ? "-" : userAgent;
-
-        message = String.format("%s - - [%s] \"%s %s %s\" %d %d \"%s\" \"%s\"",
-          remoteClient,
-          Utils.formatRFC1123DateTime(timestamp),
-          method,
-          uri,
-          versionFormatted,
-          status,
-          contentLength,
-          referrer,
-          userAgent);
-        break;
-      case SHORT:
-        message = String.format("%s - %s %s %s %d %d - %d ms",
-          remoteClient,
-          method,
-          uri,
-          versionFormatted,
-          status,
-          contentLength,
-          (System.currentTimeMillis() - timestamp));
-        break;
-      case TINY:
-        message = String.format("%s %s %d %d - %d ms",
-          method,
-          uri,
-          status,
-          contentLength,
-          (System.currentTimeMillis() - timestamp));
-        break;
-      case CUSTOM:
-        try {
-          if (logFormatter != null) {
-            message = logFormatter.format(context, (System.currentTimeMillis() - timestamp));
-          } else {
-            message = customFormatter.apply(request);
-          }
-        } catch (RuntimeException e) {
-          // if an error happens at the user side
-          // log it instead
-          message = e.getMessage();
-        }
+  private String customMessage(RoutingContext context, long timestamp) {
+    try {
+      if (logFormatter != null) {
+        return logFormatter.format(context, (System.currentTimeMillis() - timestamp));
+      } else {
+        return customFormatter.apply(context.request());
+      }
+    } catch (RuntimeException e) {
+      // if an error happens at the user side
+      // log it instead
+      return e.getMessage();
     }
-    doLog(status, message);
   }
 
   protected void doLog(int status, String message) {
@@ -173,17 +179,25 @@ public class LoggerHandlerImpl implements LoggerHandler {
 
   @Override
   public void handle(RoutingContext context) {
+    if (async != null) {
+      async.start(context.vertx());
+    }
     // common logging data
-    long timestamp = System.currentTimeMillis();
-    String remoteClient = getClientAddress(context.request().remoteAddress());
-    HttpMethod method = context.request().method();
-    String uri = context.request().uri();
-    HttpVersion version = context.request().version();
+    final HttpServerRequest request = context.request();
+    final AccessLogFormat.Entry entry = new AccessLogFormat.Entry(
+      context,
+      System.currentTimeMillis(),
+      System.nanoTime(),
+      getClientAddress(request.remoteAddress()),
+      request.version(),
+      request.method(),
+      request.uri(),
+      immediate);
 
     if (immediate) {
-      log(context, timestamp, remoteClient, version, method, uri);
+      log(entry);
     } else {
-      context.addBodyEndHandler(v -> log(context, timestamp, remoteClient, version, method, uri));
+      context.addBodyEndHandler(v -> log(entry));
     }
 
     context.next();
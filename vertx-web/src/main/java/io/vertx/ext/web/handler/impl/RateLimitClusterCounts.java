@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.core.shareddata.Counter;
+import io.vertx.ext.web.handler.RateLimitOptions;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Approximate cluster wide request counts per period.
+ * <p>
+ * The keys are hashed into slots, each backed by a cluster {@link Counter} holding the period number in its high 32 bits
+ * and the count of the period in its low 32 bits, so that the first node adding to a slot in a new period resets it.
+ * Requests are counted locally and pushed in batches every sync interval, the pushed count returned by the counter
+ * updates the local view of the slot. A sync is only scheduled while there are requests to push, so that nothing keeps
+ * running once the handler is not used anymore.
+ */
+final class RateLimitClusterCounts {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RateLimitClusterCounts.class);
+
+  private static final long COUNT_MASK = 0xFFFFFFFFL;
+  private static final int MAX_ATTEMPTS = 3;
+
+  private final Vertx vertx;
+  private final String name;
+  private final int limit;
+  private final long period;
+  private final long syncInterval;
+  private final int mask;
+  // requests counted locally since the last sync
+  private final AtomicLongArray pending;
+  // the last known cluster count (period << 32 | count)
+  private final AtomicLongArray global;
+  private final AtomicReferenceArray<Future<Counter>> counters;
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  RateLimitClusterCounts(Vertx vertx, RateLimitOptions options) {
+    this.vertx = vertx;
+    this.name = options.getName();
+    this.limit = options.getLimit();
+    this.period = options.getPeriod();
+    this.syncInterval = options.getSyncInterval();
+    final int slots = Integer.highestOneBit(Math.max(1, options.getClusterSlots() - 1)) << 1;
+    this.mask = slots - 1;
+    this.pending = new AtomicLongArray(slots);
+    this.global = new AtomicLongArray(slots);
+    this.counters = new AtomicReferenceArray<>(slots);
+  }
+
+  /**
+   * Count a request of a key unless the cluster wide count of the current period reached the limit.
+   *
+   * @return whether the request is counted
+   */
+  boolean tryAcquire(String key) {
+    final int h = key.hashCode();
+    final int slot = (h ^ (h >>> 16)) & mask;
+    final long current = System.currentTimeMillis() / period;
+    final long known = global.get(slot);
+    final long count = (known >>> 32) == current ? known & COUNT_MASK : 0;
+    if (count + pending.get(slot) >= limit) {
+      return false;
+    }
+    pending.incrementAndGet(slot);
+    scheduleSync();
+    return true;
+  }
+
+  /**
+   * @return the number of milliseconds until the current period ends
+   */
+  long untilNextPeriod() {
+    return period - System.currentTimeMillis() % period;
+  }
+
+  private void scheduleSync() {
+    if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+      vertx.setTimer(syncInterval, id -> sync());
+    }
+  }
+
+  private void sync() {
+    // the requests counted from now on schedule the next sync
+    scheduled.set(false);
+    final long current = System.currentTimeMillis() / period;
+    for (int slot = 0; slot <= mask; slot++) {
+      if (pending.get(slot) > 0) {
+        final long delta = pending.getAndSet(slot, 0);
+        if (delta > 0) {
+          push(slot, current, delta, 1);
+        }
+      }
+    }
+  }
+
+  private void push(int slot, long current, long delta, int attempt) {
+    final Future<Counter> counter = counter(slot);
+    counter
+      .compose(c -> c.get().compose(value -> {
+        final long updated = (value >>> 32) == current ?
+          value + delta :
+          current << 32 | delta;
+        return c.compareAndSet(value, updated).map(ok -> ok ? updated : -1L);
+      }))
+      .onComplete(ar -> {
+        if (ar.succeeded() && ar.result() >= 0) {
+          // the values grow with the period and the count, a late answer must not overwrite a more recent one
+          global.accumulateAndGet(slot, ar.result(), Math::max);
+        } else if (attempt < MAX_ATTEMPTS) {
+          push(slot, current, delta, attempt + 1);
+        } else {
+          if (ar.failed()) {
+            LOG.warn("Failed to synchronize rate limit counts", ar.cause());
+            // get a new counter next time
+            counters.compareAndSet(slot, counter, null);
+          }
+          // try again with the next batch
+          pending.addAndGet(slot, delta);
+          scheduleSync();
+        }
+      });
+  }
+
+  private Future<Counter> counter(int slot) {
+    Future<Counter> counter = counters.get(slot);
+    if (counter == null) {
+      counter = vertx.sharedData().getCounter(name + "." + slot);
+      if (!counters.compareAndSet(slot, null, counter)) {
+        counter = counters.get(slot);
+      }
+    }
+    return counter;
+  }
+}
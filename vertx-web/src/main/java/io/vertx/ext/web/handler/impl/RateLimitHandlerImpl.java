@@ -0,0 +1,143 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.RateLimitHandler;
+import io.vertx.ext.web.handler.RateLimitKeySource;
+import io.vertx.ext.web.handler.RateLimitOptions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class RateLimitHandlerImpl implements RateLimitHandler {
+
+  private static final CharSequence RATE_LIMIT_LIMIT = HttpHeaders.createOptimized("RateLimit-Limit");
+  private static final CharSequence RATE_LIMIT_REMAINING = HttpHeaders.createOptimized("RateLimit-Remaining");
+  private static final CharSequence RATE_LIMIT_RESET = HttpHeaders.createOptimized("RateLimit-Reset");
+
+  private final RateLimitTable table;
+  private final RateLimitClusterCounts cluster;
+  private final String limit;
+  private final RateLimitKeySource keySource;
+  private final String keyName;
+
+  private Function<RoutingContext, String> extractor;
+
+  public RateLimitHandlerImpl(Vertx vertx, RateLimitOptions options) {
+    if ((options.getKeySource() == RateLimitKeySource.HEADER || options.getKeySource() == RateLimitKeySource.PARAMETER) && options.getKeyName() == null) {
+      throw new IllegalArgumentException("The " + options.getKeySource() + " key source requires a key name");
+    }
+    this.table = new RateLimitTable(options.getLimit(), TimeUnit.MILLISECONDS.toNanos(options.getPeriod()), options.getMaxKeys());
+    this.cluster = options.isClustered() ? new RateLimitClusterCounts(vertx, options) : null;
+    this.limit = Integer.toString(options.getLimit());
+    this.keySource = options.getKeySource();
+    this.keyName = options.getKeyName();
+  }
+
+  @Override
+  public RateLimitHandler keyExtractor(Function<RoutingContext, String> extractor) {
+    this.extractor = extractor;
+    return this;
+  }
+
+  @Override
+  public void handle(RoutingContext ctx) {
+    final String key = key(ctx);
+    final long ahead = table.acquire(key, System.nanoTime());
+    final HttpServerResponse response = ctx.response();
+    response.putHeader(RATE_LIMIT_LIMIT, limit);
+
+    if (ahead > table.burst()) {
+      // the bucket is empty
+      response
+        .putHeader(RATE_LIMIT_REMAINING, "0")
+        .putHeader(RATE_LIMIT_RESET, seconds(ahead - table.interval()))
+        .putHeader(HttpHeaderNames.RETRY_AFTER, seconds(ahead - table.burst()));
+      ctx.fail(429);
+      return;
+    }
+
+    if (cluster != null && !cluster.tryAcquire(key)) {
+      final String untilNextPeriod = seconds(TimeUnit.MILLISECONDS.toNanos(cluster.untilNextPeriod()));
+      response
+        .putHeader(RATE_LIMIT_REMAINING, "0")
+        .putHeader(RATE_LIMIT_RESET, untilNextPeriod)
+        .putHeader(HttpHeaderNames.RETRY_AFTER, untilNextPeriod);
+      ctx.fail(429);
+      return;
+    }
+
+    response
+      .putHeader(RATE_LIMIT_REMAINING, Long.toString((table.burst() - ahead) / table.interval()))
+      .putHeader(RATE_LIMIT_RESET, seconds(ahead));
+    ctx.next();
+  }
+
+  /**
+   * The keys are prefixed by their source, so that e.g. a header value cannot use up the limit of a client address.
+   */
+  private String key(RoutingContext ctx) {
+    String key = null;
+    if (extractor != null) {
+      key = prefix("key:", extractor.apply(ctx));
+    } else {
+      switch (keySource) {
+        case USER:
+          key = prefix("user:", userKey(ctx.user()));
+          break;
+        case HEADER:
+          key = prefix("header:", ctx.request().getHeader(keyName));
+          break;
+        case PARAMETER:
+          key = prefix("param:", ctx.request().getParam(keyName));
+          break;
+      }
+    }
+    if (key == null) {
+      final SocketAddress address = ctx.request().remoteAddress();
+      key = address == null ? "address:" : "address:" + address.host();
+    }
+    return key;
+  }
+
+  private static String prefix(String prefix, String key) {
+    return key == null ? null : prefix + key;
+  }
+
+  private static String userKey(User user) {
+    if (user == null) {
+      return null;
+    }
+    final JsonObject principal = user.principal();
+    String key = principal.getString("username");
+    if (key == null) {
+      key = principal.getString("sub");
+    }
+    return key == null ? principal.encode() : key;
+  }
+
+  private static String seconds(long nanos) {
+    return Long.toString((Math.max(0, nanos) + 999_999_999) / 1_000_000_000);
+  }
+}
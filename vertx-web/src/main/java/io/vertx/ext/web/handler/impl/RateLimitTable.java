@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded table of token buckets, one per client key.
+ * <p>
+ * A bucket is a single {@code long}, the theoretical arrival time of the next request (GCRA): each request pushes it
+ * {@code interval} nanoseconds further, a request is admitted while it stays less than {@code burst} nanoseconds
+ * ahead of now. Updates are a CAS, a bucket whose arrival time is in the past is full and can be forgotten.
+ * <p>
+ * The keys are spread over stripes, each bounded to a share of the maximum number of keys, so that an eviction only
+ * sweeps a fraction of the table.
+ */
+final class RateLimitTable {
+
+  private static final int STRIPES = 64;
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+  private final int stripeCapacity;
+  private final long interval;
+  private final long burst;
+
+  RateLimitTable(int limit, long periodNanos, int maxKeys) {
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe();
+    }
+    this.stripeCapacity = Math.max(1, (maxKeys + STRIPES - 1) / STRIPES);
+    this.interval = Math.max(1, periodNanos / limit);
+    this.burst = interval * limit;
+  }
+
+  long interval() {
+    return interval;
+  }
+
+  long burst() {
+    return burst;
+  }
+
+  /**
+   * Try to take a token from the bucket of a key.
+   *
+   * @return how far ahead of {@code now} the bucket is, in nanoseconds, after taking the token: the token was taken when
+   * this is at most {@link #burst()}, otherwise the bucket is left unchanged
+   */
+  long acquire(String key, long now) {
+    final AtomicLong bucket = bucket(key, now);
+    while (true) {
+      final long tat = bucket.get();
+      final long next = (tat == EMPTY || tat - now < 0 ? now : tat) + interval;
+      final long ahead = next - now;
+      if (ahead > burst) {
+        return ahead;
+      }
+      if (bucket.compareAndSet(tat, next)) {
+        return ahead;
+      }
+    }
+  }
+
+  int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      size += stripe.buckets.size();
+    }
+    return size;
+  }
+
+  private AtomicLong bucket(String key, long now) {
+    int h = key.hashCode();
+    final Stripe stripe = stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    AtomicLong bucket = stripe.buckets.get(key);
+    if (bucket == null) {
+      if (stripe.buckets.size() >= stripeCapacity) {
+        stripe.evict(now, stripeCapacity);
+      }
+      bucket = stripe.buckets.computeIfAbsent(key, k -> new AtomicLong(EMPTY));
+    }
+    return bucket;
+  }
+
+  private static final class Stripe {
+
+    final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    final AtomicBoolean evicting = new AtomicBoolean();
+
+    void evict(long now, int capacity) {
+      if (!evicting.compareAndSet(false, true)) {
+        // another thread is making room
+        return;
+      }
+      try {
+        // full buckets first
+        buckets.values().removeIf(bucket -> {
+          long tat = bucket.get();
+          return tat == EMPTY || tat - now <= 0;
+        });
+        // then any, leaving some room to not evict on every new key
+        int excess = buckets.size() - capacity + Math.max(1, capacity / 8);
+        Iterator<AtomicLong> it = buckets.values().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+          it.next();
+          it.remove();
+        }
+      } finally {
+        evicting.set(false);
+      }
+    }
+  }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.common.impl.cache.CacheControl;
+import io.vertx.ext.web.handler.ResponseCacheHandler;
+import io.vertx.ext.web.handler.ResponseCacheOptions;
+import io.vertx.ext.web.handler.ResponseCacheStore;
+import io.vertx.ext.web.impl.HttpServerResponseWrapper;
+import io.vertx.ext.web.impl.RoutingContextInternal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ResponseCacheHandlerImpl implements ResponseCacheHandler {
+
+  // the status codes cacheable by default, RFC 7231 section 6.1
+  private static final Set<Integer> CACHEABLE_STATUS_CODES = new HashSet<>(Arrays.asList(200, 203, 204, 300, 301, 308, 404, 405, 410, 414, 501));
+
+  // the headers of the connection rather than of the stored response
+  private static final Set<String> EXCLUDED_HEADERS = new HashSet<>(Arrays.asList(
+    "connection", "keep-alive", "transfer-encoding", "content-length", "age"));
+
+  // how long the misses of a response found uncacheable are not coalesced
+  private static final long UNCACHEABLE_TTL = TimeUnit.SECONDS.toMillis(10);
+  private static final int MAX_UNCACHEABLE = 10_000;
+
+  private final ResponseCacheStore store;
+  private final int maxBodySize;
+  private final long maxCoalescingWait;
+  // the responses being produced by the next handlers, the concurrent misses of the same response wait for them
+  private final ConcurrentMap<String, Promise<Void>> fills = new ConcurrentHashMap<>();
+  // the keys of the responses recently found uncacheable and their expiration, the misses of those are not coalesced
+  // since waiting for a response that will not be stored would only delay them
+  private final ConcurrentMap<String, Long> uncacheable = new ConcurrentHashMap<>();
+
+  public ResponseCacheHandlerImpl(ResponseCacheStore store, ResponseCacheOptions options) {
+    this.store = store;
+    this.maxBodySize = options.getMaxBodySize();
+    this.maxCoalescingWait = options.getMaxCoalescingWait();
+  }
+
+  @Override
+  public void handle(RoutingContext ctx) {
+    final HttpServerRequest request = ctx.request();
+    final HttpMethod method = request.method();
+
+    if ((method != HttpMethod.GET && method != HttpMethod.HEAD) || request.headers().contains(HttpHeaders.AUTHORIZATION)) {
+      // a shared cache does not store the responses to authorized requests
+      ctx.next();
+      return;
+    }
+
+    final CacheControl cacheControl = CacheControl.parse(request.headers());
+    if (cacheControl.noStore()) {
+      ctx.next();
+      return;
+    }
+
+    final String key = key(request);
+    if (cacheControl.noCache() || "no-cache".equals(request.getHeader(HttpHeaders.PRAGMA))) {
+      // the response must be produced again, but it can still be stored
+      if (method == HttpMethod.GET) {
+        fill(ctx, key, null);
+      } else {
+        ctx.next();
+      }
+      return;
+    }
+
+    lookup(ctx, key, true);
+  }
+
+  private void lookup(RoutingContext ctx, String key, boolean coalesce) {
+    store.get(key).onComplete(ar -> {
+      if (ar.failed()) {
+        // the store is not available, don't attempt to store the response either
+        ctx.next();
+        return;
+      }
+      CachedResponse cached = ar.result() != null ? CachedResponse.decode(ar.result()) : null;
+      if (cached != null && cached.isVary()) {
+        store.get(variantKey(key, cached.vary, ctx.request())).onComplete(ar2 -> {
+          CachedResponse variant = ar2.succeeded() && ar2.result() != null ? CachedResponse.decode(ar2.result()) : null;
+          handleLookup(ctx, key, variant, coalesce);
+        });
+      } else {
+        handleLookup(ctx, key, cached, coalesce);
+      }
+    });
+  }
+
+  private void handleLookup(RoutingContext ctx, String key, CachedResponse cached, boolean coalesce) {
+    final long now = System.currentTimeMillis();
+    if (cached != null && cached.isFresh(now)) {
+      send(ctx, cached, now);
+      return;
+    }
+
+    if (ctx.request().method() == HttpMethod.HEAD) {
+      // only GET responses are stored
+      ctx.next();
+      return;
+    }
+
+    if (!coalesce || maxCoalescingWait == 0 || isUncacheable(key, now)) {
+      fill(ctx, key, null);
+      return;
+    }
+
+    final Promise<Void> fill = Promise.promise();
+    final Promise<Void> pending = fills.putIfAbsent(key, fill);
+    if (pending == null) {
+      fill(ctx, key, fill);
+    } else {
+      // wait for the response being produced and look it up again, or produce it when it takes too long
+      final Context context = ctx.vertx().getOrCreateContext();
+      final AtomicBoolean waiting = new AtomicBoolean(true);
+      final long timer = ctx.vertx().setTimer(maxCoalescingWait, id -> {
+        if (waiting.compareAndSet(true, false)) {
+          fill(ctx, key, null);
+        }
+      });
+      pending.future().onComplete(v -> context.runOnContext(v2 -> {
+        if (waiting.compareAndSet(true, false)) {
+          ctx.vertx().cancelTimer(timer);
+          lookup(ctx, key, false);
+        }
+      }));
+    }
+  }
+
+  private void fill(RoutingContext ctx, String key, Promise<Void> fill) {
+    final ResponseCapture capture = new ResponseCapture(ctx.response(), maxBodySize);
+    ((RoutingContextInternal) ctx).setResponse(capture);
+
+    ctx.addBodyEndHandler(v -> store(ctx.request(), key, capture)
+      .onComplete(ar -> {
+        if (ar.succeeded()) {
+          if (ar.result()) {
+            uncacheable.remove(key);
+          } else {
+            markUncacheable(key);
+          }
+        }
+        release(key, fill);
+      }));
+
+    if (fill != null) {
+      ctx.addEndHandler(ar -> {
+        if (ar.failed()) {
+          // the response was not sent
+          release(key, fill);
+        }
+      });
+    }
+
+    ctx.next();
+  }
+
+  private void release(String key, Promise<Void> fill) {
+    if (fill != null) {
+      fills.remove(key, fill);
+      fill.tryComplete();
+    }
+  }
+
+  private boolean isUncacheable(String key, long now) {
+    final Long expiration = uncacheable.get(key);
+    if (expiration == null) {
+      return false;
+    }
+    if (expiration > now) {
+      return true;
+    }
+    uncacheable.remove(key, expiration);
+    return false;
+  }
+
+  private void markUncacheable(String key) {
+    if (uncacheable.size() >= MAX_UNCACHEABLE) {
+      // the markers are only an optimization, rather start over than track the least recently used ones
+      uncacheable.clear();
+    }
+    uncacheable.put(key, System.currentTimeMillis() + UNCACHEABLE_TTL);
+  }
+
+  /**
+   * @return whether the response has been stored
+   */
+  private Future<Boolean> store(HttpServerRequest request, String key, ResponseCapture capture) {
+    final HttpServerResponse response = capture.delegate();
+    final MultiMap headers = response.headers();
+    final int statusCode = response.getStatusCode();
+
+    if (capture.body == null || !CACHEABLE_STATUS_CODES.contains(statusCode) || headers.contains(HttpHeaders.SET_COOKIE)) {
+      return Future.succeededFuture(false);
+    }
+
+    final CacheControl cacheControl = CacheControl.parse(headers);
+    if (!cacheControl.isCacheable() || !cacheControl.hasExplicitExpiration() || cacheControl.isPrivate() || cacheControl.noCache()) {
+      return Future.succeededFuture(false);
+    }
+
+    final Set<CharSequence> variations = cacheControl.variations();
+    for (CharSequence name : variations) {
+      if ("*".contentEquals(name)) {
+        // varies on something else than the request headers
+        return Future.succeededFuture(false);
+      }
+    }
+
+    final long ttl = TimeUnit.SECONDS.toMillis(cacheControl.getMaxAge());
+    final List<Map.Entry<String, String>> stored = new ArrayList<>();
+    for (Map.Entry<String, String> header : headers) {
+      if (!EXCLUDED_HEADERS.contains(header.getKey().toLowerCase())) {
+        stored.add(header);
+      }
+    }
+    final String statusMessage = response.getStatusMessage() != null ? response.getStatusMessage() : "";
+    final Buffer entry = CachedResponse.encodeResponse(System.currentTimeMillis(), ttl, statusCode, statusMessage, stored, capture.body);
+
+    if (variations.isEmpty()) {
+      return store.put(key, entry, ttl).map(true);
+    }
+
+    final List<String> vary = new ArrayList<>(variations.size());
+    for (CharSequence name : variations) {
+      vary.add(name.toString());
+    }
+    Collections.sort(vary);
+    return store.put(key, CachedResponse.encodeVary(vary), ttl)
+      .compose(v -> store.put(variantKey(key, vary, request), entry, ttl))
+      .map(true);
+  }
+
+  private static void send(RoutingContext ctx, CachedResponse cached, long now) {
+    final HttpServerResponse response = ctx.response();
+    response
+      .setStatusCode(cached.statusCode)
+      .setStatusMessage(cached.statusMessage);
+    response.headers().addAll(cached.headers);
+    response.putHeader(HttpHeaders.AGE, Long.toString(cached.age(now)));
+
+    if (ctx.request().method() == HttpMethod.HEAD) {
+      response.putHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(cached.body.length()));
+      response.end();
+    } else {
+      response.end(cached.body);
+    }
+  }
+
+  private static String key(HttpServerRequest request) {
+    final String host = request.host();
+    return host != null ? host + request.uri() : request.uri();
+  }
+
+  private static String variantKey(String key, List<String> vary, HttpServerRequest request) {
+    final StringBuilder sb = new StringBuilder(key);
+    for (String name : vary) {
+      sb.append('\n').append(name).append('=');
+      List<String> values = request.headers().getAll(name);
+      for (int i = 0; i < values.size(); i++) {
+        if (i > 0) {
+          sb.append(',');
+        }
+        sb.append(values.get(i));
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Copies the body written by the next handlers, until it exceeds the maximum body size.
+   */
+  private static class ResponseCapture extends HttpServerResponseWrapper {
+
+    private final int maxBodySize;
+    // null when the body is not cacheable
+    private Buffer body = Buffer.buffer();
+
+    ResponseCapture(HttpServerResponse delegate, int maxBodySize) {
+      super(delegate);
+      this.maxBodySize = maxBodySize;
+    }
+
+    HttpServerResponse delegate() {
+      return delegate;
+    }
+
+    @Override
+    protected void onWrite(Buffer chunk) {
+      if (body != null) {
+        if (body.length() + chunk.length() > maxBodySize) {
+          body = null;
+        } else {
+          body.appendBuffer(chunk);
+        }
+      }
+    }
+
+    @Override
+    protected void onSendFile(String filename) {
+      body = null;
+    }
+  }
+}
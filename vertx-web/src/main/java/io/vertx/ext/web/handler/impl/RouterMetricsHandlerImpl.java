@@ -0,0 +1,38 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.RouterMetrics;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.RouterMetricsHandler;
+
+import java.util.Objects;
+
+public class RouterMetricsHandlerImpl implements RouterMetricsHandler {
+
+  private final RouterMetrics metrics;
+
+  public RouterMetricsHandlerImpl(RouterMetrics metrics) {
+    this.metrics = Objects.requireNonNull(metrics, "metrics");
+  }
+
+  @Override
+  public void handle(RoutingContext ctx) {
+    ctx.response().putHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+    ctx.json(metrics.snapshot());
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A broadcast channel of the {@link SSEHandlerImpl}.
+ * <p>
+ * The recent events are kept in a ring for replay. The subscriptions are grouped by event loop context, a broadcast
+ * event is dispatched once to each context, which writes the same buffer to its subscriptions.
+ */
+final class SSEChannel {
+
+  private final Event[] ring;
+  private int head;
+  private int count;
+  // the id of the last event published, and of the last event dropped from the ring
+  private long lastId;
+  private long evictedId;
+
+  private final ConcurrentMap<Context, Group> groups = new ConcurrentHashMap<>();
+
+  SSEChannel(int replaySize) {
+    this.ring = new Event[replaySize];
+  }
+
+  /**
+   * Publish an event, the event ids must be increasing.
+   */
+  synchronized void publish(long id, Buffer data) {
+    final Event event = new Event(id, data);
+    if (ring.length > 0) {
+      if (count == ring.length) {
+        evictedId = ring[head].id;
+      } else {
+        count++;
+      }
+      ring[head] = event;
+      head = (head + 1) % ring.length;
+    } else {
+      evictedId = id;
+    }
+    lastId = id;
+    // dispatched in the lock so every context receives the events in order
+    for (Group group : groups.values()) {
+      group.context.runOnContext(v -> group.deliver(event));
+    }
+  }
+
+  /**
+   * @return the events published after {@code id}, or {@code null} when some of them are no longer in the ring
+   */
+  synchronized List<Event> since(long id) {
+    if (id >= lastId) {
+      return Collections.emptyList();
+    }
+    if (id < evictedId) {
+      return null;
+    }
+    return retained(id);
+  }
+
+  /**
+   * @return all the events in the ring
+   */
+  synchronized List<Event> retained() {
+    return retained(-1);
+  }
+
+  private List<Event> retained(long after) {
+    final List<Event> events = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Event event = ring[(head - count + i + ring.length) % ring.length];
+      if (event.id > after) {
+        events.add(event);
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Subscribe a connection, on the context of the connection.
+   *
+   * @param lastEventId the id of the last event received by the client, or {@code -1}
+   */
+  Subscription subscribe(SSEConnectionImpl connection, long lastEventId) {
+    final Group group = groups.computeIfAbsent(connection.context, Group::new);
+    final Subscription subscription = new Subscription(this, group, connection);
+    final boolean replay;
+    synchronized (this) {
+      group.subscriptions.add(subscription);
+      // an id unknown to the channel, e.g. sent before a restart, does not replay anything
+      replay = lastEventId >= 0 && lastEventId < lastId;
+      subscription.lastId = replay ? lastEventId : lastId;
+    }
+    if (replay) {
+      subscription.catchUp(true);
+    }
+    return subscription;
+  }
+
+  static final class Event {
+
+    final long id;
+    final Buffer data;
+
+    Event(long id, Buffer data) {
+      this.id = id;
+      this.data = data;
+    }
+  }
+
+  /**
+   * The subscriptions of an event loop context, only accessed from this context.
+   */
+  private static final class Group {
+
+    final Context context;
+    final List<Subscription> subscriptions = new ArrayList<>();
+
+    Group(Context context) {
+      this.context = context;
+    }
+
+    void deliver(Event event) {
+      // a write can close a connection and remove its subscription
+      for (int i = subscriptions.size() - 1; i >= 0; i--) {
+        subscriptions.get(i).deliver(event);
+      }
+    }
+  }
+
+  /**
+   * A subscription of a connection, only accessed from the context of the connection.
+   */
+  static final class Subscription {
+
+    private final SSEChannel channel;
+    private final Group group;
+    private final SSEConnectionImpl connection;
+    // the id of the last event written to the connection
+    private long lastId;
+    // the connection fell behind and catches up from the ring once drained
+    private boolean lagging;
+    private boolean cancelled;
+
+    private Subscription(SSEChannel channel, Group group, SSEConnectionImpl connection) {
+      this.channel = channel;
+      this.group = group;
+      this.connection = connection;
+    }
+
+    private void deliver(Event event) {
+      if (cancelled || lagging || event.id <= lastId) {
+        return;
+      }
+      if (connection.writeQueueFull()) {
+        lagging = true;
+        connection.whenDrained(v -> catchUp(false));
+        return;
+      }
+      connection.write(event.data);
+      lastId = event.id;
+    }
+
+    private void catchUp(boolean resume) {
+      if (cancelled) {
+        return;
+      }
+      List<Event> missed = channel.since(lastId);
+      if (missed == null) {
+        if (!resume) {
+          // the connection is too far behind, the client reconnects and resumes from the oldest event of the ring
+          connection.close();
+          return;
+        }
+        missed = channel.retained();
+      }
+      lagging = false;
+      for (Event event : missed) {
+        if (connection.writeQueueFull()) {
+          lagging = true;
+          connection.whenDrained(v -> catchUp(false));
+          return;
+        }
+        if (event.id > lastId) {
+          connection.write(event.data);
+          lastId = event.id;
+        }
+      }
+    }
+
+    void cancel() {
+      cancelled = true;
+      group.subscriptions.remove(this);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.SSEConnection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A connection of the {@link SSEHandlerImpl}, only accessed from the context of the request.
+ */
+public class SSEConnectionImpl implements SSEConnection {
+
+  private final SSEHandlerImpl handler;
+  private final RoutingContext ctx;
+  private final HttpServerResponse response;
+  private final String lastEventId;
+  // the subscriptions of a context are grouped by the channels
+  final Context context;
+
+  private final Map<String, SSEChannel.Subscription> subscriptions = new HashMap<>();
+  private List<Handler<Void>> drainWaiters;
+  private Handler<Void> drainHandler;
+  private Handler<Void> closeHandler;
+  private boolean closed;
+
+  SSEConnectionImpl(SSEHandlerImpl handler, RoutingContext ctx) {
+    this.handler = handler;
+    this.ctx = ctx;
+    this.response = ctx.response();
+    this.lastEventId = ctx.request().getHeader("Last-Event-ID");
+    this.context = ((ContextInternal) ctx.vertx().getOrCreateContext()).unwrap();
+    response.drainHandler(v -> drained());
+    ctx.addEndHandler(ar -> closed());
+  }
+
+  @Override
+  public RoutingContext routingContext() {
+    return ctx;
+  }
+
+  @Override
+  public String lastEventId() {
+    return lastEventId;
+  }
+
+  @Override
+  public Future<Void> send(String data) {
+    return send(null, data, null);
+  }
+
+  @Override
+  public Future<Void> send(String event, String data, String id) {
+    if (closed) {
+      return Future.failedFuture("Connection closed");
+    }
+    return response.write(SSEHandlerImpl.encode(event, data, id));
+  }
+
+  @Override
+  public boolean writeQueueFull() {
+    return response.writeQueueFull();
+  }
+
+  @Override
+  public SSEConnection drainHandler(Handler<Void> handler) {
+    this.drainHandler = handler;
+    return this;
+  }
+
+  @Override
+  public SSEConnection subscribe(String channel) {
+    if (!closed && !subscriptions.containsKey(channel)) {
+      subscriptions.put(channel, handler.channel(channel).subscribe(this, parseLastEventId()));
+    }
+    return this;
+  }
+
+  @Override
+  public SSEConnection unsubscribe(String channel) {
+    SSEChannel.Subscription subscription = subscriptions.remove(channel);
+    if (subscription != null) {
+      subscription.cancel();
+    }
+    return this;
+  }
+
+  @Override
+  public SSEConnection closeHandler(Handler<Void> handler) {
+    this.closeHandler = handler;
+    return this;
+  }
+
+  @Override
+  public void close() {
+    if (!closed && !response.ended()) {
+      response.end();
+    }
+  }
+
+  void write(Buffer event) {
+    if (!closed) {
+      response.write(event);
+    }
+  }
+
+  /**
+   * Run a handler once when the write queue is drained.
+   */
+  void whenDrained(Handler<Void> waiter) {
+    if (drainWaiters == null) {
+      drainWaiters = new ArrayList<>(1);
+    }
+    drainWaiters.add(waiter);
+  }
+
+  private void drained() {
+    if (drainWaiters != null) {
+      List<Handler<Void>> waiters = drainWaiters;
+      drainWaiters = null;
+      for (Handler<Void> waiter : waiters) {
+        waiter.handle(null);
+      }
+    }
+    Handler<Void> handler = drainHandler;
+    if (handler != null) {
+      handler.handle(null);
+    }
+  }
+
+  private void closed() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    drainWaiters = null;
+    for (SSEChannel.Subscription subscription : subscriptions.values()) {
+      subscription.cancel();
+    }
+    subscriptions.clear();
+    Handler<Void> handler = closeHandler;
+    if (handler != null) {
+      handler.handle(null);
+    }
+  }
+
+  private long parseLastEventId() {
+    if (lastEventId != null) {
+      try {
+        return Long.parseLong(lastEventId.trim());
+      } catch (NumberFormatException e) {
+        // an id set by the application
+      }
+    }
+    return -1;
+  }
+}
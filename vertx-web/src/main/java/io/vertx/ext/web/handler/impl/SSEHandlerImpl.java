@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.SSEConnection;
+import io.vertx.ext.web.handler.SSEHandler;
+import io.vertx.ext.web.handler.SSEOptions;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SSEHandlerImpl implements SSEHandler {
+
+  private final int replaySize;
+  private final long retry;
+  private final ConcurrentMap<String, SSEChannel> channels = new ConcurrentHashMap<>();
+  // the ids of the broadcast events, shared by the channels so a single Last-Event-ID resumes all of them
+  private final AtomicLong ids = new AtomicLong();
+
+  private volatile Handler<SSEConnection> connectHandler;
+
+  public SSEHandlerImpl(SSEOptions options) {
+    this.replaySize = options.getReplaySize();
+    this.retry = options.getRetry();
+  }
+
+  @Override
+  public SSEHandler connectHandler(Handler<SSEConnection> handler) {
+    this.connectHandler = handler;
+    return this;
+  }
+
+  @Override
+  public void handle(RoutingContext ctx) {
+    final HttpServerResponse response = ctx.response();
+    response
+      .setChunked(true)
+      .putHeader(HttpHeaders.CONTENT_TYPE, "text/event-stream")
+      .putHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+    final SSEConnectionImpl connection = new SSEConnectionImpl(this, ctx);
+    // send the headers right away, so the client knows the stream is open
+    response.write(retry > 0 ? "retry: " + retry + "\n\n" : ":\n\n");
+
+    final Handler<SSEConnection> handler = connectHandler;
+    if (handler != null) {
+      handler.handle(connection);
+    }
+  }
+
+  @Override
+  public void broadcast(String channel, String data) {
+    broadcast(channel, null, data);
+  }
+
+  @Override
+  public void broadcast(String channel, String event, String data) {
+    final SSEChannel ch = channel(channel);
+    // the id is taken in the channel lock, so the events of a channel are published in the order of their ids
+    synchronized (ch) {
+      final long id = ids.incrementAndGet();
+      ch.publish(id, encode(event, data, Long.toString(id)));
+    }
+  }
+
+  SSEChannel channel(String name) {
+    return channels.computeIfAbsent(name, n -> new SSEChannel(replaySize));
+  }
+
+  /**
+   * Encode an event in the {@code text/event-stream} format.
+   */
+  static Buffer encode(String event, String data, String id) {
+    final StringBuilder sb = new StringBuilder(data.length() + 32);
+    if (id != null) {
+      sb.append("id: ").append(id).append('\n');
+    }
+    if (event != null) {
+      sb.append("event: ").append(event).append('\n');
+    }
+    // each line of the data is a data field
+    int start = 0;
+    while (true) {
+      int end = data.indexOf('\n', start);
+      int lineEnd = end == -1 ? data.length() : end;
+      if (lineEnd > start && data.charAt(lineEnd - 1) == '\r') {
+        lineEnd--;
+      }
+      sb.append("data: ").append(data, start, lineEnd).append('\n');
+      if (end == -1) {
+        break;
+      }
+      start = end + 1;
+    }
+    sb.append('\n');
+    return Buffer.buffer(sb.toString());
+  }
+}
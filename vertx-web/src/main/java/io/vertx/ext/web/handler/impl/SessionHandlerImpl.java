@@ -29,8 +29,12 @@ import io.vertx.ext.web.Session;
 import io.vertx.ext.web.handler.SessionHandler;
 import io.vertx.ext.web.impl.RoutingContextInternal;
 import io.vertx.ext.web.sstore.SessionStore;
+import io.vertx.ext.web.sstore.impl.CookieValueSessionStore;
 import io.vertx.ext.web.sstore.impl.SessionInternal;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
@@ -42,7 +46,14 @@ public class SessionHandlerImpl implements SessionHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(SessionHandlerImpl.class);
 
+  // user agents limit a cookie to 4096 bytes including its name and attributes, larger values (e.g. sessions stored
+  // in the cookie) are split across the cookies "<name>.1", "<name>.2"...
+  private static final int MAX_COOKIE_VALUE_LENGTH = 3800;
+
   private final SessionStore sessionStore;
+  // whether the session cookie value is the session itself and can be split, see CookieValueSessionStore
+  private final boolean chunkedCookie;
+  private final AbsentSessions absentSessions = new AbsentSessions();
 
   private String sessionCookieName = DEFAULT_SESSION_COOKIE_NAME;
   private String sessionCookiePath = DEFAULT_SESSION_COOKIE_PATH;
@@ -59,6 +70,7 @@ public class SessionHandlerImpl implements SessionHandler {
 
   public SessionHandlerImpl(SessionStore sessionStore) {
     this.sessionStore = sessionStore;
+    this.chunkedCookie = sessionStore instanceof CookieValueSessionStore;
   }
 
   @Override
@@ -191,7 +203,7 @@ public class SessionHandlerImpl implements SessionHandler {
             final Cookie cookie = sessionCookie(context, session);
             // restore defaults
             session.setAccessed();
-            cookie.setValue(session.value());
+            setCookieValue(context, cookie, session.value());
             setCookieProperties(cookie, false);
           }
 
@@ -235,6 +247,9 @@ public class SessionHandlerImpl implements SessionHandler {
         if (expiredCookie != null) {
           setCookieProperties(expiredCookie, true);
         }
+        if (chunkedCookie) {
+          removeCookieChunks(context, 1);
+        }
       }
       // if the session was regenerated in the request
       // the old id must also be removed
@@ -372,8 +387,21 @@ public class SessionHandlerImpl implements SessionHandler {
       // Cookies with longer paths are listed before cookies with shorter paths.
       Cookie cookie = context.request().getCookie(sessionCookieName);
       if (cookie != null) {
+        if (!chunkedCookie) {
+          return cookie.getValue();
+        }
         // Look up sessionId
-        return cookie.getValue();
+        Cookie chunk = context.request().getCookie(sessionCookieName + ".1");
+        if (chunk == null) {
+          return cookie.getValue();
+        }
+        // the value was too large for a single cookie
+        StringBuilder value = new StringBuilder(cookie.getValue());
+        for (int i = 2; chunk != null; i++) {
+          value.append(chunk.getValue());
+          chunk = context.request().getCookie(sessionCookieName + "." + i);
+        }
+        return value.toString();
       }
     }
 
@@ -381,38 +409,24 @@ public class SessionHandlerImpl implements SessionHandler {
   }
 
   private Future<Session> getSession(ContextInternal context, String sessionID) {
-    return doGetSession(context, System.currentTimeMillis(), sessionID);
-  }
-
-  private Future<Session> doGetSession(ContextInternal context, long startTime, String sessionID) {
-    return sessionStore.get(sessionID)
-      .compose(session -> {
+    final long retryTimeout = sessionStore.retryTimeout();
+    if (retryTimeout <= 0) {
+      return sessionStore.get(sessionID);
+    }
+    if (absentSessions.contains(sessionID)) {
+      // already looked up and waited for, e.g. a stale or forged cookie
+      return context.succeededFuture();
+    }
+    // The session might not be found yet, this is necessary for clustered sessions as it can take sometime for the
+    // session to propagate across the cluster so if the next request for the session comes in quickly at a different
+    // node there is a possibility it isn't available yet.
+    return sessionStore.awaitSession(sessionID, retryTimeout)
+      .onSuccess(session -> {
         if (session == null) {
-          // no session was found (yet), we will retry as callback to avoid stackoverflow
-          final Promise<Session> retry = context.promise();
-          doGetSession(context.owner(), startTime, sessionID, retry);
-          return retry.future();
+          absentSessions.add(sessionID);
         }
-        return context.succeededFuture(session);
       });
   }
-  private void doGetSession(Vertx vertx, long startTime, String sessionID, Handler<AsyncResult<Session>> resultHandler) {
-    sessionStore.get(sessionID)
-      .onComplete(res -> {
-      if (res.succeeded()) {
-        if (res.result() == null) {
-          // Can't find it so retry. This is necessary for clustered sessions as it can take sometime for the session
-          // to propagate across the cluster so if the next request for the session comes in quickly at a different
-          // node there is a possibility it isn't available yet.
-          if (System.currentTimeMillis() - startTime < sessionStore.retryTimeout()) {
-            vertx.setTimer(5L, v -> doGetSession(vertx, startTime, sessionID, resultHandler));
-            return;
-          }
-        }
-      }
-      resultHandler.handle(res);
-    });
-  }
 
 
   private void addStoreSessionHandler(RoutingContext context) {
@@ -446,9 +460,86 @@ public class SessionHandlerImpl implements SessionHandler {
     if (cookie != null) {
       return cookie;
     }
-    cookie = Cookie.cookie(sessionCookieName, session.value());
+    cookie = Cookie.cookie(sessionCookieName, "");
     setCookieProperties(cookie, false);
     context.response().addCookie(cookie);
+    setCookieValue(context, cookie, session.value());
     return cookie;
   }
+
+  /**
+   * Set the value of the session cookie, splitting it across chunk cookies when it is too large for a single cookie and
+   * the store keeps the session in the cookie value.
+   */
+  private void setCookieValue(final RoutingContext context, final Cookie cookie, final String value) {
+    if (!chunkedCookie) {
+      cookie.setValue(value);
+      return;
+    }
+    if (value.length() <= MAX_COOKIE_VALUE_LENGTH) {
+      cookie.setValue(value);
+      removeCookieChunks(context, 1);
+      return;
+    }
+    cookie.setValue(value.substring(0, MAX_COOKIE_VALUE_LENGTH));
+    int index = 1;
+    for (int start = MAX_COOKIE_VALUE_LENGTH; start < value.length(); start += MAX_COOKIE_VALUE_LENGTH, index++) {
+      final String name = sessionCookieName + "." + index;
+      final String chunk = value.substring(start, Math.min(start + MAX_COOKIE_VALUE_LENGTH, value.length()));
+      Cookie chunkCookie = context.request().getCookie(name);
+      if (chunkCookie == null) {
+        chunkCookie = Cookie.cookie(name, chunk);
+        context.response().addCookie(chunkCookie);
+      } else {
+        chunkCookie.setValue(chunk);
+      }
+      setCookieProperties(chunkCookie, false);
+    }
+    removeCookieChunks(context, index);
+  }
+
+  /**
+   * Invalidate the chunk cookies left from a previous larger value, starting at the given index.
+   */
+  private void removeCookieChunks(final RoutingContext context, int index) {
+    Cookie chunkCookie;
+    while ((chunkCookie = context.response().removeCookie(sessionCookieName + "." + index++)) != null) {
+      setCookieProperties(chunkCookie, true);
+    }
+  }
+
+  /**
+   * A best effort cache of the session ids recently found absent from the store, so that the requests carrying them
+   * do not wait for the session to propagate again.
+   */
+  private static class AbsentSessions {
+
+    private static final long TTL = 30_000;
+    private static final int MAX_SIZE = 10_000;
+
+    private final ConcurrentMap<String, Long> expirations = new ConcurrentHashMap<>();
+
+    boolean contains(String id) {
+      Long expiration = expirations.get(id);
+      if (expiration == null) {
+        return false;
+      }
+      if (expiration - System.currentTimeMillis() <= 0) {
+        expirations.remove(id, expiration);
+        return false;
+      }
+      return true;
+    }
+
+    void add(String id) {
+      long now = System.currentTimeMillis();
+      if (expirations.size() >= MAX_SIZE) {
+        expirations.values().removeIf(expiration -> expiration - now <= 0);
+        if (expirations.size() >= MAX_SIZE) {
+          return;
+        }
+      }
+      expirations.put(id, now + TTL);
+    }
+  }
 }
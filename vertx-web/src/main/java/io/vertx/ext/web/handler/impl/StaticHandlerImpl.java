@@ -22,8 +22,11 @@ import static io.netty.handler.codec.http.HttpResponseStatus.PARTIAL_CONTENT;
 import static io.netty.handler.codec.http.HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -37,7 +40,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import io.vertx.core.AsyncResult;
-import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.file.FileProps;
@@ -52,10 +54,12 @@ import io.vertx.core.http.impl.MimeMapping;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
 import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.impl.URIDecoder;
 import io.vertx.ext.web.Http2PushMapping;
 import io.vertx.ext.web.MIMEHeader;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.AssetManifest;
 import io.vertx.ext.web.handler.FileSystemAccess;
 import io.vertx.ext.web.handler.StaticHandler;
 import io.vertx.ext.web.impl.LRUCache;
@@ -74,6 +78,9 @@ public class StaticHandlerImpl implements StaticHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(StaticHandlerImpl.class);
 
+  // the max age of the immutable hashed assets
+  private static final long IMMUTABLE_MAX_AGE_SECONDS = 31536000; // One year
+
   // TODO change to private final after setWebRoot has been removed
   private String webRoot = DEFAULT_WEB_ROOT;
   private long maxAgeSeconds = DEFAULT_MAX_AGE_SECONDS; // One day
@@ -92,6 +99,7 @@ public class StaticHandlerImpl implements StaticHandler {
 
   private Set<String> compressedMediaTypes = Collections.emptySet();
   private Set<String> compressedFileSuffixes = Collections.emptySet();
+  private AssetManifestImpl assetManifest;
 
   private final FSTune tune = new FSTune();
   private final FSPropsCache cache = new FSPropsCache();
@@ -188,6 +196,10 @@ public class StaticHandlerImpl implements StaticHandler {
       // Access fileSystem once here to be safe
       FileSystem fs = context.vertx().fileSystem();
 
+      if (assetManifest != null && sendAsset(context, fs, path)) {
+        return;
+      }
+
       sendStatic(
           context,
           fs,
@@ -263,67 +275,95 @@ public class StaticHandlerImpl implements StaticHandler {
       }
     }
 
-    // verify if the file exists
-    fileSystem
-        .exists(localFile, exists -> {
-          if (exists.failed()) {
-            context.request().resume();
-            context.fail(exists.cause());
-            return;
+    // Need to read the props from the filesystem, a single lookup also telling whether the file exists
+    getFileProps(fileSystem, localFile, res -> {
+      if (res.failed() && isNotFound(res.cause())) {
+        // file does not exist, continue...
+        if (cache.enabled()) {
+          cache.put(path, null);
+        }
+        context.request().resume();
+        context.next();
+        return;
+      }
+      if (res.succeeded()) {
+        FileProps fprops = res.result();
+        if (fprops == null) {
+          // File does not exist
+          if (dirty) {
+            cache.remove(path);
           }
-
-          // file does not exist, continue...
-          if (!exists.result()) {
+          context.request().resume();
+          context.next();
+        } else if (fprops.isDirectory()) {
+          if (index) {
+            // file does not exist (well it exists but it's a directory), continue...
             if (cache.enabled()) {
               cache.put(path, null);
             }
             context.request().resume();
             context.next();
-            return;
+          } else {
+            if (dirty) {
+              cache.remove(path);
+            }
+            sendDirectory(context, fileSystem, path, localFile);
           }
+        } else {
+          if (cache.enabled()) {
+            cache.put(path, fprops);
 
-          // Need to read the props from the filesystem
-          getFileProps(fileSystem, localFile, res -> {
-            if (res.succeeded()) {
-              FileProps fprops = res.result();
-              if (fprops == null) {
-                // File does not exist
-                if (dirty) {
-                  cache.remove(path);
-                }
-                context.request().resume();
-                context.next();
-              } else if (fprops.isDirectory()) {
-                if (index) {
-                  // file does not exist (well it exists but it's a directory), continue...
-                  if (cache.enabled()) {
-                    cache.put(path, null);
-                  }
-                  context.request().resume();
-                  context.next();
-                } else {
-                  if (dirty) {
-                    cache.remove(path);
-                  }
-                  sendDirectory(context, fileSystem, path, localFile);
-                }
-              } else {
-                if (cache.enabled()) {
-                  cache.put(path, fprops);
-
-                  if (Utils.fresh(context, Utils.secondsFactor(fprops.lastModifiedTime()))) {
-                    context.response().setStatusCode(NOT_MODIFIED.code()).end();
-                    return;
-                  }
-                }
-                sendFile(context, fileSystem, localFile, fprops);
-              }
-            } else {
-              context.request().resume();
-              context.fail(res.cause());
+            if (Utils.fresh(context, Utils.secondsFactor(fprops.lastModifiedTime()))) {
+              context.response().setStatusCode(NOT_MODIFIED.code()).end();
+              return;
             }
-          });
-        });
+          }
+          sendFile(context, fileSystem, localFile, fprops);
+        }
+      } else {
+        context.request().resume();
+        context.fail(res.cause());
+      }
+    });
+  }
+
+  /**
+   * Serve a hashed asset of the manifest, the content of a hashed path never changes so the file system is only
+   * touched to send the file.
+   *
+   * @return {@code false} when the path is not a hashed asset
+   */
+  private boolean sendAsset(RoutingContext context, FileSystem fileSystem, String path) {
+    String relativePath = Utils.pathOffset(path, context);
+    if (relativePath.startsWith("/")) {
+      relativePath = relativePath.substring(1);
+    }
+    final AssetManifestImpl.Asset asset = assetManifest.lookup(relativePath);
+    if (asset == null) {
+      return false;
+    }
+
+    final HttpServerRequest request = context.request();
+    final MultiMap headers = context.response().headers();
+    headers.set(HttpHeaders.CACHE_CONTROL, "public, max-age=" + IMMUTABLE_MAX_AGE_SECONDS + ", immutable");
+    headers.set(HttpHeaders.ETAG, asset.etag);
+
+    // any revalidation of an immutable asset succeeds
+    final String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+    final boolean notModified = ifNoneMatch != null ?
+      ifNoneMatch.contains(asset.etag) || "*".equals(ifNoneMatch.trim()) :
+      request.headers().contains(HttpHeaders.IF_MODIFIED_SINCE);
+
+    if (notModified) {
+      headers.set("date", Utils.formatRFC1123DateTime(System.currentTimeMillis()));
+      context.response()
+          .setStatusCode(NOT_MODIFIED.code())
+          .end();
+    } else {
+      // the very file the manifest hashed and read the properties of, e.g. extracted from the classpath
+      sendFile(context, fileSystem, assetManifest.file(asset), asset.props);
+    }
+    return true;
   }
 
   /**
@@ -353,22 +393,20 @@ public class StaticHandlerImpl implements StaticHandler {
   }
 
   private void getFileProps(FileSystem fileSystem, String file, Handler<AsyncResult<FileProps>> resultHandler) {
-    if (tune.useAsyncFS()) {
-      fileSystem.props(file, resultHandler);
-    } else {
-      // Use synchronous access - it might well be faster!
-      try {
-        final boolean tuneEnabled = tune.enabled();
-        final long start = tuneEnabled ? System.nanoTime() : 0;
-        FileProps props = fileSystem.propsBlocking(file);
-        if (tuneEnabled) {
-          tune.update(start, System.nanoTime());
-        }
-        resultHandler.handle(Future.succeededFuture(props));
-      } catch (RuntimeException e) {
-        resultHandler.handle(Future.failedFuture(e.getCause()));
+    // Use synchronous access when the file system is fast - it might well be faster!
+    tune.access(() -> fileSystem.propsBlocking(file), () -> fileSystem.props(file), resultHandler);
+  }
+
+  /**
+   * @return whether a props lookup failed because the file does not exist, including when a parent is not a directory
+   */
+  private static boolean isNotFound(Throwable err) {
+    for (Throwable cause = err; cause != null; cause = cause.getCause()) {
+      if (cause instanceof NoSuchFileException || cause instanceof NotDirectoryException || cause instanceof FileNotFoundException) {
+        return true;
       }
     }
+    return false;
   }
 
   private static final Pattern RANGE = Pattern.compile("^bytes=(\\d+)-(\\d*)$");
@@ -648,17 +686,28 @@ public class StaticHandlerImpl implements StaticHandler {
   }
 
   @Override
-  public synchronized StaticHandler setEnableFSTuning(boolean enableFSTuning) {
+  public StaticHandler setEnableFSTuning(boolean enableFSTuning) {
     tune.setEnabled(enableFSTuning);
     return this;
   }
 
   @Override
   public StaticHandler setMaxAvgServeTimeNs(long maxAvgServeTimeNanoSeconds) {
-    tune.maxAvgServeTimeNanoSeconds = maxAvgServeTimeNanoSeconds;
+    tune.setMaxAvgServeTimeNanoSeconds(maxAvgServeTimeNanoSeconds);
     return this;
   }
 
+  @Override
+  public StaticHandler setMaxAsyncFSConcurrency(int maxAsyncFSConcurrency) {
+    tune.setMaxAsyncConcurrency(maxAsyncFSConcurrency);
+    return this;
+  }
+
+  @Override
+  public JsonObject fsMetrics() {
+    return tune.metrics();
+  }
+
   @Override
   public StaticHandler setSendVaryHeader(boolean sendVaryHeader) {
     this.sendVaryHeader = sendVaryHeader;
@@ -671,6 +720,21 @@ public class StaticHandlerImpl implements StaticHandler {
     return this;
   }
 
+  @Override
+  public StaticHandler setAssetManifest(AssetManifest assetManifest) {
+    if (assetManifest != null) {
+      checkAssetManifestRoot(((AssetManifestImpl) assetManifest).webRoot(), webRoot);
+    }
+    this.assetManifest = (AssetManifestImpl) assetManifest;
+    return this;
+  }
+
+  private static void checkAssetManifestRoot(String manifestRoot, String webRoot) {
+    if (!manifestRoot.equals(webRoot)) {
+      throw new IllegalArgumentException("The asset manifest was created for the web root " + manifestRoot + " instead of " + webRoot);
+    }
+  }
+
   private String getFile(String path, RoutingContext context) {
     String file = webRoot + Utils.pathOffset(path, context);
     if (LOG.isTraceEnabled()) {
@@ -688,6 +752,9 @@ public class StaticHandlerImpl implements StaticHandler {
         }
       }
     }
+    if (assetManifest != null) {
+      checkAssetManifestRoot(assetManifest.webRoot(), webRoot);
+    }
     this.webRoot = webRoot;
   }
 
@@ -831,70 +898,6 @@ public class StaticHandlerImpl implements StaticHandler {
     }
   }
 
-  private static class FSTune {
-    // These members are all related to auto tuning of synchronous vs asynchronous
-    // file system access
-    private static final int NUM_SERVES_TUNING_FS_ACCESS = 1000;
-
-    // these variables are read often and should always represent the
-    // real value, no caching should be allowed
-    private volatile boolean enabled = DEFAULT_ENABLE_FS_TUNING;
-    private volatile boolean useAsyncFS;
-
-    private long totalTime;
-    private long numServesBlocking;
-    private long nextAvgCheck = NUM_SERVES_TUNING_FS_ACCESS;
-    private long maxAvgServeTimeNanoSeconds = DEFAULT_MAX_AVG_SERVE_TIME_NS;
-    private boolean alwaysAsyncFS = DEFAULT_ALWAYS_ASYNC_FS;
-
-    boolean enabled() {
-      return enabled;
-    }
-
-    boolean useAsyncFS() {
-      return alwaysAsyncFS || useAsyncFS;
-    }
-
-    synchronized void setEnabled(boolean enabled) {
-      this.enabled = enabled;
-      if (!enabled) {
-        reset();
-      }
-    }
-
-    void setAlwaysAsyncFS(boolean alwaysAsyncFS) {
-      this.alwaysAsyncFS = alwaysAsyncFS;
-    }
-
-    synchronized void update(long start, long end) {
-      long dur = end - start;
-      totalTime += dur;
-      numServesBlocking++;
-      if (numServesBlocking == Long.MAX_VALUE) {
-        // Unlikely.. but...
-        reset();
-      } else if (numServesBlocking == nextAvgCheck) {
-        double avg = (double) totalTime / numServesBlocking;
-        if (avg > maxAvgServeTimeNanoSeconds) {
-          useAsyncFS = true;
-          if (LOG.isInfoEnabled()) {
-            LOG.info(
-                "Switching to async file system access in static file server as fs access is slow! (Average access time of "
-                    + avg + " ns)");
-          }
-          enabled = false;
-        }
-        nextAvgCheck += NUM_SERVES_TUNING_FS_ACCESS;
-      }
-    }
-
-    synchronized void reset() {
-      nextAvgCheck = NUM_SERVES_TUNING_FS_ACCESS;
-      totalTime = 0;
-      numServesBlocking = 0;
-    }
-  }
-
   private static class FSPropsCache {
     private Map<String, CacheEntry> propsCache;
     private long cacheEntryTimeout = DEFAULT_CACHE_ENTRY_TIMEOUT;
@@ -16,7 +16,10 @@
 
 package io.vertx.ext.web.handler.impl;
 
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.common.impl.Deadline;
 import io.vertx.ext.web.handler.TimeoutHandler;
 
 /**
@@ -37,13 +40,24 @@ public class TimeoutHandlerImpl implements TimeoutHandler {
   @Override
   public void handle(RoutingContext ctx) {
 
+    // downstream calls made on behalf of the request see the deadline and are cancelled when the request ends
+    Deadline deadline = new Deadline(timeout);
+    Context context = Vertx.currentContext();
+    ctx.put(DEADLINE_KEY, deadline);
+    deadline.install(context);
+
     // We send a error response after timeout
     long tid = ctx.vertx().setTimer(timeout, t -> {
+      deadline.cancel();
       ctx.request().resume();
       ctx.fail(errorCode);
     });
 
     ctx.addBodyEndHandler(v -> ctx.vertx().cancelTimer(tid));
+    ctx.addEndHandler(v -> {
+      deadline.uninstall(context);
+      deadline.cancel();
+    });
     ctx.next();
   }
 }
@@ -51,10 +51,16 @@ public class SockJSBridgeOptions extends BridgeOptions {
    */
   public static final long DEFAULT_REPLY_TIMEOUT = 30 * 1000;
 
+  /**
+   * Default value for CBOR framing = false
+   */
+  public static final boolean DEFAULT_CBOR_FRAMING = false;
+
   private int maxAddressLength;
   private int maxHandlersPerSocket;
   private long pingTimeout;
   private long replyTimeout;
+  private boolean cborFraming;
 
   /**
    * Copy constructor
@@ -67,6 +73,7 @@ public class SockJSBridgeOptions extends BridgeOptions {
     this.maxHandlersPerSocket = other.maxHandlersPerSocket;
     this.pingTimeout = other.pingTimeout;
     this.replyTimeout = other.replyTimeout;
+    this.cborFraming = other.cborFraming;
   }
 
   /**
@@ -78,6 +85,7 @@ public class SockJSBridgeOptions extends BridgeOptions {
     this.maxHandlersPerSocket = DEFAULT_MAX_HANDLERS_PER_SOCKET;
     this.pingTimeout = DEFAULT_PING_TIMEOUT;
     this.replyTimeout = DEFAULT_REPLY_TIMEOUT;
+    this.cborFraming = DEFAULT_CBOR_FRAMING;
   }
 
   /**
@@ -139,6 +147,23 @@ public class SockJSBridgeOptions extends BridgeOptions {
     return this;
   }
 
+  public boolean isCborFraming() {
+    return cborFraming;
+  }
+
+  /**
+   * Set whether connections can exchange messages encoded with CBOR (RFC 8949) instead of JSON text. A connection
+   * switches to CBOR when it sends a CBOR encoded message (a map) in a binary frame, the messages are then delivered to
+   * it in CBOR too. This requires the raw WebSocket transport as the SockJS protocol only carries text.
+   *
+   * @param cborFraming true to accept CBOR framing
+   * @return a reference to this, so the API can be used fluently
+   */
+  public SockJSBridgeOptions setCborFraming(boolean cborFraming) {
+    this.cborFraming = cborFraming;
+    return this;
+  }
+
   @Override
   public SockJSBridgeOptions addInboundPermitted(PermittedOptions permitted) {
     super.addInboundPermitted(permitted);
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.sockjs.impl;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.EncodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A CBOR (RFC 8949) codec of the messages exchanged by the event bus bridge, mapping the CBOR data items to the JSON
+ * values, byte strings being mapped to {@code byte[]}.
+ */
+public class CborCodec {
+
+  private static final int MAJOR_UNSIGNED = 0;
+  private static final int MAJOR_NEGATIVE = 1;
+  private static final int MAJOR_BYTES = 2;
+  private static final int MAJOR_TEXT = 3;
+  private static final int MAJOR_ARRAY = 4;
+  private static final int MAJOR_MAP = 5;
+  private static final int MAJOR_TAG = 6;
+
+  private static final int INDEFINITE = 31;
+  private static final int BREAK = 0xFF;
+  private static final int MAX_DEPTH = 256;
+
+  /**
+   * @return whether the buffer looks like a CBOR encoded message, i.e. starts with a map, JSON text never does
+   */
+  public static boolean isCborMessage(Buffer buffer) {
+    return buffer.length() > 0 && (buffer.getUnsignedByte(0) >>> 5) == MAJOR_MAP;
+  }
+
+  public static Buffer encode(JsonObject message) throws EncodeException {
+    Buffer buffer = Buffer.buffer(128);
+    writeValue(buffer, message);
+    return buffer;
+  }
+
+  public static JsonObject decode(Buffer buffer) throws DecodeException {
+    int[] position = new int[1];
+    Object value;
+    try {
+      value = readValue(buffer, position, 0);
+    } catch (IndexOutOfBoundsException e) {
+      throw new DecodeException("Truncated CBOR message");
+    }
+    if (!(value instanceof JsonObject)) {
+      throw new DecodeException("CBOR message is not a map");
+    }
+    if (position[0] != buffer.length()) {
+      throw new DecodeException("Unexpected data after the CBOR message");
+    }
+    return (JsonObject) value;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void writeValue(Buffer buffer, Object value) {
+    if (value == null) {
+      buffer.appendUnsignedByte((short) 0xF6);
+    } else if (value instanceof Boolean) {
+      buffer.appendUnsignedByte((short) ((Boolean) value ? 0xF5 : 0xF4));
+    } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      long l = ((Number) value).longValue();
+      if (l >= 0) {
+        writeHead(buffer, MAJOR_UNSIGNED, l);
+      } else {
+        writeHead(buffer, MAJOR_NEGATIVE, -1 - l);
+      }
+    } else if (value instanceof Float) {
+      buffer.appendUnsignedByte((short) 0xFA).appendFloat((Float) value);
+    } else if (value instanceof Number) {
+      buffer.appendUnsignedByte((short) 0xFB).appendDouble(((Number) value).doubleValue());
+    } else if (value instanceof CharSequence) {
+      byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+      writeHead(buffer, MAJOR_TEXT, bytes.length);
+      buffer.appendBytes(bytes);
+    } else if (value instanceof byte[]) {
+      byte[] bytes = (byte[]) value;
+      writeHead(buffer, MAJOR_BYTES, bytes.length);
+      buffer.appendBytes(bytes);
+    } else if (value instanceof Buffer) {
+      Buffer bytes = (Buffer) value;
+      writeHead(buffer, MAJOR_BYTES, bytes.length());
+      buffer.appendBuffer(bytes);
+    } else if (value instanceof JsonObject) {
+      writeMap(buffer, ((JsonObject) value).getMap());
+    } else if (value instanceof Map) {
+      writeMap(buffer, (Map<String, Object>) value);
+    } else if (value instanceof JsonArray) {
+      writeList(buffer, ((JsonArray) value).getList());
+    } else if (value instanceof List) {
+      writeList(buffer, (List<Object>) value);
+    } else if (value instanceof Enum) {
+      writeValue(buffer, ((Enum<?>) value).name());
+    } else if (value instanceof Instant) {
+      writeValue(buffer, value.toString());
+    } else {
+      throw new EncodeException("Cannot encode to CBOR: " + value.getClass());
+    }
+  }
+
+  private static void writeMap(Buffer buffer, Map<String, Object> map) {
+    writeHead(buffer, MAJOR_MAP, map.size());
+    for (Map.Entry<String, Object> entry : map.entrySet()) {
+      writeValue(buffer, entry.getKey());
+      writeValue(buffer, entry.getValue());
+    }
+  }
+
+  private static void writeList(Buffer buffer, List<Object> list) {
+    writeHead(buffer, MAJOR_ARRAY, list.size());
+    for (Object item : list) {
+      writeValue(buffer, item);
+    }
+  }
+
+  private static void writeHead(Buffer buffer, int major, long argument) {
+    int type = major << 5;
+    if (argument < 24) {
+      buffer.appendUnsignedByte((short) (type | argument));
+    } else if (argument < 0x100) {
+      buffer.appendUnsignedByte((short) (type | 24)).appendUnsignedByte((short) argument);
+    } else if (argument < 0x10000) {
+      buffer.appendUnsignedByte((short) (type | 25)).appendUnsignedShort((int) argument);
+    } else if (argument < 0x100000000L) {
+      buffer.appendUnsignedByte((short) (type | 26)).appendUnsignedInt(argument);
+    } else {
+      buffer.appendUnsignedByte((short) (type | 27)).appendLong(argument);
+    }
+  }
+
+  private static Object readValue(Buffer buffer, int[] position, int depth) {
+    if (depth > MAX_DEPTH) {
+      throw new DecodeException("CBOR message nested too deeply");
+    }
+    int initial = buffer.getUnsignedByte(position[0]++);
+    int major = initial >>> 5;
+    int info = initial & 0x1F;
+    switch (major) {
+      case MAJOR_UNSIGNED:
+        return integer(readArgument(buffer, position, info));
+      case MAJOR_NEGATIVE:
+        return integer(-1 - readArgument(buffer, position, info));
+      case MAJOR_BYTES:
+        return readBytes(buffer, position, info, MAJOR_BYTES);
+      case MAJOR_TEXT:
+        return new String(readBytes(buffer, position, info, MAJOR_TEXT), StandardCharsets.UTF_8);
+      case MAJOR_ARRAY: {
+        JsonArray array = new JsonArray();
+        if (info == INDEFINITE) {
+          while (buffer.getUnsignedByte(position[0]) != BREAK) {
+            array.add(readValue(buffer, position, depth + 1));
+          }
+          position[0]++;
+        } else {
+          long size = readLength(buffer, position, info);
+          for (long i = 0; i < size; i++) {
+            array.add(readValue(buffer, position, depth + 1));
+          }
+        }
+        return array;
+      }
+      case MAJOR_MAP: {
+        JsonObject object = new JsonObject();
+        if (info == INDEFINITE) {
+          while (buffer.getUnsignedByte(position[0]) != BREAK) {
+            readEntry(buffer, position, depth, object);
+          }
+          position[0]++;
+        } else {
+          long size = readLength(buffer, position, info);
+          for (long i = 0; i < size; i++) {
+            readEntry(buffer, position, depth, object);
+          }
+        }
+        return object;
+      }
+      case MAJOR_TAG:
+        // tags (dates, big numbers...) are not interpreted, the tagged item is decoded as is
+        readArgument(buffer, position, info);
+        return readValue(buffer, position, depth + 1);
+      default:
+        return readSimple(buffer, position, info);
+    }
+  }
+
+  private static void readEntry(Buffer buffer, int[] position, int depth, JsonObject object) {
+    Object key = readValue(buffer, position, depth + 1);
+    if (!(key instanceof String)) {
+      throw new DecodeException("CBOR map keys must be text strings");
+    }
+    object.put((String) key, readValue(buffer, position, depth + 1));
+  }
+
+  private static Object readSimple(Buffer buffer, int[] position, int info) {
+    switch (info) {
+      case 20:
+        return false;
+      case 21:
+        return true;
+      case 22:
+      case 23:
+        // null and undefined
+        return null;
+      case 25: {
+        float f = halfToFloat(buffer.getUnsignedShort(position[0]));
+        position[0] += 2;
+        return (double) f;
+      }
+      case 26: {
+        float f = buffer.getFloat(position[0]);
+        position[0] += 4;
+        return (double) f;
+      }
+      case 27: {
+        double d = buffer.getDouble(position[0]);
+        position[0] += 8;
+        return d;
+      }
+      default:
+        throw new DecodeException("Unsupported CBOR simple value: " + info);
+    }
+  }
+
+  private static byte[] readBytes(Buffer buffer, int[] position, int info, int major) {
+    if (info != INDEFINITE) {
+      int len = (int) readLength(buffer, position, info);
+      byte[] bytes = buffer.getBytes(position[0], position[0] + len);
+      position[0] += len;
+      return bytes;
+    }
+    // a sequence of definite length chunks of the same major type
+    Buffer chunks = Buffer.buffer();
+    int initial;
+    while ((initial = buffer.getUnsignedByte(position[0]++)) != BREAK) {
+      if (initial >>> 5 != major || (initial & 0x1F) == INDEFINITE) {
+        throw new DecodeException("Invalid CBOR string chunk");
+      }
+      int len = (int) readLength(buffer, position, initial & 0x1F);
+      chunks.appendBuffer(buffer, position[0], len);
+      position[0] += len;
+    }
+    return chunks.getBytes();
+  }
+
+  private static long readLength(Buffer buffer, int[] position, int info) {
+    long len = readArgument(buffer, position, info);
+    // each item takes at least a byte, this prevents allocating more than what the message can contain
+    if (len < 0 || len > buffer.length() - position[0]) {
+      throw new DecodeException("Invalid CBOR length: " + len);
+    }
+    return len;
+  }
+
+  private static long readArgument(Buffer buffer, int[] position, int info) {
+    int pos = position[0];
+    long argument;
+    switch (info) {
+      case 24:
+        argument = buffer.getUnsignedByte(pos);
+        pos += 1;
+        break;
+      case 25:
+        argument = buffer.getUnsignedShort(pos);
+        pos += 2;
+        break;
+      case 26:
+        argument = buffer.getUnsignedInt(pos);
+        pos += 4;
+        break;
+      case 27:
+        argument = buffer.getLong(pos);
+        pos += 8;
+        if (argument < 0) {
+          throw new DecodeException("CBOR integer out of range");
+        }
+        break;
+      default:
+        if (info >= 24) {
+          throw new DecodeException("Invalid CBOR additional information: " + info);
+        }
+        argument = info;
+        break;
+    }
+    position[0] = pos;
+    return argument;
+  }
+
+  private static Object integer(long value) {
+    // same number types as the JSON decoding
+    if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+      return (int) value;
+    }
+    return value;
+  }
+
+  private static float halfToFloat(int half) {
+    int exponent = (half >>> 10) & 0x1F;
+    int mantissa = half & 0x3FF;
+    float value;
+    if (exponent == 0) {
+      value = mantissa * (float) Math.pow(2, -24);
+    } else if (exponent == 31) {
+      value = mantissa == 0 ? Float.POSITIVE_INFINITY : Float.NaN;
+    } else {
+      value = (mantissa + 1024) * (float) Math.pow(2, exponent - 25);
+    }
+    return (half & 0x8000) != 0 ? -value : value;
+  }
+}
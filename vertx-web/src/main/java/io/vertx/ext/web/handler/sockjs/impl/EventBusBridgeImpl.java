@@ -36,6 +36,7 @@ import io.vertx.core.*;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.*;
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.impl.ContextInternal;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.impl.logging.Logger;
@@ -51,6 +52,7 @@ import io.vertx.ext.web.handler.sockjs.*;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -73,10 +75,12 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
   private final int maxHandlersPerSocket;
   private final long pingTimeout;
   private final long replyTimeout;
+  private final boolean cborFraming;
   private final Vertx vertx;
   private final EventBus eb;
   private final Map<String, Message<?>> messagesAwaitingReply = new HashMap<>();
   private final Map<String, Pattern> compiledREs = new HashMap<>();
+  private final Map<String, Subscription> subscriptions = new HashMap<>();
   private final Handler<BridgeEvent> bridgeEventHandler;
   private final AuthorizationProvider authzProvider;
 
@@ -90,17 +94,32 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
     this.maxHandlersPerSocket = options.getMaxHandlersPerSocket();
     this.pingTimeout = options.getPingTimeout();
     this.replyTimeout = options.getReplyTimeout();
+    this.cborFraming = options.isCborFraming();
     this.bridgeEventHandler = bridgeEventHandler;
   }
 
-  private void handleSocketData(SockJSSocket sock, Buffer data, Map<String, MessageConsumer<?>> registrations) {
+  private void handleSocketData(SockJSSocket sock, Buffer data, Map<String, Subscription> registrations) {
     JsonObject msg;
 
-    try {
-      msg = new JsonObject(data.toString());
-    } catch (DecodeException e) {
-      replyError(sock, "invalid_json");
-      return;
+    if (cborFraming && CborCodec.isCborMessage(data)) {
+      try {
+        msg = CborCodec.decode(data);
+      } catch (DecodeException e) {
+        replyError(sock, "invalid_cbor");
+        return;
+      }
+      // from now on the socket is sent CBOR too
+      SockInfo info = sockInfos.get(sock);
+      if (info != null) {
+        info.cbor = true;
+      }
+    } else {
+      try {
+        msg = new JsonObject(data.toString());
+      } catch (DecodeException e) {
+        replyError(sock, "invalid_json");
+        return;
+      }
     }
 
     String type = msg.getString("type");
@@ -201,7 +220,7 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
     }
   }
 
-  private void internalHandleRegister(SockJSSocket sock, JsonObject rawMsg, Map<String, MessageConsumer<?>> registrations) {
+  private void internalHandleRegister(SockJSSocket sock, JsonObject rawMsg, Map<String, Subscription> registrations) {
     final SockInfo info = sockInfos.get(sock);
     if (!checkMaxHandlers(sock, info)) {
       return;
@@ -229,38 +248,17 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
             return;
           }
 
-          Handler<Message<Object>> handler = msg -> {
-            Match curMatch = checkMatches(false, address, msg.body());
-            if (curMatch.doesMatch) {
-              if (curMatch.requiredAuthority != null) {
-                authorise(curMatch, sock.webUser(), res -> {
-                  if (res.succeeded()) {
-                    if (res.result()) {
-                      checkAddAccceptedReplyAddress(msg);
-                      deliverMessage(sock, address, msg);
-                    } else {
-                      if (debug) {
-                        LOG.debug("Outbound message for address " + address + " rejected because auth is required and socket is not authed");
-                      }
-                    }
-                  } else {
-                    LOG.error(res.cause());
-                  }
-                });
-
-              } else {
-                checkAddAccceptedReplyAddress(msg);
-                deliverMessage(sock, address, msg);
-              }
-            } else {
-              // outbound match failed
-              if (debug) {
-                LOG.debug("Outbound message for address " + address + " rejected because there is no inbound match");
-              }
+          // the messages are written to the socket from its own context
+          final Context context = ((ContextInternal) vertx.getOrCreateContext()).unwrap();
+          synchronized (subscriptions) {
+            Subscription subscription = subscriptions.get(address);
+            if (subscription == null) {
+              subscription = new Subscription(address);
+              subscriptions.put(address, subscription);
             }
-          };
-          MessageConsumer<?> reg = eb.consumer(address).handler(handler);
-          registrations.put(address, reg);
+            subscription.sockets.put(sock, context);
+            registrations.put(address, subscription);
+          }
           info.handlerCount++;
           // Notify registration completed
           checkCallHook(() -> new BridgeEventImpl(BridgeEventType.REGISTERED, rawMsg, sock));
@@ -274,7 +272,7 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
       }, () -> replyError(sock, "rejected"));
   }
 
-  private void internalHandleUnregister(SockJSSocket sock, JsonObject rawMsg, Map<String, MessageConsumer<?>> registrations) {
+  private void internalHandleUnregister(SockJSSocket sock, JsonObject rawMsg, Map<String, Subscription> registrations) {
     checkCallHook(() -> new BridgeEventImpl(BridgeEventType.UNREGISTER, rawMsg, sock),
       () -> {
         String address = rawMsg.getString("address");
@@ -284,10 +282,10 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
         }
         Match match = checkMatches(false, address, null);
         if (match.doesMatch) {
-          MessageConsumer<?> registration = registrations.remove(address);
-          if (registration != null) {
+          Subscription subscription = registrations.remove(address);
+          if (subscription != null) {
             SockInfo info = sockInfos.get(sock);
-            registration.unregister();
+            subscription.remove(sock);
             info.handlerCount--;
           }
         } else {
@@ -316,7 +314,7 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
   public void handle(final SockJSSocket sock) {
     checkCallHook(() -> new BridgeEventImpl(BridgeEventType.SOCKET_CREATED, null, sock),
       () -> {
-        Map<String, MessageConsumer<?>> registrations = new HashMap<>();
+        Map<String, Subscription> registrations = new HashMap<>();
 
         sock
           .handler(data -> handleSocketData(sock, data, registrations))
@@ -340,12 +338,12 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
       }, sock::close);
   }
 
-  private void handleSocketClosed(SockJSSocket sock, Map<String, MessageConsumer<?>> registrations) {
+  private void handleSocketClosed(SockJSSocket sock, Map<String, Subscription> registrations) {
     clearSocketState(sock, registrations);
     checkCallHook(() -> new BridgeEventImpl(BridgeEventType.SOCKET_CLOSED, null, sock));
   }
 
-  private void handleSocketException(SockJSSocket sock, Throwable err, Map<String, MessageConsumer<?>> registrations) {
+  private void handleSocketException(SockJSSocket sock, Throwable err, Map<String, Subscription> registrations) {
     LOG.error("SockJSSocket exception", err);
     clearSocketState(sock, registrations);
     final JsonObject msg = new JsonObject().put("type", "err").put("failureType", "socketException");
@@ -355,14 +353,14 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
     checkCallHook(() -> new BridgeEventImpl(BridgeEventType.SOCKET_ERROR, msg, sock));
   }
 
-  private void clearSocketState(SockJSSocket sock, Map<String, MessageConsumer<?>> registrations) {
+  private void clearSocketState(SockJSSocket sock, Map<String, Subscription> registrations) {
     // On close or exception unregister any handlers that haven't been unregistered
-    for (MessageConsumer<?> registration : registrations.values()) {
-      registration.unregister();
+    for (Subscription subscription : registrations.values()) {
+      subscription.remove(sock);
       checkCallHook(() ->
         new BridgeEventImpl(
           BridgeEventType.UNREGISTER,
-          new JsonObject().put("type", "unregister").put("address", registration.address()),
+          new JsonObject().put("type", "unregister").put("address", subscription.address),
           sock));
     }
     // ensure that no timers remain active
@@ -391,7 +389,118 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
     }
   }
 
+  /**
+   * Deliver a message received by the consumer of a subscription to its sockets, a published message is delivered to
+   * all the sockets, a sent message to one of them.
+   * <p>
+   * The outbound match only depends on the address and the message, it is checked once. The envelope is then encoded
+   * once per authorization outcome and the same frame is written to every allowed socket, unless a bridge event handler
+   * is set, in which case each socket gets its own envelope as the handler can modify it. The reply address of the
+   * message is only accepted once a socket is authorized to receive it, and a sent message skips the sockets that are
+   * not authorized.
+   * <p>
+   * The consumer runs on the context of the socket that registered the address first, the message is delivered to each
+   * socket on the context of the socket.
+   */
+  private void deliverMessage(Subscription subscription, Message<Object> message) {
+    final String address = subscription.address;
+    final Match curMatch = checkMatches(false, address, message.body());
+    if (!curMatch.doesMatch) {
+      // outbound match failed
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Outbound message for address " + address + " rejected because there is no inbound match");
+      }
+      return;
+    }
+    final List<Map.Entry<SockJSSocket, Context>> sockets;
+    final int start;
+    synchronized (subscriptions) {
+      sockets = new ArrayList<>(subscription.sockets.entrySet());
+      start = subscription.next++ & Integer.MAX_VALUE;
+    }
+    if (sockets.isEmpty()) {
+      return;
+    }
+    final Envelope envelope = new Envelope(envelope(address, message), message);
+    if (message.isSend()) {
+      sendMessage(sockets, start, 0, address, curMatch, envelope);
+    } else {
+      for (Map.Entry<SockJSSocket, Context> sock : sockets) {
+        runOnContext(sock.getValue(), () -> deliverMessage(sock.getKey(), address, curMatch, envelope, null));
+      }
+    }
+  }
+
+  private static void runOnContext(Context context, Runnable task) {
+    final ContextInternal current = (ContextInternal) Vertx.currentContext();
+    if (current != null && current.unwrap() == context) {
+      task.run();
+    } else {
+      context.runOnContext(v -> task.run());
+    }
+  }
+
+  /**
+   * Deliver a sent message to the socket at {@code start + attempt} or, when it is not authorized, to the next ones.
+   */
+  private void sendMessage(List<Map.Entry<SockJSSocket, Context>> sockets, int start, int attempt, String address, Match curMatch, Envelope envelope) {
+    if (attempt == sockets.size()) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Outbound message for address " + address + " rejected because no socket is authed");
+      }
+      return;
+    }
+    final Map.Entry<SockJSSocket, Context> sock = sockets.get((start + attempt) % sockets.size());
+    runOnContext(sock.getValue(), () -> deliverMessage(sock.getKey(), address, curMatch, envelope,
+      () -> sendMessage(sockets, start, attempt + 1, address, curMatch, envelope)));
+  }
+
+  private void deliverMessage(SockJSSocket sock, String address, Match curMatch, Envelope envelope, Runnable denied) {
+    if (curMatch.requiredAuthority != null) {
+      authorise(curMatch, sock.webUser(), res -> {
+        if (res.succeeded()) {
+          if (res.result()) {
+            deliverEnvelope(sock, envelope);
+            return;
+          }
+          if (LOG.isDebugEnabled()) {
+            LOG.debug("Outbound message for address " + address + " rejected because auth is required and socket is not authed");
+          }
+        } else {
+          LOG.error(res.cause());
+        }
+        if (denied != null) {
+          denied.run();
+        }
+      });
+    } else {
+      deliverEnvelope(sock, envelope);
+    }
+  }
+
+  private void deliverEnvelope(SockJSSocket sock, Envelope envelope) {
+    if (envelope.acceptReply()) {
+      // a socket is allowed to receive the message, so it may reply to it
+      checkAddAccceptedReplyAddress(envelope.message);
+    }
+    if (bridgeEventHandler == null) {
+      sock.write(envelope.frame(isCbor(sock)));
+    } else {
+      final JsonObject copy = envelope.json.copy();
+      checkCallHook(() -> new BridgeEventImpl(BridgeEventType.RECEIVE, copy, sock),
+        () -> write(sock, copy),
+        () -> LOG.debug("outbound message rejected by bridge event handler"));
+    }
+  }
+
   private void deliverMessage(SockJSSocket sock, String address, Message<?> message) {
+    JsonObject envelope = envelope(address, message);
+    checkCallHook(() -> new BridgeEventImpl(BridgeEventType.RECEIVE, envelope, sock),
+      () -> write(sock, envelope),
+      () -> LOG.debug("outbound message rejected by bridge event handler"));
+  }
+
+  private static JsonObject envelope(String address, Message<?> message) {
     JsonObject envelope = new JsonObject().put("type", "rec").put("address", address).put("body", message.body());
     if (message.replyAddress() != null) {
       envelope.put("replyAddress", message.replyAddress());
@@ -408,9 +517,7 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
       }
       envelope.put("headers", headersCopy);
     }
-    checkCallHook(() -> new BridgeEventImpl(BridgeEventType.RECEIVE, envelope, sock),
-      () -> sock.write(buffer(envelope.encode())),
-      () -> LOG.debug("outbound message rejected by bridge event handler"));
+    return envelope;
   }
 
   private void doSendOrPub(boolean send, SockJSSocket sock, String address,
@@ -506,7 +613,7 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
               .put("failureCode", cause.failureCode())
               .put("failureType", cause.failureType().name())
               .put("message", cause.getMessage());
-          sock.write(buffer(envelope.encode()));
+          write(sock, envelope);
         }
         info.handlerCount--;
       };
@@ -614,9 +721,25 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
     return m.matches();
   }
 
-  private static void replyError(SockJSSocket sock, String err) {
+  private void replyError(SockJSSocket sock, String err) {
     JsonObject envelope = new JsonObject().put("type", "err").put("body", err);
-    sock.write(buffer(envelope.encode()));
+    write(sock, envelope);
+  }
+
+  private void write(SockJSSocket sock, JsonObject envelope) {
+    sock.write(encode(envelope, isCbor(sock)));
+  }
+
+  private boolean isCbor(SockJSSocket sock) {
+    if (!cborFraming) {
+      return false;
+    }
+    SockInfo info = sockInfos.get(sock);
+    return info != null && info.cbor;
+  }
+
+  private static Buffer encode(JsonObject envelope, boolean cbor) {
+    return cbor ? CborCodec.encode(envelope) : buffer(envelope.encode());
   }
 
   private static boolean structureMatches(JsonObject match, Object bodyObject) {
@@ -667,5 +790,76 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
   private static final class SockInfo {
     int handlerCount;
     PingInfo pingInfo;
+    // the socket exchanges CBOR instead of JSON text
+    boolean cbor;
+  }
+
+  /**
+   * The sockets registered to an address and their contexts, sharing a single event bus consumer. The sockets may be
+   * handled by different event loops, the subscriptions are guarded by the {@code subscriptions} map.
+   */
+  private final class Subscription {
+
+    final String address;
+    final Map<SockJSSocket, Context> sockets = new LinkedHashMap<>();
+    final MessageConsumer<Object> consumer;
+    // round robin of the sent messages
+    int next;
+
+    Subscription(String address) {
+      this.address = address;
+      this.consumer = eb.consumer(address, msg -> deliverMessage(this, msg));
+    }
+
+    void remove(SockJSSocket sock) {
+      synchronized (subscriptions) {
+        if (sockets.remove(sock) != null && sockets.isEmpty()) {
+          consumer.unregister();
+          subscriptions.remove(address);
+        }
+      }
+    }
+  }
+
+  /**
+   * An outbound envelope, encoded on demand once per format for all the sockets it is written to, from their own
+   * contexts.
+   */
+  private static final class Envelope {
+
+    final JsonObject json;
+    final Message<?> message;
+    private boolean replyAccepted;
+    private Buffer frame;
+    private Buffer cborFrame;
+
+    Envelope(JsonObject json, Message<?> message) {
+      this.json = json;
+      this.message = message;
+    }
+
+    /**
+     * @return {@code true} for the first socket allowed to receive the message
+     */
+    synchronized boolean acceptReply() {
+      if (replyAccepted) {
+        return false;
+      }
+      replyAccepted = true;
+      return true;
+    }
+
+    synchronized Buffer frame(boolean cbor) {
+      if (cbor) {
+        if (cborFrame == null) {
+          cborFrame = encode(json, true);
+        }
+        return cborFrame;
+      }
+      if (frame == null) {
+        frame = encode(json, false);
+      }
+      return frame;
+    }
   }
 }
@@ -15,16 +15,22 @@
  */
 package io.vertx.ext.web.impl;
 
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.ext.web.BlockingHandlerOptions;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.RoutingContext;
 
 import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Wraps a handler that would normally block and turn it into a non-blocking handler.
- * This is done by calling {@link io.vertx.core.Vertx#executeBlocking(Handler, Handler)}
- * and wrapping the context to overload {@link RoutingContext#next()} so that
+ * This is done by calling {@link io.vertx.core.Vertx#executeBlocking(Handler, Handler)}, or by running the handler on
+ * a virtual thread, and wrapping the context to overload {@link RoutingContext#next()} so that
  * the next handler is run on the original event loop
  *
  * @author <a href="mailto:stephane.bastian.dev@gmail.com>Stéphane Bastian</a>
@@ -32,18 +38,42 @@ import java.util.Objects;
  */
 public class BlockingHandlerDecorator implements Handler<RoutingContext> {
 
+  private static final Logger LOG = LoggerFactory.getLogger(BlockingHandlerDecorator.class);
+
   private final boolean ordered;
   private final Handler<RoutingContext> decoratedHandler;
+  // creates the virtual threads running the handler, null to use the worker pool
+  private final ThreadFactory virtualThreads;
+  // bounds the concurrent executions on virtual threads, null when unbounded
+  private final Semaphore permits;
 
   public BlockingHandlerDecorator(Handler<RoutingContext> decoratedHandler, boolean ordered) {
+    this(decoratedHandler, new BlockingHandlerOptions().setOrdered(ordered));
+  }
+
+  public BlockingHandlerDecorator(Handler<RoutingContext> decoratedHandler, BlockingHandlerOptions options) {
     Objects.requireNonNull(decoratedHandler);
+    Objects.requireNonNull(options);
     this.decoratedHandler = decoratedHandler;
-    this.ordered = ordered;
+    this.ordered = options.isOrdered();
+    if (options.isVirtualThreads()) {
+      virtualThreads = VirtualThreads.factory();
+      if (virtualThreads == null) {
+        LOG.warn("Virtual threads are not supported by the JVM, the blocking handler runs on the worker pool");
+      }
+    } else {
+      virtualThreads = null;
+    }
+    this.permits = virtualThreads != null && options.getMaxConcurrency() > 0 ? new Semaphore(options.getMaxConcurrency(), true) : null;
   }
 
   @Override
   public void handle(RoutingContext context) {
     Route currentRoute = context.currentRoute();
+    if (virtualThreads != null) {
+      handleOnVirtualThread(currentRoute, context);
+      return;
+    }
     context.vertx().executeBlocking(fut -> {
       decoratedHandler.handle(new RoutingContextDecorator(currentRoute, (RoutingContextInternal) context));
       fut.complete();
@@ -55,4 +85,28 @@ public class BlockingHandlerDecorator implements Handler<RoutingContext> {
     });
   }
 
+  private void handleOnVirtualThread(Route currentRoute, RoutingContext context) {
+    // a virtual thread has no Vert.x context, the routing must resume on the request one
+    final Context eventLoop = context.vertx().getOrCreateContext();
+    final RoutingContext decorated = new RoutingContextDecorator(currentRoute, (RoutingContextInternal) context, eventLoop);
+    virtualThreads
+      .newThread(() -> {
+        try {
+          if (permits != null) {
+            permits.acquire();
+          }
+          try {
+            decoratedHandler.handle(decorated);
+          } finally {
+            if (permits != null) {
+              permits.release();
+            }
+          }
+        } catch (Throwable t) {
+          // This means an exception was thrown from the blocking handler
+          eventLoop.runOnContext(v -> context.fail(t));
+        }
+      })
+      .start();
+  }
 }
@@ -16,7 +16,9 @@
 
 package io.vertx.ext.web.impl;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.streams.Pipe;
 import io.vertx.ext.web.FileUpload;
 
 /**
@@ -26,10 +28,19 @@ public class FileUploadImpl implements FileUpload {
 
   private final String uploadedFileName;
   private final HttpServerFileUpload upload;
+  // the pipe to the sink of an upload that is not stored on the file system
+  private final Pipe<Buffer> pipe;
 
   public FileUploadImpl(String uploadedFileName, HttpServerFileUpload upload) {
     this.uploadedFileName = uploadedFileName;
     this.upload = upload;
+    this.pipe = null;
+  }
+
+  public FileUploadImpl(HttpServerFileUpload upload, Pipe<Buffer> pipe) {
+    this.uploadedFileName = null;
+    this.upload = upload;
+    this.pipe = pipe;
   }
 
   @Override
@@ -69,6 +80,16 @@ public class FileUploadImpl implements FileUpload {
 
   @Override
   public boolean cancel() {
-    return upload.cancelStreamToFileSystem();
+    if (pipe != null) {
+      // the sink is not ended, nothing is left on the server
+      pipe.close();
+      return true;
+    }
+    try {
+      return upload.cancelStreamToFileSystem();
+    } catch (IllegalStateException e) {
+      // the upload is still waiting for the uploads directory, no file has been created yet
+      return true;
+    }
   }
 }
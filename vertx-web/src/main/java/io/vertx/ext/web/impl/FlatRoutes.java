@@ -0,0 +1,186 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import io.vertx.ext.web.Router;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * The routes of a router and of the sub routers mounted on it, flattened in a single array in routing order.
+ * <p>
+ * The routes of a sub router follow the route it is mounted on, which records the index after them: when the mount
+ * route does not match the cursor skips them, when it matches the cursor enters the sub router, and leaves it after its
+ * last route. This visits the routes in the order nested {@link RoutingContextWrapper}s would, with a single context and
+ * without matching the mount path again for each route of the sub router.
+ * <p>
+ * The table is immutable, it is rebuilt when one of its routers is modified.
+ */
+final class FlatRoutes implements Iterable<RouteImpl> {
+
+  private final int version;
+  private final RouteImpl[] routes;
+  // for a route mounting a sub router, the index following the sub router routes, otherwise -1
+  private final int[] ends;
+  private final Router[] subRouters;
+  private final int maxDepth;
+
+  private FlatRoutes(int version, List<RouteImpl> routes, List<Integer> ends, List<Router> subRouters, int maxDepth) {
+    this.version = version;
+    this.routes = routes.toArray(new RouteImpl[0]);
+    this.ends = new int[ends.size()];
+    for (int i = 0; i < this.ends.length; i++) {
+      this.ends[i] = ends.get(i);
+    }
+    this.subRouters = subRouters.toArray(new Router[0]);
+    this.maxDepth = maxDepth;
+  }
+
+  /**
+   * Flatten the routes of a router.
+   *
+   * @param router the root router
+   * @param version the version of the routes
+   * @param subRouterListener notified of each flattened sub router
+   */
+  static FlatRoutes build(RouterImpl router, int version, Consumer<RouterImpl> subRouterListener) {
+    final List<RouteImpl> routes = new ArrayList<>();
+    final List<Integer> ends = new ArrayList<>();
+    final List<Router> subRouters = new ArrayList<>();
+    final int maxDepth = flatten(router, routes, ends, subRouters, new ArrayDeque<>(), subRouterListener);
+    return new FlatRoutes(version, routes, ends, subRouters, maxDepth);
+  }
+
+  private static int flatten(RouterImpl router, List<RouteImpl> routes, List<Integer> ends, List<Router> subRouters, Deque<RouterImpl> mounted, Consumer<RouterImpl> subRouterListener) {
+    int maxDepth = mounted.size();
+    mounted.push(router);
+    for (RouteImpl route : router.routes()) {
+      final int index = routes.size();
+      final Router subRouter = route.subRouter();
+      routes.add(route);
+      ends.add(-1);
+      subRouters.add(null);
+      // a router mounted in itself keeps its routing context
+      if (subRouter instanceof RouterImpl && !mounted.contains(subRouter) && isMountOnly(route.state())) {
+        subRouterListener.accept((RouterImpl) subRouter);
+        maxDepth = Math.max(maxDepth, flatten((RouterImpl) subRouter, routes, ends, subRouters, mounted, subRouterListener));
+        ends.set(index, routes.size());
+        subRouters.set(index, subRouter);
+      }
+    }
+    mounted.pop();
+    return maxDepth;
+  }
+
+  private static boolean isMountOnly(RouteState state) {
+    return state.getContextHandlersLength() == 1 && state.getFailureHandlersLength() == 1;
+  }
+
+  int version() {
+    return version;
+  }
+
+  @Override
+  public Cursor iterator() {
+    return new Cursor();
+  }
+
+  /**
+   * Iterates over the routes, tracking the sub routers the request has been routed to.
+   */
+  final class Cursor implements Iterator<RouteImpl> {
+
+    private int index;
+    private int depth;
+    // the entered sub routers, allocated on the first one
+    private int[] frameEnds;
+    private String[] frameMountPoints;
+    private Router[] frameRouters;
+
+    @Override
+    public boolean hasNext() {
+      // leave the sub routers whose routes have all been visited
+      while (depth > 0 && index >= frameEnds[depth - 1]) {
+        depth--;
+        frameMountPoints[depth] = null;
+        frameRouters[depth] = null;
+      }
+      return index < routes.length;
+    }
+
+    @Override
+    public RouteImpl next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return routes[index++];
+    }
+
+    /**
+     * Enter the sub router mounted on the route last returned by {@link #next()}, if any, the route being the current
+     * route of the context.
+     *
+     * @return whether a sub router was entered
+     */
+    boolean enter(RoutingContextInternal ctx) {
+      final int end = ends[index - 1];
+      if (end == -1) {
+        return false;
+      }
+      final String mountPoint = RoutingContextWrapper.mountPoint(mountPoint(), RouterImpl.getAndCheckRoutePath(ctx));
+      if (frameEnds == null) {
+        frameEnds = new int[maxDepth];
+        frameMountPoints = new String[maxDepth];
+        frameRouters = new Router[maxDepth];
+      }
+      frameEnds[depth] = end;
+      frameMountPoints[depth] = mountPoint;
+      frameRouters[depth] = subRouters[index - 1];
+      depth++;
+      return true;
+    }
+
+    /**
+     * Skip the routes of the sub router mounted on the route last returned by {@link #next()}, if any.
+     */
+    void skip() {
+      final int end = ends[index - 1];
+      if (end != -1) {
+        index = end;
+      }
+    }
+
+    /**
+     * @return the mount point of the current sub router or {@code null} for the root router
+     */
+    String mountPoint() {
+      return depth == 0 ? null : frameMountPoints[depth - 1];
+    }
+
+    /**
+     * @return the current sub router or {@code null} for the root router
+     */
+    Router router() {
+      return depth == 0 ? null : frameRouters[depth - 1];
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A thread safe HMAC signer of ASCII values producing base64url (unpadded) signatures.
+ * <p>
+ * A {@link Mac} is not thread safe, each thread (event loop or worker) gets its own instance initialized with the
+ * shared key, along with scratch buffers so that signing and verifying do not allocate.
+ */
+public final class Hmac {
+
+  private static final char[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
+  private final String algorithm;
+  private final SecretKeySpec key;
+  private final Mac prototype;
+  private final ThreadLocal<State> state = ThreadLocal.withInitial(this::newState);
+
+  /**
+   * @param algorithm the mac algorithm, e.g. {@code HmacSHA256}
+   * @param key the key, as UTF-8
+   */
+  public Hmac(String algorithm, String key) {
+    this.algorithm = algorithm;
+    this.key = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), algorithm);
+    try {
+      prototype = Mac.getInstance(algorithm);
+      prototype.init(this.key);
+    } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private State newState() {
+    Mac mac;
+    try {
+      mac = (Mac) prototype.clone();
+    } catch (CloneNotSupportedException e) {
+      // the provider does not support cloning, each thread initializes its own instance
+      try {
+        mac = Mac.getInstance(algorithm);
+        mac.init(key);
+      } catch (NoSuchAlgorithmException | InvalidKeyException e1) {
+        throw new RuntimeException(e1);
+      }
+    }
+    return new State(mac);
+  }
+
+  /**
+   * Sign bytes.
+   *
+   * @return the signature
+   */
+  public byte[] sign(byte[] data) {
+    return state.get().mac.doFinal(data);
+  }
+
+  /**
+   * Sign the ASCII characters of a value.
+   *
+   * @return the base64url encoded signature
+   */
+  public String sign(String data) {
+    final State state = this.state.get();
+    final byte[] digest = state.digest(data, 0, data.length());
+    if (digest == null) {
+      throw new IllegalArgumentException("Signed values must be ASCII");
+    }
+    final char[] chars = new char[encodedLength(digest.length)];
+    int len = 0;
+    for (int i = 0; i < digest.length; i += 3) {
+      len = encode(digest, i, chars, len);
+    }
+    return new String(chars, 0, len);
+  }
+
+  /**
+   * Verify in constant time that {@code value.substring(sigStart, sigEnd)} is the base64url signature of the ASCII
+   * characters {@code value.substring(dataStart, dataEnd)}, without creating the substrings.
+   *
+   * @return whether the signature is valid
+   */
+  public boolean verify(CharSequence value, int dataStart, int dataEnd, int sigStart, int sigEnd) {
+    final State state = this.state.get();
+    final byte[] digest = state.digest(value, dataStart, dataEnd);
+    if (digest == null || sigEnd - sigStart != encodedLength(digest.length)) {
+      return false;
+    }
+    final char[] chars = state.chars;
+    int diff = 0;
+    int pos = sigStart;
+    for (int i = 0; i < digest.length; i += 3) {
+      int len = encode(digest, i, chars, 0);
+      for (int j = 0; j < len; j++) {
+        diff |= chars[j] ^ value.charAt(pos++);
+      }
+    }
+    return diff == 0;
+  }
+
+  private static int encodedLength(int length) {
+    return (length * 4 + 2) / 3;
+  }
+
+  /**
+   * Encode the 1 to 3 bytes of {@code src} at {@code off} into {@code dst} at {@code pos}.
+   *
+   * @return the position following the encoded characters
+   */
+  private static int encode(byte[] src, int off, char[] dst, int pos) {
+    int remaining = src.length - off;
+    int b0 = src[off] & 0xff;
+    int b1 = remaining > 1 ? src[off + 1] & 0xff : 0;
+    int b2 = remaining > 2 ? src[off + 2] & 0xff : 0;
+    dst[pos++] = BASE64URL[b0 >>> 2];
+    dst[pos++] = BASE64URL[((b0 & 0x03) << 4) | (b1 >>> 4)];
+    if (remaining > 1) {
+      dst[pos++] = BASE64URL[((b1 & 0x0f) << 2) | (b2 >>> 6)];
+    }
+    if (remaining > 2) {
+      dst[pos++] = BASE64URL[b2 & 0x3f];
+    }
+    return pos;
+  }
+
+  private static final class State {
+
+    private final Mac mac;
+    private final byte[] digest;
+    private final char[] chars = new char[4];
+    private byte[] scratch = new byte[256];
+
+    State(Mac mac) {
+      this.mac = mac;
+      this.digest = new byte[mac.getMacLength()];
+    }
+
+    /**
+     * @return the digest of the ASCII characters, or {@code null} when the value is not ASCII
+     */
+    byte[] digest(CharSequence value, int start, int end) {
+      final int len = end - start;
+      if (scratch.length < len) {
+        scratch = new byte[Math.max(len, scratch.length * 2)];
+      }
+      for (int i = 0; i < len; i++) {
+        final char c = value.charAt(start + i);
+        if (c > 0x7f) {
+          return null;
+        }
+        scratch[i] = (byte) c;
+      }
+      mac.update(scratch, 0, len);
+      try {
+        mac.doFinal(digest, 0);
+      } catch (ShortBufferException e) {
+        throw new IllegalStateException(e);
+      }
+      return digest;
+    }
+  }
+}
@@ -37,12 +37,17 @@ class HttpServerRequestWrapper implements HttpServerRequestInternal {
   private String uri;
   private String absoluteURI;
   private MultiMap params;
+  private HttpServerResponse response;
 
   HttpServerRequestWrapper(HttpServerRequest request, AllowForwardHeaders allowForward) {
     delegate = (HttpServerRequestInternal) request;
     forwardedParser = new ForwardedParser(delegate, allowForward);
   }
 
+  void setResponse(HttpServerResponse response) {
+    this.response = response;
+  }
+
   void changeTo(HttpMethod method, String uri) {
     modified = true;
     this.method = method;
@@ -202,6 +207,9 @@ class HttpServerRequestWrapper implements HttpServerRequestInternal {
 
   @Override
   public HttpServerResponse response() {
+    if (response != null) {
+      return response;
+    }
     return delegate.response();
   }
 
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent log-linear histogram of latencies in microseconds, in the spirit of HdrHistogram: values are counted in
+ * buckets whose width doubles every power of two, each power of two being split in {@value #SUB_BUCKET_COUNT}
+ * sub buckets, so a recorded value is reported with a relative error of at most {@code 1/}{@value #SUB_BUCKET_HALF_COUNT}.
+ * <p>
+ * Recording is wait-free, values above one hour are recorded as one hour.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+  private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+  private static final long MAX_VALUE = 3_600_000_000L;
+  private static final int LENGTH = countsIndex(MAX_VALUE) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(LENGTH);
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Record a latency.
+   *
+   * @param micros the latency in microseconds
+   */
+  void record(long micros) {
+    final long value = Math.max(0, Math.min(micros, MAX_VALUE));
+    counts.incrementAndGet(countsIndex(value));
+    sum.add(value);
+    long current;
+    while (value > (current = max.get())) {
+      if (max.compareAndSet(current, value)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * @return the count, mean, max and the main percentiles, in microseconds
+   */
+  JsonObject toJson() {
+    final long[] snapshot = new long[LENGTH];
+    long total = 0;
+    for (int i = 0; i < LENGTH; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    return new JsonObject()
+      .put("count", total)
+      .put("mean", total == 0 ? 0 : sum.sum() / total)
+      .put("max", max.get())
+      .put("p50", percentile(snapshot, total, 50))
+      .put("p90", percentile(snapshot, total, 90))
+      .put("p99", percentile(snapshot, total, 99))
+      .put("p999", percentile(snapshot, total, 99.9));
+  }
+
+  void reset() {
+    for (int i = 0; i < LENGTH; i++) {
+      counts.set(i, 0);
+    }
+    sum.reset();
+    max.set(0);
+  }
+
+  private static long percentile(long[] snapshot, long total, double percentile) {
+    if (total == 0) {
+      return 0;
+    }
+    final long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < snapshot.length; i++) {
+      seen += snapshot[i];
+      if (seen >= target) {
+        return Math.min(highestEquivalentValue(i), MAX_VALUE);
+      }
+    }
+    return MAX_VALUE;
+  }
+
+  static int countsIndex(long value) {
+    final int bucketIndex = 64 - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK) - SUB_BUCKET_BITS;
+    final int subBucketIndex = (int) (value >>> bucketIndex);
+    return ((bucketIndex + 1) << (SUB_BUCKET_BITS - 1)) + subBucketIndex - SUB_BUCKET_HALF_COUNT;
+  }
+
+  static long highestEquivalentValue(int index) {
+    int bucketIndex = (index >> (SUB_BUCKET_BITS - 1)) - 1;
+    int subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+    if (bucketIndex < 0) {
+      subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+      bucketIndex = 0;
+    }
+    return ((long) subBucketIndex << bucketIndex) + (1L << bucketIndex) - 1;
+  }
+}
@@ -16,7 +16,10 @@
 package io.vertx.ext.web.impl;
 
 import io.vertx.codegen.annotations.Nullable;
+import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -35,6 +38,9 @@ public class RequestBodyImpl implements RequestBody {
   private final RoutingContext ctx;
 
   private Buffer body;
+  // when the body was spilled to disk
+  private String fileName;
+  private long fileLength;
 
   // caches
   private String string;
@@ -47,14 +53,23 @@ public class RequestBodyImpl implements RequestBody {
 
   public void setBuffer(Buffer body) {
     this.body = body;
+    this.fileName = null;
+    this.fileLength = 0;
     // reset caches
     string = null;
     jsonObject = null;
     jsonArray = null;
   }
 
+  public void setFile(String fileName, long length) {
+    setBuffer(null);
+    this.fileName = fileName;
+    this.fileLength = length;
+  }
+
   @Override
   public @Nullable String asString() {
+    final Buffer body = buffer();
     if (body == null) {
       return null;
     } else {
@@ -78,6 +93,7 @@ public class RequestBodyImpl implements RequestBody {
 
   @Override
   public @Nullable String asString(String encoding) {
+    final Buffer body = buffer();
     if (body == null) {
       return null;
     } else {
@@ -87,6 +103,10 @@ public class RequestBodyImpl implements RequestBody {
 
   @Override
   public @Nullable JsonObject asJsonObject(int maxAllowedLength) {
+    if (maxAllowedLength >= 0 && fileName != null && fileLength > maxAllowedLength) {
+      throw new IllegalStateException("RoutingContext body size exceeds the allowed limit");
+    }
+    final Buffer body = buffer();
     if (body == null) {
       return null;
     } else {
@@ -102,6 +122,10 @@ public class RequestBodyImpl implements RequestBody {
 
   @Override
   public @Nullable JsonArray asJsonArray(int maxAllowedLength) {
+    if (maxAllowedLength >= 0 && fileName != null && fileLength > maxAllowedLength) {
+      throw new IllegalStateException("RoutingContext body size exceeds the allowed limit");
+    }
+    final Buffer body = buffer();
     if (body == null) {
       return null;
     } else {
@@ -117,6 +141,10 @@ public class RequestBodyImpl implements RequestBody {
 
   @Override
   public <R> @Nullable R asPojo(Class<R> clazz, int maxAllowedLength) {
+    if (maxAllowedLength >= 0 && fileName != null && fileLength > maxAllowedLength) {
+      throw new IllegalStateException("RoutingContext body size exceeds the allowed limit");
+    }
+    final Buffer body = buffer();
     if (body == null) {
       return null;
     } else {
@@ -129,11 +157,35 @@ public class RequestBodyImpl implements RequestBody {
 
   @Override
   public @Nullable Buffer buffer() {
+    if (fileName != null) {
+      // loading the file would block the calling thread, usually an event loop
+      throw new IllegalStateException("The request body was spilled to disk, read it with openFile() or by reading the fileName()");
+    }
     return body;
   }
 
+  @Override
+  public @Nullable String fileName() {
+    return fileName;
+  }
+
+  @Override
+  public Future<AsyncFile> openFile() {
+    if (fileName == null) {
+      return Future.failedFuture(new IllegalStateException("Request body was not spilled to disk"));
+    }
+    return ctx.vertx().fileSystem()
+      .open(fileName, new OpenOptions().setRead(true).setWrite(false).setCreate(false));
+  }
+
   @Override
   public int length() {
+    if (fileName != null) {
+      if (fileLength > Integer.MAX_VALUE) {
+        throw new IllegalStateException("The request body spilled to disk is larger than 2GB");
+      }
+      return (int) fileLength;
+    }
     if (body == null) {
       return -1;
     } else {
@@ -141,6 +193,14 @@ public class RequestBodyImpl implements RequestBody {
     }
   }
 
+  @Override
+  public boolean isEmpty() {
+    if (fileName != null) {
+      return fileLength == 0;
+    }
+    return length() <= 0;
+  }
+
   @Override
   public boolean available() {
     return ((RoutingContextInternal) ctx).seenHandler(RoutingContextInternal.BODY_HANDLER);
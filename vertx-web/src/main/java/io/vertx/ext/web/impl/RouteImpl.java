@@ -18,6 +18,7 @@ package io.vertx.ext.web.impl;
 
 import io.vertx.core.Handler;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.BlockingHandlerOptions;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
@@ -38,6 +39,8 @@ public class RouteImpl implements Route {
 
   private final RouterImpl router;
   private volatile RouteState state;
+  // the router mounted on this route, if any
+  private volatile Router subRouter;
 
   RouteImpl(RouterImpl router, int order) {
     this.router = router;
@@ -72,6 +75,10 @@ public class RouteImpl implements Route {
     return state;
   }
 
+  Router subRouter() {
+    return subRouter;
+  }
+
   @Override
   public synchronized Route putMetadata(String key, Object value) {
     state = state.putMetadata(key, value);
@@ -174,6 +181,8 @@ public class RouteImpl implements Route {
       throw new IllegalStateException("Only one sub router per Route object is allowed.");
     }
 
+    // set before the handler adds the route, so a flattening parent sees the sub router
+    this.subRouter = subRouter;
     handler(subRouter::handleContext);
     failureHandler(subRouter::handleFailure);
 
@@ -192,6 +201,11 @@ public class RouteImpl implements Route {
     return handler(new BlockingHandlerDecorator(contextHandler, ordered));
   }
 
+  @Override
+  public Route blockingHandler(Handler<RoutingContext> contextHandler, BlockingHandlerOptions options) {
+    return handler(new BlockingHandlerDecorator(contextHandler, options));
+  }
+
   @Override
   public synchronized Route failureHandler(Handler<RoutingContext> exceptionHandler) {
     if (state.isExclusive()) {
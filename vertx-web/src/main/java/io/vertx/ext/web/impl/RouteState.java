@@ -40,6 +40,8 @@ final class RouteState {
 
   private static final Logger LOG = LoggerFactory.getLogger(RouteState.class);
 
+  @SuppressWarnings("unchecked")
+  private static final Handler<RoutingContext>[] NO_HANDLERS = new Handler[0];
 
   enum Priority {
     PLATFORM,
@@ -104,6 +106,9 @@ final class RouteState {
   private final boolean pathEndsWithSlash;
   private final boolean exclusive;
   private final boolean exactPath;
+  // the handlers, as arrays indexed on each call to next()
+  private final Handler<RoutingContext>[] contextHandlerArray;
+  private final Handler<RoutingContext>[] failureHandlerArray;
 
   private RouteState(RouteImpl route, Map<String, Object> metadata, String path, String name, int order, boolean enabled, Set<HttpMethod> methods, Set<MIMEHeader> consumes, boolean emptyBodyPermittedWithConsumes, Set<MIMEHeader> produces, List<Handler<RoutingContext>> contextHandlers, List<Handler<RoutingContext>> failureHandlers, boolean added, Pattern pattern, List<String> groups, boolean useNormalizedPath, Set<String> namedGroupsInRegex, Pattern virtualHostPattern, boolean pathEndsWithSlash, boolean exclusive, boolean exactPath) {
     this.route = route;
@@ -127,6 +132,13 @@ final class RouteState {
     this.pathEndsWithSlash = pathEndsWithSlash;
     this.exclusive = exclusive;
     this.exactPath = exactPath;
+    this.contextHandlerArray = toArray(contextHandlers);
+    this.failureHandlerArray = toArray(failureHandlers);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Handler<RoutingContext>[] toArray(List<Handler<RoutingContext>> handlers) {
+    return handlers == null || handlers.isEmpty() ? NO_HANDLERS : handlers.toArray(new Handler[0]);
   }
 
   RouteState(RouteImpl route, int order) {
@@ -490,7 +502,7 @@ final class RouteState {
   }
 
   public int getContextHandlersLength() {
-    return contextHandlers == null ? 0 : contextHandlers.size();
+    return contextHandlerArray.length;
   }
 
   RouteState setContextHandlers(List<Handler<RoutingContext>> contextHandlers) {
@@ -519,34 +531,13 @@ final class RouteState {
   }
 
   RouteState addContextHandler(Handler<RoutingContext> contextHandler) {
-    RouteState newState = new RouteState(
-      this.route,
-      this.metadata,
-      this.path,
-      this.name,
-      this.order,
-      this.enabled,
-      this.methods,
-      this.consumes,
-      this.emptyBodyPermittedWithConsumes,
-      this.produces,
-      this.contextHandlers == null ? new ArrayList<>() : new ArrayList<>(this.contextHandlers),
-      this.failureHandlers,
-      this.added,
-      this.pattern,
-      this.groups,
-      this.useNormalizedPath,
-      this.namedGroupsInRegex,
-      this.virtualHostPattern,
-      this.pathEndsWithSlash,
-      this.exclusive,
-      this.exactPath);
+    final List<Handler<RoutingContext>> contextHandlers = this.contextHandlers == null ? new ArrayList<>() : new ArrayList<>(this.contextHandlers);
 
-    int len = newState.contextHandlers.size();
+    int len = contextHandlers.size();
     final Priority weight = weight(contextHandler);
     final Priority lastWeight;
     if (len > 0) {
-      lastWeight = weight(newState.contextHandlers.get(len - 1));
+      lastWeight = weight(contextHandlers.get(len - 1));
       if (lastWeight.ordinal() > weight.ordinal()) {
         String message = "Cannot add [" + weight.name() + "] handler to route with [" + lastWeight.name() + "] handler at index " + (len - 1);
         // when lenient mode is disabled, throw IllegalStateException to signal that the setup is incorrect
@@ -566,8 +557,29 @@ final class RouteState {
       }
     }
 
-    newState.contextHandlers.add(contextHandler);
-    return newState;
+    contextHandlers.add(contextHandler);
+    return new RouteState(
+      this.route,
+      this.metadata,
+      this.path,
+      this.name,
+      this.order,
+      this.enabled,
+      this.methods,
+      this.consumes,
+      this.emptyBodyPermittedWithConsumes,
+      this.produces,
+      contextHandlers,
+      this.failureHandlers,
+      this.added,
+      this.pattern,
+      this.groups,
+      this.useNormalizedPath,
+      this.namedGroupsInRegex,
+      this.virtualHostPattern,
+      this.pathEndsWithSlash,
+      this.exclusive,
+      this.exactPath);
   }
 
   public List<Handler<RoutingContext>> getFailureHandlers() {
@@ -575,7 +587,7 @@ final class RouteState {
   }
 
   public int getFailureHandlersLength() {
-    return failureHandlers == null ? 0 : failureHandlers.size();
+    return failureHandlerArray.length;
   }
 
   RouteState setFailureHandlers(List<Handler<RoutingContext>> failureHandlers) {
@@ -604,7 +616,9 @@ final class RouteState {
   }
 
   RouteState addFailureHandler(Handler<RoutingContext> failureHandler) {
-    RouteState newState = new RouteState(
+    final List<Handler<RoutingContext>> failureHandlers = this.failureHandlers == null ? new ArrayList<>() : new ArrayList<>(this.failureHandlers);
+    failureHandlers.add(failureHandler);
+    return new RouteState(
       this.route,
       this.metadata,
       this.path,
@@ -616,7 +630,7 @@ final class RouteState {
       this.emptyBodyPermittedWithConsumes,
       this.produces,
       this.contextHandlers,
-      this.failureHandlers == null ? new ArrayList<>() : new ArrayList<>(this.failureHandlers),
+      failureHandlers,
       this.added,
       this.pattern,
       this.groups,
@@ -626,9 +640,6 @@ final class RouteState {
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath);
-
-    newState.failureHandlers.add(failureHandler);
-    return newState;
   }
 
   public boolean isAdded() {
@@ -1278,16 +1289,18 @@ final class RouteState {
     return context.currentRouteNextFailureHandlerIndex() < getFailureHandlersLength();
   }
 
-  void handleContext(RoutingContextImplBase context) {
-    contextHandlers
-      .get(context.currentRouteNextHandlerIndex() - 1)
-      .handle(context);
+  /**
+   * @return the context handlers, the array must not be modified
+   */
+  Handler<RoutingContext>[] contextHandlers() {
+    return contextHandlerArray;
   }
 
-  void handleFailure(RoutingContextImplBase context) {
-    failureHandlers
-      .get(context.currentRouteNextFailureHandlerIndex() - 1)
-      .handle(context);
+  /**
+   * @return the failure handlers, the array must not be modified
+   */
+  Handler<RoutingContext>[] failureHandlers() {
+    return failureHandlerArray;
   }
 
   public String getName() {
@@ -26,8 +26,10 @@ import io.vertx.ext.web.AllowForwardHeaders;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.RoutingInstrumentation;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class is thread-safe
@@ -41,6 +43,10 @@ public class RouterImpl implements Router {
   private final Vertx vertx;
 
   private volatile RouterState state;
+  // the flattened routes, valid while their version is the current one
+  private volatile FlatRoutes flatRoutes;
+  private final AtomicInteger flatVersion = new AtomicInteger();
+  private final Set<Router> flattened = Collections.newSetFromMap(new WeakHashMap<>());
 
   public RouterImpl(Vertx vertx) {
     this.vertx = vertx;
@@ -65,7 +71,7 @@ public class RouterImpl implements Router {
       LOG.trace("Router: " + System.identityHashCode(this) + " accepting request " + request.method() + " " + request.absoluteURI());
     }
 
-    new RoutingContextImpl(null, this, request, state.getRoutes()).next();
+    new RoutingContextImpl(null, this, request, routing()).next();
   }
 
   @Override
@@ -241,6 +247,7 @@ public class RouterImpl implements Router {
   @Override
   public synchronized Router clear() {
     state = state.clearRoutes();
+    modified();
     return this;
   }
 
@@ -290,6 +297,22 @@ public class RouterImpl implements Router {
     return state.getAllowForward();
   }
 
+  @Override
+  public synchronized Router instrumentation(RoutingInstrumentation instrumentation) {
+    state = state.setInstrumentation(instrumentation);
+    return this;
+  }
+
+  RoutingInstrumentation getInstrumentation() {
+    return state.getInstrumentation();
+  }
+
+  @Override
+  public synchronized Router flattenSubRouters(boolean flatten) {
+    state = state.setFlattenSubRouters(flatten);
+    return this;
+  }
+
   @Override
   @Deprecated
   public Route mountSubRouter(String mountPoint, Router subRouter) {
@@ -309,14 +332,16 @@ public class RouterImpl implements Router {
 
   synchronized void add(RouteImpl route) {
     state = state.addRoute(route);
-    // notify the listeners as the routes are changed
-    if (state.getModifiedHandler() != null) {
-      state.getModifiedHandler().handle(this);
-    }
+    modified();
   }
 
   synchronized void remove(RouteImpl route) {
     state = state.removeRoute(route);
+    modified();
+  }
+
+  private void modified() {
+    flatVersion.incrementAndGet();
     // notify the listeners as the routes are changed
     if (state.getModifiedHandler() != null) {
       state.getModifiedHandler().handle(this);
@@ -328,14 +353,48 @@ public class RouterImpl implements Router {
   }
 
   Iterator<RouteImpl> iterator() {
-    return state.getRoutes().iterator();
+    return routing().iterator();
+  }
+
+  Set<RouteImpl> routes() {
+    return state.getRoutes();
+  }
+
+  /**
+   * @return the routes to iterate when this router handles a request, flattened with the routes of the sub routers
+   * when enabled
+   */
+  private Iterable<RouteImpl> routing() {
+    final RouterState state = this.state;
+    if (!state.isFlattenSubRouters()) {
+      return state.getRoutes();
+    }
+    FlatRoutes flat = flatRoutes;
+    final int version = flatVersion.get();
+    if (flat == null || flat.version() != version) {
+      // a router changed since the last build, concurrent builds are harmless as the version read before the build is
+      // kept by the table
+      flat = FlatRoutes.build(this, version, this::watch);
+      flatRoutes = flat;
+    }
+    return flat;
+  }
+
+  private void watch(RouterImpl subRouter) {
+    synchronized (flattened) {
+      if (!flattened.add(subRouter)) {
+        return;
+      }
+    }
+    // rebuild the table when the sub router routes change
+    subRouter.modifiedHandler(r -> flatVersion.incrementAndGet());
   }
 
   Handler<RoutingContext> getErrorHandlerByStatusCode(int statusCode) {
     return state.getErrorHandler(statusCode);
   }
 
-  private String getAndCheckRoutePath(RoutingContextInternal ctx) {
+  static String getAndCheckRoutePath(RoutingContextInternal ctx) {
     final Route route = ctx.currentRoute();
 
     if (!route.isRegexPath()) {
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RouterMetrics;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Router metrics kept in concurrent histograms, recording only touches the histograms of the route.
+ */
+public class RouterMetricsImpl implements RouterMetrics {
+
+  private static final String UNNAMED = "<unnamed>";
+  private static final int[] MATCH_FAILURES = {404, 405, 406, 415};
+
+  private final ConcurrentMap<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+  private final LongAdder[] matchFailures = new LongAdder[MATCH_FAILURES.length];
+
+  public RouterMetricsImpl() {
+    for (int i = 0; i < matchFailures.length; i++) {
+      matchFailures[i] = new LongAdder();
+    }
+  }
+
+  @Override
+  public void routeMatched(RoutingContext context, Route route, int evaluated) {
+    metrics(route).matched(evaluated);
+  }
+
+  @Override
+  public void stepCompleted(RoutingContext context, Route route, int index, boolean failure, long durationNanos) {
+    metrics(route).step(index, failure).record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+  }
+
+  @Override
+  public void matchFailed(RoutingContext context, int statusCode) {
+    for (int i = 0; i < MATCH_FAILURES.length; i++) {
+      if (MATCH_FAILURES[i] == statusCode) {
+        matchFailures[i].increment();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void requestCompleted(RoutingContext context, Route route, long durationNanos) {
+    if (route != null) {
+      metrics(route).latency.record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    }
+  }
+
+  @Override
+  public JsonObject snapshot() {
+    JsonObject json = new JsonObject();
+    JsonObject routesJson = new JsonObject();
+    for (Map.Entry<String, RouteMetrics> entry : routes.entrySet()) {
+      routesJson.put(entry.getKey(), entry.getValue().toJson());
+    }
+    json.put("routes", routesJson);
+    JsonObject failuresJson = new JsonObject();
+    for (int i = 0; i < MATCH_FAILURES.length; i++) {
+      failuresJson.put(Integer.toString(MATCH_FAILURES[i]), matchFailures[i].sum());
+    }
+    json.put("matchFailures", failuresJson);
+    return json;
+  }
+
+  @Override
+  public void reset() {
+    routes.clear();
+    for (LongAdder matchFailure : matchFailures) {
+      matchFailure.reset();
+    }
+  }
+
+  private RouteMetrics metrics(Route route) {
+    String name = route.getName();
+    if (name == null) {
+      name = UNNAMED;
+    }
+    // avoid the lock of computeIfAbsent in the common case
+    RouteMetrics metrics = routes.get(name);
+    if (metrics == null) {
+      metrics = routes.computeIfAbsent(name, key -> new RouteMetrics());
+    }
+    return metrics;
+  }
+
+  private static final class RouteMetrics {
+
+    private static final LatencyHistogram[] EMPTY = new LatencyHistogram[0];
+
+    final LatencyHistogram latency = new LatencyHistogram();
+    final LongAdder matches = new LongAdder();
+    final LongAdder evaluated = new LongAdder();
+    final AtomicInteger maxEvaluated = new AtomicInteger();
+    volatile LatencyHistogram[] steps = EMPTY;
+    volatile LatencyHistogram[] failureSteps = EMPTY;
+
+    void matched(int count) {
+      matches.increment();
+      evaluated.add(count);
+      int current;
+      while (count > (current = maxEvaluated.get())) {
+        if (maxEvaluated.compareAndSet(current, count)) {
+          break;
+        }
+      }
+    }
+
+    LatencyHistogram step(int index, boolean failure) {
+      LatencyHistogram[] histograms = failure ? failureSteps : steps;
+      if (index < histograms.length) {
+        return histograms[index];
+      }
+      return grow(index, failure);
+    }
+
+    private synchronized LatencyHistogram grow(int index, boolean failure) {
+      LatencyHistogram[] histograms = failure ? failureSteps : steps;
+      if (index >= histograms.length) {
+        int length = histograms.length;
+        histograms = Arrays.copyOf(histograms, index + 1);
+        for (int i = length; i < histograms.length; i++) {
+          histograms[i] = new LatencyHistogram();
+        }
+        if (failure) {
+          failureSteps = histograms;
+        } else {
+          steps = histograms;
+        }
+      }
+      return histograms[index];
+    }
+
+    JsonObject toJson() {
+      long count = matches.sum();
+      return new JsonObject()
+        .put("latency", latency.toJson())
+        .put("evaluated", new JsonObject()
+          .put("mean", count == 0 ? 0.0 : (double) evaluated.sum() / count)
+          .put("max", maxEvaluated.get()))
+        .put("steps", toJson(steps))
+        .put("failureSteps", toJson(failureSteps));
+    }
+
+    private static JsonArray toJson(LatencyHistogram[] histograms) {
+      JsonArray json = new JsonArray();
+      for (LatencyHistogram histogram : histograms) {
+        json.add(histogram.toJson());
+      }
+      return json;
+    }
+  }
+}
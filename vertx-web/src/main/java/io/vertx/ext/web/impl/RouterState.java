@@ -19,6 +19,7 @@ import io.vertx.core.Handler;
 import io.vertx.ext.web.AllowForwardHeaders;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.RoutingInstrumentation;
 
 import java.util.*;
 
@@ -60,8 +61,10 @@ final class RouterState {
   private final Handler<Router> modifiedHandler;
   private final AllowForwardHeaders allowForward;
   private final Map<String, Object> metadata;
+  private final RoutingInstrumentation instrumentation;
+  private final boolean flattenSubRouters;
 
-  public RouterState(RouterImpl router, TreeSet<RouteImpl> routes, int orderSequence, Map<Integer, Handler<RoutingContext>> errorHandlers, Handler<Router> modifiedHandler, AllowForwardHeaders allowForward, Map<String, Object> metadata) {
+  public RouterState(RouterImpl router, TreeSet<RouteImpl> routes, int orderSequence, Map<Integer, Handler<RoutingContext>> errorHandlers, Handler<Router> modifiedHandler, AllowForwardHeaders allowForward, Map<String, Object> metadata, RoutingInstrumentation instrumentation, boolean flattenSubRouters) {
     this.router = router;
     this.routes = routes;
     this.orderSequence = orderSequence;
@@ -69,6 +72,8 @@ final class RouterState {
     this.modifiedHandler = modifiedHandler;
     this.allowForward = allowForward;
     this.metadata = metadata;
+    this.instrumentation = instrumentation;
+    this.flattenSubRouters = flattenSubRouters;
   }
 
   public RouterState(RouterImpl router) {
@@ -79,7 +84,9 @@ final class RouterState {
       null,
       null,
       AllowForwardHeaders.NONE,
-      null);
+      null,
+      null,
+      false);
   }
 
   public RouterImpl router() {
@@ -101,7 +108,9 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.instrumentation,
+      this.flattenSubRouters);
 
     newState.routes.addAll(routes);
     return newState;
@@ -121,7 +130,9 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.instrumentation,
+      this.flattenSubRouters);
   }
 
   RouterState clearRoutes() {
@@ -132,7 +143,9 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.instrumentation,
+      this.flattenSubRouters);
   }
 
   RouterState removeRoute(RouteImpl route) {
@@ -149,7 +162,9 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.instrumentation,
+      this.flattenSubRouters);
   }
 
   public int getOrderSequence() {
@@ -164,7 +179,9 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.instrumentation,
+      this.flattenSubRouters);
   }
 
   RouterState setOrderSequence(int orderSequence) {
@@ -175,7 +192,9 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.instrumentation,
+      this.flattenSubRouters);
   }
 
   public Map<Integer, Handler<RoutingContext>> getErrorHandlers() {
@@ -190,7 +209,9 @@ final class RouterState {
       errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.instrumentation,
+      this.flattenSubRouters);
   }
 
   Handler<RoutingContext> getErrorHandler(int errorCode) {
@@ -208,7 +229,9 @@ final class RouterState {
       this.errorHandlers == null ? new HashMap<>() : new HashMap<>(errorHandlers),
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.instrumentation,
+      this.flattenSubRouters);
 
     newState.errorHandlers.put(errorCode, errorHandler);
     return newState;
@@ -226,7 +249,9 @@ final class RouterState {
       this.errorHandlers,
       modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.instrumentation,
+      this.flattenSubRouters);
   }
 
   public RouterState setAllowForward(AllowForwardHeaders allow) {
@@ -237,7 +262,9 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       allow,
-      this.metadata);
+      this.metadata,
+      this.instrumentation,
+      this.flattenSubRouters);
   }
 
   public AllowForwardHeaders getAllowForward() {
@@ -258,13 +285,49 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      Collections.unmodifiableMap(metadata));
+      Collections.unmodifiableMap(metadata),
+      this.instrumentation,
+      this.flattenSubRouters);
   }
 
   public Map<String, Object> getMetadata() {
     return metadata;
   }
 
+  public RouterState setInstrumentation(RoutingInstrumentation instrumentation) {
+    return new RouterState(
+      this.router,
+      this.routes,
+      this.orderSequence,
+      this.errorHandlers,
+      this.modifiedHandler,
+      this.allowForward,
+      this.metadata,
+      instrumentation,
+      this.flattenSubRouters);
+  }
+
+  public RoutingInstrumentation getInstrumentation() {
+    return instrumentation;
+  }
+
+  public RouterState setFlattenSubRouters(boolean flattenSubRouters) {
+    return new RouterState(
+      this.router,
+      this.routes,
+      this.orderSequence,
+      this.errorHandlers,
+      this.modifiedHandler,
+      this.allowForward,
+      this.metadata,
+      this.instrumentation,
+      flattenSubRouters);
+  }
+
+  public boolean isFlattenSubRouters() {
+    return flattenSubRouters;
+  }
+
 
   @Override
   public String toString() {
@@ -275,6 +338,8 @@ final class RouterState {
       ", modifiedHandler=" + modifiedHandler +
       ", this.allowForward=" + allowForward +
       ", metadata=" + metadata +
+      ", instrumentation=" + instrumentation +
+      ", flattenSubRouters=" + flattenSubRouters +
       '}';
   }
 }
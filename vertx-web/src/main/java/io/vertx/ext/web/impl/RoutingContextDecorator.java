@@ -2,6 +2,7 @@ package io.vertx.ext.web.impl;
 
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
@@ -28,12 +29,31 @@ public class RoutingContextDecorator implements RoutingContextInternal {
 
   private final Route currentRoute;
   private final RoutingContextInternal decoratedContext;
+  // the context the routing resumes on, null for the current context
+  private final Context context;
 
   public RoutingContextDecorator(Route currentRoute, RoutingContextInternal decoratedContext) {
+    this(currentRoute, decoratedContext, null);
+  }
+
+  /**
+   * @param context the context {@link #next()} and {@link #fail(Throwable)} resume the routing on, required when the
+   *                decorated context is used from a thread without a Vert.x context, e.g. a virtual thread
+   */
+  public RoutingContextDecorator(Route currentRoute, RoutingContextInternal decoratedContext, Context context) {
     Objects.requireNonNull(currentRoute);
     Objects.requireNonNull(decoratedContext);
     this.currentRoute = currentRoute;
     this.decoratedContext = decoratedContext;
+    this.context = context;
+  }
+
+  private void runOnContext(Handler<Void> action) {
+    if (context != null) {
+      context.runOnContext(action);
+    } else {
+      vertx().runOnContext(action);
+    }
   }
 
   @Override
@@ -107,18 +127,18 @@ public class RoutingContextDecorator implements RoutingContextInternal {
   @Override
   public void fail(int statusCode) {
     // make sure the fail handler run on the correct context
-    vertx().runOnContext(future -> decoratedContext.fail(statusCode));
+    runOnContext(future -> decoratedContext.fail(statusCode));
   }
 
   @Override
   public void fail(Throwable throwable) {
     // make sure the fail handler run on the correct context
-    vertx().runOnContext(future -> decoratedContext.fail(throwable));
+    runOnContext(future -> decoratedContext.fail(throwable));
   }
 
   @Override
   public void fail(int statusCode, Throwable throwable) {
-    vertx().runOnContext(future -> decoratedContext.fail(statusCode, throwable));
+    runOnContext(future -> decoratedContext.fail(statusCode, throwable));
   }
 
   @Override
@@ -175,7 +195,7 @@ public class RoutingContextDecorator implements RoutingContextInternal {
   @Override
   public void next() {
     // make sure the next handler run on the correct context
-    vertx().runOnContext(future -> decoratedContext.next());
+    runOnContext(future -> decoratedContext.next());
   }
 
   @Override
@@ -280,6 +300,16 @@ public class RoutingContextDecorator implements RoutingContextInternal {
     decoratedContext.setBody(body);
   }
 
+  @Override
+  public void setBodyFile(String fileName, long length) {
+    decoratedContext.setBodyFile(fileName, length);
+  }
+
+  @Override
+  public void setResponse(HttpServerResponse response) {
+    decoratedContext.setResponse(response);
+  }
+
   @Override
   @Deprecated
   public void setSession(Session session) {
@@ -73,7 +73,7 @@ public class RoutingContextImpl extends RoutingContextImplBase {
   private volatile boolean isSessionAccessed = false;
   private volatile boolean endHandlerCalled = false;
 
-  public RoutingContextImpl(String mountPoint, RouterImpl router, HttpServerRequest request, Set<RouteImpl> routes) {
+  public RoutingContextImpl(String mountPoint, RouterImpl router, HttpServerRequest request, Iterable<RouteImpl> routes) {
     super(mountPoint, routes, router);
     this.router = router;
     this.request = new HttpServerRequestWrapper(request, router.getAllowForward());
@@ -150,6 +150,7 @@ public class RoutingContextImpl extends RoutingContextImplBase {
     } else {
       Handler<RoutingContext> handler = router.getErrorHandlerByStatusCode(this.matchFailure);
       this.statusCode = this.matchFailure;
+      matchFailed(this.matchFailure);
       if (handler == null) { // Default 404 handling
         // Send back empty default response with status code
         this.response().setStatusCode(matchFailure);
@@ -302,6 +303,11 @@ public class RoutingContextImpl extends RoutingContextImplBase {
     this.body.setBuffer(body);
   }
 
+  @Override
+  public void setBodyFile(String fileName, long length) {
+    this.body.setFile(fileName, length);
+  }
+
   @Override
   public List<FileUpload> fileUploads() {
     if (fileUploads == null) {
@@ -310,6 +316,11 @@ public class RoutingContextImpl extends RoutingContextImplBase {
     return fileUploads;
   }
 
+  @Override
+  public void setResponse(HttpServerResponse response) {
+    ((HttpServerRequestWrapper) request).setResponse(response);
+  }
+
   @Override
   public void setSession(Session session) {
     this.session = session;
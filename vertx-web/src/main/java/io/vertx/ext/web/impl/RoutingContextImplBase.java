@@ -23,10 +23,10 @@ import io.vertx.core.impl.logging.LoggerFactory;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.RoutingInstrumentation;
 import io.vertx.ext.web.handler.HttpException;
 
 import java.util.Iterator;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
@@ -41,7 +41,7 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
 
   protected static final Logger LOG = LoggerFactory.getLogger(RoutingContext.class);
 
-  private final Set<RouteImpl> routes;
+  private final Iterable<RouteImpl> routes;
 
   protected final Router currentRouter;
   protected final String mountPoint;
@@ -57,13 +57,26 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
   boolean normalizedMatch;
   // internal runtime state
   private volatile long seen;
+  // the routes evaluated since the last match
+  private int evaluated;
+  // the router instrumentation, null when disabled
+  private final RoutingInstrumentation instrumentation;
+  private final long startNanos;
+  private boolean instrumented;
+  // the handler step in progress
+  private RouteState stepRoute;
+  private int stepIndex;
+  private boolean stepFailure;
+  private long stepStart;
 
-  RoutingContextImplBase(String mountPoint, Set<RouteImpl> routes, Router currentRouter) {
+  RoutingContextImplBase(String mountPoint, Iterable<RouteImpl> routes, Router currentRouter) {
     this.mountPoint = mountPoint;
     this.routes = routes;
     this.iter = routes.iterator();
 
     this.currentRouter = currentRouter;
+    this.instrumentation = currentRouter instanceof RouterImpl ? ((RouterImpl) currentRouter).getInstrumentation() : null;
+    this.startNanos = instrumentation != null ? System.nanoTime() : 0L;
     resetMatchFailure();
   }
 
@@ -96,6 +109,10 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
 
   @Override
   public String mountPoint() {
+    final FlatRoutes.Cursor flat = flatRoutes();
+    if (flat != null && flat.router() != null) {
+      return flat.mountPoint();
+    }
     return mountPoint;
   }
 
@@ -109,9 +126,20 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
 
   @Override
   public Router currentRouter() {
+    final FlatRoutes.Cursor flat = flatRoutes();
+    if (flat != null && flat.router() != null) {
+      return flat.router();
+    }
     return currentRouter;
   }
 
+  /**
+   * @return the cursor over the flattened routes when the router flattens its sub routers, otherwise {@code null}
+   */
+  private FlatRoutes.Cursor flatRoutes() {
+    return iter instanceof FlatRoutes.Cursor ? (FlatRoutes.Cursor) iter : null;
+  }
+
   int currentRouteNextHandlerIndex() {
     return currentRouteNextHandlerIndex;
   }
@@ -131,13 +159,21 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
     if (currentRoute != null) { // Handle multiple handlers inside route object
       try {
         if (!failed && currentRoute.hasNextContextHandler(this)) {
-          CURRENT_ROUTE_NEXT_HANDLER_INDEX.incrementAndGet(this);
+          final RouteState routeState = currentRoute;
+          final int index = CURRENT_ROUTE_NEXT_HANDLER_INDEX.incrementAndGet(this);
           resetMatchFailure();
-          currentRoute.handleContext(this);
+          if (instrumentation != null) {
+            beginStep(routeState, index - 1, false);
+          }
+          routeState.contextHandlers()[index - 1].handle(this);
           return true;
         } else if (failed && currentRoute.hasNextFailureHandler(this)) {
-          CURRENT_ROUTE_NEXT_FAILURE_HANDLER_INDEX.incrementAndGet(this);
-          currentRoute.handleFailure(this);
+          final RouteState routeState = currentRoute;
+          final int index = CURRENT_ROUTE_NEXT_FAILURE_HANDLER_INDEX.incrementAndGet(this);
+          if (instrumentation != null) {
+            beginStep(routeState, index - 1, true);
+          }
+          routeState.failureHandlers()[index - 1].handle(this);
           return true;
         }
       } catch (Throwable t) {
@@ -146,9 +182,11 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
       }
     }
     // Search for more handlers
+    final FlatRoutes.Cursor flat = flatRoutes();
     while (iter.hasNext()) {
       // state is locked at this moment
       RouteState routeState = iter.next().state();
+      evaluated++;
 
       CURRENT_ROUTE_NEXT_HANDLER_INDEX.set(this, 0);
       CURRENT_ROUTE_NEXT_FAILURE_HANDLER_INDEX.set(this, 0);
@@ -162,15 +200,27 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
           try {
             currentRoute = routeState;
             request().routed(currentRoute.getName());
+            if (flat != null && flat.enter(this)) {
+              // route with the sub router mounted on this route
+              continue;
+            }
             if (LOG.isTraceEnabled()) {
               LOG.trace("Calling the " + (failed ? "failure" : "") + " handler");
             }
             if (failed && currentRoute.hasNextFailureHandler(this)) {
               CURRENT_ROUTE_NEXT_FAILURE_HANDLER_INDEX.incrementAndGet(this);
-              routeState.handleFailure(this);
+              if (instrumentation != null) {
+                routeMatched(routeState);
+                beginStep(routeState, 0, true);
+              }
+              routeState.failureHandlers()[0].handle(this);
             } else if (currentRoute.hasNextContextHandler(this)) {
               CURRENT_ROUTE_NEXT_HANDLER_INDEX.incrementAndGet(this);
-              routeState.handleContext(this);
+              if (instrumentation != null) {
+                routeMatched(routeState);
+                beginStep(routeState, 0, false);
+              }
+              routeState.contextHandlers()[0].handle(this);
             } else {
               continue;
             }
@@ -187,6 +237,10 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
         } else if (matchResult != 404) {
           this.matchFailure = matchResult;
         }
+        if (flat != null) {
+          // the request is not routed to the sub router mounted on this route, if any
+          flat.skip();
+        }
       } catch (Throwable e) {
         if (LOG.isTraceEnabled()) {
           LOG.trace("IllegalArgumentException thrown during iteration", e);
@@ -201,6 +255,50 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
     return false;
   }
 
+  private void routeMatched(RouteState routeState) {
+    instrumentation.routeMatched(this, routeState.getRoute(), evaluated);
+    evaluated = 0;
+  }
+
+  private void beginStep(RouteState routeState, int index, boolean failure) {
+    final long now = System.nanoTime();
+    endStep(now);
+    stepRoute = routeState;
+    stepIndex = index;
+    stepFailure = failure;
+    stepStart = now;
+    instrumented();
+  }
+
+  private void endStep(long now) {
+    if (stepRoute != null) {
+      instrumentation.stepCompleted(this, stepRoute.getRoute(), stepIndex, stepFailure, now - stepStart);
+      stepRoute = null;
+    }
+  }
+
+  /**
+   * Report a match failure to the router instrumentation, if any.
+   */
+  void matchFailed(int statusCode) {
+    if (instrumentation != null) {
+      instrumentation.matchFailed(this, statusCode);
+      instrumented();
+    }
+  }
+
+  private void instrumented() {
+    if (!instrumented) {
+      instrumented = true;
+      addEndHandler(ar -> {
+        final long now = System.nanoTime();
+        final RouteState routeState = currentRoute;
+        endStep(now);
+        instrumentation.requestCompleted(this, routeState == null ? null : routeState.getRoute(), now - startNanos);
+      });
+    }
+  }
+
   private void handleInHandlerRuntimeFailure(RouterImpl router, boolean failed, Throwable t) {
     if (!failed) {
       if (LOG.isTraceEnabled()) {
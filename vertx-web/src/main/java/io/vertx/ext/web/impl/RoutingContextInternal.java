@@ -18,6 +18,7 @@ package io.vertx.ext.web.impl;
 import io.vertx.codegen.annotations.CacheReturn;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.Session;
@@ -78,6 +79,14 @@ public interface RoutingContextInternal extends RoutingContext {
    */
   void setBody(Buffer body);
 
+  /**
+   * Set the body as a file it was spilled to. Used by the {@link io.vertx.ext.web.handler.BodyHandler}.
+   *
+   * @param fileName  the file holding the body
+   * @param length  the body length in bytes
+   */
+  void setBodyFile(String fileName, long length);
+
   /**
    * Set the session. Used by the {@link io.vertx.ext.web.handler.SessionHandler}.
    *
@@ -85,6 +94,14 @@ public interface RoutingContextInternal extends RoutingContext {
    */
   void setSession(Session session);
 
+  /**
+   * Replace the response of the request, e.g. by a {@link HttpServerResponseWrapper} observing the body written by the
+   * next handlers. Used by the {@link io.vertx.ext.web.handler.ResponseCacheHandler}.
+   *
+   * @param response  the response wrapping the current response
+   */
+  void setResponse(HttpServerResponse response);
+
   int restIndex();
 
   boolean normalizedMatch();
@@ -45,27 +45,32 @@ public class RoutingContextWrapper extends RoutingContextImplBase {
   public RoutingContextWrapper(String mountPoint, Set<RouteImpl> iter, RoutingContextInternal inner, Router currentRouter) {
     super(mountPoint, iter, currentRouter);
     this.inner = inner;
-    String parentMountPoint = inner.mountPoint();
+    this.mountPoint = mountPoint(inner.mountPoint(), mountPoint);
+  }
+
+  /**
+   * @return the mount point of a sub router mounted on {@code mountPoint} of a router itself mounted on
+   * {@code parentMountPoint}
+   */
+  static String mountPoint(String parentMountPoint, String mountPoint) {
     if (parentMountPoint == null) {
       // just use the override
-      this.mountPoint = mountPoint;
-    } else {
-      // special cases:
-      // * when a sub router is mounting on / basically it's telling that it wants to use the parent mount
-      if ("/".equals(mountPoint)) {
-        this.mountPoint = parentMountPoint;
-      } else
-        // * when the parent mount is / basically it's telling that it wants to use the sub router mount
-        if ("/".equals(parentMountPoint)) {
-          this.mountPoint = mountPoint;
-        } else
-        // * otherwise it's extending the parent path
-        if (parentMountPoint.endsWith("/")) {
-          this.mountPoint = parentMountPoint.substring(0, parentMountPoint.length() - 1) + mountPoint;
-        } else {
-          this.mountPoint = parentMountPoint + mountPoint;
-        }
+      return mountPoint;
+    }
+    // special cases:
+    // * when a sub router is mounting on / basically it's telling that it wants to use the parent mount
+    if ("/".equals(mountPoint)) {
+      return parentMountPoint;
     }
+    // * when the parent mount is / basically it's telling that it wants to use the sub router mount
+    if ("/".equals(parentMountPoint)) {
+      return mountPoint;
+    }
+    // * otherwise it's extending the parent path
+    if (parentMountPoint.endsWith("/")) {
+      return parentMountPoint.substring(0, parentMountPoint.length() - 1) + mountPoint;
+    }
+    return parentMountPoint + mountPoint;
   }
 
   @Override
@@ -164,6 +169,11 @@ public class RoutingContextWrapper extends RoutingContextImplBase {
     return inner.removeEndHandler(handlerID);
   }
 
+  @Override
+  public void setResponse(HttpServerResponse response) {
+    inner.setResponse(response);
+  }
+
   @Override
   @Deprecated
   public void setSession(Session session) {
@@ -278,6 +288,11 @@ public class RoutingContextWrapper extends RoutingContextImplBase {
     inner.setBody(body);
   }
 
+  @Override
+  public void setBodyFile(String fileName, long length) {
+    inner.setBodyFile(fileName, length);
+  }
+
   @Override
   public List<FileUpload> fileUploads() {
     return inner.fileUploads();
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to the virtual threads of the JVM, looked up reflectively as they are not available on all the supported Java
+ * versions.
+ */
+final class VirtualThreads {
+
+  private static final Logger LOG = LoggerFactory.getLogger(VirtualThreads.class);
+
+  private static final ThreadFactory FACTORY = createFactory();
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * @return a factory of virtual threads or {@code null} when the JVM does not support them
+   */
+  static ThreadFactory factory() {
+    return FACTORY;
+  }
+
+  private static ThreadFactory createFactory() {
+    try {
+      // Thread.ofVirtual().name("vertx-web-virtual-", 0).factory()
+      final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+      Object builder = ofVirtual.invoke(null);
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "vertx-web-virtual-", 0L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+      // before Java 19
+      return null;
+    } catch (Exception | LinkageError e) {
+      // e.g. a preview feature not enabled
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Virtual threads are not available", e);
+      }
+      return null;
+    }
+  }
+}
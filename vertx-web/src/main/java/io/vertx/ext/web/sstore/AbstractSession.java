@@ -33,6 +33,9 @@ import java.util.function.Function;
  * integrity and versioning of the data. This checksum is important to reduce the amount of times data is pushed to
  * be stored on a backend.
  *
+ * The keys changed since the session was loaded or flushed are tracked, see {@link #changedKeys()}, so that stores
+ * can write only what changed instead of the whole session.
+ *
  * As a Vert.x Web user, you should not have to deal with this class directly but with the public interface that it
  * implements.
  *
@@ -84,6 +87,11 @@ public abstract class AbstractSession implements Session, SessionInternal {
   private boolean renewed;
   private String oldId;
   private int crc;
+  // change tracking, the whole session is changed when it is new or when its data map has been handed out
+  private final Set<String> changedKeys = ConcurrentHashMap.newKeySet();
+  // hash codes of the mutable values handed out by get, compared when the changes are collected
+  private final Map<String, Integer> readHashes = new ConcurrentHashMap<>();
+  private volatile boolean allChanged;
 
   /**
    * This constructor is <b>mandatory</b> (even though not referenced anywhere) is required for
@@ -102,6 +110,8 @@ public abstract class AbstractSession implements Session, SessionInternal {
     this.id = generateId(prng, length);
     this.timeout = timeout;
     this.lastAccessed = System.currentTimeMillis();
+    // a new session has never been stored
+    this.allChanged = true;
   }
 
   public void setPRNG(VertxContextPRNG prng) {
@@ -111,6 +121,7 @@ public abstract class AbstractSession implements Session, SessionInternal {
   @Override
   public void flushed(boolean skipCrc) {
     renewed = false;
+    resetChanges();
     if (oldId != null) {
       if (!skipCrc) {
         crc = checksum();
@@ -134,6 +145,8 @@ public abstract class AbstractSession implements Session, SessionInternal {
     // ids are stored in hex, so the original size is half of the hex encoded length
     id = generateId(prng, oldId.length() / 2);
     renewed = true;
+    // stored under a new id
+    allChanged = true;
     return this;
   }
 
@@ -148,13 +161,18 @@ public abstract class AbstractSession implements Session, SessionInternal {
     if (isEmpty()) {
       return null;
     }
-    Object obj = data().get(key);
+    Object obj = map().get(key);
+    if (!allChanged && !isImmutable(obj)) {
+      // the value can be modified in place, remember its state as of the first read
+      readHashes.putIfAbsent(key, obj.hashCode());
+    }
     return (T) obj;
   }
 
   @Override
   public Session put(String key, Object obj) {
-    final Map<String, Object> data = data();
+    final Map<String, Object> data = map();
+    changed(key);
     // nulls are handled as remove actions
     if (obj == null) {
       data.remove(key);
@@ -166,15 +184,19 @@ public abstract class AbstractSession implements Session, SessionInternal {
 
   @Override
   public Session putIfAbsent(String key, Object obj) {
-    data()
-      .putIfAbsent(key, obj);
+    if (map().putIfAbsent(key, obj) == null) {
+      changed(key);
+    }
     return this;
   }
 
   @Override
   public Session computeIfAbsent(String key, Function<String, Object> mappingFunction) {
-    data()
-      .computeIfAbsent(key, mappingFunction);
+    map()
+      .computeIfAbsent(key, k -> {
+        changed(k);
+        return mappingFunction.apply(k);
+      });
     return this;
   }
 
@@ -184,12 +206,21 @@ public abstract class AbstractSession implements Session, SessionInternal {
     if (isEmpty()) {
       return null;
     }
-    Object obj = data().remove(key);
+    Object obj = map().remove(key);
+    if (obj != null) {
+      changed(key);
+    }
     return (T) obj;
   }
 
   @Override
   public Map<String, Object> data() {
+    // the map can be modified in any way
+    allChanged = true;
+    return map();
+  }
+
+  private Map<String, Object> map() {
     if (data == null) {
       synchronized (this) {
         // double check since there could already been someone in the lock
@@ -250,6 +281,14 @@ public abstract class AbstractSession implements Session, SessionInternal {
   }
 
   public void incrementVersion() {
+    if (!allChanged) {
+      // no need to checksum the whole session unless something changed
+      if (!collectChanges().isEmpty()) {
+        crc = checksum();
+        ++version;
+      }
+      return;
+    }
     int old = this.crc;
     // update the checksum
     crc = checksum();
@@ -259,6 +298,68 @@ public abstract class AbstractSession implements Session, SessionInternal {
     }
   }
 
+  /**
+   * The keys changed since this session was loaded from a store or flushed: put, removed or read with a mutable value
+   * that has been modified in place since (its hash code differs from the one it had when first read). Reading a value
+   * alone never changes the session.
+   *
+   * @return the changed keys, or {@code null} when the whole session must be stored, i.e. the session is new, its id has
+   * been regenerated or its data map has been handed out by {@link #data()}
+   */
+  public @Nullable Set<String> changedKeys() {
+    return allChanged ? null : Collections.unmodifiableSet(collectChanges());
+  }
+
+  /**
+   * @return the current data of this session without marking it as changed, for stores serializing the session, to
+   * be treated as read only
+   */
+  protected Map<String, Object> currentData() {
+    final Map<String, Object> data = this.data;
+    return data == null ? Collections.emptyMap() : data;
+  }
+
+  /**
+   * Start tracking the changes from the current state, to be called once the session has been loaded from a store.
+   */
+  protected void resetChanges() {
+    allChanged = false;
+    changedKeys.clear();
+    readHashes.clear();
+  }
+
+  private Set<String> collectChanges() {
+    if (!readHashes.isEmpty()) {
+      final Map<String, Object> data = currentData();
+      for (Map.Entry<String, Integer> read : readHashes.entrySet()) {
+        Object value = data.get(read.getKey());
+        if (value == null || value.hashCode() != read.getValue()) {
+          changedKeys.add(read.getKey());
+        }
+      }
+    }
+    return changedKeys;
+  }
+
+  private void changed(String key) {
+    if (!allChanged) {
+      changedKeys.add(key);
+    }
+  }
+
+  private static boolean isImmutable(Object value) {
+    return value == null
+      || value instanceof String
+      || value instanceof Long
+      || value instanceof Integer
+      || value instanceof Short
+      || value instanceof Byte
+      || value instanceof Double
+      || value instanceof Float
+      || value instanceof Character
+      || value instanceof Boolean;
+  }
+
   private static String generateId(VertxContextPRNG rng, int length) {
     final byte[] bytes = new byte[length];
     rng.nextBytes(bytes);
@@ -24,6 +24,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Session;
 import io.vertx.ext.web.sstore.impl.ClusteredSessionStoreImpl;
 import io.vertx.ext.web.sstore.impl.LocalSessionStoreImpl;
+import io.vertx.ext.web.sstore.impl.SessionPolling;
 
 /**
  * A session store is used to store sessions for an Vert.x-Web web app
@@ -137,6 +138,23 @@ public interface SessionStore {
    */
   Future<@Nullable Session> get(String cookieValue);
 
+  /**
+   * Get the session with the specified ID, waiting up to {@code timeout} ms for a session created on another node to
+   * become visible in this store. The session handler calls it with the {@link #retryTimeout()} when it looks up a
+   * session.
+   * <p>
+   * The default implementation polls the store with an exponential backoff, stores that can be notified of the
+   * creation of sessions should override it.
+   *
+   * @param id  the unique ID of the session
+   * @param timeout  the maximum time to wait for the session, in ms
+   * @return future that will be called with a result holding the session, {@code null} when it is still not found
+   * after {@code timeout}, or a failure
+   */
+  default Future<@Nullable Session> awaitSession(String id, long timeout) {
+    return SessionPolling.poll(this, id, timeout);
+  }
+
   /**
    * Delete the session with the specified ID.
    *
@@ -18,7 +18,9 @@ package io.vertx.ext.web.sstore.impl;
 
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.impl.ContextInternal;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.shareddata.AsyncMap;
@@ -28,6 +30,11 @@ import io.vertx.ext.web.sstore.AbstractSession;
 import io.vertx.ext.web.sstore.ClusteredSessionStore;
 import io.vertx.ext.web.sstore.SessionStore;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
@@ -49,6 +56,10 @@ public class ClusteredSessionStoreImpl implements SessionStore, ClusteredSession
   private String sessionMapName;
   private long retryTimeout;
   private ContextInternal ctx;
+  // the ids of new sessions are published on this address once stored
+  private String createdAddress;
+  private MessageConsumer<String> createdConsumer;
+  private final ConcurrentMap<String, List<Promise<Boolean>>> waiters = new ConcurrentHashMap<>();
 
   // Clustered Map
   private volatile AsyncMap<String, Session> sessionMap;
@@ -60,6 +71,8 @@ public class ClusteredSessionStoreImpl implements SessionStore, ClusteredSession
     this.sessionMapName = options.getString("mapName", DEFAULT_SESSION_MAP_NAME);
     this.retryTimeout = options.getLong("retryTimeout", DEFAULT_RETRY_TIMEOUT);
     this.random = VertxContextPRNG.current(vertx);
+    this.createdAddress = sessionMapName + ".created";
+    this.createdConsumer = vertx.eventBus().consumer(createdAddress, msg -> sessionCreated(msg.body()));
 
     return this;
   }
@@ -91,6 +104,63 @@ public class ClusteredSessionStoreImpl implements SessionStore, ClusteredSession
           }));
   }
 
+  @Override
+  public Future<@Nullable Session> awaitSession(String id, long timeout) {
+    if (timeout <= 0) {
+      return get(id);
+    }
+    final ContextInternal context = (ContextInternal) vertx.getOrCreateContext();
+    // wait before looking up, a creation happening during the lookup must not be missed
+    final Promise<Boolean> created = context.promise();
+    addWaiter(id, created);
+    return get(id)
+      .compose(session -> {
+        if (session != null) {
+          removeWaiter(id, created);
+          return context.succeededFuture(session);
+        }
+        long timerId = vertx.setTimer(timeout, v -> {
+          removeWaiter(id, created);
+          created.tryComplete(false);
+        });
+        return created.future()
+          .compose(found -> {
+            vertx.cancelTimer(timerId);
+            // the session has been stored by another node, a single lookup finds it
+            return found ? get(id) : context.<Session>succeededFuture();
+          });
+      }, err -> {
+        removeWaiter(id, created);
+        return context.failedFuture(err);
+      });
+  }
+
+  private void addWaiter(String id, Promise<Boolean> waiter) {
+    waiters.compute(id, (key, list) -> {
+      if (list == null) {
+        list = new ArrayList<>(1);
+      }
+      list.add(waiter);
+      return list;
+    });
+  }
+
+  private void removeWaiter(String id, Promise<Boolean> waiter) {
+    waiters.computeIfPresent(id, (key, list) -> {
+      list.remove(waiter);
+      return list.isEmpty() ? null : list;
+    });
+  }
+
+  private void sessionCreated(String id) {
+    List<Promise<Boolean>> list = waiters.remove(id);
+    if (list != null) {
+      for (Promise<Boolean> waiter : list) {
+        waiter.tryComplete(true);
+      }
+    }
+  }
+
   @Override
   public Future<Void> delete(String id) {
     return getMap()
@@ -118,7 +188,13 @@ public class ClusteredSessionStoreImpl implements SessionStore, ClusteredSession
             // we can now safely store the new version
             newSession.incrementVersion();
 
-            return map.put(session.id(), session, session.timeout());
+            return map.put(session.id(), session, session.timeout())
+              .onSuccess(v -> {
+                if (oldSession == null) {
+                  // wake up the nodes waiting for this session
+                  vertx.eventBus().publish(createdAddress, session.id());
+                }
+              });
           })
       );
   }
@@ -137,6 +213,9 @@ public class ClusteredSessionStoreImpl implements SessionStore, ClusteredSession
 
   @Override
   public void close() {
+    if (createdConsumer != null) {
+      createdConsumer.unregister();
+    }
   }
 
   private Future<AsyncMap<String, Session>> getMap() {
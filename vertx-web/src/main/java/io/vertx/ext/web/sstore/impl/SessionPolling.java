@@ -0,0 +1,60 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.sstore.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.ext.web.Session;
+import io.vertx.ext.web.sstore.SessionStore;
+
+/**
+ * Polls a session store with an exponential backoff until a session is found, for stores that cannot be notified of
+ * the creation of sessions.
+ */
+public final class SessionPolling {
+
+  private static final long INITIAL_DELAY = 5;
+  private static final long MAX_DELAY = 500;
+
+  private SessionPolling() {
+  }
+
+  public static Future<Session> poll(SessionStore store, String id, long timeout) {
+    ContextInternal context = (ContextInternal) Vertx.currentContext();
+    if (context == null || timeout <= 0) {
+      return store.get(id);
+    }
+    Promise<Session> promise = context.promise();
+    poll(context, store, id, System.currentTimeMillis() + timeout, INITIAL_DELAY, promise);
+    return promise.future();
+  }
+
+  private static void poll(ContextInternal context, SessionStore store, String id, long deadline, long delay, Promise<Session> promise) {
+    store.get(id)
+      .onComplete(res -> {
+        if (res.succeeded() && res.result() == null) {
+          long remaining = deadline - System.currentTimeMillis();
+          if (remaining > 0) {
+            context.owner().setTimer(Math.min(delay, remaining), v -> poll(context, store, id, deadline, Math.min(delay * 2, MAX_DELAY), promise));
+            return;
+          }
+        }
+        promise.handle(res);
+      });
+  }
+}
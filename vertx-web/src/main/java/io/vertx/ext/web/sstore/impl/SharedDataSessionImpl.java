@@ -28,7 +28,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -92,154 +95,238 @@ public class SharedDataSessionImpl extends AbstractSession implements ClusterSer
     setVersion(buffer.getInt(pos));
     pos += 4;
     pos = readDataFromBuffer(pos, buffer);
+    resetChanges();
     return pos;
   }
 
+  /**
+   * Write the data entries of this session, each value being encoded separately, for stores keeping the entries of a
+   * session apart in order to update them separately.
+   *
+   * @param writer called with each key and its encoded value
+   */
+  public void writeEntries(BiConsumer<String, Buffer> writer) {
+    for (Map.Entry<String, Object> entry : currentData().entrySet()) {
+      Object val = entry.getValue();
+      if (val != null) {
+        writer.accept(entry.getKey(), encodeValue(val));
+      }
+    }
+  }
+
+  /**
+   * Write the data entries changed since this session was loaded or flushed, see {@link #changedKeys()}.
+   *
+   * @param writer called with each changed key and its encoded value
+   * @param remover called with each removed key
+   * @throws IllegalStateException when the whole session must be written
+   */
+  public void writeChangedEntries(BiConsumer<String, Buffer> writer, Consumer<String> remover) {
+    final Set<String> changed = changedKeys();
+    if (changed == null) {
+      throw new IllegalStateException("The whole session must be written");
+    }
+    final Map<String, Object> data = currentData();
+    for (String key : changed) {
+      Object val = data.get(key);
+      if (val == null) {
+        remover.accept(key);
+      } else {
+        writer.accept(key, encodeValue(val));
+      }
+    }
+  }
+
+  /**
+   * Restore this session from its state and its data entries written by {@link #writeEntries(BiConsumer)}.
+   *
+   * @return a reference to this
+   */
+  public SharedDataSessionImpl readEntries(String id, long timeout, long lastAccessed, int version, Map<String, Buffer> entries) {
+    setId(id);
+    setTimeout(timeout);
+    setLastAccessed(lastAccessed);
+    setVersion(version);
+    if (!entries.isEmpty()) {
+      final Map<String, Object> data = new ConcurrentHashMap<>(entries.size());
+      for (Map.Entry<String, Buffer> entry : entries.entrySet()) {
+        data.put(entry.getKey(), readValue(entry.getValue(), new int[1]));
+      }
+      setData(data);
+    }
+    resetChanges();
+    return this;
+  }
+
+  private static Buffer encodeValue(Object val) {
+    Buffer buffer = Buffer.buffer();
+    writeValue(buffer, val);
+    return buffer;
+  }
+
   private Buffer writeDataToBuffer() {
     Buffer buffer = Buffer.buffer();
     if (isEmpty()) {
       buffer.appendInt(0);
     } else {
-      final Map<String, Object> data = data();
+      final Map<String, Object> data = currentData();
       buffer.appendInt(data.size());
       for (Map.Entry<String, Object> entry : data.entrySet()) {
         String key = entry.getKey();
         byte[] keyBytes = key.getBytes(UTF8);
         buffer.appendInt(keyBytes.length).appendBytes(keyBytes);
-        Object val = entry.getValue();
-        if (val instanceof Long) {
-          buffer.appendByte(TYPE_LONG).appendLong((long) val);
-        } else if (val instanceof Integer) {
-          buffer.appendByte(TYPE_INT).appendInt((int) val);
-        } else if (val instanceof Short) {
-          buffer.appendByte(TYPE_SHORT).appendShort((short) val);
-        } else if (val instanceof Byte) {
-          buffer.appendByte(TYPE_BYTE).appendByte((byte) val);
-        } else if (val instanceof Double) {
-          buffer.appendByte(TYPE_DOUBLE).appendDouble((double) val);
-        } else if (val instanceof Float) {
-          buffer.appendByte(TYPE_FLOAT).appendFloat((float) val);
-        } else if (val instanceof Character) {
-          buffer.appendByte(TYPE_CHAR).appendShort((short) ((Character) val).charValue());
-        } else if (val instanceof Boolean) {
-          buffer.appendByte(TYPE_BOOLEAN).appendByte((byte) ((boolean) val ? 1 : 0));
-        } else if (val instanceof String) {
-          byte[] bytes = ((String) val).getBytes(UTF8);
-          buffer.appendByte(TYPE_STRING).appendInt(bytes.length).appendBytes(bytes);
-        } else if (val instanceof Buffer) {
-          Buffer buff = (Buffer) val;
-          buffer.appendByte(TYPE_BUFFER).appendInt(buff.length()).appendBuffer(buff);
-        } else if (val instanceof byte[]) {
-          byte[] bytes = (byte[]) val;
-          buffer.appendByte(TYPE_BYTES).appendInt(bytes.length).appendBytes(bytes);
-        } else if (val instanceof ClusterSerializable) {
-          buffer.appendByte(TYPE_CLUSTER_SERIALIZABLE);
-          String className = val.getClass().getName();
-          byte[] classNameBytes = className.getBytes(UTF8);
-          buffer.appendInt(classNameBytes.length).appendBytes(classNameBytes);
-          ((ClusterSerializable) val).writeToBuffer(buffer);
-        } else {
-          if (val != null) {
-            throw new IllegalStateException("Invalid type for data in session: " + val.getClass());
-          }
-        }
+        writeValue(buffer, entry.getValue());
       }
     }
     return buffer;
   }
 
+  private static void writeValue(Buffer buffer, Object val) {
+    if (val instanceof Long) {
+      buffer.appendByte(TYPE_LONG).appendLong((long) val);
+    } else if (val instanceof Integer) {
+      buffer.appendByte(TYPE_INT).appendInt((int) val);
+    } else if (val instanceof Short) {
+      buffer.appendByte(TYPE_SHORT).appendShort((short) val);
+    } else if (val instanceof Byte) {
+      buffer.appendByte(TYPE_BYTE).appendByte((byte) val);
+    } else if (val instanceof Double) {
+      buffer.appendByte(TYPE_DOUBLE).appendDouble((double) val);
+    } else if (val instanceof Float) {
+      buffer.appendByte(TYPE_FLOAT).appendFloat((float) val);
+    } else if (val instanceof Character) {
+      buffer.appendByte(TYPE_CHAR).appendShort((short) ((Character) val).charValue());
+    } else if (val instanceof Boolean) {
+      buffer.appendByte(TYPE_BOOLEAN).appendByte((byte) ((boolean) val ? 1 : 0));
+    } else if (val instanceof String) {
+      byte[] bytes = ((String) val).getBytes(UTF8);
+      buffer.appendByte(TYPE_STRING).appendInt(bytes.length).appendBytes(bytes);
+    } else if (val instanceof Buffer) {
+      Buffer buff = (Buffer) val;
+      buffer.appendByte(TYPE_BUFFER).appendInt(buff.length()).appendBuffer(buff);
+    } else if (val instanceof byte[]) {
+      byte[] bytes = (byte[]) val;
+      buffer.appendByte(TYPE_BYTES).appendInt(bytes.length).appendBytes(bytes);
+    } else if (val instanceof ClusterSerializable) {
+      buffer.appendByte(TYPE_CLUSTER_SERIALIZABLE);
+      String className = val.getClass().getName();
+      byte[] classNameBytes = className.getBytes(UTF8);
+      buffer.appendInt(classNameBytes.length).appendBytes(classNameBytes);
+      ((ClusterSerializable) val).writeToBuffer(buffer);
+    } else {
+      if (val != null) {
+        throw new IllegalStateException("Invalid type for data in session: " + val.getClass());
+      }
+    }
+  }
+
   private int readDataFromBuffer(int pos, Buffer buffer) {
-    try {
-      int entries = buffer.getInt(pos);
-      pos += 4;
-      if (entries > 0) {
-        final Map<String, Object> data = new ConcurrentHashMap<>(entries);
+    int entries = buffer.getInt(pos);
+    pos += 4;
+    if (entries > 0) {
+      final Map<String, Object> data = new ConcurrentHashMap<>(entries);
+      final int[] position = new int[1];
+
+      for (int i = 0; i < entries; i++) {
+        int keylen = buffer.getInt(pos);
+        pos += 4;
+        byte[] keyBytes = buffer.getBytes(pos, pos + keylen);
+        pos += keylen;
+        String key = new String(keyBytes, UTF8);
+        position[0] = pos;
+        Object val = readValue(buffer, position);
+        pos = position[0];
+        data.put(key, val);
+      }
+      setData(data);
+    }
+    return pos;
+  }
 
-        for (int i = 0; i < entries; i++) {
-          int keylen = buffer.getInt(pos);
+  /**
+   * Read a value written by {@link #writeValue(Buffer, Object)}.
+   *
+   * @param position holds the position of the value, updated to the position following the value
+   */
+  private static Object readValue(Buffer buffer, int[] position) {
+    try {
+      int pos = position[0];
+      byte type = buffer.getByte(pos++);
+      Object val;
+      switch (type) {
+        case TYPE_LONG:
+          val = buffer.getLong(pos);
+          pos += 8;
+          break;
+        case TYPE_INT:
+          val = buffer.getInt(pos);
+          pos += 4;
+          break;
+        case TYPE_SHORT:
+          val = buffer.getShort(pos);
+          pos += 2;
+          break;
+        case TYPE_BYTE:
+          val = buffer.getByte(pos);
+          pos++;
+          break;
+        case TYPE_FLOAT:
+          val = buffer.getFloat(pos);
+          pos += 4;
+          break;
+        case TYPE_DOUBLE:
+          val = buffer.getDouble(pos);
+          pos += 8;
+          break;
+        case TYPE_CHAR:
+          short s = buffer.getShort(pos);
+          pos += 2;
+          val = (char) s;
+          break;
+        case TYPE_BOOLEAN:
+          byte b = buffer.getByte(pos);
+          pos++;
+          val = b == 1;
+          break;
+        case TYPE_STRING:
+          int len = buffer.getInt(pos);
+          pos += 4;
+          byte[] bytes = buffer.getBytes(pos, pos + len);
+          val = new String(bytes, UTF8);
+          pos += len;
+          break;
+        case TYPE_BUFFER:
+          len = buffer.getInt(pos);
+          pos += 4;
+          bytes = buffer.getBytes(pos, pos + len);
+          val = Buffer.buffer(bytes);
+          pos += len;
+          break;
+        case TYPE_BYTES:
+          len = buffer.getInt(pos);
+          pos += 4;
+          val = buffer.getBytes(pos, pos + len);
+          pos += len;
+          break;
+        case TYPE_CLUSTER_SERIALIZABLE:
+          int classNameLen = buffer.getInt(pos);
           pos += 4;
-          byte[] keyBytes = buffer.getBytes(pos, pos + keylen);
-          pos += keylen;
-          String key = new String(keyBytes, UTF8);
-          byte type = buffer.getByte(pos++);
-          Object val;
-          switch (type) {
-            case TYPE_LONG:
-              val = buffer.getLong(pos);
-              pos += 8;
-              break;
-            case TYPE_INT:
-              val = buffer.getInt(pos);
-              pos += 4;
-              break;
-            case TYPE_SHORT:
-              val = buffer.getShort(pos);
-              pos += 2;
-              break;
-            case TYPE_BYTE:
-              val = buffer.getByte(pos);
-              pos++;
-              break;
-            case TYPE_FLOAT:
-              val = buffer.getFloat(pos);
-              pos += 4;
-              break;
-            case TYPE_DOUBLE:
-              val = buffer.getDouble(pos);
-              pos += 8;
-              break;
-            case TYPE_CHAR:
-              short s = buffer.getShort(pos);
-              pos += 2;
-              val = (char) s;
-              break;
-            case TYPE_BOOLEAN:
-              byte b = buffer.getByte(pos);
-              pos++;
-              val = b == 1;
-              break;
-            case TYPE_STRING:
-              int len = buffer.getInt(pos);
-              pos += 4;
-              byte[] bytes = buffer.getBytes(pos, pos + len);
-              val = new String(bytes, UTF8);
-              pos += len;
-              break;
-            case TYPE_BUFFER:
-              len = buffer.getInt(pos);
-              pos += 4;
-              bytes = buffer.getBytes(pos, pos + len);
-              val = Buffer.buffer(bytes);
-              pos += len;
-              break;
-            case TYPE_BYTES:
-              len = buffer.getInt(pos);
-              pos += 4;
-              val = buffer.getBytes(pos, pos + len);
-              pos += len;
-              break;
-            case TYPE_CLUSTER_SERIALIZABLE:
-              int classNameLen = buffer.getInt(pos);
-              pos += 4;
-              byte[] classNameBytes = buffer.getBytes(pos, pos + classNameLen);
-              pos += classNameLen;
-              String className = new String(classNameBytes, UTF8);
-              Class<?> clazz = Utils.getClassLoader().loadClass(className);
-              if (!ClusterSerializable.class.isAssignableFrom(clazz)) {
-                throw new ClassCastException(new String(classNameBytes, StandardCharsets.UTF_8) + " is not assignable from ClusterSerializable");
-              }
-              ClusterSerializable obj = (ClusterSerializable) clazz.getDeclaredConstructor().newInstance();
-              pos = obj.readFromBuffer(pos, buffer);
-              val = obj;
-              break;
-            default:
-              throw new IllegalStateException("Invalid serialized type: " + type);
+          byte[] classNameBytes = buffer.getBytes(pos, pos + classNameLen);
+          pos += classNameLen;
+          String className = new String(classNameBytes, UTF8);
+          Class<?> clazz = Utils.getClassLoader().loadClass(className);
+          if (!ClusterSerializable.class.isAssignableFrom(clazz)) {
+            throw new ClassCastException(new String(classNameBytes, StandardCharsets.UTF_8) + " is not assignable from ClusterSerializable");
           }
-          data.put(key, val);
-        }
-        setData(data);
+          ClusterSerializable obj = (ClusterSerializable) clazz.getDeclaredConstructor().newInstance();
+          pos = obj.readFromBuffer(pos, buffer);
+          val = obj;
+          break;
+        default:
+          throw new IllegalStateException("Invalid serialized type: " + type);
       }
-      return pos;
+      position[0] = pos;
+      return val;
     } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException | InstantiationException e) {
       throw new VertxException(e);
     }
@@ -0,0 +1,81 @@
+package io.vertx.ext.web;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.impl.RoutingContextInternal;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the sub router tests with the sub routers flattened in the root router.
+ */
+public class FlattenedSubRouterTest extends SubRouterTest {
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    router.flattenSubRouters(true);
+  }
+
+  @Test
+  public void testSingleContext() throws Exception {
+    Router version = Router.router(vertx);
+    Router tenant = Router.router(vertx);
+
+    AtomicReference<RoutingContext> root = new AtomicReference<>();
+    router.route().handler(rc -> {
+      root.set(rc);
+      assertNull(rc.mountPoint());
+      assertSame(router, ((RoutingContextInternal) rc).currentRouter());
+      rc.next();
+    });
+    router.route("/api/*").subRouter(version);
+    version.route("/v1/*").subRouter(tenant);
+    version.route().handler(rc -> {
+      assertSame(root.get(), rc);
+      assertEquals("/api/", rc.mountPoint());
+      assertSame(version, ((RoutingContextInternal) rc).currentRouter());
+      rc.next();
+    });
+    tenant.route("/:tenant/resource").handler(rc -> {
+      assertSame(root.get(), rc);
+      assertEquals("/api/v1/", rc.mountPoint());
+      assertSame(tenant, ((RoutingContextInternal) rc).currentRouter());
+      rc.response().end(rc.pathParam("tenant"));
+    });
+
+    testRequest(HttpMethod.GET, "/api/v1/acme/resource", 200, "OK", "acme");
+    testRequest(HttpMethod.GET, "/api/v2/acme/resource", 404, "Not Found");
+  }
+
+  @Test
+  public void testFallThroughToParent() throws Exception {
+    Router subRouter = Router.router(vertx);
+    router.route("/api/*").subRouter(subRouter);
+    subRouter.route("/foo").handler(rc -> rc.next());
+    router.route("/api/*").handler(rc -> {
+      assertNull(rc.mountPoint());
+      assertSame(router, ((RoutingContextInternal) rc).currentRouter());
+      rc.response().end("parent");
+    });
+
+    testRequest(HttpMethod.GET, "/api/foo", 200, "OK", "parent");
+    testRequest(HttpMethod.GET, "/api/bar", 200, "OK", "parent");
+  }
+
+  @Test
+  public void testRebuiltOnModification() throws Exception {
+    Router version = Router.router(vertx);
+    Router tenant = Router.router(vertx);
+    router.route("/api/*").subRouter(version);
+    version.route("/v1/*").subRouter(tenant);
+
+    testRequest(HttpMethod.GET, "/api/v1/foo", 404, "Not Found");
+    tenant.get("/foo").handler(rc -> rc.response().end("foo"));
+    testRequest(HttpMethod.GET, "/api/v1/foo", 200, "OK", "foo");
+    tenant.clear();
+    testRequest(HttpMethod.GET, "/api/v1/foo", 404, "Not Found");
+    version.get("/v1/foo").order(-1).handler(rc -> rc.response().end("bar"));
+    testRequest(HttpMethod.GET, "/api/v1/foo", 200, "OK", "bar");
+  }
+}
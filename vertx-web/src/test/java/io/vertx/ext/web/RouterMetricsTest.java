@@ -0,0 +1,74 @@
+package io.vertx.ext.web;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.handler.RouterMetricsHandler;
+import org.junit.Test;
+
+public class RouterMetricsTest extends WebTestBase {
+
+  @Test
+  public void testRouteMetrics() throws Exception {
+    RouterMetrics metrics = RouterMetrics.create();
+    router.instrumentation(metrics);
+    router.route().setName("A").handler(RoutingContext::next);
+    router.route("/skip-me").handler(RoutingContext::next);
+    router.route("/users/:id")
+      .handler(rc -> vertx.setTimer(10, id -> rc.next()))
+      .handler(rc -> rc.response().end());
+    testRequest(HttpMethod.GET, "/users/1", 200, "OK");
+    assertWaitUntil(() -> metrics.snapshot()
+      .getJsonObject("routes")
+      .getJsonObject("/users/:id", new JsonObject())
+      .getJsonObject("latency", new JsonObject())
+      .getLong("count", 0L) == 1L);
+
+    JsonObject users = metrics.snapshot().getJsonObject("routes").getJsonObject("/users/:id");
+    // the skipped route and the matching route
+    assertEquals(2.0, users.getJsonObject("evaluated").getDouble("mean"), 0.0);
+    assertTrue(users.getJsonObject("latency").getLong("max") >= 10_000);
+    JsonArray steps = users.getJsonArray("steps");
+    assertEquals(2, steps.size());
+    assertTrue(steps.getJsonObject(0).getLong("max") >= 10_000);
+    assertEquals(1L, (long) steps.getJsonObject(1).getLong("count"));
+
+    JsonObject a = metrics.snapshot().getJsonObject("routes").getJsonObject("A");
+    assertEquals(1.0, a.getJsonObject("evaluated").getDouble("mean"), 0.0);
+    assertEquals(1L, (long) a.getJsonArray("steps").getJsonObject(0).getLong("count"));
+    assertFalse(metrics.snapshot().getJsonObject("routes").containsKey("/skip-me"));
+  }
+
+  @Test
+  public void testMatchFailures() throws Exception {
+    RouterMetrics metrics = RouterMetrics.create();
+    router.instrumentation(metrics);
+    router.get("/get").handler(rc -> rc.response().end());
+    testRequest(HttpMethod.GET, "/nope", 404, "Not Found");
+    testRequest(HttpMethod.POST, "/get", 405, "Method Not Allowed");
+    JsonObject failures = metrics.snapshot().getJsonObject("matchFailures");
+    assertEquals(1L, (long) failures.getLong("404"));
+    assertEquals(1L, (long) failures.getLong("405"));
+    assertEquals(0L, (long) failures.getLong("406"));
+    metrics.reset();
+    assertEquals(0L, (long) metrics.snapshot().getJsonObject("matchFailures").getLong("404"));
+  }
+
+  @Test
+  public void testMetricsHandler() throws Exception {
+    RouterMetrics metrics = RouterMetrics.create();
+    router.instrumentation(metrics);
+    router.get("/metrics").handler(RouterMetricsHandler.create(metrics));
+    testRequest(HttpMethod.GET, "/nope", 404, "Not Found");
+    testRequest(HttpMethod.GET, "/metrics", null, resp -> {
+      assertEquals("application/json", resp.getHeader("content-type"));
+      assertEquals("no-store", resp.getHeader("cache-control"));
+    }, 200, "OK", null);
+  }
+
+  @Test
+  public void testNoInstrumentation() throws Exception {
+    router.route().handler(rc -> rc.response().end());
+    testRequest(HttpMethod.GET, "/", 200, "OK");
+  }
+}
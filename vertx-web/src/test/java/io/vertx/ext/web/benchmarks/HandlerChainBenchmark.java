@@ -0,0 +1,84 @@
+package io.vertx.ext.web.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.impl.HttpServerRequestInternal;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures the routing of a request through a long chain of handlers calling {@link RoutingContext#next()}.
+ * <p>
+ * The first handler of the chain parks the routing context, the benchmark then resumes it. The context is created in
+ * an invocation level setup, which is not measured.
+ * <p>
+ * Compiled with the {@code benchmarks} profile, run with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main HandlerChainBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HandlerChainBenchmark {
+
+  @Param({"10", "100"})
+  public int handlers;
+
+  private Vertx vertx;
+  private Router router;
+  private HttpServerRequestInternal request;
+  private Blackhole blackhole;
+  private RoutingContext parked;
+
+  @Setup
+  public void setup(Blackhole blackhole) {
+    this.blackhole = blackhole;
+    vertx = Vertx.vertx();
+    router = Router.router(vertx);
+    Route route = router.get("/chain");
+    route.handler(ctx -> parked = ctx);
+    for (int i = 2; i < handlers; i++) {
+      route.handler(RoutingContext::next);
+    }
+    // the last handler does not end the mocked response
+    route.handler(ctx -> this.blackhole.consume(ctx));
+
+    // stub only mocks do not record the invocations
+    request = mock(HttpServerRequestInternal.class, withSettings().stubOnly());
+    HttpServerResponse response = mock(HttpServerResponse.class, withSettings().stubOnly());
+    when(request.method()).thenReturn(HttpMethod.GET);
+    when(request.scheme()).thenReturn("http");
+    when(request.uri()).thenReturn("/chain");
+    when(request.absoluteURI()).thenReturn("http://localhost/chain");
+    when(request.host()).thenReturn("localhost");
+    when(request.path()).thenReturn("/chain");
+    when(request.response()).thenReturn(response);
+  }
+
+  @Setup(Level.Invocation)
+  public void createContext() {
+    router.handle(request);
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Benchmark
+  public void route() {
+    parked.next();
+  }
+}
@@ -18,12 +18,15 @@ package io.vertx.ext.web.handler;
 
 import io.vertx.core.Context;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.BlockingHandlerOptions;
 import io.vertx.ext.web.WebTestBase;
+import org.junit.Assume;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author <a href="mailto:stephane.bastian.dev@gmail.com">Stéphane Bastian</a>
@@ -166,4 +169,71 @@ public class BlockingHandlerTest extends WebTestBase {
     assertTrue(now - start < pause + leeway);
   }
 
+  private static boolean virtualThreadsSupported() {
+    try {
+      Thread.class.getMethod("ofVirtual").invoke(null);
+      return true;
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  @Test
+  public void testVirtualThreadHandler() throws Exception {
+    Assume.assumeTrue(virtualThreadsSupported());
+    List<Thread> threads = new ArrayList<>();
+    router.route().handler(rc -> {
+      threads.add(Thread.currentThread());
+      rc.next();
+    });
+    router.route().blockingHandler(rc -> {
+      assertTrue(Thread.currentThread().getName().startsWith("vertx-web-virtual-"));
+      assertTrue(rc.currentRoute() != null);
+      rc.put("value", "A");
+      rc.next();
+    }, new BlockingHandlerOptions().setVirtualThreads(true));
+    router.route().handler(rc -> {
+      // back on the event loop of the request
+      assertEquals(threads.get(0), Thread.currentThread());
+      rc.response().end(rc.<String>get("value"));
+    });
+    testRequest(HttpMethod.GET, "/", 200, "OK", "A");
+  }
+
+  @Test
+  public void testVirtualThreadMaxConcurrency() throws Exception {
+    Assume.assumeTrue(virtualThreadsSupported());
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    router.route().blockingHandler(rc -> {
+      int n = running.incrementAndGet();
+      maxRunning.accumulateAndGet(n, Math::max);
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException ignore) {
+      }
+      running.decrementAndGet();
+      rc.response().end();
+    }, new BlockingHandlerOptions().setVirtualThreads(true).setMaxConcurrency(2));
+
+    int requests = 8;
+    CountDownLatch latch = new CountDownLatch(requests);
+    for (int i = 0; i < requests; i++) {
+      client.request(HttpMethod.GET, "/", onSuccess(req -> req.send(onSuccess(resp -> {
+        assertEquals(200, resp.statusCode());
+        latch.countDown();
+      }))));
+    }
+    awaitLatch(latch);
+    assertTrue(maxRunning.get() <= 2);
+  }
+
+  @Test
+  public void testBlockingHandlerOptionsFailure() throws Exception {
+    // runs on the worker pool when virtual threads are not supported
+    router.route().blockingHandler(rc -> {
+      throw new IllegalStateException();
+    }, new BlockingHandlerOptions().setVirtualThreads(true));
+    testRequest(HttpMethod.GET, "/", 500, "Internal Server Error");
+  }
 }
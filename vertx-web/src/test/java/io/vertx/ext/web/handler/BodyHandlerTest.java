@@ -16,12 +16,15 @@
 
 package io.vertx.ext.web.handler;
 
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.OpenOptions;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.web.FileUpload;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.RoutingContext;
@@ -37,6 +40,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 /**
@@ -212,6 +216,140 @@ public class BodyHandlerTest extends WebTestBase {
     }, 413, "Request Entity Too Large", null);
   }
 
+  @Test
+  public void testBodySpilledToDisk() throws Exception {
+    String uploadsDirectory = tempUploads.newFolder().getPath();
+    router.clear();
+    router.route().handler(BodyHandler.create()
+      .setUploadsDirectory(uploadsDirectory)
+      .setBodySpilloverThreshold(1000));
+    Buffer buff = TestUtils.randomBuffer(100_000);
+    router.route().handler(rc -> {
+      String fileName = rc.body().fileName();
+      assertNotNull(fileName);
+      assertTrue(fileName.startsWith(uploadsDirectory + File.separator));
+      assertEquals(buff.length(), rc.body().length());
+      assertEquals(buff, vertx.fileSystem().readFileBlocking(fileName));
+      // never loaded on the event loop
+      try {
+        rc.body().buffer();
+        fail();
+      } catch (IllegalStateException ignore) {
+        // expected
+      }
+      try {
+        rc.body().asJsonObject();
+        fail();
+      } catch (IllegalStateException ignore) {
+        // expected
+      }
+      assertFalse(rc.body().isEmpty());
+      rc.response().end();
+    });
+    testRequest(HttpMethod.POST, "/", req -> {
+      req.setChunked(true);
+      req.write(buff);
+    }, 200, "OK", null);
+    // the temporary file is removed once the response is sent
+    assertWaitUntil(() -> vertx.fileSystem().readDirBlocking(uploadsDirectory).isEmpty());
+  }
+
+  @Test
+  public void testBodySpilledToRemovedUploadsDirectory() throws Exception {
+    File uploadsDirectory = new File(tempUploads.newFolder(), "uploads");
+    router.clear();
+    router.route().handler(BodyHandler.create()
+      .setUploadsDirectory(uploadsDirectory.getPath())
+      .setBodySpilloverThreshold(1000));
+    Buffer buff = TestUtils.randomBuffer(10_000);
+    router.route().handler(rc -> {
+      assertEquals(buff.length(), rc.body().length());
+      rc.response().end();
+    });
+    testRequest(HttpMethod.POST, "/", req -> {
+      req.setChunked(true);
+      req.write(buff);
+    }, 200, "OK", null);
+    assertWaitUntil(() -> vertx.fileSystem().readDirBlocking(uploadsDirectory.getPath()).isEmpty());
+    // removed after the handler created it
+    vertx.fileSystem().deleteBlocking(uploadsDirectory.getPath());
+    testRequest(HttpMethod.POST, "/", req -> {
+      req.setChunked(true);
+      req.write(buff);
+    }, 200, "OK", null);
+    assertTrue(uploadsDirectory.isDirectory());
+  }
+
+  @Test
+  public void testBodyBelowSpilloverThreshold() throws Exception {
+    router.clear();
+    router.route().handler(BodyHandler.create().setBodySpilloverThreshold(1000));
+    Buffer buff = TestUtils.randomBuffer(500);
+    router.route().handler(rc -> {
+      assertNull(rc.body().fileName());
+      assertEquals(buff, rc.body().buffer());
+      rc.body().openFile().onComplete(onFailure(err -> rc.response().end()));
+    });
+    testRequest(HttpMethod.POST, "/", req -> {
+      req.setChunked(true);
+      req.write(buff);
+    }, 200, "OK", null);
+  }
+
+  @Test
+  public void testBodySpilledToDiskTooBig() throws Exception {
+    String uploadsDirectory = tempUploads.newFolder().getPath();
+    router.clear();
+    router.route().handler(BodyHandler.create()
+      .setUploadsDirectory(uploadsDirectory)
+      .setBodySpilloverThreshold(1000)
+      .setBodyLimit(5000));
+    Buffer buff = TestUtils.randomBuffer(10000);
+    router.route().handler(rc -> fail("Should not be called"));
+    testRequest(HttpMethod.POST, "/", req -> {
+      req.setChunked(true);
+      req.write(buff);
+    }, 413, "Request Entity Too Large", null);
+    assertWaitUntil(() -> vertx.fileSystem().readDirBlocking(uploadsDirectory).isEmpty());
+  }
+
+  @Test
+  public void testCompositeBodyBuffer() throws Exception {
+    router.clear();
+    router.route().handler(BodyHandler.create().setCompositeBodyBuffer(true));
+    JsonObject json = new JsonObject().put("foo", "bar").put("data", TestUtils.randomAlphaString(100_000));
+    router.route().handler(rc -> {
+      assertEquals(json.encode().length(), rc.body().length());
+      assertEquals(json, rc.body().asJsonObject());
+      rc.response().end();
+    });
+    testRequest(HttpMethod.POST, "/", req -> {
+      req.setChunked(true);
+      req.write(json.encode());
+    }, 200, "OK", null);
+  }
+
+  @Test
+  public void testCompositeBodyBufferOutlivesRequest() throws Exception {
+    router.clear();
+    router.route().handler(BodyHandler.create().setCompositeBodyBuffer(true));
+    Buffer buff = Buffer.buffer(TestUtils.randomAlphaString(200_000));
+    AtomicReference<Buffer> kept = new AtomicReference<>();
+    router.route().handler(rc -> {
+      Buffer body = rc.body().buffer();
+      kept.set(body);
+      // echoed, the bytes may still be in the outbound buffer when the request ends
+      rc.response().end(body);
+    });
+    testRequest(HttpMethod.POST, "/", req -> {
+      req.setChunked(true);
+      req.write(buff);
+    }, 200, "OK", buff.toString());
+    // still readable once the response has been sent
+    assertEquals(1, kept.get().getByteBuf().refCnt());
+    assertEquals(buff, kept.get());
+  }
+
   @Test
   public void testFileUploadSmallUpload() throws Exception {
     testFileUpload(BodyHandler.DEFAULT_UPLOADS_DIRECTORY, 50);
@@ -268,6 +406,50 @@ public class BodyHandlerTest extends WebTestBase {
     sendFileUploadRequest(fileData, 200, "OK");
   }
 
+  @Test
+  public void testFileUploadToSink() throws Exception {
+    router.clear();
+    String uploadsDirectory = tempUploads.newFolder().getPath();
+    File sinkFile = new File(tempUploads.newFolder(), "sink.dat");
+    router.route().handler(BodyHandler.create()
+      .setUploadsDirectory(uploadsDirectory)
+      .setUploadSink(upload -> {
+        assertEquals("somefile.dat", upload.fileName());
+        return vertx.fileSystem().open(sinkFile.getPath(), new OpenOptions()).<WriteStream<Buffer>>map(file -> file);
+      }));
+    Buffer fileData = TestUtils.randomBuffer(20000);
+    router.route().handler(rc -> {
+      List<FileUpload> fileUploads = rc.fileUploads();
+      assertEquals(1, fileUploads.size());
+      FileUpload upload = fileUploads.get(0);
+      assertEquals("somename", upload.name());
+      assertEquals(fileData.length(), upload.size());
+      assertNull(upload.uploadedFileName());
+      // the sink has been ended
+      assertEquals(fileData, vertx.fileSystem().readFileBlocking(sinkFile.getPath()));
+      rc.response().end();
+    });
+    sendFileUploadRequest(fileData, 200, "OK");
+    assertTrue(vertx.fileSystem().readDirBlocking(uploadsDirectory).isEmpty());
+  }
+
+  @Test
+  public void testFileUploadToSinkFailure() throws Exception {
+    router.clear();
+    router.route().handler(BodyHandler.create()
+      .setUploadSink(upload -> Future.failedFuture("no sink")));
+    router.route().handler(rc -> fail("Should not be called"));
+    sendFileUploadRequest(TestUtils.randomBuffer(20000), 500, "Internal Server Error");
+  }
+
+  @Test
+  public void testFileUploadCreatesUploadsDir() throws Exception {
+    router.clear();
+    String uploadsDirectory = new File(tempUploads.newFolder(), "nested").getPath();
+    router.route().handler(BodyHandler.create().setUploadsDirectory(uploadsDirectory));
+    testFileUpload(uploadsDirectory, 5000);
+  }
+
   @Test
   public void testFileUploadTooBig() throws Exception {
     router.clear();
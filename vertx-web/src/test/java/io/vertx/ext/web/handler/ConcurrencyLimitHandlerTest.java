@@ -0,0 +1,65 @@
+package io.vertx.ext.web.handler;
+
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.WebTestBase;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ConcurrencyLimitHandlerTest extends WebTestBase {
+
+  private final AtomicReference<RoutingContext> held = new AtomicReference<>();
+  private CountDownLatch received;
+
+  private void setUpRoutes(ConcurrencyLimitHandler handler) {
+    received = new CountDownLatch(1);
+    router.route().handler(handler);
+    router.route("/slow").handler(rc -> {
+      held.set(rc);
+      received.countDown();
+    });
+    router.route("/fast").handler(rc -> rc.response().end());
+  }
+
+  private void sendSlowRequest() throws Exception {
+    client.request(HttpMethod.GET, "/slow")
+      .compose(req -> req.send().compose(HttpClientResponse::body))
+      .onComplete(onSuccess(body -> testComplete()));
+    awaitLatch(received);
+  }
+
+  @Test
+  public void testRejectAboveLimit() throws Exception {
+    ConcurrencyLimitHandler handler = ConcurrencyLimitHandler.create(new ConcurrencyLimitOptions()
+      .setInitialLimit(1)
+      .setMaxLimit(1));
+    setUpRoutes(handler);
+    sendSlowRequest();
+    assertEquals(1, handler.inflight());
+    testRequest(HttpMethod.GET, "/fast", null, resp -> assertEquals("1", resp.getHeader("Retry-After")), 503, "Service Unavailable", null);
+    held.get().response().end();
+    await();
+    assertWaitUntil(() -> handler.inflight() == 0);
+    testRequest(HttpMethod.GET, "/fast", 200, "OK");
+  }
+
+  @Test
+  public void testPriorities() throws Exception {
+    ConcurrencyLimitHandler handler = ConcurrencyLimitHandler.create(new ConcurrencyLimitOptions()
+        .setInitialLimit(2)
+        .setMaxLimit(2)
+        .setPriorities(2)
+        .setRetryAfter(0))
+      .priorityClassifier(rc -> "low".equals(rc.request().getHeader("x-priority")) ? 1 : 0);
+    setUpRoutes(handler);
+    sendSlowRequest();
+    // the low priority class may only use half of the limit
+    testRequest(HttpMethod.GET, "/fast", req -> req.putHeader("x-priority", "low"), resp -> assertNull(resp.getHeader("Retry-After")), 503, "Service Unavailable", null);
+    testRequest(HttpMethod.GET, "/fast", 200, "OK");
+    held.get().response().end();
+    await();
+  }
+}
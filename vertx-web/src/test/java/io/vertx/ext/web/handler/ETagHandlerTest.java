@@ -0,0 +1,72 @@
+package io.vertx.ext.web.handler;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.WebTestBase;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ETagHandlerTest extends WebTestBase {
+
+  @Test
+  public void testETag() throws Exception {
+    router.route().handler(ETagHandler.create());
+    router.route().handler(rc -> rc.response().end("{\"hello\":\"world\"}"));
+    AtomicReference<String> etag = new AtomicReference<>();
+    testRequest(HttpMethod.GET, "/", null, resp -> {
+      etag.set(resp.getHeader("etag"));
+      assertNotNull(etag.get());
+      assertTrue(etag.get().startsWith("\""));
+    }, 200, "OK", "{\"hello\":\"world\"}");
+    // stable
+    testRequest(HttpMethod.GET, "/", null, resp -> assertEquals(etag.get(), resp.getHeader("etag")), 200, "OK", "{\"hello\":\"world\"}");
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("if-none-match", etag.get()), resp -> {
+      assertEquals(etag.get(), resp.getHeader("etag"));
+    }, 304, "Not Modified", "");
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("if-none-match", "\"other\""), null, 200, "OK", "{\"hello\":\"world\"}");
+  }
+
+  @Test
+  public void testMultipleWrites() throws Exception {
+    router.route().handler(ETagHandler.create());
+    router.route("/single").handler(rc -> rc.response().end("hello world"));
+    router.route("/multiple").handler(rc -> {
+      rc.response().putHeader("content-length", "11");
+      rc.response().write("hello ");
+      rc.response().end("world");
+    });
+    AtomicReference<String> etag = new AtomicReference<>();
+    testRequest(HttpMethod.GET, "/single", null, resp -> etag.set(resp.getHeader("etag")), 200, "OK", "hello world");
+    testRequest(HttpMethod.GET, "/multiple", null, resp -> assertEquals(etag.get(), resp.getHeader("etag")), 200, "OK", "hello world");
+  }
+
+  @Test
+  public void testWeak() throws Exception {
+    router.route().handler(ETagHandler.create(true, ETagHandler.DEFAULT_MAX_BUFFER_SIZE));
+    router.route().handler(rc -> rc.response().end("hello"));
+    AtomicReference<String> etag = new AtomicReference<>();
+    testRequest(HttpMethod.GET, "/", null, resp -> {
+      etag.set(resp.getHeader("etag"));
+      assertTrue(etag.get().startsWith("W/\""));
+    }, 200, "OK", "hello");
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("if-none-match", etag.get()), null, 304, "Not Modified", "");
+  }
+
+  @Test
+  public void testPassThrough() throws Exception {
+    router.route().handler(ETagHandler.create(false, 8));
+    router.route("/etag").handler(rc -> rc.response().putHeader("etag", "\"v1\"").end("hello"));
+    router.route("/chunked").handler(rc -> {
+      rc.response().setChunked(true).write("hello ");
+      rc.response().end("world");
+    });
+    router.route("/large").handler(rc -> rc.response().end("hello world"));
+    router.route("/error").handler(rc -> rc.response().setStatusCode(404).end("hello"));
+    router.route("/post").handler(rc -> rc.response().end("hello"));
+    testRequest(HttpMethod.GET, "/etag", null, resp -> assertEquals("\"v1\"", resp.getHeader("etag")), 200, "OK", "hello");
+    testRequest(HttpMethod.GET, "/chunked", null, resp -> assertNull(resp.getHeader("etag")), 200, "OK", "hello world");
+    testRequest(HttpMethod.GET, "/large", null, resp -> assertNull(resp.getHeader("etag")), 200, "OK", "hello world");
+    testRequest(HttpMethod.GET, "/error", null, resp -> assertNull(resp.getHeader("etag")), 404, "Not Found", "hello");
+    testRequest(HttpMethod.POST, "/post", null, resp -> assertNull(resp.getHeader("etag")), 200, "OK", "hello");
+  }
+}
@@ -36,11 +36,13 @@ import io.vertx.ext.bridge.BridgeEventType;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.WebTestBase;
 import io.vertx.ext.web.handler.sockjs.*;
+import io.vertx.ext.web.handler.sockjs.impl.CborCodec;
 import io.vertx.ext.web.handler.sockjs.impl.JsonCodec;
 import io.vertx.ext.web.sstore.LocalSessionStore;
 import io.vertx.ext.web.sstore.SessionStore;
 import io.vertx.ext.bridge.PermittedOptions;
 import io.vertx.test.core.TestUtils;
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -621,6 +623,80 @@ public class EventbusBridgeTest extends WebTestBase {
     testReceive(false);
   }
 
+  @Test
+  public void testReceivePublishedBySeveralSockets() throws Exception {
+    router.route("/eventbus/*").subRouter(
+      sockJS.bridge(allAccessOptions));
+    int sockets = 3;
+    JsonObject body = new JsonObject().put("foo", "bar");
+    CountDownLatch registered = new CountDownLatch(sockets);
+    CountDownLatch received = new CountDownLatch(sockets);
+    for (int i = 0; i < sockets; i++) {
+      BridgeClient client = new BridgeClient();
+      client.handler((address, msg) -> {
+        assertEquals(addr, address);
+        assertEquals(body, msg.getValue("body"));
+        received.countDown();
+      });
+      client.connect(websocketURI)
+        .compose(v -> client.register(addr))
+        .onComplete(onSuccess(v -> registered.countDown()));
+    }
+    awaitLatch(registered);
+    // Wait a bit to allow the handlers to be setup on the server, then publish from the eventbus
+    vertx.setTimer(200, tid -> vertx.eventBus().publish(addr, body));
+    awaitLatch(received);
+  }
+
+  @Test
+  public void testReceiveSentBySingleSocket() throws Exception {
+    router.route("/eventbus/*").subRouter(
+      sockJS.bridge(allAccessOptions));
+    int sockets = 3;
+    AtomicInteger received = new AtomicInteger();
+    CountDownLatch registered = new CountDownLatch(sockets);
+    for (int i = 0; i < sockets; i++) {
+      BridgeClient client = new BridgeClient();
+      client.handler((address, msg) -> received.incrementAndGet());
+      client.connect(websocketURI)
+        .compose(v -> client.register(addr))
+        .onComplete(onSuccess(v -> registered.countDown()));
+    }
+    awaitLatch(registered);
+    vertx.setTimer(200, tid -> {
+      vertx.eventBus().send(addr, "foobar");
+      vertx.setTimer(500, tid2 -> {
+        assertEquals(1, received.get());
+        testComplete();
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testCborFraming() throws Exception {
+    // the SockJS protocol only carries text
+    Assume.assumeTrue(transport == Transport.RAW_WS);
+    router.route("/eventbus/*").subRouter(
+      sockJS.bridge(new SockJSBridgeOptions(allAccessOptions).setCborFraming(true)));
+    JsonObject body = new JsonObject().put("foo", "bar").put("blah", 123).put("list", new JsonArray().add(1.5).add(true));
+    client.webSocket(websocketURI).onComplete(onSuccess(ws -> {
+      ws.binaryMessageHandler(buff -> {
+        JsonObject received = CborCodec.decode(buff);
+        assertEquals("rec", received.getString("type"));
+        assertEquals(addr, received.getString("address"));
+        assertEquals(body, received.getJsonObject("body"));
+        testComplete();
+      });
+      ws.writeBinaryMessage(CborCodec.encode(new JsonObject().put("type", "register").put("address", addr)))
+        .onComplete(onSuccess(v -> {
+          // Wait a bit to allow the handler to be setup on the server, then publish from the eventbus
+          vertx.setTimer(200, tid -> vertx.eventBus().publish(addr, body));
+        }));
+    }));
+    await();
+  }
+
   @Test
   public void testUnregisterAllAccess() throws Exception {
     router.route("/eventbus/*").subRouter(
@@ -18,9 +18,18 @@ package io.vertx.ext.web.handler;
 
 import io.vertx.core.http.HttpMethod;
 import io.vertx.ext.web.WebTestBase;
+import io.vertx.ext.web.handler.impl.LoggerHandlerImpl;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
@@ -30,6 +39,9 @@ import java.util.concurrent.CountDownLatch;
  */
 public class LoggerHandlerTest extends WebTestBase {
 
+  @Rule
+  public TemporaryFolder tempLogs = new TemporaryFolder();
+
   @Override
   public void setUp() throws Exception {
     super.setUp();
@@ -76,6 +88,88 @@ public class LoggerHandlerTest extends WebTestBase {
     latch.await();
   }
 
+  @Test
+  public void testTinyFormat() throws Exception {
+    BlockingQueue<String> lines = new ArrayBlockingQueue<>(1);
+    LoggerHandler logger = new LoggerHandlerImpl(false, LoggerFormat.TINY) {
+      @Override
+      protected void doLog(int status, String message) {
+        lines.add(status + " " + message);
+      }
+    };
+    testLogger(logger);
+    String line = lines.poll(10, TimeUnit.SECONDS);
+    assertNotNull(line);
+    assertTrue(line, line.matches("200 GET /somedir 200 0 - \\d+ ms"));
+  }
+
+  @Test
+  public void testAsyncLogger() throws Exception {
+    BlockingQueue<String> lines = new ArrayBlockingQueue<>(1);
+    LoggerHandler logger = new LoggerHandlerImpl(false, LoggerFormat.DEFAULT, new AccessLogOptions()) {
+      @Override
+      protected void doLog(int status, String message) {
+        lines.add(Thread.currentThread().getName() + " " + message);
+      }
+    };
+    testLogger(logger);
+    String line = lines.poll(10, TimeUnit.SECONDS);
+    assertNotNull(line);
+    assertTrue(line, line.startsWith("vertx-web-access-log "));
+    assertTrue(line, line.contains(" - - ["));
+    assertTrue(line, line.endsWith("] \"GET /somedir HTTP/1.1\" 200 0 \"-\" \"-\""));
+  }
+
+  @Test
+  public void testAsyncFileLogger() throws Exception {
+    File file = new File(tempLogs.getRoot(), "access.log");
+    LoggerHandler logger = LoggerHandler.create(LoggerFormat.DEFAULT, new AccessLogOptions()
+      .setPath(file.getAbsolutePath())
+      .setPattern("%m %U%q %>s %B %{X-Test}i %{X-Missing}i %%"));
+    router.route().handler(logger);
+    router.route().handler(rc -> rc.response().end("hello"));
+    testRequest(HttpMethod.GET, "/somedir?foo=bar", req -> req.putHeader("X-Test", "foo"), 200, "OK", "hello");
+    assertWaitUntil(() -> file.length() > 0);
+    String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    assertEquals("GET /somedir?foo=bar 200 5 foo - %\n", content);
+  }
+
+  @Test
+  public void testAsyncLoggerBlockPolicyOnEventLoop() throws Exception {
+    BlockingQueue<String> lines = new ArrayBlockingQueue<>(16);
+    LoggerHandler logger = new LoggerHandlerImpl(false, LoggerFormat.TINY, new AccessLogOptions()
+      .setQueueSize(2)
+      .setOverflowPolicy(AccessLogOverflowPolicy.BLOCK)) {
+      @Override
+      protected void doLog(int status, String message) {
+        try {
+          // a slow output fills the queue
+          Thread.sleep(50);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        lines.add(Thread.currentThread().getName());
+      }
+    };
+    router.route().handler(logger);
+    router.route().handler(rc -> rc.response().end());
+    for (int i = 0; i < 8; i++) {
+      testRequest(HttpMethod.GET, "/somedir", 200, "OK");
+    }
+    // no line is dropped, the event loop writes the queued lines itself when the queue is full
+    assertWaitUntil(() -> lines.size() == 8);
+  }
+
+  @Test
+  public void testInvalidPattern() {
+    try {
+      LoggerHandler.create(LoggerFormat.DEFAULT, new AccessLogOptions().setPattern("%h %Z"));
+      fail();
+    } catch (IllegalArgumentException ignore) {
+      // expected
+    }
+  }
+
   private void testLogger(LoggerHandler logger) throws Exception {
     router.route().handler(logger);
     router.route().handler(rc -> rc.response().end());
@@ -0,0 +1,80 @@
+package io.vertx.ext.web.handler;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.WebTestBase;
+import org.junit.Test;
+
+public class RateLimitHandlerTest extends WebTestBase {
+
+  @Test
+  public void testLimit() throws Exception {
+    router.route().handler(RateLimitHandler.create(vertx, new RateLimitOptions().setLimit(2).setPeriod(60_000)));
+    router.route().handler(rc -> rc.response().end());
+    testRequest(HttpMethod.GET, "/", null, resp -> {
+      assertEquals("2", resp.getHeader("RateLimit-Limit"));
+      assertEquals("1", resp.getHeader("RateLimit-Remaining"));
+      assertEquals("30", resp.getHeader("RateLimit-Reset"));
+    }, 200, "OK", null);
+    testRequest(HttpMethod.GET, "/", null, resp -> {
+      assertEquals("0", resp.getHeader("RateLimit-Remaining"));
+      assertEquals("60", resp.getHeader("RateLimit-Reset"));
+    }, 200, "OK", null);
+    testRequest(HttpMethod.GET, "/", null, resp -> {
+      assertEquals("0", resp.getHeader("RateLimit-Remaining"));
+      assertEquals("30", resp.getHeader("Retry-After"));
+    }, 429, "Too Many Requests", null);
+  }
+
+  @Test
+  public void testHeaderKey() throws Exception {
+    router.route().handler(RateLimitHandler.create(vertx, new RateLimitOptions()
+      .setLimit(1)
+      .setKeySource(RateLimitKeySource.HEADER)
+      .setKeyName("x-api-key")));
+    router.route().handler(rc -> rc.response().end());
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("x-api-key", "a"), 200, "OK", null);
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("x-api-key", "a"), 429, "Too Many Requests", null);
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("x-api-key", "b"), 200, "OK", null);
+    // no header, limited by client address
+    testRequest(HttpMethod.GET, "/", 200, "OK");
+  }
+
+  @Test
+  public void testKeyExtractor() throws Exception {
+    router.route().handler(RateLimitHandler.create(vertx, new RateLimitOptions().setLimit(1))
+      .keyExtractor(rc -> rc.request().path()));
+    router.route().handler(rc -> rc.response().end());
+    testRequest(HttpMethod.GET, "/a", 200, "OK");
+    testRequest(HttpMethod.GET, "/a", 429, "Too Many Requests");
+    testRequest(HttpMethod.GET, "/b", 200, "OK");
+  }
+
+  @Test
+  public void testMissingKeyName() {
+    try {
+      RateLimitHandler.create(vertx, new RateLimitOptions().setKeySource(RateLimitKeySource.PARAMETER));
+      fail();
+    } catch (IllegalArgumentException ignore) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testClustered() throws Exception {
+    // two handlers sharing the counters, as two nodes would
+    RateLimitOptions options = new RateLimitOptions()
+      .setLimit(2)
+      .setClustered(true)
+      .setSyncInterval(10);
+    router.route("/node1").handler(RateLimitHandler.create(vertx, options));
+    router.route("/node2").handler(RateLimitHandler.create(vertx, options));
+    router.route().handler(rc -> rc.response().end());
+    testRequest(HttpMethod.GET, "/node1", 200, "OK");
+    testRequest(HttpMethod.GET, "/node1", 200, "OK");
+    Thread.sleep(200);
+    // node2 does not know yet
+    testRequest(HttpMethod.GET, "/node2", 200, "OK");
+    Thread.sleep(200);
+    testRequest(HttpMethod.GET, "/node2", null, resp -> assertNotNull(resp.getHeader("Retry-After")), 429, "Too Many Requests", null);
+  }
+}
@@ -0,0 +1,224 @@
+package io.vertx.ext.web.handler;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.WebTestBase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResponseCacheHandlerTest extends WebTestBase {
+
+  @Test
+  public void testHit() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    router.route().handler(ResponseCacheHandler.create());
+    router.route().handler(rc -> rc.response()
+      .putHeader("cache-control", "max-age=60")
+      .putHeader("x-count", Integer.toString(count.incrementAndGet()))
+      .end("hello"));
+    testRequest(HttpMethod.GET, "/", null, resp -> assertNull(resp.getHeader("age")), 200, "OK", "hello");
+    testRequest(HttpMethod.GET, "/", null, resp -> {
+      assertEquals("0", resp.getHeader("age"));
+      assertEquals("1", resp.getHeader("x-count"));
+      assertEquals("max-age=60", resp.getHeader("cache-control"));
+    }, 200, "OK", "hello");
+    testRequest(HttpMethod.HEAD, "/", null, resp -> assertEquals("5", resp.getHeader("content-length")), 200, "OK", null);
+    // another URI
+    testRequest(HttpMethod.GET, "/?a=b", 200, "OK", "hello");
+    assertEquals(2, count.get());
+  }
+
+  @Test
+  public void testChunkedBody() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    router.route().handler(ResponseCacheHandler.create());
+    router.route().handler(rc -> {
+      count.incrementAndGet();
+      rc.response().setChunked(true).putHeader("cache-control", "max-age=60");
+      rc.response().write("hello ");
+      rc.response().end("world");
+    });
+    testRequest(HttpMethod.GET, "/", 200, "OK", "hello world");
+    testRequest(HttpMethod.GET, "/", 200, "OK", "hello world");
+    assertEquals(1, count.get());
+  }
+
+  @Test
+  public void testNotStored() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    router.route().handler(ResponseCacheHandler.create(new ResponseCacheOptions().setMaxBodySize(4)));
+    router.route("/implicit").handler(rc -> rc.response().end(Integer.toString(count.incrementAndGet())));
+    router.route("/private").handler(rc -> rc.response()
+      .putHeader("cache-control", "private, max-age=60")
+      .end(Integer.toString(count.incrementAndGet())));
+    router.route("/no-store").handler(rc -> rc.response()
+      .putHeader("cache-control", "no-store, max-age=60")
+      .end(Integer.toString(count.incrementAndGet())));
+    router.route("/cookie").handler(rc -> rc.response()
+      .putHeader("cache-control", "max-age=60")
+      .putHeader("set-cookie", "a=b")
+      .end(Integer.toString(count.incrementAndGet())));
+    router.route("/large").handler(rc -> rc.response()
+      .putHeader("cache-control", "max-age=60")
+      .end(Integer.toString(count.incrementAndGet()) + "0000"));
+    router.route("/error").handler(rc -> rc.response()
+      .setStatusCode(500)
+      .putHeader("cache-control", "max-age=60")
+      .end(Integer.toString(count.incrementAndGet())));
+    for (String path : new String[] { "/implicit", "/private", "/no-store", "/cookie", "/large" }) {
+      count.set(0);
+      testRequest(HttpMethod.GET, path, 200, "OK");
+      testRequest(HttpMethod.GET, path, 200, "OK");
+      assertEquals(path, 2, count.get());
+    }
+    count.set(0);
+    testRequest(HttpMethod.GET, "/error", 500, "Internal Server Error");
+    testRequest(HttpMethod.GET, "/error", 500, "Internal Server Error");
+    assertEquals(2, count.get());
+  }
+
+  @Test
+  public void testRequestDirectives() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    router.route().handler(ResponseCacheHandler.create());
+    router.route().handler(rc -> rc.response()
+      .putHeader("cache-control", "max-age=60")
+      .end(Integer.toString(count.incrementAndGet())));
+    testRequest(HttpMethod.GET, "/", 200, "OK", "1");
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("cache-control", "no-store"), 200, "OK", "2");
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("authorization", "Basic dXNlcjpwYXNz"), 200, "OK", "3");
+    testRequest(HttpMethod.GET, "/", 200, "OK", "1");
+    // refreshes the stored response
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("cache-control", "no-cache"), 200, "OK", "4");
+    testRequest(HttpMethod.GET, "/", 200, "OK", "4");
+  }
+
+  @Test
+  public void testExpiration() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    router.route().handler(ResponseCacheHandler.create());
+    router.route().handler(rc -> rc.response()
+      .putHeader("cache-control", "max-age=1")
+      .end(Integer.toString(count.incrementAndGet())));
+    testRequest(HttpMethod.GET, "/", 200, "OK", "1");
+    testRequest(HttpMethod.GET, "/", 200, "OK", "1");
+    Thread.sleep(1100);
+    testRequest(HttpMethod.GET, "/", 200, "OK", "2");
+  }
+
+  @Test
+  public void testVary() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    router.route().handler(ResponseCacheHandler.create());
+    router.route().handler(rc -> rc.response()
+      .putHeader("cache-control", "max-age=60")
+      .putHeader("vary", "Accept-Language")
+      .end(rc.request().getHeader("accept-language") + count.incrementAndGet()));
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("accept-language", "en"), 200, "OK", "en1");
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("accept-language", "fr"), 200, "OK", "fr2");
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("accept-language", "en"), 200, "OK", "en1");
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("accept-language", "fr"), 200, "OK", "fr2");
+  }
+
+  @Test
+  public void testCoalesceMisses() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    router.route().handler(ResponseCacheHandler.create());
+    router.route().handler(rc -> {
+      count.incrementAndGet();
+      vertx.setTimer(200, id -> rc.response().putHeader("cache-control", "max-age=60").end("slow"));
+    });
+    int requests = 10;
+    CountDownLatch latch = new CountDownLatch(requests);
+    for (int i = 0; i < requests; i++) {
+      client.request(HttpMethod.GET, "/")
+        .compose(req -> req.send().compose(resp -> resp.body()))
+        .onComplete(onSuccess(body -> {
+          assertEquals("slow", body.toString());
+          latch.countDown();
+        }));
+    }
+    awaitLatch(latch);
+    assertEquals(1, count.get());
+  }
+
+  @Test
+  public void testCoalescedMissWaitTimeout() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    router.route().handler(ResponseCacheHandler.create(new ResponseCacheOptions().setMaxCoalescingWait(100)));
+    router.route().handler(rc -> {
+      if (count.getAndIncrement() == 0) {
+        // much slower than the wait of the other misses
+        vertx.setTimer(5000, id -> rc.response().putHeader("cache-control", "max-age=60").end("stuck"));
+      } else {
+        rc.response().end("fast");
+      }
+    });
+    client.request(HttpMethod.GET, "/").compose(req -> req.send());
+    assertWaitUntil(() -> count.get() == 1);
+    testRequest(HttpMethod.GET, "/", 200, "OK", "fast");
+    assertEquals(2, count.get());
+  }
+
+  @Test
+  public void testUncacheableMissesNotCoalesced() throws Exception {
+    int requests = 5;
+    AtomicInteger count = new AtomicInteger();
+    List<RoutingContext> pending = Collections.synchronizedList(new ArrayList<>());
+    router.route().handler(ResponseCacheHandler.create());
+    router.route().handler(rc -> {
+      if (count.getAndIncrement() == 0) {
+        rc.response().end("first");
+        return;
+      }
+      // only answers once all the requests are being handled at once
+      pending.add(rc);
+      if (pending.size() == requests) {
+        pending.forEach(p -> p.response().end("uncacheable"));
+      }
+    });
+    testRequest(HttpMethod.GET, "/", 200, "OK", "first");
+    CountDownLatch latch = new CountDownLatch(requests);
+    for (int i = 0; i < requests; i++) {
+      client.request(HttpMethod.GET, "/")
+        .compose(req -> req.send().compose(resp -> resp.body()))
+        .onComplete(onSuccess(body -> {
+          assertEquals("uncacheable", body.toString());
+          latch.countDown();
+        }));
+    }
+    awaitLatch(latch);
+    assertEquals(requests + 1, count.get());
+  }
+
+  @Test
+  public void testVaryStarNotStored() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    router.route().handler(ResponseCacheHandler.create());
+    router.route().handler(rc -> rc.response()
+      .putHeader("cache-control", "max-age=60")
+      .putHeader("vary", "Accept-Language, *")
+      .end(Integer.toString(count.incrementAndGet())));
+    testRequest(HttpMethod.GET, "/", 200, "OK", "1");
+    testRequest(HttpMethod.GET, "/", 200, "OK", "2");
+  }
+
+  @Test
+  public void testLocalStoreBounds() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    router.route().handler(ResponseCacheHandler.create(new ResponseCacheOptions().setMaxEntries(1)));
+    router.route().handler(rc -> rc.response()
+      .putHeader("cache-control", "max-age=60")
+      .end(Integer.toString(count.incrementAndGet())));
+    testRequest(HttpMethod.GET, "/a", 200, "OK", "1");
+    testRequest(HttpMethod.GET, "/a", 200, "OK", "1");
+    testRequest(HttpMethod.GET, "/b", 200, "OK", "2");
+    // evicted
+    testRequest(HttpMethod.GET, "/a", 200, "OK", "3");
+  }
+}
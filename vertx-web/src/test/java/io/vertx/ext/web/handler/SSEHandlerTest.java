@@ -0,0 +1,99 @@
+package io.vertx.ext.web.handler;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.WebTestBase;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+public class SSEHandlerTest extends WebTestBase {
+
+  @Test
+  public void testSend() {
+    router.get("/sse").handler(SSEHandler.create(new SSEOptions().setRetry(1000)).connectHandler(conn -> {
+      conn.send("hello");
+      conn.send("greeting", "hello\nworld", "1");
+      conn.close();
+    }));
+    client.request(HttpMethod.GET, "/sse")
+      .compose(req -> req.send().compose(resp -> {
+        assertEquals("text/event-stream", resp.getHeader("content-type"));
+        assertEquals("no-cache", resp.getHeader("cache-control"));
+        return resp.body();
+      }))
+      .onComplete(onSuccess(body -> {
+        assertEquals("retry: 1000\n\n" +
+          "data: hello\n\n" +
+          "id: 1\nevent: greeting\ndata: hello\ndata: world\n\n", body.toString());
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testBroadcast() throws Exception {
+    int clients = 3;
+    CountDownLatch connected = new CountDownLatch(clients);
+    SSEHandler sse = SSEHandler.create().connectHandler(conn -> {
+      conn.subscribe("news");
+      conn.subscribe("weather");
+      connected.countDown();
+    });
+    router.get("/sse").handler(sse);
+    String expected = ":\n\n" +
+      "id: 1\ndata: first\n\n" +
+      "id: 2\nevent: forecast\ndata: sunny\n\n";
+    CountDownLatch received = new CountDownLatch(clients);
+    for (int i = 0; i < clients; i++) {
+      client.request(HttpMethod.GET, "/sse")
+        .compose(req -> req.send())
+        .onComplete(onSuccess(resp -> {
+          Buffer body = Buffer.buffer();
+          resp.handler(buff -> {
+            body.appendBuffer(buff);
+            if (body.length() == expected.length()) {
+              assertEquals(expected, body.toString());
+              received.countDown();
+            }
+          });
+        }));
+    }
+    awaitLatch(connected);
+    sse.broadcast("news", "first");
+    sse.broadcast("weather", "forecast", "sunny");
+    sse.broadcast("sports", "not subscribed");
+    awaitLatch(received);
+  }
+
+  @Test
+  public void testReplay() throws Exception {
+    SSEHandler sse = SSEHandler.create(new SSEOptions().setReplaySize(2)).connectHandler(conn -> {
+      conn.subscribe("news");
+      conn.close();
+    });
+    router.get("/sse").handler(sse);
+    sse.broadcast("news", "1");
+    sse.broadcast("news", "2");
+    sse.broadcast("news", "3");
+    // resume after the second event
+    testReplay("2", ":\n\nid: 3\ndata: 3\n\n");
+    // the first event is no longer retained, replay what is available
+    testReplay("0", ":\n\nid: 2\ndata: 2\n\nid: 3\ndata: 3\n\n");
+    // up to date
+    testReplay("3", ":\n\n");
+    // not a broadcast id
+    testReplay("abc", ":\n\n");
+  }
+
+  private void testReplay(String lastEventId, String expected) throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    client.request(HttpMethod.GET, "/sse")
+      .compose(req -> req.putHeader("Last-Event-ID", lastEventId).send().compose(resp -> resp.body()))
+      .onComplete(onSuccess(body -> {
+        assertEquals(expected, body.toString());
+        latch.countDown();
+      }));
+    awaitLatch(latch);
+  }
+}
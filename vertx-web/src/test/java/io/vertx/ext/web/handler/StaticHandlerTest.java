@@ -21,6 +21,7 @@ import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Promise;
 import io.vertx.core.http.*;
 import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.PemKeyCertOptions;
 import io.vertx.core.net.PemTrustOptions;
 import io.vertx.ext.web.Http2PushMapping;
@@ -481,6 +482,77 @@ public class StaticHandlerTest extends WebTestBase {
     testRequest(HttpMethod.GET, "/fspage.html", 200, "OK", "<html><body>File system page</body></html>");
   }
 
+  @Test
+  public void testAssetManifest() throws Exception {
+    AtomicReference<AssetManifest> manifestRef = new AtomicReference<>();
+    CountDownLatch latch = new CountDownLatch(1);
+    AssetManifest.create(vertx, "src/test/filesystemwebroot").onComplete(onSuccess(manifest -> {
+      manifestRef.set(manifest);
+      latch.countDown();
+    }));
+    awaitLatch(latch);
+    AssetManifest manifest = manifestRef.get();
+
+    String hashed = manifest.resolve("/fspage.html");
+    assertTrue(hashed, hashed.matches("/fspage\\.[0-9a-f]{16}\\.html"));
+    assertEquals(hashed.substring(1), manifest.resolve("fspage.html"));
+    assertEquals(hashed.substring(1), manifest.toJson().getString("fspage.html"));
+    assertNull(manifest.resolve("missing.html"));
+
+    stat = StaticHandler.create("src/test/filesystemwebroot").setAssetManifest(manifest);
+    router.clear();
+    router.route().handler(stat);
+
+    AtomicReference<String> etag = new AtomicReference<>();
+    testRequest(HttpMethod.GET, hashed, null, res -> {
+      String cacheControl = res.headers().get("cache-control");
+      assertTrue(cacheControl.contains("immutable"));
+      assertTrue(cacheControl.contains("max-age=31536000"));
+      etag.set(res.headers().get("etag"));
+      assertNotNull(etag.get());
+    }, 200, "OK", "<html><body>File system page</body></html>");
+    // revalidations are answered without checking the file
+    testRequest(HttpMethod.GET, hashed, req -> req.putHeader("if-none-match", etag.get()), null, 304, "Not Modified", null);
+    testRequest(HttpMethod.GET, hashed, req -> req.putHeader("if-modified-since", Utils.formatRFC1123DateTime(0)), null, 304, "Not Modified", null);
+    // the logical path is still served as usual
+    testRequest(HttpMethod.GET, "/fspage.html", 200, "OK", "<html><body>File system page</body></html>");
+    testRequest(HttpMethod.GET, "/fspage.0000000000000000.html", 404, "Not Found");
+  }
+
+  @Test
+  public void testAssetManifestClasspathWebRoot() {
+    AssetManifest.create(vertx, "webroot").onComplete(onSuccess(manifest -> {
+      String hashed = manifest.resolve("somedir/something.html");
+      assertNotNull(hashed);
+      assertTrue(hashed, hashed.matches("somedir/something\\.[0-9a-f]{16}\\.html"));
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testAssetManifestOtherWebRoot() {
+    AssetManifest.create(vertx, "webroot").onComplete(onSuccess(manifest -> {
+      try {
+        StaticHandler.create("src/test/filesystemwebroot").setAssetManifest(manifest);
+        fail();
+      } catch (IllegalArgumentException ignore) {
+        // expected
+      }
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testAssetManifestInvalidWebRoot() {
+    AssetManifest.create(vertx, "src/test/filesystemwebroot/fspage.html").onComplete(onFailure(err -> {
+      assertTrue(err instanceof IllegalArgumentException);
+      testComplete();
+    }));
+    await();
+  }
+
   @Test
   public void testCacheFilesNotReadOnly() throws Exception {
     stat.setFilesReadOnly(false);
@@ -690,6 +762,39 @@ public class StaticHandlerTest extends WebTestBase {
     }
   }
 
+  @Test
+  public void testFSMetrics() throws Exception {
+    stat.setCachingEnabled(false);
+    for (int i = 0; i < 10; i++) {
+      testRequest(HttpMethod.GET, "/otherpage.html", 200, "OK", "<html><body>Other page</body></html>");
+    }
+    JsonObject metrics = stat.fsMetrics();
+    // a single props lookup per request
+    assertEquals(10, metrics.getLong("blockingCalls") + metrics.getLong("asyncCalls"));
+    assertFalse(metrics.getJsonArray("eventLoops").isEmpty());
+  }
+
+  @Test
+  public void testFSAlwaysAsyncBounded() throws Exception {
+    stat.setCachingEnabled(false);
+    stat.setAlwaysAsyncFS(true);
+    stat.setMaxAsyncFSConcurrency(1);
+    int num = 20;
+    CountDownLatch latch = new CountDownLatch(num);
+    for (int i = 0; i < num; i++) {
+      client.request(HttpMethod.GET, "/otherpage.html")
+        .compose(req -> req.send().compose(HttpClientResponse::body))
+        .onComplete(onSuccess(body -> {
+          assertEquals("<html><body>Other page</body></html>", body.toString());
+          latch.countDown();
+        }));
+    }
+    awaitLatch(latch);
+    JsonObject metrics = stat.fsMetrics();
+    assertEquals(0, (long) metrics.getLong("blockingCalls"));
+    assertEquals(num, (long) metrics.getLong("asyncCalls"));
+  }
+
   @Test
   public void testServerRelativeToPath() throws Exception {
     router.clear();
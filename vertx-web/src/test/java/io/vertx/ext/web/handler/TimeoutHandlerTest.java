@@ -18,6 +18,7 @@ package io.vertx.ext.web.handler;
 
 import io.vertx.core.http.HttpMethod;
 import io.vertx.ext.web.WebTestBase;
+import io.vertx.ext.web.common.impl.Deadline;
 import org.junit.Test;
 
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -66,5 +67,38 @@ public class TimeoutHandlerTest extends WebTestBase {
     Thread.sleep(1000); // Let timer kick in, if it's going to
   }
 
+  @Test
+  public void testDeadline() throws Exception {
+    long timeout = 500;
+    router.route().handler(TimeoutHandler.create(timeout));
+    router.route().handler(rc -> {
+      Deadline deadline = rc.get(TimeoutHandler.DEADLINE_KEY);
+      assertNotNull(deadline);
+      assertSame(deadline, Deadline.current());
+      assertTrue(deadline.remaining() > 0);
+      assertTrue(deadline.remaining() <= timeout);
+      rc.addEndHandler(v -> {
+        assertTrue(deadline.isCancelled());
+        assertEquals(0, deadline.remaining());
+      });
+      rc.response().end();
+    });
+    testRequest(HttpMethod.GET, "/", 200, "OK");
+  }
+
+  @Test
+  public void testDeadlineCancelledOnTimeout() throws Exception {
+    long timeout = 500;
+    AtomicBoolean cancelled = new AtomicBoolean();
+    router.route().handler(TimeoutHandler.create(timeout));
+    router.route().handler(rc -> {
+      Deadline deadline = Deadline.current();
+      assertTrue(deadline.addCancelHandler(v -> cancelled.set(true)));
+      // Don't end it
+    });
+    testRequest(HttpMethod.GET, "/", 503, "Service Unavailable");
+    assertTrue(cancelled.get());
+  }
+
 
 }
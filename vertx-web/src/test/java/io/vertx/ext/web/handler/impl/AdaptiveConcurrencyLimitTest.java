@@ -0,0 +1,102 @@
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.ext.web.handler.ConcurrencyLimitOptions;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AdaptiveConcurrencyLimitTest {
+
+  private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private static void round(AdaptiveConcurrencyLimit limit, long rtt) {
+    int acquired = 0;
+    while (limit.tryAcquire(1.0)) {
+      acquired++;
+    }
+    for (int i = 0; i < acquired; i++) {
+      limit.release(rtt, false);
+    }
+  }
+
+  @Test
+  public void testAcquire() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new ConcurrencyLimitOptions().setInitialLimit(4));
+    for (int i = 0; i < 4; i++) {
+      assertTrue(limit.tryAcquire(1.0));
+    }
+    assertFalse(limit.tryAcquire(1.0));
+    assertEquals(4, limit.inflight());
+    limit.cancel();
+    assertTrue(limit.tryAcquire(1.0));
+  }
+
+  @Test
+  public void testShare() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new ConcurrencyLimitOptions().setInitialLimit(4));
+    assertTrue(limit.tryAcquire(0.5));
+    assertTrue(limit.tryAcquire(0.5));
+    assertFalse(limit.tryAcquire(0.5));
+    assertTrue(limit.tryAcquire(1.0));
+  }
+
+  @Test
+  public void testGrowsWithStableLatency() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new ConcurrencyLimitOptions()
+      .setInitialLimit(10)
+      .setWindowSize(10));
+    for (int i = 0; i < 100; i++) {
+      round(limit, MS);
+    }
+    assertTrue(limit.limit() > 10);
+  }
+
+  @Test
+  public void testShrinksWhenLatencyIncreases() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new ConcurrencyLimitOptions()
+      .setInitialLimit(50)
+      .setWindowSize(10));
+    for (int i = 0; i < 20; i++) {
+      round(limit, MS);
+    }
+    int before = limit.limit();
+    // queuing, until the long term latency catches up
+    round(limit, 10 * MS);
+    assertTrue(limit.limit() < before);
+  }
+
+  @Test
+  public void testBackoffOnDrops() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new ConcurrencyLimitOptions()
+      .setInitialLimit(100)
+      .setWindowSize(10));
+    for (int i = 0; i < 10; i++) {
+      assertTrue(limit.tryAcquire(1.0));
+    }
+    for (int i = 0; i < 10; i++) {
+      limit.release(MS, true);
+    }
+    assertEquals(90, limit.limit());
+    limit.backoff();
+    assertEquals(81, limit.limit());
+  }
+
+  @Test
+  public void testBounds() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new ConcurrencyLimitOptions()
+      .setInitialLimit(5)
+      .setMinLimit(4)
+      .setMaxLimit(6)
+      .setWindowSize(1));
+    for (int i = 0; i < 10; i++) {
+      limit.backoff();
+    }
+    assertEquals(4, limit.limit());
+    for (int i = 0; i < 100; i++) {
+      round(limit, MS);
+    }
+    assertEquals(6, limit.limit());
+  }
+}
@@ -0,0 +1,106 @@
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class FSTuneTest {
+
+  private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Test
+  public void testStaysBlockingWhenFast() {
+    FSTune.LoopState state = new FSTune.LoopState("loop");
+    for (int i = 0; i < 1000; i++) {
+      assertFalse(state.recordBlocking(MS / 10, MS));
+    }
+    assertFalse(state.async);
+  }
+
+  @Test
+  public void testSwitchesToAsyncWhenSlow() {
+    FSTune.LoopState state = new FSTune.LoopState("loop");
+    for (int i = 0; i < 100; i++) {
+      state.recordBlocking(MS / 10, MS);
+    }
+    boolean switched = false;
+    for (int i = 0; i < 100 && !switched; i++) {
+      switched = state.recordBlocking(10 * MS, MS);
+    }
+    assertTrue(switched);
+    assertTrue(state.async);
+  }
+
+  @Test
+  public void testIgnoresASingleSlowAccess() {
+    FSTune.LoopState state = new FSTune.LoopState("loop");
+    for (int i = 0; i < 100; i++) {
+      state.recordBlocking(MS / 10, MS);
+    }
+    assertFalse(state.recordBlocking(5 * MS, MS));
+    assertFalse(state.async);
+  }
+
+  @Test
+  public void testSwitchesBackWhenRecovered() {
+    FSTune.LoopState state = new FSTune.LoopState("loop");
+    while (!state.async) {
+      state.recordBlocking(10 * MS, MS);
+    }
+    // still slow
+    for (int i = 0; i < 100; i++) {
+      assertFalse(state.recordAsync(10 * MS, MS));
+    }
+    boolean switched = false;
+    for (int i = 0; i < 200 && !switched; i++) {
+      switched = state.recordAsync(MS / 10, MS);
+    }
+    assertTrue(switched);
+    assertFalse(state.async);
+  }
+
+  @Test
+  public void testReset() {
+    FSTune.LoopState state = new FSTune.LoopState("loop");
+    while (!state.async) {
+      state.recordBlocking(10 * MS, MS);
+    }
+    state.reset();
+    assertFalse(state.async);
+    assertEquals(0, state.blockingAvg, 0);
+  }
+
+  @Test
+  public void testQueuedAccessRunsOnCallerContext() throws Exception {
+    Vertx vertx = Vertx.vertx();
+    try {
+      FSTune tune = new FSTune();
+      tune.setEnabled(true);
+      tune.setAlwaysAsyncFS(true);
+      tune.setMaxAsyncConcurrency(1);
+      ContextInternal context = (ContextInternal) vertx.getOrCreateContext();
+      ContextInternal first = context.duplicate();
+      ContextInternal second = context.duplicate();
+      Promise<String> slow = Promise.promise();
+      CompletableFuture<Context> queued = new CompletableFuture<>();
+      // the duplicates share the event loop, the tasks run in order
+      first.runOnContext(v -> tune.access(() -> "first", slow::future, ar -> {}));
+      second.runOnContext(v -> tune.access(() -> "second", () -> Future.succeededFuture("second"), ar -> {
+        assertEquals("second", ar.result());
+        queued.complete(Vertx.currentContext());
+      }));
+      first.runOnContext(v -> slow.complete("first"));
+      assertSame(second, queued.get(10, TimeUnit.SECONDS));
+    } finally {
+      vertx.close();
+    }
+  }
+}
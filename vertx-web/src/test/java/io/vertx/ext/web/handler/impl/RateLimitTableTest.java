@@ -0,0 +1,59 @@
+package io.vertx.ext.web.handler.impl;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class RateLimitTableTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  public void testBurst() {
+    RateLimitTable table = new RateLimitTable(3, SECOND, 100);
+    long now = 0;
+    assertTrue(table.acquire("a", now) <= table.burst());
+    assertTrue(table.acquire("a", now) <= table.burst());
+    assertTrue(table.acquire("a", now) <= table.burst());
+    assertTrue(table.acquire("a", now) > table.burst());
+    // other keys have their own bucket
+    assertTrue(table.acquire("b", now) <= table.burst());
+  }
+
+  @Test
+  public void testReplenish() {
+    RateLimitTable table = new RateLimitTable(2, SECOND, 100);
+    long now = 123_456_789L;
+    assertEquals(SECOND / 2, table.acquire("a", now));
+    assertEquals(SECOND, table.acquire("a", now));
+    long ahead = table.acquire("a", now);
+    assertTrue(ahead > table.burst());
+    // a token every half second
+    now += SECOND / 2;
+    assertTrue(table.acquire("a", now) <= table.burst());
+    assertTrue(table.acquire("a", now) > table.burst());
+    // full again
+    now += 10 * SECOND;
+    assertEquals(SECOND / 2, table.acquire("a", now));
+  }
+
+  @Test
+  public void testNegativeTime() {
+    RateLimitTable table = new RateLimitTable(1, SECOND, 100);
+    long now = Long.MIN_VALUE / 2;
+    assertEquals(SECOND, table.acquire("a", now));
+    assertTrue(table.acquire("a", now) > table.burst());
+    assertEquals(SECOND, table.acquire("a", now + SECOND));
+  }
+
+  @Test
+  public void testEviction() {
+    RateLimitTable table = new RateLimitTable(10, SECOND, 64 * 4);
+    for (int i = 0; i < 10_000; i++) {
+      table.acquire("key-" + i, 0);
+    }
+    assertTrue(table.size() <= 64 * 4);
+  }
+}
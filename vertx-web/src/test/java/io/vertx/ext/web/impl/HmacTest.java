@@ -0,0 +1,69 @@
+package io.vertx.ext.web.impl;
+
+import org.junit.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
+import static org.junit.Assert.*;
+
+public class HmacTest {
+
+  private static String expected(String key, String data) throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+    return base64UrlEncode(mac.doFinal(data.getBytes(StandardCharsets.US_ASCII)));
+  }
+
+  @Test
+  public void testSign() throws Exception {
+    Hmac hmac = new Hmac("HmacSHA256", "keyboard cat");
+    for (String data : new String[] { "", "a", "ab", "abc", "payload.1234567890" }) {
+      assertEquals(expected("keyboard cat", data), hmac.sign(data));
+    }
+  }
+
+  @Test
+  public void testVerify() {
+    Hmac hmac = new Hmac("HmacSHA256", "keyboard cat");
+    String token = "salt.1234567890";
+    String signed = token + "." + hmac.sign(token);
+    int dot = signed.lastIndexOf('.');
+    assertTrue(hmac.verify(signed, 0, dot, dot + 1, signed.length()));
+    // tampered data
+    String tampered = "salt.1234567891" + signed.substring(dot);
+    assertFalse(hmac.verify(tampered, 0, dot, dot + 1, tampered.length()));
+    // truncated signature
+    assertFalse(hmac.verify(signed, 0, dot, dot + 1, signed.length() - 1));
+    // non ASCII data
+    String nonAscii = "salt.123456789İ" + signed.substring(dot);
+    assertFalse(hmac.verify(nonAscii, 0, dot, dot + 1, nonAscii.length()));
+    // another key
+    assertFalse(new Hmac("HmacSHA256", "other").verify(signed, 0, dot, dot + 1, signed.length()));
+  }
+
+  @Test
+  public void testConcurrentUse() throws Exception {
+    Hmac hmac = new Hmac("HmacSHA256", "keyboard cat");
+    String expected = expected("keyboard cat", "payload");
+    AtomicBoolean failed = new AtomicBoolean();
+    int threads = 8;
+    CountDownLatch latch = new CountDownLatch(threads);
+    for (int i = 0; i < threads; i++) {
+      new Thread(() -> {
+        for (int j = 0; j < 10_000; j++) {
+          if (!expected.equals(hmac.sign("payload"))) {
+            failed.set(true);
+          }
+        }
+        latch.countDown();
+      }).start();
+    }
+    latch.await();
+    assertFalse(failed.get());
+  }
+}
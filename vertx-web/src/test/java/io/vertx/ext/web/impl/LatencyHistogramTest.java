@@ -0,0 +1,55 @@
+package io.vertx.ext.web.impl;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void testIndexes() {
+    int previous = -1;
+    for (long value = 0; value < 1_000_000; value++) {
+      int index = LatencyHistogram.countsIndex(value);
+      assertTrue(index == previous || index == previous + 1);
+      long highest = LatencyHistogram.highestEquivalentValue(index);
+      assertTrue(highest >= value);
+      // relative error bound
+      assertTrue(highest - value <= value / 16 + 1);
+      previous = index;
+    }
+  }
+
+  @Test
+  public void testPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+    JsonObject json = histogram.toJson();
+    assertEquals(1000L, (long) json.getLong("count"));
+    assertEquals(1000L, (long) json.getLong("max"));
+    assertEquals(500L, (long) json.getLong("mean"));
+    assertWithin(500, json.getLong("p50"));
+    assertWithin(900, json.getLong("p90"));
+    assertWithin(990, json.getLong("p99"));
+    histogram.reset();
+    assertEquals(0L, (long) histogram.toJson().getLong("count"));
+    assertEquals(0L, (long) histogram.toJson().getLong("p99"));
+  }
+
+  @Test
+  public void testOutOfRange() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-1);
+    histogram.record(Long.MAX_VALUE);
+    JsonObject json = histogram.toJson();
+    assertEquals(2L, (long) json.getLong("count"));
+    assertEquals(3_600_000_000L, (long) json.getLong("max"));
+  }
+
+  private static void assertWithin(long expected, long actual) {
+    assertTrue(actual + " != " + expected, actual >= expected && actual <= expected + expected / 16);
+  }
+}
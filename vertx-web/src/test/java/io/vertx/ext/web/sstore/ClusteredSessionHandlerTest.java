@@ -30,9 +30,19 @@ import io.vertx.test.core.TestUtils;
 import io.vertx.test.fakecluster.FakeClusterManager;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
@@ -181,6 +191,64 @@ public class ClusteredSessionHandlerTest extends SessionHandlerTestBase {
     assertEquals(session.id(), session2.id());
   }
 
+  @Test
+  public void testChangedKeys() {
+    SharedDataSessionImpl session = (SharedDataSessionImpl) store.createSession(123);
+    // a new session is written entirely
+    assertNull(session.changedKeys());
+    stuffSession(session);
+    Buffer buffer = Buffer.buffer();
+    session.writeToBuffer(buffer);
+    SharedDataSessionImpl session2 = new SharedDataSessionImpl();
+    session2.readFromBuffer(0, buffer);
+    assertEquals(Collections.emptySet(), session2.changedKeys());
+    // immutable values
+    session2.get("somestring");
+    session2.get("somelong");
+    assertEquals(Collections.emptySet(), session2.changedKeys());
+    // values that can be modified in place are only changed when they are
+    session2.get("someclusterserializable");
+    session2.get("somebuffer");
+    assertEquals(Collections.emptySet(), session2.changedKeys());
+    int unchanged = session2.version();
+    session2.incrementVersion();
+    assertEquals(unchanged, session2.version());
+    session2.<JsonObject>get("someclusterserializable").put("foo", "baz");
+    session2.put("someint", 4321);
+    session2.remove("somebuffer");
+    session2.remove("missing");
+    assertEquals(new HashSet<>(Arrays.asList("someclusterserializable", "someint", "somebuffer")), session2.changedKeys());
+    int version = session2.version();
+    session2.incrementVersion();
+    assertEquals(version + 1, session2.version());
+    Map<String, Buffer> written = new HashMap<>();
+    List<String> removed = new ArrayList<>();
+    session2.writeChangedEntries(written::put, removed::add);
+    assertEquals(new HashSet<>(Arrays.asList("someclusterserializable", "someint")), written.keySet());
+    assertEquals(Collections.singletonList("somebuffer"), removed);
+    session2.flushed(false);
+    assertEquals(Collections.emptySet(), session2.changedKeys());
+    // the data map can be modified in any way
+    session2.data();
+    assertNull(session2.changedKeys());
+  }
+
+  @Test
+  public void testSessionEntries() {
+    SharedDataSessionImpl session = (SharedDataSessionImpl) store.createSession(123);
+    session.setAccessed();
+    stuffSession(session);
+    Map<String, Buffer> entries = new HashMap<>();
+    session.writeEntries(entries::put);
+    SharedDataSessionImpl session2 = new SharedDataSessionImpl()
+      .readEntries(session.id(), session.timeout(), session.lastAccessed(), session.version(), entries);
+    checkSession(session2);
+    assertEquals(session.id(), session2.id());
+    assertEquals(123, session2.timeout());
+    assertEquals(session.lastAccessed(), session2.lastAccessed());
+    assertEquals(Collections.emptySet(), session2.changedKeys());
+  }
+
   private void stuffSession(Session session) {
     session.put("somelong", 123456L);
     session.put("someint", 1234);
@@ -221,6 +289,36 @@ public class ClusteredSessionHandlerTest extends SessionHandlerTestBase {
     assertTrue(String.valueOf(val), val >= 2500 && val < 5000);
   }
 
+  @Test
+  public void testLookupWokenUpBySessionCreation() throws Exception {
+    router.route().handler(SessionHandler.create(store));
+    router.get("/").handler(rc -> rc.response().end(rc.session().<String>get("foo")));
+    SessionStore otherStore = ClusteredSessionStore.create(vertices[1], 3000);
+    Session session = otherStore.createSession(30_000);
+    session.put("foo", "foo_value");
+    // the session is stored on another node while the request waits for it
+    vertx.setTimer(500, v -> otherStore.put(session).onFailure(this::fail));
+    long now = System.nanoTime();
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("cookie", SessionHandler.DEFAULT_SESSION_COOKIE_NAME + "=" + session.value()), 200, "OK", "foo_value");
+    long val = MILLISECONDS.convert(System.nanoTime() - now, NANOSECONDS);
+    assertTrue(String.valueOf(val), val < 2500);
+  }
+
+  @Test
+  public void testAbsentSessionNotAwaitedTwice() throws Exception {
+    router.route().handler(SessionHandler.create(store));
+    router.get("/").handler(rc -> rc.response().end());
+    String cookie = SessionHandler.DEFAULT_SESSION_COOKIE_NAME + "=" + TestUtils.randomAlphaString(32);
+    long now = System.nanoTime();
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("cookie", cookie), 200, "OK", null);
+    long val = MILLISECONDS.convert(System.nanoTime() - now, NANOSECONDS);
+    assertTrue(String.valueOf(val), val >= 2500);
+    now = System.nanoTime();
+    testRequest(HttpMethod.GET, "/", req -> req.putHeader("cookie", cookie), 200, "OK", null);
+    val = MILLISECONDS.convert(System.nanoTime() - now, NANOSECONDS);
+    assertTrue(String.valueOf(val), val < 1000);
+  }
+
   @Test
   public void testDelayedLookupWithRequestUpgrade() throws InterruptedException {
     String sessionCookieName = "session";